@@ -0,0 +1,130 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.InterviewApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HTTP API on the servlet stack with platform and with virtual request threads, driven by closed-loop
+ * clients: every JMH thread is one client cycling through the task listings, the summary and a project read
+ * of one seeded project. Vary the clients with -t; virtualThreads=true needs a Java 21 runtime (-jvm).
+ * Every answer has to be a 2xx, so a limiter that starts rejecting fails the run instead of mixing fast
+ * 503s into the latencies.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(50)
+@State(Scope.Benchmark)
+public class ProjectApiBenchmark {
+    private static final int SEED_TASKS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<URI> targets;
+
+    @State(Scope.Thread)
+    public static class Client {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(InterviewApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:api-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--interview.overdue-scan.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads);
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long projectId = seed(baseUrl);
+        targets = List.of(
+                URI.create(baseUrl + "/projects/" + projectId + "/tasks?limit=20"),
+                URI.create(baseUrl + "/projects/" + projectId + "/tasks?status=IN_PROGRESS&page=0&size=20"),
+                URI.create(baseUrl + "/projects/summary"),
+                URI.create(baseUrl + "/projects/" + projectId));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int mixedReads(Client client) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(targets.get(client.next++ % targets.size()))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 300) {
+            throw new IllegalStateException(request.uri() + " answered " + status);
+        }
+        return status;
+    }
+
+    private long seed(String baseUrl) throws IOException, InterruptedException {
+        post(baseUrl + "/projects", "{\"name\":\"Load test\",\"description\":\"Seeded by ProjectApiBenchmark\"}");
+        //Listings are newest first, so the project just created heads the first cursor page
+        HttpResponse<String> projects = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/projects?limit=1")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        long projectId = Long.parseLong(projects.body().replaceAll("(?s).*?\"id\":(\\d+).*", "$1"));
+
+        String[] statuses = {"TO_DO", "IN_PROGRESS", "DONE", "BLOCKED"};
+        List<String> tasks = new ArrayList<>();
+        for (int i = 0; i < SEED_TASKS; i++) {
+            tasks.add("{\"title\":\"Task " + i + "\",\"description\":\"Seeded\",\"status\":\"" + statuses[i % statuses.length]
+                    + "\",\"dueDate\":\"" + LocalDate.now().plusDays(1 + i % 30) + "\"}");
+        }
+        post(baseUrl + "/projects/" + projectId + "/tasks/bulk", "[" + String.join(",", tasks) + "]");
+        return projectId;
+    }
+
+    private void post(String url, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
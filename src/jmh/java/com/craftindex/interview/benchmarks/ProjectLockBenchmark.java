@@ -0,0 +1,72 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.services.impl.DefaultProjectLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task writes under the per-project lock, without a database: each one takes its project's lock inside
+ * a transaction synchronization, burns CPU standing in for its queries, and releases the lock on commit.
+ * Run it at several thread counts (-t 1, -t 2, ... up to the cores) to see one shared project stay
+ * serialized while a project per thread scales with the cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectLockBenchmark {
+    //About 20 µs of work while the lock is held
+    private static final long CRITICAL_SECTION_TOKENS = 5_000;
+
+    //shared: every thread writes to one project; separate: each thread has a project of its own
+    @Param({"shared", "separate"})
+    public String projects;
+
+    private final DefaultProjectLockService lockService = new DefaultProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofMinutes(1));
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Writer {
+        long projectId;
+
+        @Setup
+        public void setUp(ProjectLockBenchmark benchmark) {
+            int thread = benchmark.threads.getAndIncrement();
+            projectId = benchmark.projects.equals("shared") ? 1 : thread + 1;
+        }
+    }
+
+    @Benchmark
+    public void write(Writer writer) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            lockService.lockForTransaction(writer.projectId);
+            Blackhole.consumeCPU(CRITICAL_SECTION_TOKENS);
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.ProjectResponse;
+import com.craftindex.interview.models.responses.ProjectSummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectServiceReadBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public ResponseEntity<GetProjectsResponse> getProjects(SeededDataset dataset) {
+        return dataset.projectService.getProjects(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectsResponse> getProjectsAfter(SeededDataset dataset) {
+        return dataset.projectService.getProjectsAfter(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProjectResponse> getProjectById(SeededDataset dataset) {
+        return dataset.projectService.getProjectById(dataset.randomProjectId());
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasks(SeededDataset dataset) {
+        return dataset.projectService.getProjectTasks(dataset.randomProjectId(), null, null, null, null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksByStatus(SeededDataset dataset) {
+        return dataset.projectService.getProjectTasks(dataset.randomProjectId(), null, null, null, randomStatus(), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksByDueDate(SeededDataset dataset) {
+        return dataset.projectService.getProjectTasks(dataset.randomProjectId(), randomDueDate(), null, null, null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksAfter(SeededDataset dataset) {
+        return dataset.projectService.getProjectTasksAfter(dataset.randomProjectId(), null, null, null, null, dataset.randomTaskId(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksAfterByStatus(SeededDataset dataset) {
+        return dataset.projectService.getProjectTasksAfter(dataset.randomProjectId(), null, null, null, randomStatus(), dataset.randomTaskId(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary(SeededDataset dataset) {
+        return dataset.projectService.getProjectsSummary(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    private static Status randomStatus() {
+        Status[] statuses = Status.values();
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+    }
+
+    private static LocalDate randomDueDate() {
+        return LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(365));
+    }
+}
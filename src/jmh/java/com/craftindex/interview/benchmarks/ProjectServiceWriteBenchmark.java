@@ -0,0 +1,88 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write paths. Every invocation uses a fresh title or name so nothing is rejected as a duplicate,
+ * which means the task table keeps growing over the run. Delete is measured together with the
+ * create that feeds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectServiceWriteBenchmark {
+    private static final int BULK_SIZE = 100;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Benchmark
+    public ResponseEntity<BaseResponse> createProject(SeededDataset dataset) {
+        CreateProjectRequest request = new CreateProjectRequest();
+        request.setName("Benchmark project " + sequence.incrementAndGet());
+        request.setDescription("Created by ProjectServiceWriteBenchmark");
+        return dataset.projectService.createProject(request);
+    }
+
+    @Benchmark
+    public ResponseEntity<BaseResponse> createProjectTask(SeededDataset dataset) {
+        return dataset.projectService.createProjectTask(taskRequest(), dataset.randomProjectId());
+    }
+
+    @Benchmark
+    public ResponseEntity<BulkCreateTasksResponse> createProjectTasks(SeededDataset dataset) {
+        List<CreateTaskRequest> requests = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            requests.add(taskRequest());
+        }
+        return dataset.projectService.createProjectTasks(requests, dataset.randomProjectId());
+    }
+
+    @Benchmark
+    public ResponseEntity<BaseResponse> updateTask(SeededDataset dataset) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setDescription("Updated " + sequence.incrementAndGet());
+        request.setStatus(Status.values()[ThreadLocalRandom.current().nextInt(Status.values().length)]);
+        return dataset.projectService.updateTask(request, dataset.randomTaskId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<BaseResponse> createAndDeleteTask(SeededDataset dataset) {
+        //The bulk path reports the new id, which the single create does not
+        long taskId = dataset.projectService.createProjectTasks(List.of(taskRequest()), dataset.randomProjectId())
+                .getBody().getResults().get(0).getTaskId();
+        return dataset.projectService.deleteTask(taskId);
+    }
+
+    private CreateTaskRequest taskRequest() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Benchmark task " + sequence.incrementAndGet());
+        request.setDescription("Created by ProjectServiceWriteBenchmark");
+        request.setStatus(Status.TO_DO);
+        request.setDueDate(LocalDate.now().plusDays(30));
+        return request;
+    }
+}
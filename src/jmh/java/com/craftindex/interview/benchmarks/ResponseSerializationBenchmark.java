@@ -0,0 +1,148 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import com.craftindex.interview.models.responses.BulkTaskResult;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.ProjectSummaryResponse;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes the response models the way the controller does, with an ObjectMapper built from the
+ * same Jackson2ObjectMapperBuilder defaults Spring Boot uses, in each format the API negotiates and
+ * optionally gzipped as the server compresses them. Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    @Param({"20", "100"})
+    public int items;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private GetProjectsResponse projectsResponse;
+    private GetProjectTasksResponse tasksResponse;
+    private List<ProjectSummaryResponse> summaries;
+    private BulkCreateTasksResponse bulkResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Status[] statuses = Status.values();
+
+        List<ProjectView> projects = new ArrayList<>();
+        List<TaskView> tasks = new ArrayList<>();
+        summaries = new ArrayList<>();
+        List<BulkTaskResult> results = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            projects.add(new ProjectView((long) i, "Project " + i, "Description of project " + i));
+
+            TaskView task = new TaskView((long) i, "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], LocalDate.of(2026, 1, 1).plusDays(i), 1L, 0L);
+            tasks.add(task);
+
+            Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+            for (Status status : statuses) {
+                statusCounts.put(status, (long) i * (status.ordinal() + 1));
+            }
+            summaries.add(new ProjectSummaryResponse(projects.get(i - 1), statusCounts.values().stream().mapToLong(Long::longValue).sum(), statusCounts));
+            results.add(BulkTaskResult.created(i - 1, task.title(), task.id()));
+        }
+
+        projectsResponse = new GetProjectsResponse();
+        projectsResponse.setProjects(projects);
+        projectsResponse.setNextCursor(1L);
+        projectsResponse.setMessage("Success");
+        projectsResponse.setStatus(200);
+
+        tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setTasks(tasks);
+        tasksResponse.setNextCursor(1L);
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(200);
+
+        bulkResponse = new BulkCreateTasksResponse();
+        bulkResponse.setCreated(items);
+        bulkResponse.setResults(results);
+        bulkResponse.setMessage("Created " + items + " of " + items + " tasks");
+        bulkResponse.setStatus(200);
+        printSizes();
+    }
+
+    private void printSizes() throws IOException {
+        System.out.printf("%n%s%s, %d items: projects %d B, tasks %d B, summary %d B, bulk %d B%n", format, gzip ? "+gzip" : "", items,
+                projects().length, projectTasks().length, projectsSummary().length, bulkCreateTasks().length);
+    }
+
+    @Benchmark
+    public byte[] projects() throws IOException {
+        return write(projectsResponse);
+    }
+
+    @Benchmark
+    public byte[] projectTasks() throws IOException {
+        return write(tasksResponse);
+    }
+
+    @Benchmark
+    public byte[] projectsSummary() throws IOException {
+        return write(summaries);
+    }
+
+    @Benchmark
+    public byte[] bulkCreateTasks() throws IOException {
+        return write(bulkResponse);
+    }
+
+    private byte[] write(Object response) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(response);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, response);
+        }
+        return bytes.toByteArray();
+    }
+}
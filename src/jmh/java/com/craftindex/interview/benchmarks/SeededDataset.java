@@ -0,0 +1,142 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.InterviewApplication;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskSearchService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application without the web layer against a fresh in-memory H2 database and bulk loads
+ * the requested number of tasks, spread evenly over the projects, with SQL rather than through the service.
+ * With the memory engine the same rows are loaded into MemoryTaskStore through the bulk create endpoint,
+ * journaled to a temporary directory, so -p engine=jpa,memory compares both paths on identical data.
+ */
+@State(Scope.Benchmark)
+public class SeededDataset {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int BULK_SIZE = 5000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    @Param({"20"})
+    public int projects;
+
+    @Param({"jpa", "memory"})
+    public String engine;
+
+    public ConfigurableApplicationContext context;
+    private Path journalDir;
+    public ProjectService projectService;
+    public TaskSearchService taskSearchService;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        journalDir = Files.createTempDirectory("benchmark-journal");
+        //As arguments rather than builder properties, which are only defaults and lose to application.yml
+        context = new SpringApplicationBuilder(InterviewApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--interview.task-counters.reconcile-on-startup=false",
+                        "--interview.overdue-scan.enabled=false",
+                        "--interview.store.engine=" + engine,
+                        "--interview.store.journal-dir=" + journalDir);
+        projectService = context.getBean(ProjectService.class);
+        taskSearchService = context.getBean(TaskSearchService.class);
+        if ("memory".equals(engine)) {
+            seed(projectService);
+        } else {
+            seed(context.getBean(JdbcTemplate.class));
+            context.getBean(TaskCounterService.class).reconcile();
+            taskSearchService.rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        try (var files = Files.walk(journalDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public long randomProjectId() {
+        return ThreadLocalRandom.current().nextLong(projects) + 1;
+    }
+
+    public long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(tasks) + 1;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("INSERT INTO project (id, name, description, version, tasks_version) " +
+                "SELECT X, 'Project ' || X, 'Seeded project ' || X, 0, 0 FROM SYSTEM_RANGE(1, " + projects + ")");
+        jdbcTemplate.execute("INSERT INTO task (id, title, title_key, description, status, due_date, project_id) " +
+                "SELECT X, 'Task ' || X, 'task ' || X, 'Seeded task ' || X, MOD(X, 4), " +
+                "DATEADD('DAY', 1 + MOD(X, 365), CURRENT_DATE), MOD(X, " + projects + ") + 1 " +
+                "FROM SYSTEM_RANGE(1, " + tasks + ")");
+        //The pooled optimizer treats each sequence value as the top of a block of ALLOCATION_SIZE ids
+        jdbcTemplate.execute("ALTER SEQUENCE project_seq RESTART WITH " + (projects + ALLOCATION_SIZE));
+        jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + (tasks + ALLOCATION_SIZE));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    //Same titles, statuses, due dates and project spread as the SQL seed, in bulk create batches per project
+    private void seed(ProjectService projectService) {
+        for (int project = 1; project <= projects; project++) {
+            CreateProjectRequest request = new CreateProjectRequest();
+            request.setName("Project " + project);
+            request.setDescription("Seeded project " + project);
+            projectService.createProject(request);
+        }
+        List<List<CreateTaskRequest>> byProject = new ArrayList<>();
+        for (int project = 0; project < projects; project++) {
+            byProject.add(new ArrayList<>());
+        }
+        for (long task = 1; task <= tasks; task++) {
+            int project = (int) (task % projects);
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Task " + task);
+            request.setDescription("Seeded task " + task);
+            request.setStatus(Status.values()[(int) (task % 4)]);
+            request.setDueDate(LocalDate.now().plusDays(1 + task % 365));
+            byProject.get(project).add(request);
+            if (byProject.get(project).size() == BULK_SIZE) {
+                projectService.createProjectTasks(byProject.get(project), project + 1);
+                byProject.set(project, new ArrayList<>());
+            }
+        }
+        for (int project = 0; project < projects; project++) {
+            if (!byProject.get(project).isEmpty()) {
+                projectService.createProjectTasks(byProject.get(project), project + 1);
+            }
+        }
+    }
+}
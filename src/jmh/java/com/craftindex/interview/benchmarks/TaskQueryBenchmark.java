@@ -0,0 +1,121 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The task lookups DefaultProjectService issues, called through TaskRepository on the seeded JPA dataset, so
+ * the numbers come from the shipped queries, sorts and indexes. The page benchmarks include the count query
+ * a Page runs; the keyset variant shows what the cursor listings save by skipping it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+    private static final int PAGE_SIZE = 5;
+    private static final Sort BY_STATUS = Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("status"), Sort.Order.desc("id"));
+    private static final Sort BY_DUE_DATE = Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("dueDate"), Sort.Order.desc("id"));
+
+    //The repositories only exist on the JPA engine, so this dataset is always seeded for it
+    @State(Scope.Benchmark)
+    public static class Tasks {
+        @Param({"1000", "100000", "1000000"})
+        public int tasks;
+
+        private final SeededDataset dataset = new SeededDataset();
+        private TaskRepository taskRepository;
+        private ProjectEntity[] projects;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            dataset.tasks = tasks;
+            dataset.projects = 20;
+            dataset.engine = "jpa";
+            dataset.start();
+            taskRepository = dataset.context.getBean(TaskRepository.class);
+            ProjectRepository projectRepository = dataset.context.getBean(ProjectRepository.class);
+            projects = new ProjectEntity[dataset.projects];
+            for (int i = 0; i < projects.length; i++) {
+                projects[i] = projectRepository.findById(i + 1L).orElseThrow();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            dataset.stop();
+        }
+
+        private ProjectEntity randomProject() {
+            return projects[ThreadLocalRandom.current().nextInt(projects.length)];
+        }
+    }
+
+    @Benchmark
+    public Page<TaskView> pageByStatus(Tasks tasks) {
+        return tasks.taskRepository.findByProjectEntityAndStatus(tasks.randomProject(), randomStatus(),
+                PageRequest.of(0, PAGE_SIZE, BY_STATUS), TaskView.class);
+    }
+
+    @Benchmark
+    public Slice<TaskView> keysetPageByStatus(Tasks tasks) {
+        return tasks.taskRepository.findByProjectEntityAndStatusAndIdLessThan(tasks.randomProject(), randomStatus(), Long.MAX_VALUE,
+                PageRequest.of(0, PAGE_SIZE + 1, BY_STATUS), TaskView.class);
+    }
+
+    @Benchmark
+    public Page<TaskView> pageByDueDate(Tasks tasks) {
+        return tasks.taskRepository.findByProjectEntityAndDueDate(tasks.randomProject(), randomDueDate(),
+                PageRequest.of(0, PAGE_SIZE, BY_DUE_DATE), TaskView.class);
+    }
+
+    @Benchmark
+    public Page<TaskView> pageByDueDateAndStatus(Tasks tasks) {
+        return tasks.taskRepository.findByProjectEntityAndDueDateAndStatus(tasks.randomProject(), randomDueDate(), randomStatus(),
+                PageRequest.of(0, PAGE_SIZE, BY_DUE_DATE), TaskView.class);
+    }
+
+    @Benchmark
+    public Optional<TaskEntity> duplicateTitleCheck(Tasks tasks) {
+        return tasks.taskRepository.findByTitleIgnoreCaseAndProjectEntity(
+                "TASK " + (ThreadLocalRandom.current().nextInt(tasks.tasks) + 1), tasks.randomProject());
+    }
+
+    private static Status randomStatus() {
+        Status[] statuses = Status.values();
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+    }
+
+    //The seed spreads due dates over the year after today
+    private static LocalDate randomDueDate() {
+        return LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(365));
+    }
+}
@@ -0,0 +1,42 @@
+package com.craftindex.interview.benchmarks;
+
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every seeded task is titled "Task n", so "task" matches the whole dataset while the number alone
+ * matches a single task; the two bound how much of the index a query has to score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Benchmark
+    public ResponseEntity<SearchTasksResponse> searchSelectiveTerm(SeededDataset dataset) {
+        return dataset.taskSearchService.searchTasks(String.valueOf(dataset.randomTaskId()), null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public ResponseEntity<SearchTasksResponse> searchCommonTerm(SeededDataset dataset) {
+        return dataset.taskSearchService.searchTasks("task", null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public ResponseEntity<SearchTasksResponse> searchCommonTermInProject(SeededDataset dataset) {
+        return dataset.taskSearchService.searchTasks("task", dataset.randomProjectId(), FIRST_PAGE);
+    }
+}
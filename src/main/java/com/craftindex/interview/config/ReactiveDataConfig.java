@@ -0,0 +1,112 @@
+package com.craftindex.interview.config;
+
+import com.craftindex.interview.enums.Status;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import java.util.List;
+
+/**
+ * Wiring for the reactive variant of the API, active when the reactive profile switches the application to WebFlux.
+ *
+ * The R2DBC connections are opened on the database spring.datasource points at, so Flyway (which still migrates over
+ * JDBC), the JPA background jobs and the reactive endpoints always share one schema whichever profile picks the file.
+ * Its transaction manager is deliberately not a bean: a second TransactionManager would leave every @Transactional
+ * JPA method without an unambiguous default, so reactive code goes through the TransactionalOperator instead.
+ * The JDBC pool is declared here as well because Boot backs off its own DataSource once a ConnectionFactory exists,
+ * and so is the server: Tomcat stays on the classpath for the servlet stack and Boot would otherwise prefer it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataConfig implements WebFluxConfigurer {
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties dataSourceProperties, R2dbcProperties r2dbcProperties) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive profile needs an H2 datasource url, got " + url);
+        }
+        H2ConnectionFactory h2 = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_JDBC_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(h2)
+                .maxSize(r2dbcProperties.getPool().getMaxSize())
+                .build());
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions() {
+        return R2dbcCustomConversions.of(H2Dialect.INSTANCE, List.of(
+                new StatusToOrdinal(), new ByteToStatus(), new IntegerToStatus()));
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    //Status is stored by ordinal in a TINYINT, as TaskEntity maps it; R2DBC would otherwise write the name
+    @WritingConverter
+    static class StatusToOrdinal implements Converter<Status, Integer> {
+        @Override
+        public Integer convert(Status status) {
+            return status.ordinal();
+        }
+    }
+
+    @ReadingConverter
+    static class ByteToStatus implements Converter<Byte, Status> {
+        @Override
+        public Status convert(Byte ordinal) {
+            return Status.values()[ordinal];
+        }
+    }
+
+    @ReadingConverter
+    static class IntegerToStatus implements Converter<Integer, Status> {
+        @Override
+        public Status convert(Integer ordinal) {
+            return Status.values()[ordinal];
+        }
+    }
+}
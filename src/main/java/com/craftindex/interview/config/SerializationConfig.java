@@ -0,0 +1,95 @@
+package com.craftindex.interview.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) next to JSON, chosen by the Accept and
+ * Content-Type headers. Both mappers come from Boot's Jackson2ObjectMapperBuilder, so the binary formats
+ * carry exactly what the JSON does, dates as ISO strings included, rather than Spring's plain defaults.
+ * On the servlet stack the beans replace the converters Spring MVC would otherwise add with those defaults.
+ */
+@Configuration
+public class SerializationConfig {
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builders));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builders));
+    }
+
+    //WebFlux only registers Smile by default, and with a mapper of its own. The media types are spelled out, as the
+    //codecs fall back to JSON's when given none. Custom encoders are tried before the default ones, so JSON is
+    //registered again ahead of CBOR to stay the answer to a request without an Accept header
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        ObjectMapper cborMapper = cborMapper(builders);
+        ObjectMapper smileMapper = smileMapper(builders);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    //The builder is a prototype, so each format starts from its own copy
+    private static ObjectMapper cborMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return builders.getObject().factory(new CBORFactory()).build();
+    }
+
+    private static ObjectMapper smileMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return builders.getObject().factory(new SmileFactory()).build();
+    }
+
+    //Spring's CBOR encoder only takes single values and rejects any publisher, while the server hands every body over as
+    //one. A Mono is a single value; anything longer still has no CBOR stream framing and stays rejected.
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        private SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
@@ -1,46 +1,96 @@
 package com.craftindex.interview.controller;
 
+import com.craftindex.interview.enums.Status;
 import com.craftindex.interview.models.requests.CreateProjectRequest;
 import com.craftindex.interview.models.requests.CreateTaskRequest;
 import com.craftindex.interview.models.responses.*;
+import com.craftindex.interview.services.IdempotencyService;
+import com.craftindex.interview.services.OverdueTaskService;
 import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.ReadCoalescingService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskExportService;
+import com.craftindex.interview.services.TaskSearchService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
 @AllArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1")
 public class ProjectController {
     private final ProjectService projectService;
+    private final TaskCounterService taskCounterService;
+    private final TaskExportService taskExportService;
+    private final TaskSearchService taskSearchService;
+    private final OverdueTaskService overdueTaskService;
+    private final IdempotencyService idempotencyService;
+    private final TaskEventService taskEventService;
+    private final ReadCoalescingService readCoalescingService;
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @PostMapping("/projects")
-    private ResponseEntity<BaseResponse> createCustomer(@RequestBody @Valid CreateProjectRequest request){
-        return projectService.createProject(request);
+    private ResponseEntity<BaseResponse> createCustomer(@RequestBody @Valid CreateProjectRequest request,
+                                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyService.execute(idempotencyKey, "POST /projects", request, BaseResponse.class,
+                () -> projectService.createProject(request));
     }
 
     @GetMapping("/projects")
-    private ResponseEntity<GetProjectsResponse> createCustomer(@PageableDefault(page = 0, size = 5) Pageable pageable){
+    private ResponseEntity<GetProjectsResponse> createCustomer(
+            @PageableDefault(page = 0, size = 5) Pageable pageable,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit){
+        if (after != null || limit != null) {
+            return projectService.getProjectsAfter(after, limit == null ? pageable.getPageSize() : limit);
+        }
         return projectService.getProjects(pageable);
     }
 
     @GetMapping("/projects/{projectId}")
-    private ResponseEntity<ProjectResponse> getProjectById(@PathVariable("projectId") Long projectId){
-        return projectService.getProjectById(projectId);
+    private ResponseEntity<ProjectResponse> getProjectById(@PathVariable("projectId") Long projectId, WebRequest webRequest){
+        Optional<String> eTag = projectService.getProjectVersion(projectId).map(version -> "project-" + projectId + "-" + version);
+        return conditional(webRequest, eTag, () -> projectService.getProjectById(projectId));
     }
 
     @PostMapping("/projects/{projectId}/tasks")
-    private ResponseEntity<BaseResponse> createTask(@RequestBody @Valid CreateTaskRequest request, @PathVariable("projectId") long projectId){
-        return projectService.createProjectTask(request, projectId);
+    private ResponseEntity<BaseResponse> createTask(@RequestBody @Valid CreateTaskRequest request, @PathVariable("projectId") long projectId,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyService.execute(idempotencyKey, "POST /projects/" + projectId + "/tasks", request, BaseResponse.class,
+                () -> projectService.createProjectTask(request, projectId));
+    }
+
+    @PostMapping("/projects/{projectId}/tasks/bulk")
+    private ResponseEntity<BulkCreateTasksResponse> createTasks(@RequestBody List<CreateTaskRequest> requests, @PathVariable("projectId") long projectId,
+                                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyService.execute(idempotencyKey, "POST /projects/" + projectId + "/tasks/bulk", requests, BulkCreateTasksResponse.class,
+                () -> projectService.createProjectTasks(requests, projectId));
     }
 
     @GetMapping("/projects/{projectId}/tasks")
@@ -48,15 +98,119 @@ public class ProjectController {
             @PathVariable("projectId") long projectId,
             @RequestParam(value = "dueDate", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
-            @RequestParam(value = "status", required = false) String status,
-            @PageableDefault(page = 0, size = 5) Pageable pageable) {
-        return projectService.getProjectTasks(projectId, dueDate, status, pageable);
+            @RequestParam(value = "dueAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(value = "dueBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(value = "status", required = false) Status status,
+            @PageableDefault(page = 0, size = 5) Pageable pageable,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "afterDueDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDueDate,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        //Every page of the list shares the project's task version; the URL already tells the pages apart
+        Optional<Long> version = projectService.getProjectTasksVersion(projectId);
+        Optional<String> eTag = version.map(tasksVersion -> "tasks-" + projectId + "-" + tasksVersion);
+        //Identical listings share one read. The version is part of the key, so a shared result is never older than the ETag
+        String page = after != null || limit != null
+                ? "after:" + after + ":" + afterDueDate + ":" + (limit == null ? pageable.getPageSize() : limit)
+                : "page:" + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        String key = "tasks:" + projectId + ":" + version.map(String::valueOf).orElse("-") + ":" + dueDate + ":" + dueAfter + ":" + dueBefore + ":" + status + ":" + page;
+        return conditional(webRequest, eTag, () -> readCoalescingService.execute(key, () -> {
+            if (after != null || limit != null) {
+                return projectService.getProjectTasksAfter(projectId, dueDate, dueAfter, dueBefore, status, after, afterDueDate, limit == null ? pageable.getPageSize() : limit);
+            }
+            return projectService.getProjectTasks(projectId, dueDate, dueAfter, dueBefore, status, pageable);
+        }));
+    }
+
+
+    @GetMapping("/projects/{projectId}/tasks/export")
+    private ResponseEntity<StreamingResponseBody> exportTasks(@PathVariable("projectId") long projectId){
+        return taskExportService.exportProjectTasks(projectId);
+    }
+
+    //EventSource sends Last-Event-ID when it reconnects; the query parameter lets a reloaded page resume too
+    @GetMapping(value = "/projects/{projectId}/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private ResponseEntity<SseEmitter> streamTaskEvents(@PathVariable("projectId") long projectId,
+                                                        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                        @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam){
+        if (projectService.getProjectVersion(projectId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        //Ends after spring.mvc.async.request-timeout like any async request; the client reconnects and resumes
+        SseEmitter emitter = new SseEmitter();
+        TaskEventService.Subscription subscription = taskEventService.subscribe(projectId, lastEventId != null ? lastEventId : lastEventIdParam,
+                new TaskEventService.Listener() {
+                    @Override
+                    public void send(TaskChangeEvent event) throws IOException {
+                        emitter.send(SseEmitter.event().id(String.valueOf(event.id())).name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void heartbeat() throws IOException {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void closed(boolean fellBehind) {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
+
+    @GetMapping("/projects/{projectId}/tasks/search")
+    private ResponseEntity<SearchTasksResponse> searchProjectTasks(
+            @PathVariable("projectId") long projectId,
+            @RequestParam("q") String query,
+            @PageableDefault(page = 0, size = 20) Pageable pageable){
+        return taskSearchService.searchTasks(query, projectId, pageable);
+    }
+
+    @GetMapping("/tasks/search")
+    private ResponseEntity<SearchTasksResponse> searchTasks(
+            @RequestParam("q") String query,
+            @PageableDefault(page = 0, size = 20) Pageable pageable){
+        return taskSearchService.searchTasks(query, null, pageable);
+    }
+
+    @PostMapping("/tasks/search/rebuild")
+    public ResponseEntity<BaseResponse> rebuildSearchIndex() {
+        return taskSearchService.rebuild();
+    }
+
+
+    @GetMapping("/projects/{projectId}/tasks/overdue")
+    private ResponseEntity<GetOverdueTasksResponse> getProjectOverdueTasks(
+            @PathVariable("projectId") long projectId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return overdueTaskService.getOverdueTasks(projectId, after, limit);
+    }
+
+    @GetMapping("/tasks/overdue")
+    private ResponseEntity<GetOverdueTasksResponse> getOverdueTasks(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return overdueTaskService.getOverdueTasks(null, after, limit);
+    }
+
+    @PostMapping("/tasks/overdue/scan")
+    public ResponseEntity<BaseResponse> scanOverdueTasks() {
+        return overdueTaskService.scan();
     }
 
 
     @PutMapping("/tasks/{taskId}")
-    private ResponseEntity<BaseResponse> updateTask(@RequestBody @Valid CreateTaskRequest request,@PathVariable("taskId") long taskId){
-        return projectService.updateTask(request, taskId);
+    private ResponseEntity<BaseResponse> updateTask(@RequestBody @Valid CreateTaskRequest request,@PathVariable("taskId") long taskId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return projectService.updateTask(request, taskId, ProjectService.expectedTaskVersion(ifMatch, taskId));
     }
 
 
@@ -66,8 +220,72 @@ public class ProjectController {
     }
 
     @GetMapping("/projects/summary")
-    public ResponseEntity<List<ProjectSummaryResponse>> getProjectSummary() {
-        return projectService.getProjectsSummary();
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectSummary(@PageableDefault(page = 0, size = 20) Pageable pageable) {
+        return readCoalescingService.execute("summary:" + pageable.getPageNumber() + ":" + pageable.getPageSize(),
+                () -> projectService.getProjectsSummary(pageable));
+    }
+
+    //The first task page of many projects in one round trip, e.g. ?ids=1,2,3&status=TO_DO&limit=5
+    @GetMapping("/projects/dashboard")
+    public ResponseEntity<GetProjectsDashboardResponse> getProjectsDashboard(
+            @RequestParam(value = "ids") List<Long> projectIds,
+            @RequestParam(value = "dueDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(value = "dueAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(value = "dueBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return projectService.getProjectsDashboard(projectIds, dueDate, dueAfter, dueBefore, status, limit);
+    }
+
+    @PostMapping("/projects/summary/reconcile")
+    public ResponseEntity<ReconcileTaskCountersResponse> reconcileProjectSummary() {
+        return ResponseEntity.ok(taskCounterService.reconcile());
+    }
+
+    //The write lost a race the version or unique checks could not see ahead of time; nothing was changed
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    private ResponseEntity<BaseResponse> concurrentUpdate(OptimisticLockingFailureException e, WebRequest webRequest) {
+        HttpStatus status = webRequest.getHeader(HttpHeaders.IF_MATCH) == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+        return new ResponseEntity<>(new BaseResponse("The task was changed by another request, reload it and try again", status.value()), status);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    private ResponseEntity<BaseResponse> constraintViolation(DataIntegrityViolationException e) {
+        String message = Optional.ofNullable(e.getMostSpecificCause().getMessage()).orElse("").toLowerCase(Locale.ROOT);
+        if (message.contains("uk_task_project_title_key")) {
+            return new ResponseEntity<>(new BaseResponse("Task with similar title already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+        }
+        if (message.contains("uk_project_name")) {
+            return new ResponseEntity<>(new BaseResponse("Project with similar name already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+        }
+        throw e;
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    private ResponseEntity<BaseResponse> rejected(ResponseStatusException e) {
+        return new ResponseEntity<>(new BaseResponse(e.getReason(), e.getStatusCode().value()), e.getStatusCode());
+    }
+
+    //The version is read before the body, so a concurrent write can only leave the ETag older than the payload, never newer.
+    //The tag is weak: the same version goes out gzipped or not, and the server only compresses responses without a strong one.
+    //It is also the same in every encoding; VaryAcceptFilter keeps those apart in caches
+    private static <T> ResponseEntity<T> conditional(WebRequest webRequest, Optional<String> version, Supplier<ResponseEntity<T>> response) {
+        Optional<String> eTag = version.map(tag -> "W/\"" + tag + "\"");
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+        }
+
+        ResponseEntity<T> responseEntity = response.get();
+        if (eTag.isEmpty() || !responseEntity.getStatusCode().is2xxSuccessful()) {
+            return responseEntity;
+        }
+        return ResponseEntity.status(responseEntity.getStatusCode())
+                .headers(responseEntity.getHeaders())
+                .eTag(eTag.get())
+                .body(responseEntity.getBody());
     }
 
 
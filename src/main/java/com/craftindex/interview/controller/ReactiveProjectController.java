@@ -0,0 +1,289 @@
+package com.craftindex.interview.controller;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.*;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.OverdueTaskService;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.ReactiveProjectService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskSearchService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The /api/v1 endpoints of ProjectController on WebFlux, served when the reactive profile is active. Projects and tasks
+ * go through ReactiveProjectService; search, the overdue feed and counter reconciliation are served by the same
+ * services as on the servlet stack, moved off the event loop because they block on JDBC.
+ */
+@Slf4j
+@RestController
+@AllArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1")
+public class ReactiveProjectController {
+    private final ReactiveProjectService projectService;
+    private final TaskCounterService taskCounterService;
+    private final TaskSearchService taskSearchService;
+    private final OverdueTaskService overdueTaskService;
+    private final TaskEventService taskEventService;
+
+    @PostMapping("/projects")
+    private Mono<ResponseEntity<BaseResponse>> createProject(@RequestBody @Valid CreateProjectRequest request){
+        return projectService.createProject(request);
+    }
+
+    @GetMapping("/projects")
+    private Mono<ResponseEntity<GetProjectsResponse>> getProjects(
+            @PageableDefault(page = 0, size = 5) Pageable pageable,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit){
+        if (after != null || limit != null) {
+            return projectService.getProjectsAfter(after, limit == null ? pageable.getPageSize() : limit);
+        }
+        return projectService.getProjects(pageable);
+    }
+
+    @GetMapping("/projects/{projectId}")
+    private Mono<ResponseEntity<ProjectResponse>> getProjectById(@PathVariable("projectId") Long projectId, ServerWebExchange exchange){
+        Mono<String> eTag = projectService.getProjectVersion(projectId).map(version -> "project-" + projectId + "-" + version);
+        return conditional(exchange, eTag, () -> projectService.getProjectById(projectId));
+    }
+
+    @PostMapping("/projects/{projectId}/tasks")
+    private Mono<ResponseEntity<BaseResponse>> createTask(@RequestBody @Valid CreateTaskRequest request, @PathVariable("projectId") long projectId){
+        return projectService.createProjectTask(request, projectId);
+    }
+
+    @PostMapping("/projects/{projectId}/tasks/bulk")
+    private Mono<ResponseEntity<BulkCreateTasksResponse>> createTasks(@RequestBody List<CreateTaskRequest> requests, @PathVariable("projectId") long projectId){
+        return projectService.createProjectTasks(requests, projectId);
+    }
+
+    @GetMapping("/projects/{projectId}/tasks")
+    private Mono<ResponseEntity<GetProjectTasksResponse>> getProjectTasks(
+            @PathVariable("projectId") long projectId,
+            @RequestParam(value = "dueDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(value = "dueAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(value = "dueBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(value = "status", required = false) Status status,
+            @PageableDefault(page = 0, size = 5) Pageable pageable,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "afterDueDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDueDate,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            ServerWebExchange exchange) {
+        //Every page of the list shares the project's task version; the URL already tells the pages apart
+        Mono<String> eTag = projectService.getProjectTasksVersion(projectId).map(version -> "tasks-" + projectId + "-" + version);
+        return conditional(exchange, eTag, () -> {
+            if (after != null || limit != null) {
+                return projectService.getProjectTasksAfter(projectId, dueDate, dueAfter, dueBefore, status, after, afterDueDate, limit == null ? pageable.getPageSize() : limit);
+            }
+            return projectService.getProjectTasks(projectId, dueDate, dueAfter, dueBefore, status, pageable);
+        });
+    }
+
+
+    @GetMapping(value = "/projects/{projectId}/tasks/export", produces = "application/x-ndjson")
+    private Flux<TaskView> exportTasks(@PathVariable("projectId") long projectId){
+        return projectService.exportProjectTasks(projectId);
+    }
+
+    @GetMapping(value = "/projects/{projectId}/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private Mono<ResponseEntity<Flux<ServerSentEvent<TaskChangeEvent>>>> streamTaskEvents(
+            @PathVariable("projectId") long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam){
+        Long resumeAfter = lastEventId != null ? lastEventId : lastEventIdParam;
+        return projectService.getProjectVersion(projectId)
+                .map(version -> ResponseEntity.ok(taskEvents(projectId, resumeAfter)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+
+    @GetMapping("/projects/{projectId}/tasks/search")
+    private Mono<ResponseEntity<SearchTasksResponse>> searchProjectTasks(
+            @PathVariable("projectId") long projectId,
+            @RequestParam("q") String query,
+            @PageableDefault(page = 0, size = 20) Pageable pageable){
+        return blocking(() -> taskSearchService.searchTasks(query, projectId, pageable));
+    }
+
+    @GetMapping("/tasks/search")
+    private Mono<ResponseEntity<SearchTasksResponse>> searchTasks(
+            @RequestParam("q") String query,
+            @PageableDefault(page = 0, size = 20) Pageable pageable){
+        return blocking(() -> taskSearchService.searchTasks(query, null, pageable));
+    }
+
+    @PostMapping("/tasks/search/rebuild")
+    public Mono<ResponseEntity<BaseResponse>> rebuildSearchIndex() {
+        return blocking(taskSearchService::rebuild);
+    }
+
+
+    @GetMapping("/projects/{projectId}/tasks/overdue")
+    private Mono<ResponseEntity<GetOverdueTasksResponse>> getProjectOverdueTasks(
+            @PathVariable("projectId") long projectId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return blocking(() -> overdueTaskService.getOverdueTasks(projectId, after, limit));
+    }
+
+    @GetMapping("/tasks/overdue")
+    private Mono<ResponseEntity<GetOverdueTasksResponse>> getOverdueTasks(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return blocking(() -> overdueTaskService.getOverdueTasks(null, after, limit));
+    }
+
+    @PostMapping("/tasks/overdue/scan")
+    public Mono<ResponseEntity<BaseResponse>> scanOverdueTasks() {
+        return blocking(overdueTaskService::scan);
+    }
+
+
+    @PutMapping("/tasks/{taskId}")
+    private Mono<ResponseEntity<BaseResponse>> updateTask(@RequestBody @Valid CreateTaskRequest request,@PathVariable("taskId") long taskId,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return projectService.updateTask(request, taskId, ProjectService.expectedTaskVersion(ifMatch, taskId));
+    }
+
+
+    @DeleteMapping("/tasks/{taskId}")
+    private Mono<ResponseEntity<BaseResponse>> deleteTask(@PathVariable("taskId") long taskId){
+        return projectService.deleteTask(taskId);
+    }
+
+    @GetMapping("/projects/summary")
+    public Mono<ResponseEntity<List<ProjectSummaryResponse>>> getProjectSummary(@PageableDefault(page = 0, size = 20) Pageable pageable) {
+        return projectService.getProjectsSummary(pageable);
+    }
+
+    //The first task page of many projects in one round trip, e.g. ?ids=1,2,3&status=TO_DO&limit=5
+    @GetMapping("/projects/dashboard")
+    public Mono<ResponseEntity<GetProjectsDashboardResponse>> getProjectsDashboard(
+            @RequestParam(value = "ids") List<Long> projectIds,
+            @RequestParam(value = "dueDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(value = "dueAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(value = "dueBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return projectService.getProjectsDashboard(projectIds, dueDate, dueAfter, dueBefore, status, limit);
+    }
+
+    @PostMapping("/projects/summary/reconcile")
+    public Mono<ResponseEntity<ReconcileTaskCountersResponse>> reconcileProjectSummary() {
+        return blocking(() -> ResponseEntity.ok(taskCounterService.reconcile()));
+    }
+
+    //The write lost a race the version or unique checks could not see ahead of time; nothing was changed
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    private ResponseEntity<BaseResponse> concurrentUpdate(OptimisticLockingFailureException e, ServerWebExchange exchange) {
+        HttpStatus status = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_MATCH) == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+        return new ResponseEntity<>(new BaseResponse("The task was changed by another request, reload it and try again", status.value()), status);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    private ResponseEntity<BaseResponse> constraintViolation(DataIntegrityViolationException e) {
+        String message = Optional.ofNullable(e.getMostSpecificCause().getMessage()).orElse("").toLowerCase(Locale.ROOT);
+        if (message.contains("uk_task_project_title_key")) {
+            return new ResponseEntity<>(new BaseResponse("Task with similar title already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+        }
+        if (message.contains("uk_project_name")) {
+            return new ResponseEntity<>(new BaseResponse("Project with similar name already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+        }
+        throw e;
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    private ResponseEntity<BaseResponse> rejected(ResponseStatusException e) {
+        return new ResponseEntity<>(new BaseResponse(e.getReason(), e.getStatusCode().value()), e.getStatusCode());
+    }
+
+    private Flux<ServerSentEvent<TaskChangeEvent>> taskEvents(long projectId, Long lastEventId) {
+        return Flux.<ServerSentEvent<TaskChangeEvent>>create(sink -> {
+                    TaskEventService.Subscription subscription = taskEventService.subscribe(projectId, lastEventId, new TaskEventService.Listener() {
+                        @Override
+                        public void send(TaskChangeEvent event) {
+                            sink.next(ServerSentEvent.builder(event).id(String.valueOf(event.id())).event(event.type().name()).build());
+                        }
+
+                        @Override
+                        public void heartbeat() {
+                            sink.next(ServerSentEvent.<TaskChangeEvent>builder().comment("heartbeat").build());
+                        }
+
+                        @Override
+                        public void closed(boolean fellBehind) {
+                            sink.complete();
+                        }
+                    });
+                    sink.onDispose(subscription::cancel);
+                })
+                //The sink never blocks the bus, so falling behind is measured against the connection's demand instead
+                .onBackpressureBuffer(taskEventService.subscriberBuffer(), event -> { }, BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, e -> Flux.empty());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    //The version is read before the body, so a concurrent write can only leave the ETag older than the payload, never newer.
+    //The tag is weak: the same version goes out compressed or not, and in every encoding, which ReactiveVaryAcceptFilter
+    //keeps apart in caches
+    private static <T> Mono<ResponseEntity<T>> conditional(ServerWebExchange exchange, Mono<String> version, Supplier<Mono<ResponseEntity<T>>> response) {
+        return version.map(tag -> Optional.of("W/\"" + tag + "\""))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(tag -> {
+                    if (tag.isPresent() && exchange.checkNotModified(tag.get())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.get()).<T>build());
+                    }
+                    return response.get().map(responseEntity -> tag.isEmpty() || !responseEntity.getStatusCode().is2xxSuccessful()
+                            ? responseEntity
+                            : ResponseEntity.status(responseEntity.getStatusCode())
+                            .headers(responseEntity.getHeaders())
+                            .eTag(tag.get())
+                            .body(responseEntity.getBody()));
+                });
+    }
+
+
+}
@@ -0,0 +1,51 @@
+package com.craftindex.interview.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "created_at"))
+public class IdempotencyKeyEntity implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    //SHA-256 of the operation and request body, so a key reused for a different request is refused rather than replayed
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_status", nullable = false)
+    private int responseStatus;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    //The key is assigned by the client, so without this save() would merge into a row another request just committed
+    //instead of inserting and failing on the primary key
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.craftindex.interview.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Entity
+@Data
+@Table(name = "overdue_scan_state")
+public class OverdueScanStateEntity {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    //Null until the first scan, which then starts from the earliest due date
+    private LocalDate watermark;
+}
@@ -0,0 +1,29 @@
+package com.craftindex.interview.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "overdue_task", indexes = @Index(name = "idx_overdue_task_project_id", columnList = "project_id, id"))
+public class OverdueTaskEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "overdue_task_seq")
+    @SequenceGenerator(name = "overdue_task_seq", sequenceName = "overdue_task_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -1,12 +1,17 @@
 package com.craftindex.interview.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.util.Locale;
+
 
 @Entity
 @Data
 @Table(name = "project")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ProjectEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -16,4 +21,17 @@ public class ProjectEntity {
     private String name;
 
     private String description;
+
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    //Bumped with ProjectRepository.incrementTasksVersion whenever one of the project's tasks changes, never written from here
+    @JsonIgnore
+    @Column(name = "tasks_version", nullable = false, updatable = false)
+    private long tasksVersion;
+
+    public static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 }
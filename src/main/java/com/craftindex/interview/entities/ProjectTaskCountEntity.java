@@ -0,0 +1,25 @@
+package com.craftindex.interview.entities;
+
+import com.craftindex.interview.enums.Status;
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "project_task_count",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "status"}))
+public class ProjectTaskCountEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private long taskCount;
+}
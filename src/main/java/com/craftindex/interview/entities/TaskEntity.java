@@ -1,26 +1,66 @@
 package com.craftindex.interview.entities;
 
 import com.craftindex.interview.enums.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
 @Data
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        @Index(name = "idx_task_project_id", columnList = "project_id, id"),
+        @Index(name = "idx_task_project_status", columnList = "project_id, status, id"),
+        @Index(name = "idx_task_project_due_date", columnList = "project_id, due_date, id"),
+        @Index(name = "idx_task_due_date", columnList = "due_date, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_task_project_title_key", columnNames = {"project_id", "title_key"}))
 public class TaskEntity {
+    //Pooled sequence: one round trip hands out a block of ids, which lets inserts be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
+
+    //Lower-cased copy of the title so duplicate checks are an index seek instead of UPPER(title) over every row;
+    //unique per project, so two creates racing past the check cannot both commit
+    @JsonIgnore
+    @Column(name = "title_key", nullable = false)
+    private String titleKey;
+
     private String description;
-    private String status;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private Status status;
+
     private LocalDate dueDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private ProjectEntity projectEntity;
+
+    //Checked and bumped by every update, so concurrent writers cannot silently overwrite each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    //Read-only view of the foreign key, so projections can select it without joining the project
+    @JsonIgnore
+    @Column(name = "project_id", insertable = false, updatable = false)
+    private Long projectId;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeTitle() {
+        titleKey = titleKey(title);
+    }
+
+    public static String titleKey(String title) {
+        return title == null ? null : title.trim().toLowerCase(Locale.ROOT);
+    }
 }
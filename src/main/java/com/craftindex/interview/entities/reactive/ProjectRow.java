@@ -0,0 +1,22 @@
+package com.craftindex.interview.entities.reactive;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+//The project table as the reactive stack reads it; tasks_version is only ever bumped in SQL, so it is not mapped
+@Data
+@Table("project")
+public class ProjectRow {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    //Also tells a new row from an existing one: the id is taken from project_seq before the insert
+    @Version
+    private Long version;
+}
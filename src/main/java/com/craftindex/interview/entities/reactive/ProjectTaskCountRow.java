@@ -0,0 +1,20 @@
+package com.craftindex.interview.entities.reactive;
+
+import com.craftindex.interview.enums.Status;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+//Read only; the counters are changed with the bulk updates on ReactiveProjectTaskCountRepository
+@Data
+@Table("project_task_count")
+public class ProjectTaskCountRow {
+    @Id
+    private Long id;
+
+    private Long projectId;
+
+    private Status status;
+
+    private long taskCount;
+}
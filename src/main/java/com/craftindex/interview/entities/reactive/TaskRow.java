@@ -0,0 +1,39 @@
+package com.craftindex.interview.entities.reactive;
+
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+@Data
+@Table("task")
+public class TaskRow {
+    @Id
+    private Long id;
+
+    private String title;
+
+    //Kept in step with the title by setTitle, the same normalization TaskEntity applies before every write
+    private String titleKey;
+
+    private String description;
+
+    private Status status;
+
+    private LocalDate dueDate;
+
+    private Long projectId;
+
+    //Checked and bumped by every save, exactly like TaskEntity's, so both stacks see each other's updates
+    @Version
+    private Long version;
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleKey = TaskEntity.titleKey(title);
+    }
+}
@@ -1,5 +1,6 @@
 package com.craftindex.interview.enums;
 
+//Persisted by ordinal, so new values must only ever be appended
 public enum Status {
     TO_DO,
     IN_PROGRESS,
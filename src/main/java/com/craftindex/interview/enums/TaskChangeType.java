@@ -0,0 +1,9 @@
+package com.craftindex.interview.enums;
+
+//RESET carries no task: the stream could not be resumed, so the client should reload the task list
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESET,
+}
@@ -0,0 +1,165 @@
+package com.craftindex.interview.filters;
+
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in flight. Every request may hold a pooled connection for its whole
+ * lifetime, so by default the limit is the connection pool size; callers beyond that wait up to the
+ * acquire timeout and are then turned away with a 503 instead of piling up on the pool.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "interview.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String API_PATH = "/api/";
+    //Hikari only fills in its default pool size when the pool starts, which can be after this filter is built
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(DataSource dataSource,
+                                  ObjectMapper objectMapper,
+                                  @Value("${interview.concurrency-limit.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                  @Value("${interview.concurrency-limit.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize(dataSource);
+        this.permits = new Semaphore(this.maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+        log.info("Limiting API requests to {} in flight, waiting at most {} for a slot", this.maxConcurrentRequests, acquireTimeout);
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            reject(response);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            //Streaming responses keep working on another thread, so the slot is held until the async request completes.
+            //An event stream is the exception: its handler is done with the database once it returns, and the stream
+            //stays open for as long as the async timeout, so holding the slot would let a few dashboards lock out the API
+            if (request.isAsyncStarted() && !isEventStream(request)) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(released));
+            } else {
+                release(released);
+            }
+        }
+    }
+
+    //The emitter only writes its headers once it starts sending, so go by what the matched handler declared it produces
+    private static boolean isEventStream(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE) instanceof Set<?> producible
+                && producible.contains(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new BaseResponse("Too many concurrent requests, try again shortly", HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return maximumPoolSize > 0 ? maximumPoolSize : HIKARI_DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size", e);
+        }
+        return Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+        private final AtomicBoolean released;
+
+        private ReleaseOnComplete(AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            //Restarting async clears the listeners, and async dispatches skip this filter, so carry the release over
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
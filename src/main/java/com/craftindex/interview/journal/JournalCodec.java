@@ -0,0 +1,55 @@
+package com.craftindex.interview.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+//Field encodings shared by the binary records written to journals and snapshots
+public final class JournalCodec {
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private JournalCodec() {
+    }
+
+    //writeUTF stops at 64 KB, which a description may well exceed; null is a length of -1
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeDate(DataOutput out, LocalDate value) throws IOException {
+        out.writeLong(value == null ? NO_DATE : value.toEpochDay());
+    }
+
+    public static LocalDate readDate(DataInput in) throws IOException {
+        long day = in.readLong();
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    //Copies a record handed over by SegmentedJournal.replay, whose buffer is only valid during the call
+    public static DataInputStream input(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,364 @@
+package com.craftindex.interview.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, write-ahead log of binary records in memory-mapped segment files.
+ *
+ * Each segment is named after the sequence of its first record and starts with a small header;
+ * every record is its payload length, a CRC32C over its sequence and payload, the sequence and
+ * the payload. Appending copies the record into the mapped segment under a short lock, rolling
+ * to a new segment when it would not fit, so a record reaches the page cache, and survives the
+ * process dying, without a system call.
+ *
+ * With fsync on, awaitDurable gives group commit: the first writer to wait forces every dirty
+ * range to disk in one go, and writers that appended meanwhile wait for it and are covered by the
+ * next single force, so concurrent writers share the cost of the flushes.
+ *
+ * Opening the journal finds the last record whose length, checksum and sequence all hold. Anything
+ * after it, a torn write in the last segment or whole segments following a damaged one, is wiped,
+ * so replay only ever sees an unbroken run of sequences.
+ *
+ * Segments are only deleted through deleteThrough, by a consumer that has saved what it replayed, so
+ * the journal never lets go of a record on its own. Replaying from before the oldest kept record fails
+ * rather than silently skipping what was deleted.
+ */
+public class SegmentedJournal implements Closeable {
+    private static final int SEGMENT_MAGIC = 0x4A524E4C;
+    private static final int SEGMENT_HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    //Guards the segment list, the append positions and lastSequence
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private long lastSequence;
+    private boolean closed;
+
+    //Guards durableSequence and syncing; only the writer that set syncing touches the synced positions
+    private final Object syncMonitor = new Object();
+    private long durableSequence;
+    private boolean syncing;
+
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(long sequence, ByteBuffer payload) throws IOException;
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long firstSequence;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int syncedPosition;
+        private long lastSequence;
+
+        private Segment(Path file, long firstSequence, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+            this.lastSequence = firstSequence - 1;
+        }
+    }
+
+    public SegmentedJournal(Path directory, int segmentSize, boolean fsync) throws IOException {
+        if (segmentSize <= SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " cannot hold a record");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        recover();
+        durableSequence = lastSequence;
+    }
+
+    public long lastSequence() {
+        appendLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    //Returns the record's sequence; the record is in the page cache, and on disk once awaitDurable returns for it
+    public long append(byte[] payload) {
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("A journal record cannot be empty");
+        }
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The journal in " + directory + " is closed");
+            }
+            Segment segment = segments.get(segments.size() - 1);
+            int recordSize = RECORD_HEADER_SIZE + payload.length;
+            if (segment.buffer.capacity() - segment.position < recordSize) {
+                segment = roll(recordSize);
+            }
+            long sequence = lastSequence + 1;
+            int position = segment.position;
+            segment.buffer.putInt(position + 4, checksum(sequence, payload));
+            segment.buffer.putLong(position + 8, sequence);
+            segment.buffer.put(position + RECORD_HEADER_SIZE, payload);
+            segment.buffer.putInt(position, payload.length);
+            segment.position += recordSize;
+            segment.lastSequence = sequence;
+            lastSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    //Returns once every record up to the sequence is on disk; without fsync the page cache is as durable as it gets
+    public void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        while (true) {
+            synchronized (syncMonitor) {
+                while (durableSequence < sequence && syncing) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for the journal to reach disk", e);
+                    }
+                }
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                syncing = true;
+            }
+            long synced = 0;
+            try {
+                synced = sync();
+            } finally {
+                synchronized (syncMonitor) {
+                    durableSequence = Math.max(durableSequence, synced);
+                    syncing = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    //Hands the handler every record after the given sequence, in order; the payload is a read-only view valid during the call
+    public long replay(long afterSequence, RecordHandler handler) throws IOException {
+        List<Segment> snapshot = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        appendLock.lock();
+        try {
+            long firstSequence = segments.get(0).firstSequence;
+            if (afterSequence < firstSequence - 1) {
+                throw new IllegalStateException("Cannot replay the journal in " + directory + " after sequence " + afterSequence
+                        + ": the records before " + firstSequence + " have been deleted");
+            }
+            for (Segment segment : segments) {
+                if (segment.lastSequence > afterSequence) {
+                    snapshot.add(segment);
+                    ends.add(segment.position);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        long replayed = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            ByteBuffer buffer = snapshot.get(i).buffer.duplicate();
+            for (int position = SEGMENT_HEADER_SIZE; position < ends.get(i); ) {
+                int length = buffer.getInt(position);
+                long sequence = buffer.getLong(position + 8);
+                if (sequence > afterSequence) {
+                    handler.accept(sequence, buffer.slice(position + RECORD_HEADER_SIZE, length).asReadOnlyBuffer());
+                    replayed++;
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+        }
+        return replayed;
+    }
+
+    //Deletes the segments holding only records up to the sequence, once whatever they fed has been saved elsewhere
+    public void deleteThrough(long sequence) throws IOException {
+        appendLock.lock();
+        try {
+            while (segments.size() > 1 && segments.get(0).lastSequence <= sequence) {
+                Files.deleteIfExists(segments.remove(0).file);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(lastSequence());
+    }
+
+    //Forces everything appended so far and returns the last sequence that is now on disk
+    private long sync() {
+        List<Segment> dirty = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        long target;
+        appendLock.lock();
+        try {
+            target = lastSequence;
+            for (Segment segment : segments) {
+                if (segment.syncedPosition < segment.position) {
+                    dirty.add(segment);
+                    ends.add(segment.position);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            Segment segment = dirty.get(i);
+            segment.buffer.force(segment.syncedPosition, ends.get(i) - segment.syncedPosition);
+            segment.syncedPosition = ends.get(i);
+        }
+        return target;
+    }
+
+    private Segment roll(int recordSize) {
+        try {
+            Segment segment = create(lastSequence + 1, Math.max(segmentSize, SEGMENT_HEADER_SIZE + recordSize));
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new journal segment in " + directory, e);
+        }
+    }
+
+    private Segment create(long firstSequence, int size) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, SEGMENT_MAGIC);
+        buffer.putLong(8, firstSequence);
+        Segment segment = new Segment(file, firstSequence, buffer);
+        segment.position = SEGMENT_HEADER_SIZE;
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        boolean broken = false;
+        for (Path file : files) {
+            if (broken) {
+                Files.delete(file);
+                continue;
+            }
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            }
+            long expected = lastSequence + 1;
+            if (buffer.capacity() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != SEGMENT_MAGIC
+                    || (!segments.isEmpty() && buffer.getLong(8) != expected)) {
+                //Its header never made it to disk, so neither did anything after it
+                Files.delete(file);
+                broken = true;
+                continue;
+            }
+            Segment segment = new Segment(file, buffer.getLong(8), buffer);
+            segment.position = scan(segment);
+            segment.syncedPosition = segment.position;
+            segments.add(segment);
+            lastSequence = segment.lastSequence;
+            if (segment.position < buffer.capacity()) {
+                broken = wipe(buffer, segment.position);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(create(lastSequence + 1, segmentSize));
+        }
+    }
+
+    //Walks the valid records from the header on and returns where the next one goes
+    private static int scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = SEGMENT_HEADER_SIZE;
+        long expected = segment.firstSequence;
+        while (buffer.capacity() - position >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_SIZE || buffer.getLong(position + 8) != expected) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            if (buffer.getInt(position + 4) != checksum(expected, payload)) {
+                break;
+            }
+            segment.lastSequence = expected++;
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    //Zeroes whatever follows the last valid record and reports whether any of it was a write that did not complete
+    private static boolean wipe(MappedByteBuffer buffer, int from) {
+        boolean dirty = false;
+        int position = from;
+        for (; position + Long.BYTES <= buffer.capacity(); position += Long.BYTES) {
+            if (buffer.getLong(position) != 0) {
+                buffer.putLong(position, 0);
+                dirty = true;
+            }
+        }
+        for (; position < buffer.capacity(); position++) {
+            if (buffer.get(position) != 0) {
+                buffer.put(position, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            buffer.force();
+        }
+        return dirty;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
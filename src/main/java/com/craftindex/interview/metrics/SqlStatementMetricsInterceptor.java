@@ -0,0 +1,79 @@
+package com.craftindex.interview.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records how many SQL statements each request issued as the http.server.requests.sql.statements
+ * summary, tagged like http.server.requests, and logs requests over the warn threshold so N+1
+ * query patterns stand out.
+ */
+@Component
+@Slf4j
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementMetricsInterceptor(SqlStatementCounter sqlStatementCounter,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${interview.metrics.sql-statements-warn-threshold:20}") int warnThreshold) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            sqlStatementCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(request, sqlStatementCounter.finish());
+        }
+    }
+
+    //Streaming responses finish on another thread, so only the statements issued before handing off are counted
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, sqlStatementCounter.finish());
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued while handling a request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements > warnThreshold) {
+            log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, statements);
+        }
+    }
+}
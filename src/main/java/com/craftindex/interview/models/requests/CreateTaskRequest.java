@@ -1,5 +1,6 @@
 package com.craftindex.interview.models.requests;
 
+import com.craftindex.interview.enums.Status;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -8,6 +9,6 @@ import java.time.LocalDate;
 public class CreateTaskRequest {
     private String title;
     private String description;
-    private String status;
+    private Status status;
     private LocalDate dueDate;
 }
@@ -0,0 +1,14 @@
+package com.craftindex.interview.models.responses;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkCreateTasksResponse extends BaseResponse {
+    private int created;
+    private int failed;
+    private List<BulkTaskResult> results;
+}
@@ -0,0 +1,25 @@
+package com.craftindex.interview.models.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskResult {
+    private int index;
+    private String title;
+    private Long taskId;
+    private String message;
+    private int status;
+
+    public static BulkTaskResult created(int index, String title, Long taskId) {
+        return new BulkTaskResult(index, title, taskId, "Task created successfully", HttpStatus.OK.value());
+    }
+
+    public static BulkTaskResult failed(int index, String title, HttpStatus status, String message) {
+        return new BulkTaskResult(index, title, null, message, status.value());
+    }
+}
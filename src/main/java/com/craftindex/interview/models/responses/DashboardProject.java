@@ -0,0 +1,17 @@
+package com.craftindex.interview.models.responses;
+
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//One project of a dashboard with the first page of its tasks; the cursors continue it on /projects/{projectId}/tasks
+@Data
+public class DashboardProject {
+    private ProjectView project;
+    private List<TaskView> tasks;
+    private Long nextCursor;
+    private LocalDate nextCursorDueDate;
+}
@@ -1,12 +1,16 @@
 package com.craftindex.interview.models.responses;
 
-import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.repos.projections.TaskView;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
 public class GetProjectTasksResponse extends BaseResponse {
-    private List<TaskEntity> tasks;
+    private List<TaskView> tasks;
+    private Long nextCursor;
+    //Set alongside nextCursor when listing a due date range; send it back as afterDueDate
+    private LocalDate nextCursorDueDate;
 }
@@ -0,0 +1,14 @@
+package com.craftindex.interview.models.responses;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class GetProjectsDashboardResponse extends BaseResponse {
+    //In the order the ids were asked for
+    private List<DashboardProject> projects;
+    private List<Long> notFound;
+}
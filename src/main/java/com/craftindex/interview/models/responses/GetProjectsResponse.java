@@ -1,6 +1,6 @@
 package com.craftindex.interview.models.responses;
 
-import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.repos.projections.ProjectView;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,5 +8,6 @@ import java.util.List;
 
 @Data
 public class GetProjectsResponse extends BaseResponse {
-    private List<ProjectEntity> projects;
+    private List<ProjectView> projects;
+    private Long nextCursor;
 }
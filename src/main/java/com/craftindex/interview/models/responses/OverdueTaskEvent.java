@@ -0,0 +1,18 @@
+package com.craftindex.interview.models.responses;
+
+import com.craftindex.interview.repos.projections.TaskView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OverdueTaskEvent {
+    private Long id;
+    private LocalDate dueDate;
+    private LocalDateTime detectedAt;
+    //The task as it is now, so a task finished since it went overdue shows as DONE
+    private TaskView task;
+}
@@ -1,6 +1,7 @@
 package com.craftindex.interview.models.responses;
 
-import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.projections.ProjectView;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -9,6 +10,8 @@ import java.util.Map;
 @Data
 @AllArgsConstructor
 public class ProjectSummaryResponse {
-    private ProjectEntity project;
-    private int taskCounts;
+    //Same fields as the entity on the wire, without dragging a managed entity into the response
+    private ProjectView project;
+    private long taskCounts;
+    private Map<Status, Long> statusCounts;
 }
@@ -0,0 +1,13 @@
+package com.craftindex.interview.models.responses;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ReconcileTaskCountersResponse extends BaseResponse {
+    private int countersChecked;
+    private List<TaskCounterDrift> drifts;
+}
@@ -0,0 +1,9 @@
+package com.craftindex.interview.models.responses;
+
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.repos.projections.TaskView;
+
+//The id is also the SSE event id, so a reconnecting client can send it back in Last-Event-ID.
+//The task is the committed state, or the last one for a delete.
+public record TaskChangeEvent(long id, TaskChangeType type, long projectId, TaskView task) {
+}
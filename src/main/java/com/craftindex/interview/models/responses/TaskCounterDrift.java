@@ -0,0 +1,14 @@
+package com.craftindex.interview.models.responses;
+
+import com.craftindex.interview.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskCounterDrift {
+    private Long projectId;
+    private Status status;
+    private long counted;
+    private long actual;
+}
@@ -0,0 +1,12 @@
+package com.craftindex.interview.models.responses;
+
+import com.craftindex.interview.repos.projections.TaskView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSearchHit {
+    private TaskView task;
+    private double score;
+}
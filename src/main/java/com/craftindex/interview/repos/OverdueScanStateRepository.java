@@ -0,0 +1,17 @@
+package com.craftindex.interview.repos;
+
+import com.craftindex.interview.entities.OverdueScanStateEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OverdueScanStateRepository extends JpaRepository<OverdueScanStateEntity, Integer> {
+    //Instances sharing a database take turns on the watermark, so a day is never recorded twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OverdueScanStateEntity s WHERE s.id = :id")
+    Optional<OverdueScanStateEntity> findForUpdate(@Param("id") Integer id);
+}
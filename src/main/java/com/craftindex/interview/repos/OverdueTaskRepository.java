@@ -0,0 +1,12 @@
+package com.craftindex.interview.repos;
+
+import com.craftindex.interview.entities.OverdueTaskEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OverdueTaskRepository extends JpaRepository<OverdueTaskEntity, Long> {
+    //The feed is read oldest first, seeking past the last id a consumer has seen
+    Slice<OverdueTaskEntity> findByIdGreaterThan(Long id, Pageable pageable);
+    Slice<OverdueTaskEntity> findByProjectIdAndIdGreaterThan(Long projectId, Long id, Pageable pageable);
+}
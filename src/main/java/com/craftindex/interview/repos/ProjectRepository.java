@@ -1,10 +1,70 @@
 package com.craftindex.interview.repos;
 
 import com.craftindex.interview.entities.ProjectEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
+    String PROJECTS_BY_ID = "projectsById";
+    String PROJECTS_BY_NAME = "projectsByName";
+
+    @Cacheable(cacheNames = PROJECTS_BY_NAME, key = "T(com.craftindex.interview.entities.ProjectEntity).nameKey(#p0)",
+            condition = "#p0 != null", unless = "#result == null")
     Optional<ProjectEntity> findByNameIgnoreCase(String projectName);
-}
\ No newline at end of file
+
+    Slice<ProjectEntity> findAllBy(Pageable pageable);
+
+    //Listings take the result type, so they can select a projection such as ProjectView instead of managed entities
+    <T> Page<T> findProjectedBy(Pageable pageable, Class<T> type);
+    <T> Slice<T> findByIdLessThan(Long id, Pageable pageable, Class<T> type);
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    //Versions are always read from the database: they back the ETags, so they must not come from the cached entity
+    @Query("SELECT p.version FROM ProjectEntity p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.tasksVersion FROM ProjectEntity p WHERE p.id = :id")
+    Optional<Long> findTasksVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE ProjectEntity p SET p.tasksVersion = p.tasksVersion + 1 WHERE p.id = :id")
+    int incrementTasksVersion(@Param("id") Long id);
+
+    //Misses are not cached, so a project created after a failed lookup is visible immediately
+    @Override
+    @Cacheable(cacheNames = PROJECTS_BY_ID, unless = "#result == null")
+    Optional<ProjectEntity> findById(Long id);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PROJECTS_BY_ID, key = "#p0.id", condition = "#p0.id != null"),
+            @CacheEvict(cacheNames = PROJECTS_BY_NAME, allEntries = true)
+    })
+    <S extends ProjectEntity> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PROJECTS_BY_ID, key = "#p0.id", condition = "#p0.id != null"),
+            @CacheEvict(cacheNames = PROJECTS_BY_NAME, allEntries = true)
+    })
+    void delete(ProjectEntity entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PROJECTS_BY_ID, key = "#p0"),
+            @CacheEvict(cacheNames = PROJECTS_BY_NAME, allEntries = true)
+    })
+    void deleteById(Long id);
+}
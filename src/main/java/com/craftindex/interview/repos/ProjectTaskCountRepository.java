@@ -0,0 +1,50 @@
+package com.craftindex.interview.repos;
+
+import com.craftindex.interview.entities.ProjectTaskCountEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.projections.TaskStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectTaskCountRepository extends JpaRepository<ProjectTaskCountEntity, Long> {
+    //Counters are only changed through bulk updates, so they are always read as scalars rather than managed entities
+    @Query("SELECT c.projectId AS projectId, c.status AS status, c.taskCount AS count FROM ProjectTaskCountEntity c " +
+            "WHERE c.projectId IN :projectIds")
+    List<TaskStatusCount> findCountsByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT c.projectId AS projectId, c.status AS status, c.taskCount AS count FROM ProjectTaskCountEntity c")
+    List<TaskStatusCount> findAllCounts();
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCountEntity c SET c.taskCount = c.taskCount + :delta " +
+            "WHERE c.projectId = :projectId AND c.status = :status")
+    int adjust(@Param("projectId") Long projectId, @Param("status") Status status, @Param("delta") long delta);
+
+    //Updates the counter or creates it. H2 only checks the unique key when the insert runs, so callers creating
+    //a counter lock the project row first; otherwise two writers can both take the insert branch
+    @Modifying
+    @Query(value = "MERGE INTO project_task_count c " +
+            "USING (VALUES (CAST(:projectId AS BIGINT), CAST(:status AS TINYINT), CAST(:delta AS BIGINT))) AS d (project_id, status, delta) " +
+            "ON c.project_id = d.project_id AND c.status = d.status " +
+            "WHEN MATCHED THEN UPDATE SET task_count = c.task_count + d.delta " +
+            "WHEN NOT MATCHED THEN INSERT (id, project_id, status, task_count) " +
+            "VALUES (NEXT VALUE FOR project_task_count_seq, d.project_id, d.status, d.delta)", nativeQuery = true)
+    int merge(@Param("projectId") Long projectId, @Param("status") int status, @Param("delta") long delta);
+
+    @Query(value = "SELECT id FROM project WHERE id = :projectId FOR UPDATE", nativeQuery = true)
+    List<Long> lockProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCountEntity c SET c.taskCount = :taskCount " +
+            "WHERE c.projectId = :projectId AND c.status = :status")
+    int overwrite(@Param("projectId") Long projectId, @Param("status") Status status, @Param("taskCount") long taskCount);
+
+    //Locks every counter row so writers queue behind a reconcile instead of racing it
+    @Query(value = "SELECT id FROM project_task_count FOR UPDATE", nativeQuery = true)
+    List<Long> lockAll();
+}
@@ -2,24 +2,112 @@ package com.craftindex.interview.repos;
 
 import com.craftindex.interview.entities.ProjectEntity;
 import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.projections.TaskStatusCount;
+import com.craftindex.interview.repos.projections.TaskView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
-    Optional<TaskEntity> findByTitleIgnoreCaseAndProjectEntity(String title, ProjectEntity projectEntity);
-    Page<TaskEntity> findByProjectEntity(ProjectEntity projectEntity, Pageable pageable);
-    Page<TaskEntity> findByProjectEntityAndDueDate(ProjectEntity projectEntity, LocalDate dueDate, Pageable pageable);
-    Page<TaskEntity> findByProjectEntityAndStatus(ProjectEntity projectEntity, String status, Pageable pageable);
-    Page<TaskEntity> findByProjectEntityAndDueDateAndStatus(ProjectEntity projectEntity, LocalDate dueDate, String status, Pageable pageable);
+    Optional<TaskEntity> findFirstByProjectEntityAndTitleKey(ProjectEntity projectEntity, String titleKey);
+    boolean existsByProjectIdAndTitleKey(Long projectId, String titleKey);
 
+    default Optional<TaskEntity> findByTitleIgnoreCaseAndProjectEntity(String title, ProjectEntity projectEntity) {
+        return findFirstByProjectEntityAndTitleKey(projectEntity, TaskEntity.titleKey(title));
+    }
+
+    @Query("SELECT t.titleKey FROM TaskEntity t WHERE t.projectEntity = :projectEntity AND t.titleKey IN :titleKeys")
+    List<String> findTitleKeysByProjectEntityAndTitleKeyIn(@Param("projectEntity") ProjectEntity projectEntity,
+                                                           @Param("titleKeys") Collection<String> titleKeys);
+
+    //Listings take the result type, so they can select a projection such as TaskView instead of managed entities
+    <T> Page<T> findByProjectEntity(ProjectEntity projectEntity, Pageable pageable, Class<T> type);
+    <T> Page<T> findByProjectEntityAndDueDate(ProjectEntity projectEntity, LocalDate dueDate, Pageable pageable, Class<T> type);
+    <T> Page<T> findByProjectEntityAndStatus(ProjectEntity projectEntity, Status status, Pageable pageable, Class<T> type);
+    <T> Page<T> findByProjectEntityAndDueDateAndStatus(ProjectEntity projectEntity, LocalDate dueDate, Status status, Pageable pageable, Class<T> type);
+
+    //Due date ranges are inclusive on both ends; the service turns dueAfter/dueBefore into the days strictly between them
+    <T> Page<T> findByProjectEntityAndDueDateBetween(ProjectEntity projectEntity, LocalDate from, LocalDate to, Pageable pageable, Class<T> type);
+    <T> Page<T> findByProjectEntityAndStatusAndDueDateBetween(ProjectEntity projectEntity, Status status, LocalDate from, LocalDate to, Pageable pageable, Class<T> type);
+
+    //Keyset variants: seek past the cursor id and return a Slice so no count query is issued
+    <T> Slice<T> findByProjectEntityAndIdLessThan(ProjectEntity projectEntity, Long id, Pageable pageable, Class<T> type);
+    <T> Slice<T> findByProjectEntityAndDueDateAndIdLessThan(ProjectEntity projectEntity, LocalDate dueDate, Long id, Pageable pageable, Class<T> type);
+    <T> Slice<T> findByProjectEntityAndStatusAndIdLessThan(ProjectEntity projectEntity, Status status, Long id, Pageable pageable, Class<T> type);
+    <T> Slice<T> findByProjectEntityAndDueDateAndStatusAndIdLessThan(ProjectEntity projectEntity, LocalDate dueDate, Status status, Long id, Pageable pageable, Class<T> type);
+
+    //Range listings run in (dueDate, id) order so idx_task_project_due_date serves the filter and the sort; the cursor is
+    //the last row's pair, and rows on the cursor's own day continue below its id
+    @Query("SELECT new com.craftindex.interview.repos.projections.TaskView(t.id, t.title, t.description, t.status, t.dueDate, t.projectEntity.id, t.version) " +
+            "FROM TaskEntity t WHERE t.projectEntity = :projectEntity AND (:status IS NULL OR t.status = :status) " +
+            "AND t.dueDate BETWEEN :from AND :afterDueDate AND (t.dueDate < :afterDueDate OR t.id < :after)")
+    Slice<TaskView> findByProjectEntityAndDueDateBetweenAfter(@Param("projectEntity") ProjectEntity projectEntity,
+                                                             @Param("status") Status status,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("afterDueDate") LocalDate afterDueDate,
+                                                             @Param("after") Long after,
+                                                             Pageable pageable);
+
+    //The first pages of several projects in one statement: each project's rows are numbered in listing order and cut
+    //at limit, so the result never holds more than limit rows per project however many tasks they have
+    @Query("SELECT new com.craftindex.interview.repos.projections.TaskView(r.id, r.title, r.description, r.status, r.dueDate, r.projectId, r.version) " +
+            "FROM (SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status, t.dueDate AS dueDate, " +
+            "t.projectEntity.id AS projectId, t.version AS version, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.projectEntity.id ORDER BY t.id DESC) AS position " +
+            "FROM TaskEntity t WHERE t.projectEntity.id IN :projectIds AND (:status IS NULL OR t.status = :status)) r " +
+            "WHERE r.position <= :limit ORDER BY r.projectId, r.position")
+    List<TaskView> findFirstPagesByProjectIds(@Param("projectIds") Collection<Long> projectIds,
+                                              @Param("status") Status status,
+                                              @Param("limit") long limit);
+
+    //Same for a due date filter, in the (dueDate, id) order of the single project listings
+    @Query("SELECT new com.craftindex.interview.repos.projections.TaskView(r.id, r.title, r.description, r.status, r.dueDate, r.projectId, r.version) " +
+            "FROM (SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status, t.dueDate AS dueDate, " +
+            "t.projectEntity.id AS projectId, t.version AS version, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.projectEntity.id ORDER BY t.dueDate DESC, t.id DESC) AS position " +
+            "FROM TaskEntity t WHERE t.projectEntity.id IN :projectIds AND (:status IS NULL OR t.status = :status) " +
+            "AND t.dueDate BETWEEN :from AND :to) r " +
+            "WHERE r.position <= :limit ORDER BY r.projectId, r.position")
+    List<TaskView> findFirstPagesByProjectIdsAndDueDateBetween(@Param("projectIds") Collection<Long> projectIds,
+                                                               @Param("status") Status status,
+                                                               @Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to,
+                                                               @Param("limit") long limit);
+
+    //Seeks idx_task_due_date to the next due date on or after the given day, skipping days without tasks
+    @Query("SELECT MIN(t.dueDate) FROM TaskEntity t WHERE t.dueDate >= :from AND t.dueDate < :before")
+    Optional<LocalDate> findFirstDueDateBetween(@Param("from") LocalDate from, @Param("before") LocalDate before);
+
+    //Forward-only cursor for exports: no ORDER BY so rows flow before the scan completes, read-only so no snapshots are kept
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT t FROM TaskEntity t WHERE t.projectEntity = :projectEntity")
-    List<TaskEntity> findByProjectEntity(@Param("projectEntity") ProjectEntity projectEntity);
+    Stream<TaskEntity> streamByProjectEntity(@Param("projectEntity") ProjectEntity projectEntity);
+
+    //Keyset batches in id order, used to rebuild the search index without holding one long cursor open
+    <T> Slice<T> findByIdGreaterThan(Long id, Pageable pageable, Class<T> type);
+
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
+    @Query("SELECT t.projectEntity.id AS projectId, t.status AS status, COUNT(t) AS count FROM TaskEntity t " +
+            "GROUP BY t.projectEntity.id, t.status")
+    List<TaskStatusCount> countGroupedByProjectAndStatus();
 
 }
@@ -0,0 +1,5 @@
+package com.craftindex.interview.repos.projections;
+
+//Selected straight into the constructor by the project listings, so no managed entity or snapshot is created per row
+public record ProjectView(Long id, String name, String description) {
+}
@@ -0,0 +1,9 @@
+package com.craftindex.interview.repos.projections;
+
+import com.craftindex.interview.enums.Status;
+
+public interface TaskStatusCount {
+    Long getProjectId();
+    Status getStatus();
+    long getCount();
+}
@@ -0,0 +1,4 @@
+package com.craftindex.interview.repos.projections;
+
+public record TaskText(Long id, Long projectId, String title, String description) {
+}
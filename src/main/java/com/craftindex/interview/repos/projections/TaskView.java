@@ -0,0 +1,10 @@
+package com.craftindex.interview.repos.projections;
+
+import com.craftindex.interview.enums.Status;
+
+import java.time.LocalDate;
+
+//Selected straight into the constructor by the task listings, so no managed entity or snapshot is created per row.
+//The version is what a client sends back in If-Match to update the task without overwriting someone else's change.
+public record TaskView(Long id, String title, String description, Status status, LocalDate dueDate, Long projectId, Long version) {
+}
@@ -0,0 +1,35 @@
+package com.craftindex.interview.repos.reactive;
+
+import com.craftindex.interview.entities.reactive.ProjectRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveProjectRepository extends R2dbcRepository<ProjectRow, Long> {
+    //The same pooled sequence Hibernate draws from; a value is only ever handed to one caller, so the ids never collide
+    @Query("SELECT NEXT VALUE FOR project_seq")
+    Mono<Long> nextId();
+
+    Mono<ProjectRow> findByNameIgnoreCase(String name);
+
+    Flux<ProjectRow> findAllBy(Pageable pageable);
+
+    Flux<ProjectRow> findByIdLessThan(Long id, Pageable pageable);
+
+    Flux<ProjectRow> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT version FROM project WHERE id = :id")
+    Mono<Long> findVersionById(Long id);
+
+    @Query("SELECT tasks_version FROM project WHERE id = :id")
+    Mono<Long> findTasksVersionById(Long id);
+
+    @Modifying
+    @Query("UPDATE project SET tasks_version = tasks_version + 1 WHERE id = :id")
+    Mono<Integer> incrementTasksVersion(Long id);
+}
@@ -0,0 +1,30 @@
+package com.craftindex.interview.repos.reactive;
+
+import com.craftindex.interview.entities.reactive.ProjectTaskCountRow;
+import com.craftindex.interview.enums.Status;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveProjectTaskCountRepository extends R2dbcRepository<ProjectTaskCountRow, Long> {
+    Flux<ProjectTaskCountRow> findByProjectIdIn(Collection<Long> projectIds);
+
+    //A zero row per status ordinal, as DefaultTaskCounterService.initializeProject creates them
+    @Modifying
+    @Query("INSERT INTO project_task_count (id, project_id, status, task_count) " +
+            "SELECT NEXT VALUE FOR project_task_count_seq, :projectId, X, 0 FROM SYSTEM_RANGE(0, :lastStatus)")
+    Mono<Integer> initializeProject(Long projectId, int lastStatus);
+
+    @Modifying
+    @Query("UPDATE project_task_count SET task_count = task_count + :delta WHERE project_id = :projectId AND status = :status")
+    Mono<Integer> adjust(Long projectId, Status status, long delta);
+
+    @Modifying
+    @Query("INSERT INTO project_task_count (id, project_id, status, task_count) " +
+            "VALUES (NEXT VALUE FOR project_task_count_seq, :projectId, :status, :delta)")
+    Mono<Integer> insert(Long projectId, Status status, long delta);
+}
@@ -0,0 +1,78 @@
+package com.craftindex.interview.repos.reactive;
+
+import com.craftindex.interview.entities.reactive.TaskRow;
+import com.craftindex.interview.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRow, Long> {
+    //One value per row from the shared task_seq, fetched in a single statement for a whole batch
+    @Query("SELECT NEXT VALUE FOR task_seq FROM SYSTEM_RANGE(1, :count)")
+    Flux<Long> nextIds(int count);
+
+    Mono<Boolean> existsByProjectIdAndTitleKey(Long projectId, String titleKey);
+
+    Mono<TaskRow> findByProjectIdAndTitleKey(Long projectId, String titleKey);
+
+    @Query("SELECT title_key FROM task WHERE project_id = :projectId AND title_key IN (:titleKeys)")
+    Flux<String> findTitleKeysByProjectIdAndTitleKeyIn(Long projectId, Collection<String> titleKeys);
+
+    //Streamed with backpressure, so an export never holds more than the rows in flight
+    Flux<TaskRow> findByProjectId(Long projectId);
+
+    //Offset pages; unlike the JPA listings no count query is run, the response never carried the total
+    Flux<TaskRow> findByProjectId(Long projectId, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndDueDate(Long projectId, LocalDate dueDate, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndStatus(Long projectId, Status status, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndDueDateAndStatus(Long projectId, LocalDate dueDate, Status status, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndDueDateBetween(Long projectId, LocalDate from, LocalDate to, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndStatusAndDueDateBetween(Long projectId, Status status, LocalDate from, LocalDate to, Pageable pageable);
+
+    //Keyset variants: seek past the cursor id; the caller asks for one row more than the page to know if another follows
+    Flux<TaskRow> findByProjectIdAndIdLessThan(Long projectId, Long id, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndDueDateAndIdLessThan(Long projectId, LocalDate dueDate, Long id, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndStatusAndIdLessThan(Long projectId, Status status, Long id, Pageable pageable);
+    Flux<TaskRow> findByProjectIdAndDueDateAndStatusAndIdLessThan(Long projectId, LocalDate dueDate, Status status, Long id, Pageable pageable);
+
+    //Same (dueDate, id) seek as TaskRepository.findByProjectEntityAndDueDateBetweenAfter, split in two rather than
+    //binding a nullable status into a ":status IS NULL OR" test
+    @Query("SELECT * FROM task WHERE project_id = :projectId AND due_date BETWEEN :from AND :afterDueDate " +
+            "AND (due_date < :afterDueDate OR id < :after) ORDER BY due_date DESC, id DESC LIMIT :limit")
+    Flux<TaskRow> findByProjectIdAndDueDateBetweenAfter(Long projectId, LocalDate from, LocalDate afterDueDate, Long after, int limit);
+
+    @Query("SELECT * FROM task WHERE project_id = :projectId AND status = :status AND due_date BETWEEN :from AND :afterDueDate " +
+            "AND (due_date < :afterDueDate OR id < :after) ORDER BY due_date DESC, id DESC LIMIT :limit")
+    Flux<TaskRow> findByProjectIdAndStatusAndDueDateBetweenAfter(Long projectId, Status status, LocalDate from, LocalDate afterDueDate, Long after, int limit);
+
+    //The dashboard's first pages of many projects in one statement, as TaskRepository.findFirstPagesByProjectIds does;
+    //rows come back per project in page order, with one past each page when the caller asks for it
+    @Query("SELECT id, title, title_key, description, status, due_date, project_id, version FROM (SELECT t.*, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.id DESC) AS position " +
+            "FROM task t WHERE t.project_id IN (:projectIds)) r " +
+            "WHERE r.position <= :limit ORDER BY r.project_id, r.position")
+    Flux<TaskRow> findFirstPagesByProjectIds(Collection<Long> projectIds, int limit);
+
+    @Query("SELECT id, title, title_key, description, status, due_date, project_id, version FROM (SELECT t.*, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.id DESC) AS position " +
+            "FROM task t WHERE t.project_id IN (:projectIds) AND t.status = :status) r " +
+            "WHERE r.position <= :limit ORDER BY r.project_id, r.position")
+    Flux<TaskRow> findFirstPagesByProjectIdsAndStatus(Collection<Long> projectIds, Status status, int limit);
+
+    @Query("SELECT id, title, title_key, description, status, due_date, project_id, version FROM (SELECT t.*, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.due_date DESC, t.id DESC) AS position " +
+            "FROM task t WHERE t.project_id IN (:projectIds) AND t.due_date BETWEEN :from AND :to) r " +
+            "WHERE r.position <= :limit ORDER BY r.project_id, r.position")
+    Flux<TaskRow> findFirstPagesByProjectIdsAndDueDateBetween(Collection<Long> projectIds, LocalDate from, LocalDate to, int limit);
+
+    @Query("SELECT id, title, title_key, description, status, due_date, project_id, version FROM (SELECT t.*, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.due_date DESC, t.id DESC) AS position " +
+            "FROM task t WHERE t.project_id IN (:projectIds) AND t.status = :status AND t.due_date BETWEEN :from AND :to) r " +
+            "WHERE r.position <= :limit ORDER BY r.project_id, r.position")
+    Flux<TaskRow> findFirstPagesByProjectIdsAndStatusAndDueDateBetween(Collection<Long> projectIds, Status status, LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,118 @@
+package com.craftindex.interview.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to long values, so millions of task ids and terms can be
+ * looked up without boxing; -1 reads as missing. Removal shifts the following run back instead
+ * of leaving tombstones.
+ */
+final class LongLongHashMap {
+    static final long MISSING = -1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? MISSING : values[index];
+    }
+
+    void put(long key, long value) {
+        //Kept at most three quarters full; the mixed hash spreads sequential ids well enough for linear probing
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        int index = home(key);
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+    }
+
+    long remove(long key) {
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return MISSING;
+        }
+        long removed = values[gap];
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            //An entry may only move back if the gap lies between its home slot and where it sits now
+            if (((next - home(keys[next])) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private int indexOf(long key) {
+        for (int index = home(key); keys[index] != EMPTY; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * 3L < expectedSize * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
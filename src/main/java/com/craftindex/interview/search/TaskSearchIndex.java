@@ -0,0 +1,431 @@
+package com.craftindex.interview.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ *
+ * Every indexed version of a task takes the next slot and postings are only appended to, so each
+ * posting list stays sorted by slot and a query merges its lists in a single pass. Re-indexing or
+ * removing a task tombstones its old slot; once tombstones outnumber live tasks the postings are
+ * compacted. Searches share the read lock, changes take the write lock.
+ *
+ * Terms are keyed by a 64-bit fingerprint rather than the string, and a term seen in a single task
+ * keeps its one posting inline in the dictionary. Ids, numbers and typos make up most of a large
+ * vocabulary, so this is what keeps millions of tasks within a modest heap.
+ */
+public class TaskSearchIndex {
+    //Title terms count as this many occurrences, so a title match outranks the same word in a description
+    static final int TITLE_WEIGHT = 2;
+    static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 10_000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    //Fingerprint to either an index into postingLists or, for a term in one task only, an inline posting
+    private LongLongHashMap terms = new LongLongHashMap(1024);
+    private List<Postings> postingLists = new ArrayList<>();
+    private LongLongHashMap slotsByTaskId = new LongLongHashMap(1024);
+    private long[] taskIds = new long[1024];
+    private long[] projectIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private BitSet live = new BitSet();
+    private int slots;
+    private long liveLength;
+
+    public record Hit(long taskId, double score) {
+    }
+
+    public record Result(long totalHits, List<Hit> hits) {
+    }
+
+    public void put(long taskId, long projectId, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            tombstone(taskId);
+            int slot = slots++;
+            ensureCapacity(slots);
+            int length = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                addPosting(fingerprint(frequency.getKey()), slot, Math.min(frequency.getValue(), 255));
+                length += frequency.getValue();
+            }
+            taskIds[slot] = taskId;
+            projectIds[slot] = projectId;
+            lengths[slot] = length;
+            live.set(slot);
+            liveLength += length;
+            slotsByTaskId.put(taskId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByTaskId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the tasks matching any of the query terms, optionally within one project, and returns the
+     * best {@code limit} hits ordered by score and then newest task first.
+     */
+    public Result search(String query, Long projectId, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty() || limit < 1) {
+            return new Result(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveTasks = slotsByTaskId.size();
+            double averageLength = liveTasks == 0 ? 1 : Math.max(1, (double) liveLength / liveTasks);
+            Postings[] lists = new Postings[queryTerms.size()];
+            double[] idfs = new double[queryTerms.size()];
+            int found = 0;
+            for (String term : queryTerms) {
+                Postings list = postings(fingerprint(term));
+                if (list != null) {
+                    lists[found] = list;
+                    //Document frequency still counts tombstoned slots until the next compaction
+                    idfs[found++] = Math.log(1 + (liveTasks - list.size + 0.5) / (list.size + 0.5));
+                }
+            }
+
+            //Walk the lists from the newest slot down, so on equal scores the heap rarely has to replace its root
+            TopHits top = new TopHits(limit);
+            long totalHits = 0;
+            int[] cursors = new int[found];
+            for (int i = 0; i < found; i++) {
+                cursors[i] = lists[i].size - 1;
+            }
+            while (true) {
+                int slot = -1;
+                for (int i = 0; i < found; i++) {
+                    if (cursors[i] >= 0) {
+                        slot = Math.max(slot, lists[i].slots[cursors[i]]);
+                    }
+                }
+                if (slot < 0) {
+                    break;
+                }
+
+                boolean matches = live.get(slot) && (projectId == null || projectIds[slot] == projectId);
+                double lengthNorm = K1 * (1 - B + B * lengths[slot] / averageLength);
+                double score = 0;
+                for (int i = 0; i < found; i++) {
+                    if (cursors[i] >= 0 && lists[i].slots[cursors[i]] == slot) {
+                        if (matches) {
+                            int frequency = lists[i].frequency(cursors[i]);
+                            score += idfs[i] * frequency * (K1 + 1) / (frequency + lengthNorm);
+                        }
+                        cursors[i]--;
+                    }
+                }
+                if (matches) {
+                    totalHits++;
+                    top.offer(taskIds[slot], score);
+                }
+            }
+            return new Result(totalHits, top.sorted());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; anything else separates terms.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (termCharacter && start < 0) {
+                start = i;
+            } else if (!termCharacter && start >= 0) {
+                terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private void addPosting(long term, int slot, int frequency) {
+        long entry = terms.get(term);
+        if (entry == LongLongHashMap.MISSING) {
+            terms.put(term, inline(slot, frequency));
+        } else if (entry < 0) {
+            Postings list = new Postings();
+            list.add(inlineSlot(entry), inlineFrequency(entry));
+            list.add(slot, frequency);
+            terms.put(term, postingLists.size());
+            postingLists.add(list);
+        } else {
+            postingLists.get((int) entry).add(slot, frequency);
+        }
+    }
+
+    private Postings postings(long term) {
+        long entry = terms.get(term);
+        if (entry == LongLongHashMap.MISSING) {
+            return null;
+        }
+        if (entry < 0) {
+            Postings list = new Postings();
+            list.add(inlineSlot(entry), inlineFrequency(entry));
+            return list;
+        }
+        return postingLists.get((int) entry);
+    }
+
+    //Inline postings are stored complemented, so they are always negative and never collide with MISSING
+    private static long inline(int slot, int frequency) {
+        return ~(((long) slot << 8) | frequency);
+    }
+
+    private static int inlineSlot(long entry) {
+        return (int) (~entry >>> 8);
+    }
+
+    private static int inlineFrequency(long entry) {
+        return (int) (~entry & 0xFF);
+    }
+
+    //FNV-1a over the characters, finished with a 64-bit mix; with millions of terms a collision is around one in a million
+    static long fingerprint(String term) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            hash ^= term.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private void tombstone(long taskId) {
+        long removed = slotsByTaskId.remove(taskId);
+        if (removed == LongLongHashMap.MISSING) {
+            return;
+        }
+        int slot = (int) removed;
+        live.clear(slot);
+        liveLength -= lengths[slot];
+        int tombstones = slots - slotsByTaskId.size();
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > slotsByTaskId.size()) {
+            compact();
+        }
+    }
+
+    //Renumbers the live slots in order, so every posting list stays sorted while dropping the dead entries
+    private void compact() {
+        int[] newSlots = new int[slots];
+        int liveSlots = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            newSlots[slot] = live.get(slot) ? liveSlots++ : -1;
+        }
+
+        LongLongHashMap compactedTerms = new LongLongHashMap(terms.size());
+        List<Postings> compactedLists = new ArrayList<>();
+        terms.forEach((term, entry) -> {
+            if (entry < 0) {
+                int newSlot = newSlots[inlineSlot(entry)];
+                if (newSlot >= 0) {
+                    compactedTerms.put(term, inline(newSlot, inlineFrequency(entry)));
+                }
+                return;
+            }
+            Postings list = postingLists.get((int) entry);
+            list.retain(newSlots);
+            if (list.size == 1) {
+                compactedTerms.put(term, inline(list.slots[0], list.frequency(0)));
+            } else if (list.size > 1) {
+                compactedTerms.put(term, compactedLists.size());
+                compactedLists.add(list);
+            }
+        });
+        terms = compactedTerms;
+        postingLists = compactedLists;
+
+        int capacity = Math.max(1024, liveSlots);
+        long[] compactedTaskIds = new long[capacity];
+        long[] compactedProjectIds = new long[capacity];
+        int[] compactedLengths = new int[capacity];
+        LongLongHashMap compactedSlots = new LongLongHashMap(liveSlots);
+        for (int slot = 0; slot < slots; slot++) {
+            int newSlot = newSlots[slot];
+            if (newSlot >= 0) {
+                compactedTaskIds[newSlot] = taskIds[slot];
+                compactedProjectIds[newSlot] = projectIds[slot];
+                compactedLengths[newSlot] = lengths[slot];
+                compactedSlots.put(taskIds[slot], newSlot);
+            }
+        }
+        taskIds = compactedTaskIds;
+        projectIds = compactedProjectIds;
+        lengths = compactedLengths;
+        slotsByTaskId = compactedSlots;
+        live = new BitSet(capacity);
+        live.set(0, liveSlots);
+        slots = liveSlots;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > taskIds.length) {
+            int newLength = Math.max(capacity, taskIds.length + (taskIds.length >> 1));
+            taskIds = Arrays.copyOf(taskIds, newLength);
+            projectIds = Arrays.copyOf(projectIds, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                int newLength = size < 8 ? size * 2 : size + (size >> 1);
+                slots = Arrays.copyOf(slots, newLength);
+                frequencies = Arrays.copyOf(frequencies, newLength);
+            }
+            slots[size] = slot;
+            frequencies[size] = (byte) frequency;
+            size++;
+        }
+
+        int frequency(int index) {
+            return frequencies[index] & 0xFF;
+        }
+
+        void retain(int[] newSlots) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newSlot = newSlots[slots[i]];
+                if (newSlot >= 0) {
+                    slots[kept] = newSlot;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < slots.length / 2) {
+                slots = Arrays.copyOf(slots, Math.max(1, kept));
+                frequencies = Arrays.copyOf(frequencies, Math.max(1, kept));
+            }
+        }
+    }
+
+    //Bounded min-heap keyed on (score, task id), so the weakest of the best hits is always at the root
+    private static final class TopHits {
+        private final long[] taskIds;
+        private final double[] scores;
+        private int size;
+
+        TopHits(int limit) {
+            taskIds = new long[limit];
+            scores = new double[limit];
+        }
+
+        void offer(long taskId, double score) {
+            if (size < taskIds.length) {
+                taskIds[size] = taskId;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score >= scores[0] && weaker(taskIds[0], scores[0], taskId, score)) {
+                taskIds[0] = taskId;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sorted() {
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                hits[size - 1] = new Hit(taskIds[0], scores[0]);
+                size--;
+                taskIds[0] = taskIds[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return Arrays.asList(hits);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!weaker(taskIds[index], scores[index], taskIds[parent], scores[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int weakest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (weaker(taskIds[child], scores[child], taskIds[weakest], scores[weakest])) {
+                        weakest = child;
+                    }
+                }
+                if (weakest == index) {
+                    return;
+                }
+                swap(index, weakest);
+                index = weakest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long taskId = taskIds[i];
+            taskIds[i] = taskIds[j];
+            taskIds[j] = taskId;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+
+        private static boolean weaker(long taskId, double score, long otherTaskId, double otherScore) {
+            return score < otherScore || (score == otherScore && taskId < otherTaskId);
+        }
+    }
+}
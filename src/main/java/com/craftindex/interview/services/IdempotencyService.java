@@ -0,0 +1,10 @@
+package com.craftindex.interview.services;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request, Class<T> responseType, Supplier<ResponseEntity<T>> action);
+    int purgeExpired();
+}
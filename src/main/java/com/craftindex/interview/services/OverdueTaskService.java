@@ -0,0 +1,13 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+public interface OverdueTaskService {
+    int scan(LocalDate today);
+    ResponseEntity<BaseResponse> scan();
+    ResponseEntity<GetOverdueTasksResponse> getOverdueTasks(Long projectId, Long after, int limit);
+}
@@ -0,0 +1,6 @@
+package com.craftindex.interview.services;
+
+public interface ProjectLockService {
+    //Holds the project's lock until the current transaction completes; answers 503 when it stays busy
+    void lockForTransaction(long projectId);
+}
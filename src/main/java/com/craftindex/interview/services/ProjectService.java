@@ -1,5 +1,6 @@
 package com.craftindex.interview.services;
 
+import com.craftindex.interview.enums.Status;
 import com.craftindex.interview.models.requests.CreateProjectRequest;
 import com.craftindex.interview.models.requests.CreateTaskRequest;
 import com.craftindex.interview.models.responses.*;
@@ -8,14 +9,49 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjectService {
     ResponseEntity<BaseResponse> createProject(CreateProjectRequest request);
     ResponseEntity<GetProjectsResponse> getProjects(Pageable pageable);
+    ResponseEntity<GetProjectsResponse> getProjectsAfter(Long after, int limit);
     ResponseEntity<ProjectResponse> getProjectById(long projectId);
     ResponseEntity<BaseResponse> createProjectTask(CreateTaskRequest request, long projectId);
-    ResponseEntity<GetProjectTasksResponse> getProjectTasks(long projectId, LocalDate dueDate, String status,Pageable pageable);
-    ResponseEntity<BaseResponse> updateTask(CreateTaskRequest request, long taskId);
+    ResponseEntity<BulkCreateTasksResponse> createProjectTasks(List<CreateTaskRequest> requests, long projectId);
+    ResponseEntity<GetProjectTasksResponse> getProjectTasks(long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Pageable pageable);
+    ResponseEntity<GetProjectTasksResponse> getProjectTasksAfter(long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Long after, LocalDate afterDueDate, int limit);
+    ResponseEntity<BaseResponse> updateTask(CreateTaskRequest request, long taskId, Long expectedVersion);
     ResponseEntity<BaseResponse> deleteTask(long taskId);
-    ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary();
+    ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary(Pageable pageable);
+    ResponseEntity<GetProjectsDashboardResponse> getProjectsDashboard(List<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit);
+    Optional<Long> getProjectVersion(long projectId);
+    Optional<Long> getProjectTasksVersion(long projectId);
+
+    //Returned by task updates and expected back in If-Match
+    static String taskETag(long taskId, long version) {
+        return "task-" + taskId + "-" + version;
+    }
+
+    //The version an If-Match header asks for: null for no header or "*", -1 when none of its tags belongs to this task
+    static Long expectedTaskVersion(String ifMatch, long taskId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "task-" + taskId + "-";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException ignored) {
+                    //Not one of ours, so it can never match
+                }
+            }
+        }
+        return -1L;
+    }
  }
@@ -0,0 +1,8 @@
+package com.craftindex.interview.services;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProjectLockService {
+    //ProjectLockService for the reactive profile: completes once the project's lock is held, and holds it until the current transaction completes
+    Mono<Void> lockForTransaction(long projectId);
+}
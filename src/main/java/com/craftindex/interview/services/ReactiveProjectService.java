@@ -0,0 +1,33 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.*;
+import com.craftindex.interview.repos.projections.TaskView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//The non-blocking counterpart of ProjectService: same rules, same responses, over R2DBC
+public interface ReactiveProjectService {
+    Mono<ResponseEntity<BaseResponse>> createProject(CreateProjectRequest request);
+    Mono<ResponseEntity<GetProjectsResponse>> getProjects(Pageable pageable);
+    Mono<ResponseEntity<GetProjectsResponse>> getProjectsAfter(Long after, int limit);
+    Mono<ResponseEntity<ProjectResponse>> getProjectById(long projectId);
+    Mono<ResponseEntity<BaseResponse>> createProjectTask(CreateTaskRequest request, long projectId);
+    Mono<ResponseEntity<BulkCreateTasksResponse>> createProjectTasks(List<CreateTaskRequest> requests, long projectId);
+    Mono<ResponseEntity<GetProjectTasksResponse>> getProjectTasks(long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Pageable pageable);
+    Mono<ResponseEntity<GetProjectTasksResponse>> getProjectTasksAfter(long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Long after, LocalDate afterDueDate, int limit);
+    Flux<TaskView> exportProjectTasks(long projectId);
+    Mono<ResponseEntity<BaseResponse>> updateTask(CreateTaskRequest request, long taskId, Long expectedVersion);
+    Mono<ResponseEntity<BaseResponse>> deleteTask(long taskId);
+    Mono<ResponseEntity<List<ProjectSummaryResponse>>> getProjectsSummary(Pageable pageable);
+    Mono<ResponseEntity<GetProjectsDashboardResponse>> getProjectsDashboard(List<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit);
+    Mono<Long> getProjectVersion(long projectId);
+    Mono<Long> getProjectTasksVersion(long projectId);
+}
@@ -0,0 +1,8 @@
+package com.craftindex.interview.services;
+
+import java.util.function.Supplier;
+
+public interface ReadCoalescingService {
+    //Runs the read once for every caller asking for the same key at the same time; they all get its result or its exception
+    <T> T execute(String key, Supplier<T> read);
+}
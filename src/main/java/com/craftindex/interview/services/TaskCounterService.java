@@ -0,0 +1,18 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TaskCounterService {
+    void initializeProject(Long projectId);
+    void taskCreated(TaskEntity taskEntity);
+    void taskStatusChanged(TaskEntity taskEntity, Status previousStatus);
+    void taskDeleted(TaskEntity taskEntity);
+    void adjust(Long projectId, Status status, long delta);
+    Map<Long, Map<Status, Long>> getStatusCounts(Collection<Long> projectIds);
+    ReconcileTaskCountersResponse reconcile();
+}
@@ -0,0 +1,30 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.responses.TaskChangeEvent;
+import com.craftindex.interview.repos.projections.TaskView;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface TaskEventService {
+    //Called from the writing transaction; subscribers only hear about changes that commit
+    void tasksChanged(TaskChangeType type, List<TaskView> tasks);
+
+    //Replays what the project saw after lastEventId, or a RESET if that is no longer known, then follows live changes
+    Subscription subscribe(long projectId, Long lastEventId, Listener listener);
+
+    //Events a subscriber may fall behind by before it is disconnected
+    int subscriberBuffer();
+
+    //Called from one dispatch thread at a time per subscriber
+    interface Listener {
+        void send(TaskChangeEvent event) throws IOException;
+        void heartbeat() throws IOException;
+        void closed(boolean fellBehind);
+    }
+
+    interface Subscription {
+        void cancel();
+    }
+}
@@ -0,0 +1,8 @@
+package com.craftindex.interview.services;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface TaskExportService {
+    ResponseEntity<StreamingResponseBody> exportProjectTasks(long projectId);
+}
@@ -0,0 +1,40 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TaskJournalService {
+    //Called from the writing transaction; only mutations that commit are journaled, and the writer returns once they are
+    //durable, waiting for the disk after the transaction has completed
+    void projectCreated(ProjectView project);
+
+    //Same contract for task changes; RESET is not a mutation and is rejected
+    void tasksChanged(TaskChangeType type, List<TaskView> tasks);
+
+    //Hands every journaled mutation after the sequence to the consumer, oldest first, and returns how many there were.
+    //Fails if mutations after the sequence have already been deleted
+    long replay(long afterSequence, Consumer<Entry> consumer);
+
+    //For a transaction that is not bound to the thread, such as a reactive one: runs the journaling calls from its afterCommit,
+    //appending without waiting, and returns the sequence to hand to awaitDurable once it has completed
+    long journalWithoutWaiting(Runnable journaling);
+
+    //Returns once every mutation up to the sequence is durable; 0 returns at once
+    void awaitDurable(long sequence);
+
+    //Deletes the segments holding only mutations up to the sequence; for a consumer that has checkpointed what it replayed
+    void deleteThrough(long sequence);
+
+    //New kinds go at the end: the ordinal is what the journal stores
+    enum Kind {
+        PROJECT_CREATED, TASK_CREATED, TASK_UPDATED, TASK_DELETED
+    }
+
+    //project is set for PROJECT_CREATED, task for the others
+    record Entry(long sequence, Kind kind, ProjectView project, TaskView task) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface TaskSearchService {
+    void tasksSaved(List<TaskEntity> taskEntities);
+    void taskDeleted(TaskEntity taskEntity);
+    ResponseEntity<SearchTasksResponse> searchTasks(String query, Long projectId, Pageable pageable);
+    ResponseEntity<BaseResponse> rebuild();
+}
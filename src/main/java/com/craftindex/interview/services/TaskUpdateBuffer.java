@@ -0,0 +1,19 @@
+package com.craftindex.interview.services;
+
+import com.craftindex.interview.repos.projections.TaskView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public interface TaskUpdateBuffer {
+    boolean isEnabled();
+    Optional<TaskView> pending(long taskId);
+    boolean enqueue(TaskView current, TaskView updated);
+    void discard(long taskId);
+    boolean hasPending(long projectId);
+    Set<String> pendingTitleKeys(long projectId);
+    List<TaskView> overlay(List<TaskView> tasks, Predicate<TaskView> filter);
+    int flush();
+}
@@ -0,0 +1,133 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.IdempotencyKeyEntity;
+import com.craftindex.interview.repos.IdempotencyKeyRepository;
+import com.craftindex.interview.services.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Makes creates safe to retry. The key row is inserted and flushed before the action runs, in the
+ * same transaction, so a second request with the same key blocks on the primary key until the first
+ * one ends: if it committed, its stored response is replayed; if it rolled back, the key was never
+ * used and the retry runs the action itself. No task can be created without its key being stored.
+ */
+@Service
+@Slf4j
+public class DefaultIdempotencyService implements IdempotencyService {
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    public DefaultIdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${interview.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request, Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = requestHash(operation, request);
+        IdempotencyKeyEntity stored = idempotencyKeyRepository.findById(idempotencyKey).orElse(null);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        try {
+            return transactionTemplate.execute(transaction -> {
+                IdempotencyKeyEntity claimed = new IdempotencyKeyEntity();
+                claimed.setKey(idempotencyKey);
+                claimed.setRequestHash(requestHash);
+                claimed.setCreatedAt(LocalDateTime.now());
+                idempotencyKeyRepository.saveAndFlush(claimed);
+
+                ResponseEntity<T> response = action.get();
+                claimed.setResponseStatus(response.getStatusCode().value());
+                claimed.setResponseBody(toJson(response.getBody()));
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            //Either the same key committed while this request waited on it, or the action itself broke a constraint
+            IdempotencyKeyEntity winner = idempotencyKeyRepository.findById(idempotencyKey).orElseThrow(() -> e);
+            return replay(winner, requestHash, responseType);
+        } catch (PessimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${interview.idempotency.purge-interval:PT1H}")
+    public int purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteByCreatedAtBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} idempotency keys older than {}", purged, retention);
+        }
+        return purged;
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyKeyEntity stored, String requestHash, Class<T> responseType) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        }
+        try {
+            T body = stored.getResponseBody() == null ? null : objectMapper.readValue(stored.getResponseBody(), responseType);
+            return ResponseEntity.status(stored.getResponseStatus()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("An error occurred while replaying the stored response", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("An error occurred while storing the response", e);
+        }
+    }
+
+    private String requestHash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new RuntimeException("An error occurred while fingerprinting the request", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.OverdueScanStateEntity;
+import com.craftindex.interview.entities.OverdueTaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import com.craftindex.interview.models.responses.OverdueTaskEvent;
+import com.craftindex.interview.repos.OverdueScanStateRepository;
+import com.craftindex.interview.repos.OverdueTaskRepository;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.OverdueTaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records tasks that went overdue in the overdue_task feed. The scan state holds a watermark: every
+ * due date before it has been checked, so each run only visits the days that passed since the last
+ * one, seeking from day to day on idx_task_due_date rather than reading the task table.
+ *
+ * Each due date is recorded in its own transaction together with the new watermark, so an
+ * interrupted scan resumes where it stopped and never writes a day twice.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class DefaultOverdueTaskService implements OverdueTaskService {
+    private static final int MAX_FEED_LIMIT = 100;
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final String RECORD_OVERDUE_TASKS = "INSERT INTO overdue_task (id, task_id, project_id, due_date, detected_at) " +
+            "SELECT NEXT VALUE FOR overdue_task_seq, id, project_id, due_date, ? FROM task WHERE due_date = ? AND status <> ?";
+
+    private final OverdueScanStateRepository overdueScanStateRepository;
+    private final OverdueTaskRepository overdueTaskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DefaultOverdueTaskService(OverdueScanStateRepository overdueScanStateRepository,
+                                     OverdueTaskRepository overdueTaskRepository,
+                                     ProjectRepository projectRepository,
+                                     TaskRepository taskRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager) {
+        this.overdueScanStateRepository = overdueScanStateRepository;
+        this.overdueTaskRepository = overdueTaskRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public int scan(LocalDate today) {
+        LocalDateTime detectedAt = LocalDateTime.now();
+        int recorded = 0;
+        int days = 0;
+        Integer dayCount;
+        while ((dayCount = transactionTemplate.execute(status -> scanNextDay(today, detectedAt))) != null) {
+            recorded += dayCount;
+            days++;
+        }
+        if (days > 0) {
+            log.info("Recorded {} overdue tasks across {} due dates", recorded, days);
+        }
+        return recorded;
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> scan() {
+        try {
+            int recorded = scan(LocalDate.now());
+            return new ResponseEntity<>(new BaseResponse("Recorded " + recorded + " overdue tasks", HttpStatus.OK.value()), HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while scanning for overdue tasks", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetOverdueTasksResponse> getOverdueTasks(Long projectId, Long after, int limit) {
+        try {
+            GetOverdueTasksResponse getOverdueTasksResponse = new GetOverdueTasksResponse();
+            if (limit < 1) {
+                getOverdueTasksResponse.setMessage("Limit must be greater than zero");
+                getOverdueTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getOverdueTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (projectId != null && !projectRepository.existsById(projectId)) {
+                getOverdueTasksResponse.setMessage("Project with id " + projectId + " not found");
+                getOverdueTasksResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(getOverdueTasksResponse, HttpStatus.NOT_FOUND);
+            }
+
+            Long cursor = after == null ? 0L : after;
+            PageRequest page = PageRequest.of(0, Math.min(limit, MAX_FEED_LIMIT), projectId == null
+                    ? Sort.by("id")
+                    : Sort.by("projectId", "id"));
+            Slice<OverdueTaskEntity> entries = projectId == null
+                    ? overdueTaskRepository.findByIdGreaterThan(cursor, page)
+                    : overdueTaskRepository.findByProjectIdAndIdGreaterThan(projectId, cursor, page);
+
+            //One query for the tasks on the page; entries for tasks deleted since are left out
+            Map<Long, TaskView> tasks = entries.isEmpty()
+                    ? Map.of()
+                    : taskRepository.findByIdIn(entries.stream().map(OverdueTaskEntity::getTaskId).toList(), TaskView.class).stream()
+                    .collect(Collectors.toMap(TaskView::id, Function.identity()));
+            List<OverdueTaskEvent> events = new ArrayList<>();
+            for (OverdueTaskEntity entry : entries) {
+                TaskView task = tasks.get(entry.getTaskId());
+                if (task != null) {
+                    events.add(new OverdueTaskEvent(entry.getId(), entry.getDueDate(), entry.getDetectedAt(), task));
+                }
+            }
+
+            getOverdueTasksResponse.setEvents(events);
+            //The cursor follows the feed, not the filtered events, so a page of deleted tasks does not end the feed early
+            getOverdueTasksResponse.setNextCursor(entries.hasNext() ? entries.getContent().get(entries.getNumberOfElements() - 1).getId() : null);
+            getOverdueTasksResponse.setMessage("Success");
+            getOverdueTasksResponse.setStatus(HttpStatus.OK.value());
+            return new ResponseEntity<>(getOverdueTasksResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while fetching overdue tasks", e);
+        }
+    }
+
+    //Records the earliest unchecked due date before today and moves the watermark past it; null once caught up
+    private Integer scanNextDay(LocalDate today, LocalDateTime detectedAt) {
+        OverdueScanStateEntity state = overdueScanStateRepository.findForUpdate(OverdueScanStateEntity.ID)
+                .orElseThrow(() -> new IllegalStateException("The overdue scan state row is missing"));
+        LocalDate from = state.getWatermark() == null ? EARLIEST_DUE_DATE : state.getWatermark();
+        if (!from.isBefore(today)) {
+            return null;
+        }
+
+        Optional<LocalDate> dueDate = taskRepository.findFirstDueDateBetween(from, today);
+        if (dueDate.isEmpty()) {
+            state.setWatermark(today);
+            return null;
+        }
+
+        int recorded = jdbcTemplate.update(RECORD_OVERDUE_TASKS,
+                Timestamp.valueOf(detectedAt), Date.valueOf(dueDate.get()), Status.DONE.ordinal());
+        state.setWatermark(dueDate.get().plusDays(1));
+        return recorded;
+    }
+}
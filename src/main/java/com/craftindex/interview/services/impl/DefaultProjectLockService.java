@@ -0,0 +1,90 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.services.ProjectLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Orders task writes within a project without serializing writers across projects. Project ids hash onto
+ * a fixed array of locks, so memory does not grow with the number of projects; two projects sharing a
+ * stripe only wait on each other, they never deadlock, because a transaction takes one project's lock.
+ *
+ * A lock is held until its transaction commits or rolls back, so the next writer's duplicate title check
+ * already sees the previous writer's row. The locks are fair: writers to one project go in arrival order.
+ */
+@Service
+public class DefaultProjectLockService implements ProjectLockService {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long acquireTimeoutNanos;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public DefaultProjectLockService(MeterRegistry meterRegistry,
+                                     @Value("${interview.project-locks.stripes:256}") int stripes,
+                                     @Value("${interview.project-locks.acquire-timeout:5s}") Duration acquireTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripes));
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.waitTimer = Timer.builder("project.lock.wait")
+                .description("Time task writes waited for their project's lock")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("project.lock.timeouts")
+                .description("Task writes that gave up waiting for their project's lock")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void lockForTransaction(long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A project lock is held until commit, so it can only be taken inside a transaction");
+        }
+        ReentrantLock lock = stripes[(int) ((projectId * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for project " + projectId, e);
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeouts.increment();
+            //Not a DAO exception: the idempotency layer reads those as its own key still being held
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Project " + projectId + " is busy with other writes, try again shortly");
+        }
+        //Runs on the thread that took the lock, after commit or rollback, and before any other synchronization's
+        //afterCompletion, so nothing done there (the journal waiting for the disk) holds up the next writer
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        });
+    }
+}
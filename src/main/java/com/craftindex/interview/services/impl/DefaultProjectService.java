@@ -3,37 +3,65 @@ package com.craftindex.interview.services.impl;
 import com.craftindex.interview.entities.ProjectEntity;
 import com.craftindex.interview.entities.TaskEntity;
 import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
 import com.craftindex.interview.models.requests.CreateProjectRequest;
 import com.craftindex.interview.models.requests.CreateTaskRequest;
 import com.craftindex.interview.models.responses.*;
 import com.craftindex.interview.repos.ProjectRepository;
 import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.ProjectLockService;
 import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.TaskUpdateBuffer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Function;
 
 @Service
 @AllArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "jpa", matchIfMissing = true)
 public class DefaultProjectService implements ProjectService {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskSearchService taskSearchService;
+    private final TaskUpdateBuffer taskUpdateBuffer;
+    private final TaskEventService taskEventService;
+    private final TaskJournalService taskJournalService;
+    private final ProjectLockService projectLockService;
+
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int MAX_BULK_TASKS = 5000;
+    private static final int MAX_DASHBOARD_PROJECTS = 100;
+    private static final int MAX_BUFFERED_UPDATE_ATTEMPTS = 5;
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST_DUE_DATE = LocalDate.of(9999, 12, 31);
 
 
     @Override
+    @Transactional
     public ResponseEntity<BaseResponse> createProject(CreateProjectRequest request) {
         try {
 
@@ -50,6 +78,8 @@ public class DefaultProjectService implements ProjectService {
             projectEntity.setName(request.getName());
             projectEntity.setDescription(request.getDescription());
             projectRepository.save(projectEntity);
+            taskCounterService.initializeProject(projectEntity.getId());
+            taskJournalService.projectCreated(new ProjectView(projectEntity.getId(), projectEntity.getName(), projectEntity.getDescription()));
 
 
             baseResponse.setMessage("Project created successfully");
@@ -65,13 +95,38 @@ public class DefaultProjectService implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<GetProjectsResponse> getProjects(Pageable pageable) {
         try {
             PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Order.desc("id")));
-            Page<ProjectEntity> projects = projectRepository.findAll(pageRequest);
+            Page<ProjectView> projects = projectRepository.findProjectedBy(pageRequest, ProjectView.class);
+            GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+            getProjectsResponse.setStatus(HttpStatus.OK.value());
+            getProjectsResponse.setProjects(projects.getContent());
+            getProjectsResponse.setMessage("Success");
+            return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting the projects", e);
+        }
+
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<GetProjectsResponse> getProjectsAfter(Long after, int limit) {
+        try {
             GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+            if (limit < 1) {
+                getProjectsResponse.setMessage("Limit must be greater than zero");
+                getProjectsResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectsResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            Slice<ProjectView> projects = projectRepository.findByIdLessThan(cursor(after), cursorPage(limit, Sort.by(Sort.Order.desc("id"))), ProjectView.class);
             getProjectsResponse.setStatus(HttpStatus.OK.value());
             getProjectsResponse.setProjects(projects.getContent());
+            getProjectsResponse.setNextCursor(nextCursor(projects, ProjectView::id));
             getProjectsResponse.setMessage("Success");
             return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
 
@@ -82,6 +137,7 @@ public class DefaultProjectService implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<ProjectResponse> getProjectById(long projectId) {
         try {
             ProjectResponse projectResponse = new ProjectResponse();
@@ -105,30 +161,17 @@ public class DefaultProjectService implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ResponseEntity<BaseResponse> createProjectTask(CreateTaskRequest request, long projectId) {
         try {
             //Validate request variables
             BaseResponse baseResponse = new BaseResponse();
 
-            if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-                return new ResponseEntity<>(new BaseResponse("Title cannot be null or empty", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            String validationError = validateNewTask(request);
+            if (validationError != null) {
+                return new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
             }
 
-            if (request.getStatus() == null || request.getStatus().trim().isEmpty()) {
-                return new ResponseEntity<>(new BaseResponse("Status cannot be null or empty", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-            }
-
-            if (request.getDueDate() == null) {
-                return new ResponseEntity<>(new BaseResponse("Due date cannot be null", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-            }
-
-            // Check if dueDate is today or in the future
-            if (request.getDueDate().isBefore(LocalDate.now())) {
-                return new ResponseEntity<>(new BaseResponse("Due date cannot be in the past", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-            }
-
-
-
             //Check if the project exist
             ProjectEntity projectEntity = projectRepository.findById(projectId).orElse(null);
             if (projectEntity == null) {
@@ -136,6 +179,8 @@ public class DefaultProjectService implements ProjectService {
                 baseResponse.setStatus(HttpStatus.NOT_FOUND.value());
                 return new ResponseEntity<>(baseResponse, HttpStatus.NOT_FOUND);
             }
+            //Until commit, so no other write to the project slips between the duplicate check and the insert
+            projectLockService.lockForTransaction(projectId);
 
             //Check if a task with similar name exist
             TaskEntity taskEntity = taskRepository.findByTitleIgnoreCaseAndProjectEntity(request.getTitle(), projectEntity).orElse(null);
@@ -144,19 +189,28 @@ public class DefaultProjectService implements ProjectService {
                 baseResponse.setStatus(HttpStatus.CONFLICT.value());
                 return new ResponseEntity<>(baseResponse, HttpStatus.CONFLICT);
             }
+            //A buffered rename already holds the title, and would be dropped at its flush if this insert got it first
+            if (taskUpdateBuffer.pendingTitleKeys(projectId).contains(TaskEntity.titleKey(request.getTitle()))) {
+                return titleConflict(request);
+            }
 
-            taskEntity = new TaskEntity();
-            taskEntity.setTitle(request.getTitle());
-            taskEntity.setDescription(request.getDescription());
-            taskEntity.setStatus(request.getStatus());
-            taskEntity.setDueDate(request.getDueDate());
-            taskEntity.setProjectEntity(projectEntity);
-            taskRepository.save(taskEntity);
+            //Flushed here so a create that raced past the check above fails on the unique title constraint
+            taskEntity = newTask(request, projectEntity);
+            taskRepository.saveAndFlush(taskEntity);
+            taskCounterService.taskCreated(taskEntity);
+            taskSearchService.tasksSaved(List.of(taskEntity));
+            List<TaskView> created = List.of(toView(taskEntity));
+            taskEventService.tasksChanged(TaskChangeType.CREATED, created);
+            taskJournalService.tasksChanged(TaskChangeType.CREATED, created);
+            projectRepository.incrementTasksVersion(projectId);
 
             baseResponse.setMessage("Task created successfully");
             baseResponse.setStatus(HttpStatus.OK.value());
             return new ResponseEntity<>(baseResponse, HttpStatus.OK);
 
+        } catch (DataIntegrityViolationException | ResponseStatusException e) {
+            //Left unwrapped so the controller answers with a conflict, or asks the client to retry
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("An error occurred while creating the task", e);
         }
@@ -164,12 +218,114 @@ public class DefaultProjectService implements ProjectService {
     }
 
     @Override
+    @Transactional
+    public ResponseEntity<BulkCreateTasksResponse> createProjectTasks(List<CreateTaskRequest> requests, long projectId) {
+        try {
+            BulkCreateTasksResponse bulkResponse = new BulkCreateTasksResponse();
+            if (requests == null || requests.isEmpty()) {
+                bulkResponse.setMessage("Tasks cannot be empty");
+                bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (requests.size() > MAX_BULK_TASKS) {
+                bulkResponse.setMessage("A single request cannot create more than " + MAX_BULK_TASKS + " tasks");
+                bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            //Check if the project exist
+            ProjectEntity projectEntity = projectRepository.findById(projectId).orElse(null);
+            if (projectEntity == null) {
+                bulkResponse.setMessage("Project with id " + projectId + " not found");
+                bulkResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.NOT_FOUND);
+            }
+            projectLockService.lockForTransaction(projectId);
+
+            //Validate every item and reject titles repeated within the batch
+            BulkTaskResult[] results = new BulkTaskResult[requests.size()];
+            Map<String, Integer> candidates = new LinkedHashMap<>();
+            for (int index = 0; index < requests.size(); index++) {
+                CreateTaskRequest request = requests.get(index);
+                String validationError = request == null ? "Task cannot be null" : validateNewTask(request);
+                if (validationError != null) {
+                    results[index] = BulkTaskResult.failed(index, request == null ? null : request.getTitle(), HttpStatus.BAD_REQUEST, validationError);
+                } else if (candidates.putIfAbsent(TaskEntity.titleKey(request.getTitle()), index) != null) {
+                    results[index] = BulkTaskResult.failed(index, request.getTitle(), HttpStatus.CONFLICT,
+                            "Task with title " + request.getTitle() + " is repeated in the request");
+                }
+            }
+
+            //One query for every title that already exists in the project
+            Set<String> existingTitleKeys = candidates.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(taskRepository.findTitleKeysByProjectEntityAndTitleKeyIn(projectEntity, candidates.keySet()));
+            //Titles that buffered renames are about to take count as existing
+            existingTitleKeys.addAll(taskUpdateBuffer.pendingTitleKeys(projectId));
+
+            List<TaskEntity> taskEntities = new ArrayList<>();
+            List<Integer> taskIndexes = new ArrayList<>();
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                CreateTaskRequest request = requests.get(candidate.getValue());
+                if (existingTitleKeys.contains(candidate.getKey())) {
+                    results[candidate.getValue()] = BulkTaskResult.failed(candidate.getValue(), request.getTitle(), HttpStatus.CONFLICT,
+                            "Task with title " + request.getTitle() + " already exists");
+                } else {
+                    taskEntities.add(newTask(request, projectEntity));
+                    taskIndexes.add(candidate.getValue());
+                }
+            }
+
+            //Ids come from the pooled sequence and the inserts are sent in JDBC batches on flush
+            taskRepository.saveAll(taskEntities);
+            taskRepository.flush();
+            Map<Status, Long> createdByStatus = new EnumMap<>(Status.class);
+            for (int i = 0; i < taskEntities.size(); i++) {
+                TaskEntity taskEntity = taskEntities.get(i);
+                results[taskIndexes.get(i)] = BulkTaskResult.created(taskIndexes.get(i), taskEntity.getTitle(), taskEntity.getId());
+                createdByStatus.merge(taskEntity.getStatus(), 1L, Long::sum);
+            }
+            createdByStatus.forEach((status, count) -> taskCounterService.adjust(projectEntity.getId(), status, count));
+            if (!taskEntities.isEmpty()) {
+                taskSearchService.tasksSaved(taskEntities);
+                List<TaskView> created = taskEntities.stream().map(DefaultProjectService::toView).toList();
+                taskEventService.tasksChanged(TaskChangeType.CREATED, created);
+                taskJournalService.tasksChanged(TaskChangeType.CREATED, created);
+                projectRepository.incrementTasksVersion(projectId);
+            }
+
+            bulkResponse.setCreated(taskEntities.size());
+            bulkResponse.setFailed(requests.size() - taskEntities.size());
+            bulkResponse.setResults(Arrays.asList(results));
+            bulkResponse.setMessage("Created " + taskEntities.size() + " of " + requests.size() + " tasks");
+            bulkResponse.setStatus(HttpStatus.OK.value());
+            return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+
+        } catch (DataIntegrityViolationException | ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while creating the tasks", e);
+        }
+
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<GetProjectTasksResponse> getProjectTasks(
-            long projectId, LocalDate dueDate, String status, Pageable pageable) {
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Pageable pageable) {
         try {
-            // Check if project exists
-            PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Order.desc("id")));
             GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+            String filterError = validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            if (filterError != null) {
+                getProjectTasksResponse.setMessage(filterError);
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            // Check if project exists
+            boolean dueRange = dueAfter != null || dueBefore != null;
+            PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), taskSort(dueDate, dueRange, status));
             ProjectEntity projectEntity = projectRepository.findById(projectId).orElse(null);
             if (projectEntity == null) {
                 getProjectTasksResponse.setMessage("Project with id " + projectId + " not found");
@@ -177,20 +333,24 @@ public class DefaultProjectService implements ProjectService {
                 return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.NOT_FOUND);
             }
 
-            Page<TaskEntity> tasks;
-            if (dueDate == null && status == null) {
-                tasks = taskRepository.findByProjectEntity(projectEntity, pageRequest);
+            Page<TaskView> tasks;
+            if (dueRange) {
+                tasks = status == null
+                        ? taskRepository.findByProjectEntityAndDueDateBetween(projectEntity, rangeFrom(dueAfter), rangeTo(dueBefore), pageRequest, TaskView.class)
+                        : taskRepository.findByProjectEntityAndStatusAndDueDateBetween(projectEntity, status, rangeFrom(dueAfter), rangeTo(dueBefore), pageRequest, TaskView.class);
+            } else if (dueDate == null && status == null) {
+                tasks = taskRepository.findByProjectEntity(projectEntity, pageRequest, TaskView.class);
             } else if (dueDate != null && status == null) {
-                tasks = taskRepository.findByProjectEntityAndDueDate(projectEntity, dueDate, pageRequest);
+                tasks = taskRepository.findByProjectEntityAndDueDate(projectEntity, dueDate, pageRequest, TaskView.class);
             } else if (dueDate == null && status != null) {
-                tasks = taskRepository.findByProjectEntityAndStatus(projectEntity, status, pageRequest);
+                tasks = taskRepository.findByProjectEntityAndStatus(projectEntity, status, pageRequest, TaskView.class);
             } else {
-                tasks = taskRepository.findByProjectEntityAndDueDateAndStatus(projectEntity, dueDate, status, pageRequest);
+                tasks = taskRepository.findByProjectEntityAndDueDateAndStatus(projectEntity, dueDate, status, pageRequest, TaskView.class);
             }
 
             getProjectTasksResponse.setStatus(HttpStatus.OK.value());
             getProjectTasksResponse.setMessage("Success");
-            getProjectTasksResponse.setTasks(tasks.getContent());
+            getProjectTasksResponse.setTasks(withPendingUpdates(tasks.getContent(), dueDate, dueAfter, dueBefore, status));
             return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
 
         } catch (Exception e) {
@@ -198,10 +358,74 @@ public class DefaultProjectService implements ProjectService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksAfter(
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Long after, LocalDate afterDueDate, int limit) {
+        try {
+            GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+            if (limit < 1) {
+                getProjectTasksResponse.setMessage("Limit must be greater than zero");
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            boolean dueRange = dueAfter != null || dueBefore != null;
+            String filterError = validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            if (filterError == null && dueRange && (after == null) != (afterDueDate == null)) {
+                filterError = "after and afterDueDate must be given together when filtering by dueAfter or dueBefore";
+            }
+            if (filterError != null) {
+                getProjectTasksResponse.setMessage(filterError);
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            // Check if project exists
+            ProjectEntity projectEntity = projectRepository.findById(projectId).orElse(null);
+            if (projectEntity == null) {
+                getProjectTasksResponse.setMessage("Project with id " + projectId + " not found");
+                getProjectTasksResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.NOT_FOUND);
+            }
+
+            Long cursor = cursor(after);
+            Pageable page = cursorPage(limit, taskSort(dueDate, dueRange, status));
+            Slice<TaskView> tasks;
+            if (dueRange) {
+                LocalDate to = rangeTo(dueBefore);
+                LocalDate cursorDueDate = afterDueDate == null || afterDueDate.isAfter(to) ? to : afterDueDate;
+                tasks = taskRepository.findByProjectEntityAndDueDateBetweenAfter(projectEntity, status, rangeFrom(dueAfter), cursorDueDate, cursor, page);
+                getProjectTasksResponse.setNextCursorDueDate(tasks.hasNext() ? tasks.getContent().get(tasks.getNumberOfElements() - 1).dueDate() : null);
+            } else if (dueDate == null && status == null) {
+                tasks = taskRepository.findByProjectEntityAndIdLessThan(projectEntity, cursor, page, TaskView.class);
+            } else if (dueDate != null && status == null) {
+                tasks = taskRepository.findByProjectEntityAndDueDateAndIdLessThan(projectEntity, dueDate, cursor, page, TaskView.class);
+            } else if (dueDate == null && status != null) {
+                tasks = taskRepository.findByProjectEntityAndStatusAndIdLessThan(projectEntity, status, cursor, page, TaskView.class);
+            } else {
+                tasks = taskRepository.findByProjectEntityAndDueDateAndStatusAndIdLessThan(projectEntity, dueDate, status, cursor, page, TaskView.class);
+            }
+
+            getProjectTasksResponse.setStatus(HttpStatus.OK.value());
+            getProjectTasksResponse.setMessage("Success");
+            getProjectTasksResponse.setTasks(withPendingUpdates(tasks.getContent(), dueDate, dueAfter, dueBefore, status));
+            getProjectTasksResponse.setNextCursor(nextCursor(tasks, TaskView::id));
+            return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting project tasks", e);
+        }
+    }
 
     @Override
-    public ResponseEntity<BaseResponse> updateTask(CreateTaskRequest request, long taskId) {
+    @Transactional
+    public ResponseEntity<BaseResponse> updateTask(CreateTaskRequest request, long taskId, Long expectedVersion) {
         try {
+            if (taskUpdateBuffer.isEnabled()) {
+                return bufferTaskUpdate(request, taskId, expectedVersion);
+            }
+
             //Check if the task exist
             BaseResponse baseResponse = new BaseResponse();
 
@@ -211,53 +435,51 @@ public class DefaultProjectService implements ProjectService {
                 baseResponse.setStatus(HttpStatus.NOT_FOUND.value());
                 return new ResponseEntity<>(baseResponse, HttpStatus.NOT_FOUND);
             }
+            //A write that got in before the lock still surfaces through the entity version when this one is flushed
+            projectLockService.lockForTransaction(taskEntity.getProjectEntity().getId());
 
-
-
-
-
-            if (request.getTitle() != null
-                    && !request.getTitle().isEmpty()
-                    && !request.getTitle().equals(taskEntity.getTitle())) {
-                taskEntity.setTitle(request.getTitle());
-            }
-
-            if (request.getStatus() != null
-                    && !request.getDescription().isEmpty()
-                    && !request.getDescription().equals(taskEntity.getDescription())) {
-                taskEntity.setDescription(request.getDescription());
+            if (expectedVersion != null && !expectedVersion.equals(taskEntity.getVersion())) {
+                return staleVersion(taskId, expectedVersion);
             }
 
-            if (request.getStatus() != null
-                    && !request.getStatus().equals(taskEntity.getStatus())) {
-                taskEntity.setStatus(request.getStatus());
+            if (titleTaken(request, taskEntity.getTitle(), taskEntity.getProjectEntity().getId())) {
+                return titleConflict(request);
             }
 
-            if (request.getDueDate() != null
-                    && !request.getDueDate().equals(taskEntity.getDueDate())) {
-                if (request.getDueDate().isBefore(LocalDate.now())) {
-                    return new ResponseEntity<>(new BaseResponse("Due date cannot be in the past", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-                }
-
-                taskEntity.setDueDate(request.getDueDate());
+            Status previousStatus = taskEntity.getStatus();
+            String validationError = applyUpdate(request, taskEntity);
+            if (validationError != null) {
+                return new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
             }
 
-            taskRepository.save(taskEntity);
+            //Flushed here rather than at commit, so the new version is known and a concurrent update surfaces now
+            taskRepository.saveAndFlush(taskEntity);
+            taskCounterService.taskStatusChanged(taskEntity, previousStatus);
+            taskSearchService.tasksSaved(List.of(taskEntity));
+            List<TaskView> updated = List.of(toView(taskEntity));
+            taskEventService.tasksChanged(TaskChangeType.UPDATED, updated);
+            taskJournalService.tasksChanged(TaskChangeType.UPDATED, updated);
+            projectRepository.incrementTasksVersion(taskEntity.getProjectEntity().getId());
             baseResponse.setMessage("Task updated successfully");
             baseResponse.setStatus(HttpStatus.OK.value());
-            return new ResponseEntity<>(baseResponse, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(ProjectService.taskETag(taskId, taskEntity.getVersion())).body(baseResponse);
 
 
-        }catch (Exception e) {
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException | ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
             throw new RuntimeException("An error occurred while updating the task", e);
         }
 
     }
 
     @Override
+    @Transactional
     public ResponseEntity<BaseResponse> deleteTask(long taskId) {
         try {
             BaseResponse baseResponse = new BaseResponse();
+            //A buffered update to a deleted task would only be thrown away by the flush
+            taskUpdateBuffer.discard(taskId);
             //Check if the task exist
             TaskEntity taskEntity = taskRepository.findById(taskId).orElse(null);
             if (taskEntity == null) {
@@ -265,11 +487,20 @@ public class DefaultProjectService implements ProjectService {
                 baseResponse.setStatus(HttpStatus.NOT_FOUND.value());
                 return new ResponseEntity<>(baseResponse, HttpStatus.NOT_FOUND);
             }
+            projectLockService.lockForTransaction(taskEntity.getProjectEntity().getId());
             taskRepository.delete(taskEntity);
+            taskCounterService.taskDeleted(taskEntity);
+            taskSearchService.taskDeleted(taskEntity);
+            List<TaskView> deleted = List.of(toView(taskEntity));
+            taskEventService.tasksChanged(TaskChangeType.DELETED, deleted);
+            taskJournalService.tasksChanged(TaskChangeType.DELETED, deleted);
+            projectRepository.incrementTasksVersion(taskEntity.getProjectEntity().getId());
             baseResponse.setMessage("Task with id " + taskId + " successfully deleted");
             baseResponse.setStatus(HttpStatus.OK.value());
             return new ResponseEntity<>(baseResponse, HttpStatus.OK);
 
+        } catch (ResponseStatusException e) {
+            throw e;
         }catch (Exception e) {
             throw new RuntimeException("An error occurred while deleting task", e);
         }
@@ -277,18 +508,24 @@ public class DefaultProjectService implements ProjectService {
     }
 
     @Override
-    public ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary() {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary(Pageable pageable) {
         try {
+            PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Order.desc("id")));
+            List<ProjectEntity> projects = projectRepository.findAllBy(pageRequest).getContent();
+            if (projects.isEmpty()) {
+                return new ResponseEntity<>(List.of(), HttpStatus.OK);
+            }
 
-            List<ProjectEntity> projects = projectRepository.findAll();
-            List<ProjectSummaryResponse>  projectSummaries = projects.stream()
-                    .map(project -> {
-                        Map<String, Long> taskStatusCounts = taskRepository
-                                .findByProjectEntity(project)
-                                .stream()
-                                .collect(Collectors.groupingBy(TaskEntity::getStatus, Collectors.counting()));
+            //Read the maintained per-status counters for the page instead of counting tasks
+            List<Long> projectIds = projects.stream().map(ProjectEntity::getId).toList();
+            Map<Long, Map<Status, Long>> statusCountsByProject = taskCounterService.getStatusCounts(projectIds);
 
-                        return new ProjectSummaryResponse(project, taskStatusCounts.size());
+            List<ProjectSummaryResponse> projectSummaries = projects.stream()
+                    .map(project -> {
+                        Map<Status, Long> statusCounts = statusCountsByProject.getOrDefault(project.getId(), Map.of());
+                        long taskCounts = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+                        return new ProjectSummaryResponse(new ProjectView(project.getId(), project.getName(), project.getDescription()), taskCounts, statusCounts);
                     })
                     .toList();
 
@@ -299,4 +536,289 @@ public class DefaultProjectService implements ProjectService {
         }
 
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<GetProjectsDashboardResponse> getProjectsDashboard(
+            List<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit) {
+        try {
+            GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+            String validationError = validateDashboard(projectIds, limit);
+            if (validationError == null) {
+                validationError = validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            }
+            if (validationError != null) {
+                dashboardResponse.setMessage(validationError);
+                dashboardResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(dashboardResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            //One IN-list query for the projects and one windowed query for all their first pages, however many are asked for
+            int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+            List<Long> ids = projectIds.stream().distinct().toList();
+            Map<Long, ProjectView> projects = new HashMap<>();
+            projectRepository.findByIdIn(ids, ProjectView.class).forEach(project -> projects.put(project.id(), project));
+
+            boolean dueRange = dueAfter != null || dueBefore != null;
+            Map<Long, List<TaskView>> tasksByProject = new HashMap<>();
+            if (!projects.isEmpty()) {
+                //One row past the page tells whether the project has more
+                List<TaskView> rows;
+                if (dueDate != null) {
+                    rows = taskRepository.findFirstPagesByProjectIdsAndDueDateBetween(projects.keySet(), status, dueDate, dueDate, pageSize + 1);
+                } else if (dueRange) {
+                    rows = taskRepository.findFirstPagesByProjectIdsAndDueDateBetween(projects.keySet(), status, rangeFrom(dueAfter), rangeTo(dueBefore), pageSize + 1);
+                } else {
+                    rows = taskRepository.findFirstPagesByProjectIds(projects.keySet(), status, pageSize + 1);
+                }
+                rows.forEach(task -> tasksByProject.computeIfAbsent(task.projectId(), id -> new ArrayList<>()).add(task));
+            }
+
+            List<DashboardProject> dashboardProjects = new ArrayList<>();
+            List<Long> notFound = new ArrayList<>();
+            for (Long id : ids) {
+                ProjectView project = projects.get(id);
+                if (project == null) {
+                    notFound.add(id);
+                    continue;
+                }
+                List<TaskView> tasks = tasksByProject.getOrDefault(id, List.of());
+                DashboardProject dashboardProject = new DashboardProject();
+                dashboardProject.setProject(project);
+                if (tasks.size() > pageSize) {
+                    tasks = tasks.subList(0, pageSize);
+                    TaskView last = tasks.get(pageSize - 1);
+                    dashboardProject.setNextCursor(last.id());
+                    dashboardProject.setNextCursorDueDate(dueRange ? last.dueDate() : null);
+                }
+                dashboardProject.setTasks(withPendingUpdates(List.copyOf(tasks), dueDate, dueAfter, dueBefore, status));
+                dashboardProjects.add(dashboardProject);
+            }
+
+            dashboardResponse.setProjects(dashboardProjects);
+            dashboardResponse.setNotFound(notFound);
+            dashboardResponse.setStatus(HttpStatus.OK.value());
+            dashboardResponse.setMessage("Success");
+            return new ResponseEntity<>(dashboardResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting the projects dashboard", e);
+        }
+    }
+
+    @Override
+    public Optional<Long> getProjectVersion(long projectId) {
+        return projectRepository.findVersionById(projectId);
+    }
+
+    @Override
+    public Optional<Long> getProjectTasksVersion(long projectId) {
+        //The version only moves when buffered updates are flushed, so until then it cannot vouch for the listing
+        if (taskUpdateBuffer.isEnabled() && taskUpdateBuffer.hasPending(projectId)) {
+            return Optional.empty();
+        }
+        return projectRepository.findTasksVersionById(projectId);
+    }
+
+    private ResponseEntity<BaseResponse> bufferTaskUpdate(CreateTaskRequest request, long taskId, Long expectedVersion) {
+        //A concurrent update to the same task makes enqueue refuse; re-read and apply this one on top of it
+        for (int attempt = 0; attempt < MAX_BUFFERED_UPDATE_ATTEMPTS; attempt++) {
+            //The buffered state wins over the row, so consecutive updates build on each other before any flush
+            TaskView current = taskUpdateBuffer.pending(taskId)
+                    .or(() -> taskRepository.findProjectedById(taskId, TaskView.class))
+                    .orElse(null);
+            if (current == null) {
+                return new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+            }
+            projectLockService.lockForTransaction(current.projectId());
+
+            if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+                return staleVersion(taskId, expectedVersion);
+            }
+
+            if (titleTaken(request, current.title(), current.projectId())) {
+                return titleConflict(request);
+            }
+
+            TaskEntity taskEntity = new TaskEntity();
+            taskEntity.setTitle(current.title());
+            taskEntity.setDescription(current.description());
+            taskEntity.setStatus(current.status());
+            taskEntity.setDueDate(current.dueDate());
+            String validationError = applyUpdate(request, taskEntity);
+            if (validationError != null) {
+                return new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+
+            TaskView updated = new TaskView(current.id(), taskEntity.getTitle(), taskEntity.getDescription(),
+                    taskEntity.getStatus(), taskEntity.getDueDate(), current.projectId(), current.version() + 1);
+            if (taskUpdateBuffer.enqueue(current, updated)) {
+                return ResponseEntity.ok().eTag(ProjectService.taskETag(taskId, updated.version()))
+                        .body(new BaseResponse("Task updated successfully", HttpStatus.OK.value()));
+            }
+        }
+        throw new OptimisticLockingFailureException("Task with id " + taskId + " kept changing while it was being updated");
+    }
+
+    private static ResponseEntity<BaseResponse> staleVersion(long taskId, long expectedVersion) {
+        return new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " has changed since version " + expectedVersion,
+                HttpStatus.PRECONDITION_FAILED.value()), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private static ResponseEntity<BaseResponse> titleConflict(CreateTaskRequest request) {
+        return new ResponseEntity<>(new BaseResponse("Task with title " + request.getTitle() + " already exists",
+                HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+    }
+
+    //Only a rename needs the lookup. Called under the project lock, so together with the buffered renames' titles it
+    //sees every title another write to the project could take; a buffered rename is only written at the next flush,
+    //where a collision would drop it after the client was told it succeeded
+    private boolean titleTaken(CreateTaskRequest request, String currentTitle, Long projectId) {
+        if (request.getTitle() == null || request.getTitle().isEmpty()) {
+            return false;
+        }
+        String titleKey = TaskEntity.titleKey(request.getTitle());
+        return !titleKey.equals(TaskEntity.titleKey(currentTitle))
+                && (taskRepository.existsByProjectIdAndTitleKey(projectId, titleKey) || taskUpdateBuffer.pendingTitleKeys(projectId).contains(titleKey));
+    }
+
+    //Validates before touching the task, so a rejected request never leaves a half-applied change to be flushed.
+    //The validation helpers are package-private so the reactive service applies exactly the same rules.
+    static String applyUpdate(CreateTaskRequest request, TaskEntity taskEntity) {
+        if (request.getDueDate() != null
+                && !request.getDueDate().equals(taskEntity.getDueDate())
+                && request.getDueDate().isBefore(LocalDate.now())) {
+            return "Due date cannot be in the past";
+        }
+
+        if (request.getTitle() != null
+                && !request.getTitle().isEmpty()
+                && !request.getTitle().equals(taskEntity.getTitle())) {
+            taskEntity.setTitle(request.getTitle());
+        }
+
+        if (request.getDescription() != null
+                && !request.getDescription().isEmpty()
+                && !request.getDescription().equals(taskEntity.getDescription())) {
+            taskEntity.setDescription(request.getDescription());
+        }
+
+        if (request.getStatus() != null
+                && !request.getStatus().equals(taskEntity.getStatus())) {
+            taskEntity.setStatus(request.getStatus());
+        }
+
+        if (request.getDueDate() != null
+                && !request.getDueDate().equals(taskEntity.getDueDate())) {
+            taskEntity.setDueDate(request.getDueDate());
+        }
+        return null;
+    }
+
+    private List<TaskView> withPendingUpdates(List<TaskView> tasks, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status) {
+        if (!taskUpdateBuffer.isEnabled()) {
+            return tasks;
+        }
+        return taskUpdateBuffer.overlay(tasks, task -> (status == null || status == task.status())
+                && (dueDate == null || dueDate.equals(task.dueDate()))
+                && ((dueAfter == null && dueBefore == null) || (task.dueDate() != null
+                && !task.dueDate().isBefore(rangeFrom(dueAfter)) && !task.dueDate().isAfter(rangeTo(dueBefore)))));
+    }
+
+    static String validateDashboard(List<Long> projectIds, int limit) {
+        if (projectIds == null || projectIds.isEmpty()) {
+            return "At least one project id is required";
+        }
+        if (projectIds.size() > MAX_DASHBOARD_PROJECTS) {
+            return "A dashboard cannot show more than " + MAX_DASHBOARD_PROJECTS + " projects";
+        }
+        if (projectIds.stream().anyMatch(Objects::isNull)) {
+            return "Project ids cannot be empty";
+        }
+        if (limit < 1) {
+            return "Limit must be greater than zero";
+        }
+        return null;
+    }
+
+    static String validateDueDateFilter(LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore) {
+        if (dueDate != null && (dueAfter != null || dueBefore != null)) {
+            return "dueDate cannot be combined with dueAfter or dueBefore";
+        }
+        if (dueAfter != null && dueBefore != null && !dueAfter.isBefore(dueBefore)) {
+            return "dueAfter must be before dueBefore";
+        }
+        return null;
+    }
+
+    //Both bounds are exclusive; an open end is stretched to the widest date the column holds
+    static LocalDate rangeFrom(LocalDate dueAfter) {
+        return dueAfter == null ? EARLIEST_DUE_DATE : dueAfter.plusDays(1);
+    }
+
+    static LocalDate rangeTo(LocalDate dueBefore) {
+        return dueBefore == null ? LATEST_DUE_DATE : dueBefore.minusDays(1);
+    }
+
+    static String validateNewTask(CreateTaskRequest request) {
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return "Title cannot be null or empty";
+        }
+
+        if (request.getStatus() == null) {
+            return "Status cannot be null or empty";
+        }
+
+        if (request.getDueDate() == null) {
+            return "Due date cannot be null";
+        }
+
+        // Check if dueDate is today or in the future
+        if (request.getDueDate().isBefore(LocalDate.now())) {
+            return "Due date cannot be in the past";
+        }
+        return null;
+    }
+
+    private static TaskEntity newTask(CreateTaskRequest request, ProjectEntity projectEntity) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setTitle(request.getTitle());
+        taskEntity.setDescription(request.getDescription());
+        taskEntity.setStatus(request.getStatus());
+        taskEntity.setDueDate(request.getDueDate());
+        taskEntity.setProjectEntity(projectEntity);
+        return taskEntity;
+    }
+
+    private static TaskView toView(TaskEntity taskEntity) {
+        return new TaskView(taskEntity.getId(), taskEntity.getTitle(), taskEntity.getDescription(), taskEntity.getStatus(),
+                taskEntity.getDueDate(), taskEntity.getProjectEntity().getId(), taskEntity.getVersion());
+    }
+
+    private static Long cursor(Long after) {
+        return after == null ? Long.MAX_VALUE : after;
+    }
+
+    private static Pageable cursorPage(int limit, Sort sort) {
+        return PageRequest.of(0, Math.min(limit, MAX_CURSOR_LIMIT), sort);
+    }
+
+    //Newest first, but led by the filtered columns so the rows come straight off the matching composite index; a due date range is read in due date order
+    private static Sort taskSort(LocalDate dueDate, boolean dueRange, Status status) {
+        if (dueDate != null || dueRange) {
+            return Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("dueDate"), Sort.Order.desc("id"));
+        }
+        if (status != null) {
+            return Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("status"), Sort.Order.desc("id"));
+        }
+        return Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("id"));
+    }
+
+    //Rows are ordered by id descending, so the last id of a full slice is where the next page starts
+    private static <T> Long nextCursor(Slice<T> slice, Function<T, Long> idOf) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) {
+            return null;
+        }
+        return idOf.apply(slice.getContent().get(slice.getContent().size() - 1));
+    }
 }
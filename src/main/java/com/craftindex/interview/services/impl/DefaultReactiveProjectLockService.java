@@ -0,0 +1,150 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.services.ReactiveProjectLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DefaultProjectLockService without blocking a thread. Projects hash onto the same kind of fixed stripe array,
+ * but a writer that finds its stripe taken is queued and resumed when the holder's transaction completes, so
+ * the event loop keeps serving other requests meanwhile. Waiters are resumed in arrival order. Unlike the servlet
+ * locks these are not reentrant: a transaction takes one project's lock, once.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DefaultReactiveProjectLockService implements ReactiveProjectLockService {
+    private final Stripe[] stripes;
+    private final int mask;
+    private final Duration acquireTimeout;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public DefaultReactiveProjectLockService(MeterRegistry meterRegistry,
+                                             @Value("${interview.project-locks.stripes:256}") int stripes,
+                                             @Value("${interview.project-locks.acquire-timeout:5s}") Duration acquireTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripes));
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.acquireTimeout = acquireTimeout;
+        //The same meters as the servlet locks, so dashboards do not depend on the profile
+        this.waitTimer = Timer.builder("project.lock.wait")
+                .description("Time task writes waited for their project's lock")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("project.lock.timeouts")
+                .description("Task writes that gave up waiting for their project's lock")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> lockForTransaction(long projectId) {
+        Stripe stripe = stripes[(int) ((projectId * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .onErrorMap(NoTransactionException.class,
+                        e -> new IllegalStateException("A project lock is held until commit, so it can only be taken inside a transaction", e))
+                .flatMap(synchronizations -> {
+                    //Registered before queueing: a lock granted just as the wait times out is still released at completion
+                    AtomicBoolean held = new AtomicBoolean();
+                    synchronizations.registerSynchronization(new StripeRelease(stripe, held));
+                    long started = System.nanoTime();
+                    return stripe.acquire(held)
+                            .timeout(acquireTimeout)
+                            .doOnTerminate(() -> waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS))
+                            .onErrorMap(TimeoutException.class, e -> {
+                                timeouts.increment();
+                                //Not a DAO exception, as on the servlet stack
+                                return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Project " + projectId + " is busy with other writes, try again shortly");
+                            });
+                });
+    }
+
+    private static final class Stripe {
+        private final Queue<Waiter> waiters = new ArrayDeque<>();
+        private boolean locked;
+
+        private Mono<Void> acquire(AtomicBoolean held) {
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink, held);
+                boolean free;
+                synchronized (this) {
+                    free = !locked;
+                    if (free) {
+                        locked = true;
+                        held.set(true);
+                    } else {
+                        waiters.add(waiter);
+                    }
+                }
+                if (free) {
+                    sink.success();
+                    return;
+                }
+                //A waiter that gave up leaves the queue; if it was granted first, its transaction's completion passes the lock on
+                sink.onCancel(() -> {
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                });
+            });
+        }
+
+        private void release() {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    locked = false;
+                    return;
+                }
+                next.held.set(true);
+            }
+            //Resumed elsewhere, so the holder's completion does not go on to run the next writer's transaction
+            Schedulers.parallel().schedule(next.sink::success);
+        }
+    }
+
+    //Ordered first, so the stripe is released before the journal waits for the disk, as on the servlet stack
+    private record StripeRelease(Stripe stripe, AtomicBoolean held) implements TransactionSynchronization, Ordered {
+        @Override
+        public Mono<Void> afterCompletion(int status) {
+            return Mono.fromRunnable(() -> {
+                if (held.get()) {
+                    stripe.release();
+                }
+            });
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private record Waiter(MonoSink<Void> sink, AtomicBoolean held) {
+    }
+}
@@ -0,0 +1,694 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.entities.reactive.ProjectRow;
+import com.craftindex.interview.entities.reactive.ProjectTaskCountRow;
+import com.craftindex.interview.entities.reactive.TaskRow;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.*;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.repos.reactive.ReactiveProjectRepository;
+import com.craftindex.interview.repos.reactive.ReactiveProjectTaskCountRepository;
+import com.craftindex.interview.repos.reactive.ReactiveTaskRepository;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.ReactiveProjectLockService;
+import com.craftindex.interview.services.ReactiveProjectService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.TaskSearchService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * ProjectService over R2DBC for the reactive profile. Validation is shared with DefaultProjectService and every write
+ * keeps the same bookkeeping in the same transaction: the per-status counters, the project's task version behind the
+ * list ETags and the task version behind If-Match. Task writes hold their project's lock until commit, as on the
+ * servlet stack. The search index, the change stream and the mutation journal are told only after the commit.
+ *
+ * Idempotency keys and the write-behind buffer are servlet-only; with the reactive profile every update goes straight
+ * to the row.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DefaultReactiveProjectService implements ReactiveProjectService {
+    private final ReactiveProjectRepository projectRepository;
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveProjectTaskCountRepository projectTaskCountRepository;
+    private final TaskSearchService taskSearchService;
+    private final TaskEventService taskEventService;
+    private final TaskJournalService taskJournalService;
+    private final ReactiveProjectLockService projectLockService;
+    private final TransactionalOperator transactionalOperator;
+
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int MAX_BULK_TASKS = 5000;
+
+
+    @Override
+    public Mono<ResponseEntity<BaseResponse>> createProject(CreateProjectRequest request) {
+        return projectRepository.findByNameIgnoreCase(request.getName())
+                .map(existing -> new ResponseEntity<>(new BaseResponse("Project with similar name already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT))
+                .switchIfEmpty(Mono.defer(() -> projectRepository.nextId()
+                        .flatMap(id -> {
+                            ProjectRow projectRow = new ProjectRow();
+                            projectRow.setId(id);
+                            projectRow.setName(request.getName());
+                            projectRow.setDescription(request.getDescription());
+                            return projectRepository.save(projectRow);
+                        })
+                        .flatMap(projectRow -> projectTaskCountRepository.initializeProject(projectRow.getId(), Status.values().length - 1)
+                                .then(afterCommit(() -> taskJournalService.projectCreated(toView(projectRow)))))
+                        .thenReturn(new ResponseEntity<>(new BaseResponse("Project created successfully", HttpStatus.OK.value()), HttpStatus.OK))))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(unexpected("An error occurred while creating the project"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<GetProjectsResponse>> getProjects(Pageable pageable) {
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Order.desc("id")));
+        return projectRepository.findAllBy(pageRequest)
+                .map(DefaultReactiveProjectService::toView)
+                .collectList()
+                .map(projects -> {
+                    GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+                    getProjectsResponse.setStatus(HttpStatus.OK.value());
+                    getProjectsResponse.setProjects(projects);
+                    getProjectsResponse.setMessage("Success");
+                    return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
+                })
+                .onErrorMap(unexpected("An error occurred while getting the projects"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<GetProjectsResponse>> getProjectsAfter(Long after, int limit) {
+        GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+        if (limit < 1) {
+            getProjectsResponse.setMessage("Limit must be greater than zero");
+            getProjectsResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+            return Mono.just(new ResponseEntity<>(getProjectsResponse, HttpStatus.BAD_REQUEST));
+        }
+
+        int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+        return projectRepository.findByIdLessThan(cursor(after), lookAhead(pageSize, Sort.by(Sort.Order.desc("id"))))
+                .map(DefaultReactiveProjectService::toView)
+                .collectList()
+                .map(projects -> {
+                    getProjectsResponse.setStatus(HttpStatus.OK.value());
+                    getProjectsResponse.setProjects(firstPage(projects, pageSize));
+                    getProjectsResponse.setNextCursor(nextCursor(projects, pageSize, ProjectView::id));
+                    getProjectsResponse.setMessage("Success");
+                    return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
+                })
+                .onErrorMap(unexpected("An error occurred while getting the projects"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ProjectResponse>> getProjectById(long projectId) {
+        return projectRepository.findById(projectId)
+                .map(projectRow -> {
+                    ProjectResponse projectResponse = new ProjectResponse();
+                    projectResponse.setProject(toEntity(projectRow));
+                    projectResponse.setStatus(HttpStatus.OK.value());
+                    projectResponse.setMessage("Success");
+                    return new ResponseEntity<>(projectResponse, HttpStatus.OK);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    ProjectResponse projectResponse = new ProjectResponse();
+                    projectResponse.setMessage("Project with id " + projectId + " not found");
+                    projectResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(projectResponse);
+                }))
+                .onErrorMap(unexpected("An error occurred while getting project by id"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<BaseResponse>> createProjectTask(CreateTaskRequest request, long projectId) {
+        String validationError = DefaultProjectService.validateNewTask(request);
+        if (validationError != null) {
+            return Mono.just(new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST));
+        }
+
+        Mono<ResponseEntity<BaseResponse>> create = taskRepository.findByProjectIdAndTitleKey(projectId, TaskEntity.titleKey(request.getTitle()))
+                .map(existing -> new ResponseEntity<>(new BaseResponse("Task with title " + existing.getTitle() + " already exists",
+                        HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT))
+                //A create that raced past the check above fails on the unique title constraint
+                .switchIfEmpty(Mono.defer(() -> taskRepository.nextIds(1).next()
+                        .flatMap(id -> taskRepository.save(newTask(id, request, projectId)))
+                        .flatMap(taskRow -> adjustCounter(projectId, taskRow.getStatus(), 1)
+                                .then(projectRepository.incrementTasksVersion(projectId))
+                                .then(afterCommit(() -> {
+                                    taskSearchService.tasksSaved(List.of(toEntity(taskRow)));
+                                    taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(toView(taskRow)));
+                                    taskJournalService.tasksChanged(TaskChangeType.CREATED, List.of(toView(taskRow)));
+                                })))
+                        .thenReturn(new ResponseEntity<>(new BaseResponse("Task created successfully", HttpStatus.OK.value()), HttpStatus.OK))));
+
+        //Writes to one project queue behind each other until commit, as ProjectLockService orders them on the servlet stack
+        return projectRepository.existsById(projectId)
+                .flatMap(exists -> exists ? projectLockService.lockForTransaction(projectId).then(create) : Mono.just(new ResponseEntity<>(
+                        new BaseResponse("Project with id " + projectId + " not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND)))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(unexpected("An error occurred while creating the task"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<BulkCreateTasksResponse>> createProjectTasks(List<CreateTaskRequest> requests, long projectId) {
+        BulkCreateTasksResponse bulkResponse = new BulkCreateTasksResponse();
+        if (requests == null || requests.isEmpty()) {
+            bulkResponse.setMessage("Tasks cannot be empty");
+            bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+            return Mono.just(new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST));
+        }
+
+        if (requests.size() > MAX_BULK_TASKS) {
+            bulkResponse.setMessage("A single request cannot create more than " + MAX_BULK_TASKS + " tasks");
+            bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+            return Mono.just(new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST));
+        }
+
+        //Validate every item and reject titles repeated within the batch
+        BulkTaskResult[] results = new BulkTaskResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            CreateTaskRequest request = requests.get(index);
+            String validationError = request == null ? "Task cannot be null" : DefaultProjectService.validateNewTask(request);
+            if (validationError != null) {
+                results[index] = BulkTaskResult.failed(index, request == null ? null : request.getTitle(), HttpStatus.BAD_REQUEST, validationError);
+            } else if (candidates.putIfAbsent(TaskEntity.titleKey(request.getTitle()), index) != null) {
+                results[index] = BulkTaskResult.failed(index, request.getTitle(), HttpStatus.CONFLICT,
+                        "Task with title " + request.getTitle() + " is repeated in the request");
+            }
+        }
+
+        //One query for every title that already exists in the project
+        Mono<Set<String>> existingTitleKeys = candidates.isEmpty()
+                ? Mono.just(Set.of())
+                : taskRepository.findTitleKeysByProjectIdAndTitleKeyIn(projectId, candidates.keySet()).collect(HashSet::new, Set::add);
+
+        Mono<ResponseEntity<BulkCreateTasksResponse>> create = existingTitleKeys.flatMap(existing -> {
+            List<CreateTaskRequest> toCreate = new ArrayList<>();
+            List<Integer> taskIndexes = new ArrayList<>();
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                CreateTaskRequest request = requests.get(candidate.getValue());
+                if (existing.contains(candidate.getKey())) {
+                    results[candidate.getValue()] = BulkTaskResult.failed(candidate.getValue(), request.getTitle(), HttpStatus.CONFLICT,
+                            "Task with title " + request.getTitle() + " already exists");
+                } else {
+                    toCreate.add(request);
+                    taskIndexes.add(candidate.getValue());
+                }
+            }
+
+            Mono<List<TaskRow>> saved = toCreate.isEmpty()
+                    ? Mono.just(List.of())
+                    : taskRepository.nextIds(toCreate.size()).collectList()
+                    .flatMapMany(ids -> {
+                        List<TaskRow> taskRows = new ArrayList<>();
+                        for (int i = 0; i < toCreate.size(); i++) {
+                            taskRows.add(newTask(ids.get(i), toCreate.get(i), projectId));
+                        }
+                        return taskRepository.saveAll(taskRows);
+                    })
+                    .collectList();
+
+            return saved.flatMap(taskRows -> {
+                Map<Status, Long> createdByStatus = new EnumMap<>(Status.class);
+                for (int i = 0; i < taskRows.size(); i++) {
+                    TaskRow taskRow = taskRows.get(i);
+                    results[taskIndexes.get(i)] = BulkTaskResult.created(taskIndexes.get(i), taskRow.getTitle(), taskRow.getId());
+                    createdByStatus.merge(taskRow.getStatus(), 1L, Long::sum);
+                }
+
+                Mono<Void> bookkeeping = Flux.fromIterable(createdByStatus.entrySet())
+                        .concatMap(counter -> adjustCounter(projectId, counter.getKey(), counter.getValue()))
+                        .then(taskRows.isEmpty()
+                                ? Mono.empty()
+                                : projectRepository.incrementTasksVersion(projectId)
+                                .then(afterCommit(() -> {
+                                    taskSearchService.tasksSaved(taskRows.stream().map(DefaultReactiveProjectService::toEntity).toList());
+                                    List<TaskView> created = taskRows.stream().map(DefaultReactiveProjectService::toView).toList();
+                                    taskEventService.tasksChanged(TaskChangeType.CREATED, created);
+                                    taskJournalService.tasksChanged(TaskChangeType.CREATED, created);
+                                })));
+
+                return bookkeeping.then(Mono.fromSupplier(() -> {
+                    bulkResponse.setCreated(taskRows.size());
+                    bulkResponse.setFailed(requests.size() - taskRows.size());
+                    bulkResponse.setResults(Arrays.asList(results));
+                    bulkResponse.setMessage("Created " + taskRows.size() + " of " + requests.size() + " tasks");
+                    bulkResponse.setStatus(HttpStatus.OK.value());
+                    return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+                }));
+            });
+        });
+
+        return projectRepository.existsById(projectId)
+                .flatMap(exists -> {
+                    if (exists) {
+                        return projectLockService.lockForTransaction(projectId).then(create);
+                    }
+                    bulkResponse.setMessage("Project with id " + projectId + " not found");
+                    bulkResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                    return Mono.just(new ResponseEntity<>(bulkResponse, HttpStatus.NOT_FOUND));
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorMap(unexpected("An error occurred while creating the tasks"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<GetProjectTasksResponse>> getProjectTasks(
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Pageable pageable) {
+        String filterError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+        if (filterError != null) {
+            return Mono.just(tasksRejected(HttpStatus.BAD_REQUEST, filterError));
+        }
+
+        boolean dueRange = dueAfter != null || dueBefore != null;
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), taskSort(dueDate, dueRange, status));
+        Flux<TaskRow> tasks;
+        if (dueRange) {
+            LocalDate from = DefaultProjectService.rangeFrom(dueAfter);
+            LocalDate to = DefaultProjectService.rangeTo(dueBefore);
+            tasks = status == null
+                    ? taskRepository.findByProjectIdAndDueDateBetween(projectId, from, to, pageRequest)
+                    : taskRepository.findByProjectIdAndStatusAndDueDateBetween(projectId, status, from, to, pageRequest);
+        } else if (dueDate == null && status == null) {
+            tasks = taskRepository.findByProjectId(projectId, pageRequest);
+        } else if (dueDate != null && status == null) {
+            tasks = taskRepository.findByProjectIdAndDueDate(projectId, dueDate, pageRequest);
+        } else if (dueDate == null && status != null) {
+            tasks = taskRepository.findByProjectIdAndStatus(projectId, status, pageRequest);
+        } else {
+            tasks = taskRepository.findByProjectIdAndDueDateAndStatus(projectId, dueDate, status, pageRequest);
+        }
+
+        return projectRepository.existsById(projectId)
+                .flatMap(exists -> !exists
+                        ? Mono.just(tasksRejected(HttpStatus.NOT_FOUND, "Project with id " + projectId + " not found"))
+                        : tasks.map(DefaultReactiveProjectService::toView).collectList().map(views -> {
+                            GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+                            getProjectTasksResponse.setStatus(HttpStatus.OK.value());
+                            getProjectTasksResponse.setMessage("Success");
+                            getProjectTasksResponse.setTasks(views);
+                            return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
+                        }))
+                .onErrorMap(unexpected("An error occurred while getting project tasks"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<GetProjectTasksResponse>> getProjectTasksAfter(
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Long after, LocalDate afterDueDate, int limit) {
+        if (limit < 1) {
+            return Mono.just(tasksRejected(HttpStatus.BAD_REQUEST, "Limit must be greater than zero"));
+        }
+
+        boolean dueRange = dueAfter != null || dueBefore != null;
+        String filterError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+        if (filterError == null && dueRange && (after == null) != (afterDueDate == null)) {
+            filterError = "after and afterDueDate must be given together when filtering by dueAfter or dueBefore";
+        }
+        if (filterError != null) {
+            return Mono.just(tasksRejected(HttpStatus.BAD_REQUEST, filterError));
+        }
+
+        Long cursor = cursor(after);
+        int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+        Pageable page = lookAhead(pageSize, taskSort(dueDate, dueRange, status));
+        Flux<TaskRow> tasks;
+        if (dueRange) {
+            LocalDate to = DefaultProjectService.rangeTo(dueBefore);
+            LocalDate cursorDueDate = afterDueDate == null || afterDueDate.isAfter(to) ? to : afterDueDate;
+            LocalDate from = DefaultProjectService.rangeFrom(dueAfter);
+            tasks = status == null
+                    ? taskRepository.findByProjectIdAndDueDateBetweenAfter(projectId, from, cursorDueDate, cursor, pageSize + 1)
+                    : taskRepository.findByProjectIdAndStatusAndDueDateBetweenAfter(projectId, status, from, cursorDueDate, cursor, pageSize + 1);
+        } else if (dueDate == null && status == null) {
+            tasks = taskRepository.findByProjectIdAndIdLessThan(projectId, cursor, page);
+        } else if (dueDate != null && status == null) {
+            tasks = taskRepository.findByProjectIdAndDueDateAndIdLessThan(projectId, dueDate, cursor, page);
+        } else if (dueDate == null && status != null) {
+            tasks = taskRepository.findByProjectIdAndStatusAndIdLessThan(projectId, status, cursor, page);
+        } else {
+            tasks = taskRepository.findByProjectIdAndDueDateAndStatusAndIdLessThan(projectId, dueDate, status, cursor, page);
+        }
+
+        return projectRepository.existsById(projectId)
+                .flatMap(exists -> !exists
+                        ? Mono.just(tasksRejected(HttpStatus.NOT_FOUND, "Project with id " + projectId + " not found"))
+                        : tasks.map(DefaultReactiveProjectService::toView).collectList().map(views -> {
+                            GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+                            List<TaskView> firstPage = firstPage(views, pageSize);
+                            getProjectTasksResponse.setStatus(HttpStatus.OK.value());
+                            getProjectTasksResponse.setMessage("Success");
+                            getProjectTasksResponse.setTasks(firstPage);
+                            getProjectTasksResponse.setNextCursor(nextCursor(views, pageSize, TaskView::id));
+                            if (dueRange && views.size() > pageSize) {
+                                getProjectTasksResponse.setNextCursorDueDate(firstPage.get(firstPage.size() - 1).dueDate());
+                            }
+                            return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
+                        }))
+                .onErrorMap(unexpected("An error occurred while getting project tasks"));
+    }
+
+    @Override
+    public Flux<TaskView> exportProjectTasks(long projectId) {
+        return projectRepository.existsById(projectId)
+                .flatMapMany(exists -> exists
+                        ? taskRepository.findByProjectId(projectId).map(DefaultReactiveProjectService::toView)
+                        : Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Project with id " + projectId + " not found")));
+    }
+
+    @Override
+    public Mono<ResponseEntity<BaseResponse>> updateTask(CreateTaskRequest request, long taskId, Long expectedVersion) {
+        return taskRepository.findById(taskId)
+                .flatMap(taskRow -> projectLockService.lockForTransaction(taskRow.getProjectId()).thenReturn(taskRow))
+                .flatMap(taskRow -> {
+                    if (expectedVersion != null && !expectedVersion.equals(taskRow.getVersion())) {
+                        return Mono.just(new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " has changed since version " + expectedVersion,
+                                HttpStatus.PRECONDITION_FAILED.value()), HttpStatus.PRECONDITION_FAILED));
+                    }
+
+                    //Only a rename needs the lookup; the unique constraint still settles two renames racing for the same title
+                    String titleKey = request.getTitle() == null || request.getTitle().isEmpty() ? null : TaskEntity.titleKey(request.getTitle());
+                    Mono<Boolean> titleTaken = titleKey == null || titleKey.equals(taskRow.getTitleKey())
+                            ? Mono.just(false)
+                            : taskRepository.existsByProjectIdAndTitleKey(taskRow.getProjectId(), titleKey);
+                    return titleTaken.flatMap(taken -> taken
+                            ? Mono.just(new ResponseEntity<>(new BaseResponse("Task with title " + request.getTitle() + " already exists",
+                                    HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT))
+                            : applyAndSave(request, taskRow));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " not found",
+                        HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND)))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(unexpected("An error occurred while updating the task"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<BaseResponse>> deleteTask(long taskId) {
+        return taskRepository.findById(taskId)
+                .flatMap(taskRow -> projectLockService.lockForTransaction(taskRow.getProjectId()).thenReturn(taskRow))
+                .flatMap(taskRow -> taskRepository.delete(taskRow)
+                        .then(adjustCounter(taskRow.getProjectId(), taskRow.getStatus(), -1))
+                        .then(projectRepository.incrementTasksVersion(taskRow.getProjectId()))
+                        .then(afterCommit(() -> {
+                            taskSearchService.taskDeleted(toEntity(taskRow));
+                            taskEventService.tasksChanged(TaskChangeType.DELETED, List.of(toView(taskRow)));
+                            taskJournalService.tasksChanged(TaskChangeType.DELETED, List.of(toView(taskRow)));
+                        }))
+                        .thenReturn(new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " successfully deleted", HttpStatus.OK.value()), HttpStatus.OK)))
+                .switchIfEmpty(Mono.fromSupplier(() -> new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " not found",
+                        HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND)))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(unexpected("An error occurred while deleting task"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<ProjectSummaryResponse>>> getProjectsSummary(Pageable pageable) {
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Order.desc("id")));
+        return projectRepository.findAllBy(pageRequest)
+                .collectList()
+                .flatMap(projects -> {
+                    if (projects.isEmpty()) {
+                        return Mono.just(new ResponseEntity<List<ProjectSummaryResponse>>(List.of(), HttpStatus.OK));
+                    }
+
+                    //Read the maintained per-status counters for the page instead of counting tasks
+                    List<Long> projectIds = projects.stream().map(ProjectRow::getId).toList();
+                    return projectTaskCountRepository.findByProjectIdIn(projectIds)
+                            .filter(counter -> counter.getTaskCount() != 0)
+                            .collect(HashMap<Long, Map<Status, Long>>::new, (counts, counter) -> counts
+                                    .computeIfAbsent(counter.getProjectId(), id -> new EnumMap<>(Status.class))
+                                    .put(counter.getStatus(), counter.getTaskCount()))
+                            .map(statusCountsByProject -> {
+                                List<ProjectSummaryResponse> projectSummaries = projects.stream()
+                                        .map(project -> {
+                                            Map<Status, Long> statusCounts = statusCountsByProject.getOrDefault(project.getId(), Map.of());
+                                            long taskCounts = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+                                            return new ProjectSummaryResponse(toView(project), taskCounts, statusCounts);
+                                        })
+                                        .toList();
+                                return new ResponseEntity<>(projectSummaries, HttpStatus.OK);
+                            });
+                })
+                .onErrorMap(unexpected("An error occurred while getting projects summary"));
+    }
+
+    @Override
+    public Mono<ResponseEntity<GetProjectsDashboardResponse>> getProjectsDashboard(
+            List<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit) {
+        String validationError = DefaultProjectService.validateDashboard(projectIds, limit);
+        if (validationError == null) {
+            validationError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+        }
+        if (validationError != null) {
+            GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+            dashboardResponse.setMessage(validationError);
+            dashboardResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+            return Mono.just(new ResponseEntity<>(dashboardResponse, HttpStatus.BAD_REQUEST));
+        }
+
+        //The same two statements as DefaultProjectService: the projects by IN-list, then all their first pages in one windowed query
+        int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+        List<Long> ids = projectIds.stream().distinct().toList();
+        boolean dueRange = dueAfter != null || dueBefore != null;
+        return projectRepository.findByIdIn(ids)
+                .collectMap(ProjectRow::getId, DefaultReactiveProjectService::toView)
+                .flatMap(projects -> firstPages(projects.keySet(), dueDate, dueAfter, dueBefore, status, pageSize + 1)
+                        .map(DefaultReactiveProjectService::toView)
+                        .collect(HashMap<Long, List<TaskView>>::new, (tasksByProject, task) -> tasksByProject
+                                .computeIfAbsent(task.projectId(), id -> new ArrayList<>())
+                                .add(task))
+                        .map(tasksByProject -> {
+                            List<DashboardProject> dashboardProjects = new ArrayList<>();
+                            List<Long> notFound = new ArrayList<>();
+                            for (Long id : ids) {
+                                ProjectView project = projects.get(id);
+                                if (project == null) {
+                                    notFound.add(id);
+                                    continue;
+                                }
+                                List<TaskView> tasks = tasksByProject.getOrDefault(id, List.of());
+                                DashboardProject dashboardProject = new DashboardProject();
+                                dashboardProject.setProject(project);
+                                dashboardProject.setTasks(List.copyOf(firstPage(tasks, pageSize)));
+                                dashboardProject.setNextCursor(nextCursor(tasks, pageSize, TaskView::id));
+                                if (dueRange && tasks.size() > pageSize) {
+                                    dashboardProject.setNextCursorDueDate(tasks.get(pageSize - 1).dueDate());
+                                }
+                                dashboardProjects.add(dashboardProject);
+                            }
+
+                            GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+                            dashboardResponse.setProjects(dashboardProjects);
+                            dashboardResponse.setNotFound(notFound);
+                            dashboardResponse.setStatus(HttpStatus.OK.value());
+                            dashboardResponse.setMessage("Success");
+                            return new ResponseEntity<>(dashboardResponse, HttpStatus.OK);
+                        }))
+                .onErrorMap(unexpected("An error occurred while getting the projects dashboard"));
+    }
+
+    @Override
+    public Mono<Long> getProjectVersion(long projectId) {
+        return projectRepository.findVersionById(projectId);
+    }
+
+    @Override
+    public Mono<Long> getProjectTasksVersion(long projectId) {
+        return projectRepository.findTasksVersionById(projectId);
+    }
+
+    private Mono<ResponseEntity<BaseResponse>> applyAndSave(CreateTaskRequest request, TaskRow taskRow) {
+        //The rules run against a detached entity, exactly as a buffered update applies them
+        TaskEntity taskEntity = toEntity(taskRow);
+        String validationError = DefaultProjectService.applyUpdate(request, taskEntity);
+        if (validationError != null) {
+            return Mono.just(new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST));
+        }
+
+        Status previousStatus = taskRow.getStatus();
+        taskRow.setTitle(taskEntity.getTitle());
+        taskRow.setDescription(taskEntity.getDescription());
+        taskRow.setStatus(taskEntity.getStatus());
+        taskRow.setDueDate(taskEntity.getDueDate());
+        //The save is guarded by the version it read, so a concurrent update fails here instead of being overwritten
+        return taskRepository.save(taskRow)
+                .flatMap(saved -> (Objects.equals(previousStatus, saved.getStatus())
+                        ? Mono.<Void>empty()
+                        : adjustCounter(saved.getProjectId(), previousStatus, -1).then(adjustCounter(saved.getProjectId(), saved.getStatus(), 1)))
+                        .then(projectRepository.incrementTasksVersion(saved.getProjectId()))
+                        .then(afterCommit(() -> {
+                            taskSearchService.tasksSaved(List.of(toEntity(saved)));
+                            taskEventService.tasksChanged(TaskChangeType.UPDATED, List.of(toView(saved)));
+                            taskJournalService.tasksChanged(TaskChangeType.UPDATED, List.of(toView(saved)));
+                        }))
+                        .thenReturn(ResponseEntity.ok().eTag(ProjectService.taskETag(saved.getId(), saved.getVersion()))
+                                .body(new BaseResponse("Task updated successfully", HttpStatus.OK.value()))));
+    }
+
+    //Projects created before counters existed get their row on first use
+    private Mono<Void> adjustCounter(Long projectId, Status status, long delta) {
+        if (delta == 0) {
+            return Mono.empty();
+        }
+        return projectTaskCountRepository.adjust(projectId, status, delta)
+                .flatMap(updated -> updated == 0 ? projectTaskCountRepository.insert(projectId, status, delta) : Mono.just(updated))
+                .then();
+    }
+
+    //Only committed changes reach the search index, as with DefaultTaskSearchService on the servlet stack.
+    //The journal appends at commit, under the project lock, and waits for the disk only once the lock is let go;
+    //both off the event loop
+    private Mono<Void> afterCommit(Runnable change) {
+        AtomicLong journaled = new AtomicLong();
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(() -> journaled.set(taskJournalService.journalWithoutWaiting(change)))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .then();
+                    }
+
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        return journaled.get() == 0
+                                ? Mono.empty()
+                                : Mono.fromRunnable(() -> taskJournalService.awaitDurable(journaled.get())).subscribeOn(Schedulers.boundedElastic()).then();
+                    }
+                }))
+                .then();
+    }
+
+    //Conflicts are left unwrapped so the controller can answer them; anything else is reported like the servlet stack does
+    private static Function<Throwable, Throwable> unexpected(String message) {
+        return e -> e instanceof OptimisticLockingFailureException || e instanceof DataIntegrityViolationException
+                || e instanceof ResponseStatusException
+                ? e
+                : new RuntimeException(message, e);
+    }
+
+    //One row past each page is asked for by the caller; a status filter picks its own statement rather than a nullable bind
+    private Flux<TaskRow> firstPages(Collection<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit) {
+        if (projectIds.isEmpty()) {
+            return Flux.empty();
+        }
+        if (dueDate == null && dueAfter == null && dueBefore == null) {
+            return status == null
+                    ? taskRepository.findFirstPagesByProjectIds(projectIds, limit)
+                    : taskRepository.findFirstPagesByProjectIdsAndStatus(projectIds, status, limit);
+        }
+        LocalDate from = dueDate != null ? dueDate : DefaultProjectService.rangeFrom(dueAfter);
+        LocalDate to = dueDate != null ? dueDate : DefaultProjectService.rangeTo(dueBefore);
+        return status == null
+                ? taskRepository.findFirstPagesByProjectIdsAndDueDateBetween(projectIds, from, to, limit)
+                : taskRepository.findFirstPagesByProjectIdsAndStatusAndDueDateBetween(projectIds, status, from, to, limit);
+    }
+
+    private static ResponseEntity<GetProjectTasksResponse> tasksRejected(HttpStatus status, String message) {
+        GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+        getProjectTasksResponse.setMessage(message);
+        getProjectTasksResponse.setStatus(status.value());
+        return new ResponseEntity<>(getProjectTasksResponse, status);
+    }
+
+    private static TaskRow newTask(Long id, CreateTaskRequest request, long projectId) {
+        TaskRow taskRow = new TaskRow();
+        taskRow.setId(id);
+        taskRow.setTitle(request.getTitle());
+        taskRow.setDescription(request.getDescription());
+        taskRow.setStatus(request.getStatus());
+        taskRow.setDueDate(request.getDueDate());
+        taskRow.setProjectId(projectId);
+        return taskRow;
+    }
+
+    private static TaskView toView(TaskRow taskRow) {
+        return new TaskView(taskRow.getId(), taskRow.getTitle(), taskRow.getDescription(), taskRow.getStatus(),
+                taskRow.getDueDate(), taskRow.getProjectId(), taskRow.getVersion());
+    }
+
+    private static ProjectView toView(ProjectRow projectRow) {
+        return new ProjectView(projectRow.getId(), projectRow.getName(), projectRow.getDescription());
+    }
+
+    private static ProjectEntity toEntity(ProjectRow projectRow) {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(projectRow.getId());
+        projectEntity.setName(projectRow.getName());
+        projectEntity.setDescription(projectRow.getDescription());
+        projectEntity.setVersion(projectRow.getVersion());
+        return projectEntity;
+    }
+
+    private static TaskEntity toEntity(TaskRow taskRow) {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(taskRow.getProjectId());
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(taskRow.getId());
+        taskEntity.setTitle(taskRow.getTitle());
+        taskEntity.setDescription(taskRow.getDescription());
+        taskEntity.setStatus(taskRow.getStatus());
+        taskEntity.setDueDate(taskRow.getDueDate());
+        taskEntity.setProjectEntity(projectEntity);
+        taskEntity.setVersion(taskRow.getVersion());
+        return taskEntity;
+    }
+
+    private static Long cursor(Long after) {
+        return after == null ? Long.MAX_VALUE : after;
+    }
+
+    //One row past the page, so a full page can tell whether another follows without a count
+    private static Pageable lookAhead(int pageSize, Sort sort) {
+        return PageRequest.of(0, pageSize + 1, sort);
+    }
+
+    private static <T> List<T> firstPage(List<T> rows, int pageSize) {
+        return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+    }
+
+    private static <T> Long nextCursor(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        return rows.size() > pageSize ? idOf.apply(rows.get(pageSize - 1)) : null;
+    }
+
+    //The JPA sorts by row property instead of by association; same column order, so the same composite indexes serve it
+    private static Sort taskSort(LocalDate dueDate, boolean dueRange, Status status) {
+        if (dueDate != null || dueRange) {
+            return Sort.by(Sort.Order.desc("projectId"), Sort.Order.desc("dueDate"), Sort.Order.desc("id"));
+        }
+        if (status != null) {
+            return Sort.by(Sort.Order.desc("projectId"), Sort.Order.desc("status"), Sort.Order.desc("id"));
+        }
+        return Sort.by(Sort.Order.desc("projectId"), Sort.Order.desc("id"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.services.ReadCoalescingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for hot reads. The first caller for a key runs the read; callers arriving with the same key
+ * while it runs wait for it and share its result instead of each going to the database. With a result TTL
+ * a finished result keeps being handed out for that long, so a burst that arrives just after the read ends
+ * is absorbed as well; failures are never reused.
+ *
+ * Waiters share the very same response object, so callers must treat it as read-only. The key has to name
+ * everything the result depends on, including a data version where there is one, or a reused result could
+ * be older than what the caller has already seen.
+ */
+@Service
+public class DefaultReadCoalescingService implements ReadCoalescingService {
+    //Finished results only linger with a TTL; past this many keys the expired ones are swept out
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final boolean enabled;
+    private final long resultTtlNanos;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter reused;
+
+    public DefaultReadCoalescingService(MeterRegistry meterRegistry,
+                                        @Value("${interview.read-coalescing.enabled:true}") boolean enabled,
+                                        @Value("${interview.read-coalescing.result-ttl:0ms}") Duration resultTtl) {
+        this.enabled = enabled;
+        this.resultTtlNanos = Math.max(0, resultTtl.toNanos());
+        this.executed = counter(meterRegistry, "executed");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.reused = counter(meterRegistry, "reused");
+    }
+
+    @Override
+    public <T> T execute(String key, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                Flight mine = new Flight();
+                if (flights.putIfAbsent(key, mine) == null) {
+                    return lead(key, mine, read);
+                }
+                continue;
+            }
+            if (!flight.result.isDone()) {
+                coalesced.increment();
+                return await(flight);
+            }
+            if (flight.reusable(System.nanoTime(), resultTtlNanos)) {
+                reused.increment();
+                return await(flight);
+            }
+            //Expired: whoever removes it first leads the next read
+            flights.remove(key, flight);
+        }
+    }
+
+    private <T> T lead(String key, Flight flight, Supplier<T> read) {
+        executed.increment();
+        boolean failed = true;
+        try {
+            T result = read.get();
+            failed = false;
+            flight.completedAt = System.nanoTime();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (failed || resultTtlNanos == 0) {
+                flights.remove(key, flight);
+            } else if (flights.size() > SWEEP_THRESHOLD) {
+                long now = System.nanoTime();
+                flights.values().removeIf(other -> other.result.isDone() && !other.reusable(now, resultTtlNanos));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(Flight flight) {
+        try {
+            return (T) flight.result.join();
+        } catch (CompletionException e) {
+            //Waiters see the leader's own exception, so the controller maps it exactly as it would for the leader
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("project.reads")
+                .description("Coalesced reads by whether they ran, joined one in flight or reused a recent result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        //Written before the future completes, so anyone who sees it done also sees the time
+        private volatile long completedAt;
+
+        private boolean reusable(long now, long ttlNanos) {
+            return ttlNanos > 0 && !result.isCompletedExceptionally() && now - completedAt < ttlNanos;
+        }
+    }
+}
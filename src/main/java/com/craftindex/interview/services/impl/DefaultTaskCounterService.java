@@ -0,0 +1,143 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.ProjectTaskCountEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+import com.craftindex.interview.models.responses.TaskCounterDrift;
+import com.craftindex.interview.repos.ProjectTaskCountRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskStatusCount;
+import com.craftindex.interview.services.TaskCounterService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class DefaultTaskCounterService implements TaskCounterService {
+    private final ProjectTaskCountRepository projectTaskCountRepository;
+    private final TaskRepository taskRepository;
+
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initializeProject(Long projectId) {
+        //Pre-create a zero row per known status so task writes only ever update existing counters
+        List<ProjectTaskCountEntity> counters = new ArrayList<>();
+        for (Status status : Status.values()) {
+            counters.add(newCounter(projectId, status, 0));
+        }
+        projectTaskCountRepository.saveAll(counters);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(TaskEntity taskEntity) {
+        adjust(taskEntity.getProjectEntity().getId(), taskEntity.getStatus(), 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskStatusChanged(TaskEntity taskEntity, Status previousStatus) {
+        if (Objects.equals(previousStatus, taskEntity.getStatus())) {
+            return;
+        }
+        adjust(taskEntity.getProjectEntity().getId(), previousStatus, -1);
+        adjust(taskEntity.getProjectEntity().getId(), taskEntity.getStatus(), 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(TaskEntity taskEntity) {
+        adjust(taskEntity.getProjectEntity().getId(), taskEntity.getStatus(), -1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(Long projectId, Status status, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        //Projects created before counters existed get their row on first use. Writers that missed it queue on the
+        //project row, and the merge then adds to the row the first of them inserted instead of inserting it again
+        if (projectTaskCountRepository.adjust(projectId, status, delta) == 0) {
+            projectTaskCountRepository.lockProject(projectId);
+            projectTaskCountRepository.merge(projectId, status.ordinal(), delta);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<Status, Long>> getStatusCounts(Collection<Long> projectIds) {
+        Map<Long, Map<Status, Long>> statusCounts = new HashMap<>();
+        for (TaskStatusCount counter : projectTaskCountRepository.findCountsByProjectIdIn(projectIds)) {
+            if (counter.getCount() != 0) {
+                statusCounts
+                        .computeIfAbsent(counter.getProjectId(), id -> new HashMap<>())
+                        .put(counter.getStatus(), counter.getCount());
+            }
+        }
+        return statusCounts;
+    }
+
+    @Override
+    @Transactional
+    public ReconcileTaskCountersResponse reconcile() {
+        //Lock the counters before counting so in-flight task writes are either fully counted or applied after us
+        projectTaskCountRepository.lockAll();
+        List<TaskStatusCount> counters = projectTaskCountRepository.findAllCounts();
+
+        Map<String, TaskStatusCount> actualCounts = new HashMap<>();
+        for (TaskStatusCount row : taskRepository.countGroupedByProjectAndStatus()) {
+            actualCounts.put(key(row.getProjectId(), row.getStatus()), row);
+        }
+
+        List<TaskCounterDrift> drifts = new ArrayList<>();
+        for (TaskStatusCount counter : counters) {
+            TaskStatusCount actual = actualCounts.remove(key(counter.getProjectId(), counter.getStatus()));
+            long actualCount = actual == null ? 0 : actual.getCount();
+            if (counter.getCount() != actualCount) {
+                drifts.add(new TaskCounterDrift(counter.getProjectId(), counter.getStatus(), counter.getCount(), actualCount));
+                projectTaskCountRepository.overwrite(counter.getProjectId(), counter.getStatus(), actualCount);
+            }
+        }
+
+        List<ProjectTaskCountEntity> missing = new ArrayList<>();
+        for (TaskStatusCount actual : actualCounts.values()) {
+            drifts.add(new TaskCounterDrift(actual.getProjectId(), actual.getStatus(), 0, actual.getCount()));
+            missing.add(newCounter(actual.getProjectId(), actual.getStatus(), actual.getCount()));
+        }
+        projectTaskCountRepository.saveAll(missing);
+
+        if (!drifts.isEmpty()) {
+            log.warn("Reconciled {} drifted task counters", drifts.size());
+        }
+
+        ReconcileTaskCountersResponse response = new ReconcileTaskCountersResponse();
+        response.setCountersChecked(counters.size());
+        response.setDrifts(drifts);
+        response.setMessage(drifts.isEmpty() ? "Task counters are in sync" : "Task counters reconciled");
+        response.setStatus(HttpStatus.OK.value());
+        return response;
+    }
+
+    private static ProjectTaskCountEntity newCounter(Long projectId, Status status, long taskCount) {
+        ProjectTaskCountEntity counter = new ProjectTaskCountEntity();
+        counter.setProjectId(projectId);
+        counter.setStatus(status);
+        counter.setTaskCount(taskCount);
+        return counter;
+    }
+
+    private static String key(Long projectId, Status status) {
+        return projectId + ":" + status;
+    }
+}
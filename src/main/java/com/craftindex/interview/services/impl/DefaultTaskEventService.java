@@ -0,0 +1,304 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.responses.TaskChangeEvent;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus for task changes, feeding the per-project SSE streams. Writers hand over the committed
+ * task state; each subscriber gets its own bounded queue, drained on a small dispatch pool, so a slow
+ * dashboard only ever delays itself. One that falls subscriber-buffer events behind is disconnected and
+ * picks up again from its Last-Event-ID when it reconnects.
+ *
+ * The last history events across all projects are kept for those resumes. A resume from further back,
+ * or from before a restart, gets a RESET event telling the client to reload the list instead.
+ *
+ * Events leave in commit order per project except when two commits race; every event carries the task
+ * version, so a client keeps whichever state of a task has the higher one.
+ */
+@Service
+@Slf4j
+public class DefaultTaskEventService implements TaskEventService, SmartLifecycle {
+    //Queued like an event, so a heartbeat never interleaves with a send to the same subscriber
+    private static final TaskChangeEvent HEARTBEAT = new TaskChangeEvent(0, TaskChangeType.RESET, 0, null);
+
+    private final int subscriberBuffer;
+    private final int historySize;
+    private final Duration heartbeatInterval;
+    private final ExecutorService dispatcher;
+    private final Counter publishedEvents;
+    private final Counter droppedSubscribers;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    //Guarded by this: ids, the history and the subscriber lists change together, so a resume neither misses nor repeats an event
+    private final ArrayDeque<TaskChangeEvent> history = new ArrayDeque<>();
+    private final Map<Long, List<ProjectSubscriber>> subscribers = new HashMap<>();
+    private long nextEventId;
+
+    private ScheduledExecutorService heartbeats;
+    private volatile boolean running;
+    private volatile boolean stopping;
+
+    public DefaultTaskEventService(MeterRegistry meterRegistry,
+                                   @Value("${interview.task-events.subscriber-buffer:256}") int subscriberBuffer,
+                                   @Value("${interview.task-events.history:10000}") int historySize,
+                                   @Value("${interview.task-events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${interview.task-events.dispatch-threads:4}") int dispatchThreads) {
+        this.subscriberBuffer = subscriberBuffer;
+        this.historySize = historySize;
+        this.heartbeatInterval = heartbeatInterval;
+        //Ids keep growing across restarts, so an id from an earlier run is never mistaken for one of this run's events
+        this.nextEventId = System.currentTimeMillis() * 1000;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedEvents = Counter.builder("task.events.published")
+                .description("Task change events published to the SSE streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("task.events.subscribers.dropped")
+                .description("SSE subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+        Gauge.builder("task.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task change SSE streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void tasksChanged(TaskChangeType type, List<TaskView> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<TaskView> changed = List.copyOf(tasks);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(type, changed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(type, changed);
+            }
+        });
+    }
+
+    @Override
+    public Subscription subscribe(long projectId, Long lastEventId, Listener listener) {
+        ProjectSubscriber subscriber = new ProjectSubscriber(projectId, listener);
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.computeIfAbsent(projectId, id -> new ArrayList<>()).add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+        subscriber.schedule();
+        return subscriber;
+    }
+
+    @Override
+    public int subscriberBuffer() {
+        return subscriberBuffer;
+    }
+
+    private synchronized void publish(TaskChangeType type, List<TaskView> tasks) {
+        List<ProjectSubscriber> fellBehind = new ArrayList<>();
+        for (TaskView task : tasks) {
+            TaskChangeEvent event = new TaskChangeEvent(nextEventId++, type, task.projectId(), task);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            publishedEvents.increment();
+            for (ProjectSubscriber subscriber : subscribers.getOrDefault(task.projectId(), List.of())) {
+                if (!subscriber.offer(event)) {
+                    fellBehind.add(subscriber);
+                }
+            }
+        }
+        fellBehind.forEach(this::remove);
+    }
+
+    //Runs before the subscriber is registered, so the live events follow straight on from the replayed ones
+    private void replay(ProjectSubscriber subscriber, long lastEventId) {
+        long oldestRetained = history.isEmpty() ? nextEventId : history.getFirst().id();
+        List<TaskChangeEvent> missed = new ArrayList<>();
+        if (lastEventId >= oldestRetained - 1 && lastEventId < nextEventId) {
+            Iterator<TaskChangeEvent> newestFirst = history.descendingIterator();
+            while (newestFirst.hasNext() && missed.size() <= subscriberBuffer) {
+                TaskChangeEvent event = newestFirst.next();
+                if (event.id() <= lastEventId) {
+                    break;
+                }
+                if (event.projectId() == subscriber.projectId) {
+                    missed.add(event);
+                }
+            }
+            if (missed.size() <= subscriberBuffer) {
+                Collections.reverse(missed);
+                missed.forEach(subscriber.queue::offer);
+                return;
+            }
+        }
+        //Carries the newest id, so a client that reloads and later reconnects resumes from the reload
+        subscriber.queue.offer(new TaskChangeEvent(nextEventId - 1, TaskChangeType.RESET, subscriber.projectId, null));
+    }
+
+    private synchronized boolean remove(ProjectSubscriber subscriber) {
+        List<ProjectSubscriber> projectSubscribers = subscribers.get(subscriber.projectId);
+        if (projectSubscribers == null || !projectSubscribers.remove(subscriber)) {
+            return false;
+        }
+        if (projectSubscribers.isEmpty()) {
+            subscribers.remove(subscriber.projectId);
+        }
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private synchronized List<ProjectSubscriber> allSubscribers() {
+        return subscribers.values().stream().flatMap(List::stream).toList();
+    }
+
+    private void sendHeartbeats() {
+        //A subscriber with a full queue is already behind; the next event decides whether it is dropped
+        allSubscribers().forEach(subscriber -> {
+            if (subscriber.queue.offer(HEARTBEAT)) {
+                subscriber.schedule();
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    //Stops before the web server, so its graceful shutdown does not wait on streams that never end by themselves
+    @Override
+    public void stop() {
+        running = false;
+        stopping = true;
+        if (heartbeats != null) {
+            heartbeats.shutdown();
+        }
+        allSubscribers().forEach(ProjectSubscriber::schedule);
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class ProjectSubscriber implements Subscription {
+        private final long projectId;
+        private final Listener listener;
+        private final BlockingQueue<TaskChangeEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean fellBehind;
+
+        private ProjectSubscriber(long projectId, Listener listener) {
+            this.projectId = projectId;
+            this.listener = listener;
+            //One slot more than the buffer for a replayed RESET or a heartbeat on top of a full backlog
+            this.queue = new ArrayBlockingQueue<>(subscriberBuffer + 1);
+        }
+
+        //Called with the service's lock held, so it must never block
+        private boolean offer(TaskChangeEvent event) {
+            if (queue.size() < subscriberBuffer && queue.offer(event)) {
+                schedule();
+                return true;
+            }
+            if (!fellBehind) {
+                fellBehind = true;
+                droppedSubscribers.increment();
+                schedule();
+            }
+            return false;
+        }
+
+        private void schedule() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                TaskChangeEvent event;
+                while (!fellBehind && !stopping && !closed.get() && (event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        listener.heartbeat();
+                    } else {
+                        listener.send(event);
+                    }
+                }
+            } catch (Exception e) {
+                //The client has gone; its transport has already ended the stream
+                log.debug("Task event stream for project {} ended: {}", projectId, e.getMessage());
+                cancel();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (fellBehind || stopping) {
+                close(fellBehind);
+            } else if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close(boolean fellBehind) {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                queue.clear();
+                listener.closed(fellBehind);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                queue.clear();
+            }
+        }
+    }
+}
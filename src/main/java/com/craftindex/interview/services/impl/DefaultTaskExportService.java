@@ -0,0 +1,95 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.services.TaskExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class DefaultTaskExportService implements TaskExportService {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportProjectTasks(long projectId) {
+        ProjectEntity projectEntity = projectRepository.findById(projectId).orElse(null);
+        if (projectEntity == null) {
+            BaseResponse baseResponse = new BaseResponse("Project with id " + projectId + " not found", HttpStatus.NOT_FOUND.value());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, baseResponse));
+        }
+
+        StreamingResponseBody body = outputStream -> writeTasks(projectEntity, outputStream);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    //Runs on the async request thread, so it opens its own read-only transaction for the cursor
+    private void writeTasks(ProjectEntity projectEntity, OutputStream outputStream) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TaskEntity> tasks = taskRepository.streamByProjectEntity(projectEntity);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                long written = 0;
+                for (Iterator<TaskEntity> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                    TaskEntity taskEntity = iterator.next();
+                    writeTask(generator, taskEntity, projectEntity.getId());
+                    entityManager.detach(taskEntity);
+                    if (++written % FLUSH_EVERY == 1) {
+                        generator.flush();
+                    }
+                }
+                generator.flush();
+                log.debug("Exported {} tasks of project {}", written, projectEntity.getId());
+            } catch (IOException e) {
+                throw new UncheckedIOException("An error occurred while exporting project tasks", e);
+            }
+        });
+    }
+
+    private static void writeTask(JsonGenerator generator, TaskEntity taskEntity, Long projectId) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", taskEntity.getId());
+        generator.writeStringField("title", taskEntity.getTitle());
+        generator.writeStringField("description", taskEntity.getDescription());
+        generator.writeStringField("status", taskEntity.getStatus() == null ? null : taskEntity.getStatus().name());
+        generator.writeStringField("dueDate", taskEntity.getDueDate() == null ? null : taskEntity.getDueDate().toString());
+        generator.writeNumberField("projectId", projectId);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
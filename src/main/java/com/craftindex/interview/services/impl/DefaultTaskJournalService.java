@@ -0,0 +1,260 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.journal.SegmentedJournal;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskJournalService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.craftindex.interview.journal.JournalCodec.input;
+import static com.craftindex.interview.journal.JournalCodec.readDate;
+import static com.craftindex.interview.journal.JournalCodec.readString;
+import static com.craftindex.interview.journal.JournalCodec.writeDate;
+import static com.craftindex.interview.journal.JournalCodec.writeString;
+
+/**
+ * Journals every committed project and task mutation as a compact binary record in a SegmentedJournal,
+ * for replaying into whatever needs to catch up with the database: a rebuilt cache, a replica, an audit.
+ *
+ * Records are appended once the writing transaction commits, so a rolled back change is never journaled,
+ * and while it still holds its project lock, so the journal keeps the order of the commits. The writer
+ * only waits for group commit, sharing each flush with whoever else is writing, once the transaction has
+ * completed and let go of that lock: the next writer to the project is not held up by the disk. The
+ * database stays the source of truth: a journal that cannot be written is logged and counted rather
+ * than failing a change that has already committed.
+ */
+@Service
+@Slf4j
+public class DefaultTaskJournalService implements TaskJournalService, DisposableBean {
+    private static final Kind[] KINDS = Kind.values();
+    private static final Status[] STATUSES = Status.values();
+
+    //Null when the journal is disabled
+    private final SegmentedJournal journal;
+    private final Timer appendTimer;
+    private final Counter failures;
+    //The last sequence appended by journalWithoutWaiting on this thread, while it runs
+    private final ThreadLocal<long[]> deferred = new ThreadLocal<>();
+
+    public DefaultTaskJournalService(MeterRegistry meterRegistry,
+                                     @Value("${interview.journal.enabled:false}") boolean enabled,
+                                     @Value("${interview.journal.dir:./data/mutations}") Path directory,
+                                     @Value("${interview.journal.segment-size:64MB}") DataSize segmentSize,
+                                     @Value("${interview.journal.fsync:true}") boolean fsync) throws IOException {
+        this.journal = enabled ? new SegmentedJournal(directory, Math.toIntExact(segmentSize.toBytes()), fsync) : null;
+        this.appendTimer = Timer.builder("task.journal.append")
+                .description("Time from journaling committed mutations until they are durable")
+                .register(meterRegistry);
+        this.failures = Counter.builder("task.journal.failures")
+                .description("Committed mutations that could not be journaled")
+                .register(meterRegistry);
+        if (journal != null) {
+            log.info("Journaling mutations to {} from sequence {}", directory, journal.lastSequence() + 1);
+        }
+    }
+
+    @Override
+    public void projectCreated(ProjectView project) {
+        if (journal == null) {
+            return;
+        }
+        journal(List.of(encode(Kind.PROJECT_CREATED, out -> {
+            out.writeLong(project.id());
+            writeString(out, project.name());
+            writeString(out, project.description());
+        })));
+    }
+
+    @Override
+    public void tasksChanged(TaskChangeType type, List<TaskView> tasks) {
+        Kind kind = switch (type) {
+            case CREATED -> Kind.TASK_CREATED;
+            case UPDATED -> Kind.TASK_UPDATED;
+            case DELETED -> Kind.TASK_DELETED;
+            case RESET -> throw new IllegalArgumentException("A RESET is not a mutation to journal");
+        };
+        if (journal == null || tasks.isEmpty()) {
+            return;
+        }
+        //Encoded now, while the views are at hand, so the commit only copies bytes into the segment
+        List<byte[]> records = new ArrayList<>(tasks.size());
+        for (TaskView task : tasks) {
+            records.add(encode(kind, out -> {
+                out.writeLong(task.id());
+                out.writeLong(task.projectId());
+                writeString(out, task.title());
+                writeString(out, task.description());
+                out.writeByte(task.status().ordinal());
+                writeDate(out, task.dueDate());
+                out.writeLong(task.version() == null ? 0 : task.version());
+            }));
+        }
+        journal(records);
+    }
+
+    @Override
+    public long replay(long afterSequence, Consumer<Entry> consumer) {
+        if (journal == null) {
+            return 0;
+        }
+        try {
+            return journal.replay(afterSequence, (sequence, payload) -> consumer.accept(decode(sequence, input(payload))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the mutation journal", e);
+        }
+    }
+
+    @Override
+    public long journalWithoutWaiting(Runnable journaling) {
+        long[] last = {0};
+        deferred.set(last);
+        try {
+            journaling.run();
+        } finally {
+            deferred.remove();
+        }
+        return last[0];
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (journal == null || sequence == 0) {
+            return;
+        }
+        try {
+            journal.awaitDurable(sequence);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Could not bring the mutations journaled up to sequence {} to disk", sequence, e);
+        }
+    }
+
+    @Override
+    public void deleteThrough(long sequence) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.deleteThrough(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete replayed segments of the mutation journal", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void journal(List<byte[]> records) {
+        long[] last = deferred.get();
+        if (last != null) {
+            last[0] = Math.max(last[0], append(records));
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            long started = System.nanoTime();
+            awaitDurable(append(records), records.size(), started);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long started;
+            private long appended;
+
+            @Override
+            public void afterCommit() {
+                started = System.nanoTime();
+                appended = append(records);
+            }
+
+            //The project lock's synchronization goes first, so the lock is free before this waits for the disk
+            @Override
+            public void afterCompletion(int status) {
+                awaitDurable(appended, records.size(), started);
+            }
+        });
+    }
+
+    //Returns the last record's sequence, or 0 if they could not be appended
+    private long append(List<byte[]> records) {
+        try {
+            long last = 0;
+            for (byte[] record : records) {
+                last = journal.append(record);
+            }
+            return last;
+        } catch (RuntimeException e) {
+            failures.increment(records.size());
+            log.error("Could not journal {} committed mutations", records.size(), e);
+            return 0;
+        }
+    }
+
+    private void awaitDurable(long last, int records, long started) {
+        if (last == 0) {
+            return;
+        }
+        try {
+            journal.awaitDurable(last);
+            appendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failures.increment(records);
+            log.error("Could not bring {} committed mutations to disk", records, e);
+        }
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Kind kind, RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(kind.ordinal());
+            writer.write(out);
+        } catch (IOException e) {
+            //Only ever writes to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(long sequence, DataInputStream in) throws IOException {
+        Kind kind = KINDS[in.readByte()];
+        if (kind == Kind.PROJECT_CREATED) {
+            return new Entry(sequence, kind, new ProjectView(in.readLong(), readString(in), readString(in)), null);
+        }
+        long id = in.readLong();
+        long projectId = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        Status status = STATUSES[in.readByte()];
+        TaskView task = new TaskView(id, title, description, status, readDate(in), projectId, in.readLong());
+        return new Entry(sequence, kind, null, task);
+    }
+}
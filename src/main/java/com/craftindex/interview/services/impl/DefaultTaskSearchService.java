@@ -0,0 +1,191 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import com.craftindex.interview.models.responses.TaskSearchHit;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskText;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.search.TaskSearchIndex;
+import com.craftindex.interview.services.TaskSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class DefaultTaskSearchService implements TaskSearchService {
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+
+    //Changes are applied one at a time under this lock; while a rebuild runs they are also queued for replay
+    private final Object changeLock = new Object();
+    private volatile TaskSearchIndex index = new TaskSearchIndex();
+    //Until the first rebuild is swapped in, an empty result would look like "no matches", so searches answer 503
+    private volatile boolean ready;
+    private List<Consumer<TaskSearchIndex>> changesDuringRebuild;
+
+    public DefaultTaskSearchService(ProjectRepository projectRepository, TaskRepository taskRepository) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public void tasksSaved(List<TaskEntity> taskEntities) {
+        //Copy the indexed fields now; the entities may change again before the transaction commits
+        List<TaskText> tasks = taskEntities.stream()
+                .map(task -> new TaskText(task.getId(), task.getProjectEntity().getId(), task.getTitle(), task.getDescription()))
+                .toList();
+        afterCommit(index -> tasks.forEach(task -> index.put(task.id(), task.projectId(), task.title(), task.description())));
+    }
+
+    @Override
+    public void taskDeleted(TaskEntity taskEntity) {
+        long taskId = taskEntity.getId();
+        afterCommit(index -> index.remove(taskId));
+    }
+
+    @Override
+    public ResponseEntity<SearchTasksResponse> searchTasks(String query, Long projectId, Pageable pageable) {
+        try {
+            SearchTasksResponse searchTasksResponse = new SearchTasksResponse();
+            if (query == null || TaskSearchIndex.tokenize(query).isEmpty()) {
+                searchTasksResponse.setMessage("Query must contain at least one letter or digit");
+                searchTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(searchTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            long window = pageable.getOffset() + pageable.getPageSize();
+            if (window > MAX_SEARCH_WINDOW) {
+                searchTasksResponse.setMessage("Only the first " + MAX_SEARCH_WINDOW + " hits can be paged through");
+                searchTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(searchTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (projectId != null && !projectRepository.existsById(projectId)) {
+                searchTasksResponse.setMessage("Project with id " + projectId + " not found");
+                searchTasksResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(searchTasksResponse, HttpStatus.NOT_FOUND);
+            }
+
+            if (!ready) {
+                searchTasksResponse.setMessage("The search index is still being built, try again shortly");
+                searchTasksResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(searchTasksResponse);
+            }
+
+            TaskSearchIndex.Result result = index.search(query, projectId, (int) window);
+            List<TaskSearchIndex.Hit> page = result.hits().subList((int) Math.min(pageable.getOffset(), result.hits().size()), result.hits().size());
+
+            //One query for the page; a task deleted since it was ranked is simply left out
+            Map<Long, TaskView> tasks = page.isEmpty()
+                    ? Map.of()
+                    : taskRepository.findByIdIn(page.stream().map(TaskSearchIndex.Hit::taskId).toList(), TaskView.class).stream()
+                    .collect(Collectors.toMap(TaskView::id, Function.identity()));
+            List<TaskSearchHit> hits = new ArrayList<>();
+            for (TaskSearchIndex.Hit hit : page) {
+                TaskView task = tasks.get(hit.taskId());
+                if (task != null) {
+                    hits.add(new TaskSearchHit(task, hit.score()));
+                }
+            }
+
+            searchTasksResponse.setTotalHits(result.totalHits());
+            searchTasksResponse.setHits(hits);
+            searchTasksResponse.setMessage("Success");
+            searchTasksResponse.setStatus(HttpStatus.OK.value());
+            return new ResponseEntity<>(searchTasksResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while searching tasks", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> rebuild() {
+        try {
+            synchronized (changeLock) {
+                if (changesDuringRebuild != null) {
+                    return new ResponseEntity<>(new BaseResponse("The search index is already being rebuilt", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+                }
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            long started = System.nanoTime();
+            TaskSearchIndex rebuilt = new TaskSearchIndex();
+            boolean complete = false;
+            try {
+                Long after = 0L;
+                Slice<TaskText> batch;
+                do {
+                    batch = taskRepository.findByIdGreaterThan(after, PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")), TaskText.class);
+                    for (TaskText task : batch) {
+                        rebuilt.put(task.id(), task.projectId(), task.title(), task.description());
+                        after = task.id();
+                    }
+                } while (batch.hasNext());
+                complete = true;
+            } finally {
+                //Commits that landed while reading are replayed in order before the new index takes over
+                synchronized (changeLock) {
+                    if (complete) {
+                        changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                        index = rebuilt;
+                        ready = true;
+                    }
+                    changesDuringRebuild = null;
+                }
+            }
+
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Rebuilt the task search index with {} tasks in {} ms", rebuilt.size(), elapsedMillis);
+            return new ResponseEntity<>(new BaseResponse("Indexed " + rebuilt.size() + " tasks in " + elapsedMillis + " ms", HttpStatus.OK.value()), HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while rebuilding the search index", e);
+        }
+    }
+
+    //Only committed changes reach the index, so a rolled back write never shows up in search results
+    private void afterCommit(Consumer<TaskSearchIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<TaskSearchIndex> change) {
+        synchronized (changeLock) {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+}
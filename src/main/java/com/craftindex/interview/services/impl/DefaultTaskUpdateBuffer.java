@@ -0,0 +1,385 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.TaskUpdateBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer for task updates. Updates are coalesced per task id, so a card dragged across
+ * five columns in a second costs one row update, and are written in JDBC batches on the flush
+ * interval or as soon as max-pending tasks are waiting. Counters, the project's task version, the
+ * search index and the change stream follow in the same flush, from the status last written to the row.
+ *
+ * Until a flush commits, its entries stay readable here so callers always see their own writes.
+ * Pending updates are lost if the process dies before a flush; a normal shutdown flushes them.
+ *
+ * Rows are written only if they still hold the version the first coalesced update was based on. The
+ * titles of buffered renames are reported per project, so a rename or create made under the project lock
+ * is refused up front instead of colliding at the flush. A batch that still breaks the unique title
+ * constraint is retried row by row, and the offending updates are dropped and counted in
+ * task.updates.rejected, so one rename cannot hold back everyone else's.
+ */
+@Service
+@Slf4j
+public class DefaultTaskUpdateBuffer implements TaskUpdateBuffer, SmartLifecycle {
+    private static final String UPDATE_TASK = "UPDATE task SET title = ?, title_key = ?, description = ?, status = ?, due_date = ?, version = ? " +
+            "WHERE id = ? AND version = ?";
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectRepository projectRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskSearchService taskSearchService;
+    private final TaskEventService taskEventService;
+    private final TaskJournalService taskJournalService;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPending;
+    private final Counter bufferedUpdates;
+    private final Counter flushedUpdates;
+    private final Counter rejectedUpdates;
+
+    //Both maps are guarded by this; flushing holds the batch being written until its transaction ends
+    private final Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private Map<Long, PendingUpdate> flushing = Map.of();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    //The status and version the row held before the first coalesced update, so counters move once per flush
+    private record PendingUpdate(TaskView task, Status storedStatus, long storedVersion) {
+    }
+
+    public DefaultTaskUpdateBuffer(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ProjectRepository projectRepository,
+                                   TaskCounterService taskCounterService,
+                                   TaskSearchService taskSearchService,
+                                   TaskEventService taskEventService,
+                                   TaskJournalService taskJournalService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${interview.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${interview.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                   @Value("${interview.write-behind.max-pending:500}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.projectRepository = projectRepository;
+        this.taskCounterService = taskCounterService;
+        this.taskSearchService = taskSearchService;
+        this.taskEventService = taskEventService;
+        this.taskJournalService = taskJournalService;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.bufferedUpdates = Counter.builder("task.updates.buffered")
+                .description("Task updates accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.flushedUpdates = Counter.builder("task.updates.flushed")
+                .description("Task rows written by write-behind flushes")
+                .register(meterRegistry);
+        this.rejectedUpdates = Counter.builder("task.updates.rejected")
+                .description("Buffered task updates dropped because they broke a constraint when flushed")
+                .register(meterRegistry);
+        Gauge.builder("task.updates.pending", this, DefaultTaskUpdateBuffer::pendingCount)
+                .description("Task updates waiting for the next write-behind flush")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized Optional<TaskView> pending(long taskId) {
+        PendingUpdate update = pending.containsKey(taskId) ? pending.get(taskId) : flushing.get(taskId);
+        return Optional.ofNullable(update).map(PendingUpdate::task);
+    }
+
+    @Override
+    public boolean enqueue(TaskView current, TaskView updated) {
+        boolean full;
+        synchronized (this) {
+            PendingUpdate previous = pending.containsKey(updated.id()) ? pending.get(updated.id()) : flushing.get(updated.id());
+            //Another update got in after current was read; the caller re-reads instead of overwriting it
+            if (previous != null && !previous.task().equals(current)) {
+                return false;
+            }
+            //Behind an update still being flushed, the row will hold that update's state by the time this one is written
+            PendingUpdate update;
+            if (previous == null) {
+                update = new PendingUpdate(updated, current.status(), current.version());
+            } else if (pending.containsKey(updated.id())) {
+                update = new PendingUpdate(updated, previous.storedStatus(), previous.storedVersion());
+            } else {
+                update = new PendingUpdate(updated, previous.task().status(), previous.task().version());
+            }
+            pending.put(updated.id(), update);
+            full = pending.size() >= maxPending;
+        }
+        bufferedUpdates.increment();
+        if (full && running && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+        return true;
+    }
+
+    @Override
+    public void discard(long taskId) {
+        boolean inFlight;
+        synchronized (this) {
+            pending.remove(taskId);
+            inFlight = flushing.containsKey(taskId);
+        }
+        //A delete must not read the row while a flush is still rewriting it
+        if (inFlight) {
+            flushLock.lock();
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized boolean hasPending(long projectId) {
+        return containsProject(pending, projectId) || containsProject(flushing, projectId);
+    }
+
+    //Titles still being flushed count too: the row takes them on the way to any newer rename of the same task
+    @Override
+    public synchronized Set<String> pendingTitleKeys(long projectId) {
+        Set<String> titleKeys = new HashSet<>();
+        addTitleKeys(flushing, projectId, titleKeys);
+        addTitleKeys(pending, projectId, titleKeys);
+        return titleKeys;
+    }
+
+    @Override
+    public List<TaskView> overlay(List<TaskView> tasks, Predicate<TaskView> filter) {
+        List<TaskView> overlaid = new ArrayList<>(tasks.size());
+        for (TaskView task : tasks) {
+            TaskView current = pending(task.id()).orElse(task);
+            //A pending update can move a task out of the filter; tasks it moves in appear after the flush
+            if (filter.test(current)) {
+                overlaid.add(current);
+            }
+        }
+        return overlaid;
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<PendingUpdate> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                flushing = new LinkedHashMap<>(pending);
+                pending.clear();
+                batch = new ArrayList<>(flushing.values());
+            }
+
+            try {
+                int written;
+                try {
+                    written = transactionTemplate.execute(transaction -> write(batch));
+                } catch (DataIntegrityViolationException e) {
+                    written = writeOneByOne(batch);
+                }
+                flushedUpdates.increment(written);
+                return written;
+            } catch (RuntimeException e) {
+                //Put the batch back behind anything newer, so the next flush retries it
+                synchronized (this) {
+                    for (PendingUpdate update : batch) {
+                        pending.putIfAbsent(update.task().id(), update);
+                    }
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    flushing = Map.of();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Buffering task updates, flushing every {} or at {} pending tasks", flushInterval, maxPending);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            log.info("Flushed {} buffered task updates on shutdown", flush());
+        } catch (RuntimeException e) {
+            log.error("Flushing buffered task updates on shutdown failed, {} updates were not written", pendingCount(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    //Stops after the web server, so no update can arrive once the final flush has run
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private Integer write(List<PendingUpdate> batch) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_TASK, batch, JDBC_BATCH_SIZE, (statement, update) -> {
+            TaskView task = update.task();
+            statement.setString(1, task.title());
+            statement.setString(2, TaskEntity.titleKey(task.title()));
+            statement.setString(3, task.description());
+            statement.setInt(4, task.status().ordinal());
+            statement.setDate(5, task.dueDate() == null ? null : Date.valueOf(task.dueDate()));
+            statement.setLong(6, task.version());
+            statement.setLong(7, task.id());
+            statement.setLong(8, update.storedVersion());
+        });
+
+        int written = 0;
+        Set<Long> projectIds = new HashSet<>();
+        List<TaskEntity> indexed = new ArrayList<>();
+        List<TaskView> changed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            //Rows deleted, or changed behind the buffer's back, since they were buffered update nothing and must not move the counters
+            if (counts[i / JDBC_BATCH_SIZE][i % JDBC_BATCH_SIZE] == 0) {
+                continue;
+            }
+            TaskView task = batch.get(i).task();
+            Status storedStatus = batch.get(i).storedStatus();
+            if (storedStatus != task.status()) {
+                taskCounterService.adjust(task.projectId(), storedStatus, -1);
+                taskCounterService.adjust(task.projectId(), task.status(), 1);
+            }
+            projectIds.add(task.projectId());
+            indexed.add(toEntity(task));
+            changed.add(task);
+            written++;
+        }
+        projectIds.forEach(projectRepository::incrementTasksVersion);
+        if (!indexed.isEmpty()) {
+            taskSearchService.tasksSaved(indexed);
+            taskEventService.tasksChanged(TaskChangeType.UPDATED, changed);
+            //Journaled when the flush commits, as a buffered update is not a mutation until then
+            taskJournalService.tasksChanged(TaskChangeType.UPDATED, changed);
+        }
+        return written;
+    }
+
+    private int writeOneByOne(List<PendingUpdate> batch) {
+        int written = 0;
+        for (PendingUpdate update : batch) {
+            try {
+                written += transactionTemplate.execute(transaction -> write(List.of(update)));
+            } catch (DataIntegrityViolationException e) {
+                rejectedUpdates.increment();
+                log.warn("Dropped the buffered update to task {}: {}", update.task().id(), e.getMostSpecificCause().getMessage());
+            }
+        }
+        return written;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Flushing buffered task updates failed, {} will be retried", pendingCount(), e);
+        }
+    }
+
+    private synchronized int pendingCount() {
+        return pending.size() + flushing.size();
+    }
+
+    private static boolean containsProject(Map<Long, PendingUpdate> updates, long projectId) {
+        for (PendingUpdate update : updates.values()) {
+            if (update.task().projectId() == projectId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addTitleKeys(Map<Long, PendingUpdate> updates, long projectId, Set<String> titleKeys) {
+        for (PendingUpdate update : updates.values()) {
+            if (update.task().projectId() == projectId) {
+                titleKeys.add(TaskEntity.titleKey(update.task().title()));
+            }
+        }
+    }
+
+    private static TaskEntity toEntity(TaskView task) {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(task.projectId());
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(task.id());
+        taskEntity.setTitle(task.title());
+        taskEntity.setDescription(task.description());
+        taskEntity.setStatus(task.status());
+        taskEntity.setDueDate(task.dueDate());
+        taskEntity.setProjectEntity(projectEntity);
+        return taskEntity;
+    }
+}
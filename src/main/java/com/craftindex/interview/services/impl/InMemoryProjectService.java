@@ -0,0 +1,516 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.*;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.store.MemoryTaskStore;
+import com.craftindex.interview.store.MemoryTaskStore.StoredProject;
+import com.craftindex.interview.store.MemoryTaskStore.StoredTask;
+import com.craftindex.interview.store.MemoryTaskStore.TaskDraft;
+import com.craftindex.interview.store.MemoryTaskStore.TaskQuery;
+import com.craftindex.interview.store.MemoryTaskStore.WriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * ProjectService over MemoryTaskStore instead of JPA, selected with interview.store.engine=memory
+ * (the memory profile). Requests are validated and answered exactly as DefaultProjectService does;
+ * only where the rows come from differs, and changes still reach the task change stream. The
+ * journal in interview.store.journal-dir is replayed on startup. The task tables stay empty, so
+ * search, export and the overdue feed answer 501 in this mode (InMemoryUnsupportedTaskServices).
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "memory")
+public class InMemoryProjectService implements ProjectService, DisposableBean {
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int MAX_BULK_TASKS = 5000;
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private final MemoryTaskStore store;
+    private final TaskEventService taskEventService;
+
+    public InMemoryProjectService(TaskEventService taskEventService,
+                                  @Value("${interview.store.journal-dir:./data/journal}") Path journalDir,
+                                  @Value("${interview.store.fsync:false}") boolean fsync,
+                                  @Value("${interview.store.snapshot-after:100000}") long snapshotAfter) throws IOException {
+        this.taskEventService = taskEventService;
+        this.store = MemoryTaskStore.open(journalDir, fsync, snapshotAfter);
+        log.info("Loaded {} projects and {} tasks from {}", store.projectCount(), store.taskCount(), journalDir);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        store.close();
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> createProject(CreateProjectRequest request) {
+        try {
+            WriteResult<StoredProject> created = store.createProject(request.getName(), request.getDescription());
+            if (created.outcome() == MemoryTaskStore.Outcome.CONFLICT) {
+                return new ResponseEntity<>(new BaseResponse("Project with similar name already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+            }
+            return new ResponseEntity<>(new BaseResponse("Project created successfully", HttpStatus.OK.value()), HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while creating the project", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetProjectsResponse> getProjects(Pageable pageable) {
+        try {
+            GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+            getProjectsResponse.setStatus(HttpStatus.OK.value());
+            getProjectsResponse.setProjects(store.projects(pageable.getOffset(), pageable.getPageSize()).stream().map(InMemoryProjectService::toView).toList());
+            getProjectsResponse.setMessage("Success");
+            return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting the projects", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetProjectsResponse> getProjectsAfter(Long after, int limit) {
+        try {
+            GetProjectsResponse getProjectsResponse = new GetProjectsResponse();
+            if (limit < 1) {
+                getProjectsResponse.setMessage("Limit must be greater than zero");
+                getProjectsResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectsResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            //One extra row tells whether there is a next page, as a Slice would
+            int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+            List<StoredProject> projects = store.projectsBefore(cursor(after), pageSize + 1);
+            List<ProjectView> page = projects.stream().limit(pageSize).map(InMemoryProjectService::toView).toList();
+            getProjectsResponse.setStatus(HttpStatus.OK.value());
+            getProjectsResponse.setProjects(page);
+            getProjectsResponse.setNextCursor(projects.size() > pageSize ? page.get(page.size() - 1).id() : null);
+            getProjectsResponse.setMessage("Success");
+            return new ResponseEntity<>(getProjectsResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting the projects", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ProjectResponse> getProjectById(long projectId) {
+        try {
+            ProjectResponse projectResponse = new ProjectResponse();
+            StoredProject project = store.project(projectId).orElse(null);
+            if (project == null) {
+                projectResponse.setMessage("Project with id " + projectId + " not found");
+                projectResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(projectResponse);
+            }
+
+            projectResponse.setProject(toEntity(project));
+            projectResponse.setStatus(HttpStatus.OK.value());
+            projectResponse.setMessage("Success");
+            return new ResponseEntity<>(projectResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting project by id", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> createProjectTask(CreateTaskRequest request, long projectId) {
+        try {
+            String validationError = DefaultProjectService.validateNewTask(request);
+            if (validationError != null) {
+                return new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+
+            WriteResult<StoredTask> created = store.createTask(projectId, draft(request));
+            switch (created.outcome()) {
+                case NOT_FOUND:
+                    return new ResponseEntity<>(new BaseResponse("Project with id " + projectId + " not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+                case CONFLICT:
+                    return new ResponseEntity<>(new BaseResponse("Task with title " + request.getTitle() + " already exists", HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+                default:
+                    break;
+            }
+
+            tasksChanged(TaskChangeType.CREATED, List.of(created.value()));
+            return new ResponseEntity<>(new BaseResponse("Task created successfully", HttpStatus.OK.value()), HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while creating the task", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<BulkCreateTasksResponse> createProjectTasks(List<CreateTaskRequest> requests, long projectId) {
+        try {
+            BulkCreateTasksResponse bulkResponse = new BulkCreateTasksResponse();
+            if (requests == null || requests.isEmpty()) {
+                bulkResponse.setMessage("Tasks cannot be empty");
+                bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (requests.size() > MAX_BULK_TASKS) {
+                bulkResponse.setMessage("A single request cannot create more than " + MAX_BULK_TASKS + " tasks");
+                bulkResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            //Validate every item and reject titles repeated within the batch
+            BulkTaskResult[] results = new BulkTaskResult[requests.size()];
+            Map<String, Integer> candidates = new LinkedHashMap<>();
+            for (int index = 0; index < requests.size(); index++) {
+                CreateTaskRequest request = requests.get(index);
+                String validationError = request == null ? "Task cannot be null" : DefaultProjectService.validateNewTask(request);
+                if (validationError != null) {
+                    results[index] = BulkTaskResult.failed(index, request == null ? null : request.getTitle(), HttpStatus.BAD_REQUEST, validationError);
+                } else if (candidates.putIfAbsent(TaskEntity.titleKey(request.getTitle()), index) != null) {
+                    results[index] = BulkTaskResult.failed(index, request.getTitle(), HttpStatus.CONFLICT,
+                            "Task with title " + request.getTitle() + " is repeated in the request");
+                }
+            }
+
+            List<Integer> taskIndexes = new ArrayList<>(candidates.values());
+            List<TaskDraft> drafts = taskIndexes.stream().map(index -> draft(requests.get(index))).toList();
+            WriteResult<List<StoredTask>> created = store.createTasks(projectId, drafts);
+            if (created.outcome() == MemoryTaskStore.Outcome.NOT_FOUND) {
+                bulkResponse.setMessage("Project with id " + projectId + " not found");
+                bulkResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(bulkResponse, HttpStatus.NOT_FOUND);
+            }
+
+            List<StoredTask> createdTasks = new ArrayList<>();
+            for (int i = 0; i < taskIndexes.size(); i++) {
+                int index = taskIndexes.get(i);
+                StoredTask task = created.value().get(i);
+                if (task == null) {
+                    results[index] = BulkTaskResult.failed(index, requests.get(index).getTitle(), HttpStatus.CONFLICT,
+                            "Task with title " + requests.get(index).getTitle() + " already exists");
+                } else {
+                    results[index] = BulkTaskResult.created(index, task.title(), task.id());
+                    createdTasks.add(task);
+                }
+            }
+            if (!createdTasks.isEmpty()) {
+                tasksChanged(TaskChangeType.CREATED, createdTasks);
+            }
+
+            bulkResponse.setCreated(createdTasks.size());
+            bulkResponse.setFailed(requests.size() - createdTasks.size());
+            bulkResponse.setResults(Arrays.asList(results));
+            bulkResponse.setMessage("Created " + createdTasks.size() + " of " + requests.size() + " tasks");
+            bulkResponse.setStatus(HttpStatus.OK.value());
+            return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while creating the tasks", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasks(
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Pageable pageable) {
+        try {
+            GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+            String filterError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            if (filterError != null) {
+                getProjectTasksResponse.setMessage(filterError);
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (store.project(projectId).isEmpty()) {
+                getProjectTasksResponse.setMessage("Project with id " + projectId + " not found");
+                getProjectTasksResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.NOT_FOUND);
+            }
+
+            List<StoredTask> tasks = store.tasks(projectId, query(dueDate, dueAfter, dueBefore, status), pageable.getOffset(), pageable.getPageSize());
+            getProjectTasksResponse.setStatus(HttpStatus.OK.value());
+            getProjectTasksResponse.setMessage("Success");
+            getProjectTasksResponse.setTasks(tasks.stream().map(InMemoryProjectService::toView).toList());
+            return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting project tasks", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetProjectTasksResponse> getProjectTasksAfter(
+            long projectId, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, Long after, LocalDate afterDueDate, int limit) {
+        try {
+            GetProjectTasksResponse getProjectTasksResponse = new GetProjectTasksResponse();
+            if (limit < 1) {
+                getProjectTasksResponse.setMessage("Limit must be greater than zero");
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            boolean dueRange = dueAfter != null || dueBefore != null;
+            String filterError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            if (filterError == null && dueRange && (after == null) != (afterDueDate == null)) {
+                filterError = "after and afterDueDate must be given together when filtering by dueAfter or dueBefore";
+            }
+            if (filterError != null) {
+                getProjectTasksResponse.setMessage(filterError);
+                getProjectTasksResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            if (store.project(projectId).isEmpty()) {
+                getProjectTasksResponse.setMessage("Project with id " + projectId + " not found");
+                getProjectTasksResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.NOT_FOUND);
+            }
+
+            //The cursor date is clamped to the range exactly as the JPA listing does it
+            LocalDate cursorDueDate = null;
+            if (dueRange) {
+                LocalDate to = DefaultProjectService.rangeTo(dueBefore);
+                cursorDueDate = afterDueDate == null || afterDueDate.isAfter(to) ? to : afterDueDate;
+            }
+            int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+            List<StoredTask> tasks = store.tasksBefore(projectId, query(dueDate, dueAfter, dueBefore, status), cursorDueDate, cursor(after), pageSize + 1);
+            List<TaskView> page = tasks.stream().limit(pageSize).map(InMemoryProjectService::toView).toList();
+            boolean hasNext = tasks.size() > pageSize;
+
+            getProjectTasksResponse.setStatus(HttpStatus.OK.value());
+            getProjectTasksResponse.setMessage("Success");
+            getProjectTasksResponse.setTasks(page);
+            getProjectTasksResponse.setNextCursor(hasNext ? page.get(page.size() - 1).id() : null);
+            if (dueRange) {
+                getProjectTasksResponse.setNextCursorDueDate(hasNext ? page.get(page.size() - 1).dueDate() : null);
+            }
+            return new ResponseEntity<>(getProjectTasksResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting project tasks", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> updateTask(CreateTaskRequest request, long taskId, Long expectedVersion) {
+        try {
+            //Another writer getting in between the read and the write only costs a retry, unless the caller pinned a version
+            for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+                StoredTask current = store.task(taskId).orElse(null);
+                if (current == null) {
+                    return notFound(taskId);
+                }
+
+                if (expectedVersion != null && expectedVersion != current.version()) {
+                    return staleVersion(taskId, expectedVersion);
+                }
+
+                TaskEntity taskEntity = toEntity(current);
+                String validationError = DefaultProjectService.applyUpdate(request, taskEntity);
+                if (validationError != null) {
+                    return new ResponseEntity<>(new BaseResponse(validationError, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+                }
+
+                WriteResult<StoredTask> updated = store.updateTask(taskId, current.version(), new TaskDraft(taskEntity.getTitle(),
+                        taskEntity.getDescription(), taskEntity.getStatus(), taskEntity.getDueDate()));
+                switch (updated.outcome()) {
+                    case APPLIED:
+                        tasksChanged(TaskChangeType.UPDATED, List.of(updated.value()));
+                        return ResponseEntity.ok().eTag(ProjectService.taskETag(taskId, updated.value().version()))
+                                .body(new BaseResponse("Task updated successfully", HttpStatus.OK.value()));
+                    case NOT_FOUND:
+                        return notFound(taskId);
+                    case CONFLICT:
+                        return new ResponseEntity<>(new BaseResponse("Task with title " + request.getTitle() + " already exists",
+                                HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+                    default:
+                        if (expectedVersion != null) {
+                            return staleVersion(taskId, expectedVersion);
+                        }
+                }
+            }
+            throw new OptimisticLockingFailureException("Task with id " + taskId + " kept changing while it was being updated");
+
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while updating the task", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> deleteTask(long taskId) {
+        try {
+            WriteResult<StoredTask> deleted = store.deleteTask(taskId);
+            if (deleted.outcome() == MemoryTaskStore.Outcome.NOT_FOUND) {
+                return notFound(taskId);
+            }
+            tasksChanged(TaskChangeType.DELETED, List.of(deleted.value()));
+            return new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " successfully deleted", HttpStatus.OK.value()), HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while deleting task", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectsSummary(Pageable pageable) {
+        try {
+            List<ProjectSummaryResponse> projectSummaries = store.projects(pageable.getOffset(), pageable.getPageSize()).stream()
+                    .map(project -> {
+                        Map<Status, Long> statusCounts = store.statusCounts(project.id());
+                        long taskCounts = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+                        return new ProjectSummaryResponse(toView(project), taskCounts, statusCounts);
+                    })
+                    .toList();
+            return new ResponseEntity<>(projectSummaries, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting projects summary", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<GetProjectsDashboardResponse> getProjectsDashboard(
+            List<Long> projectIds, LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status, int limit) {
+        try {
+            GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+            String validationError = DefaultProjectService.validateDashboard(projectIds, limit);
+            if (validationError == null) {
+                validationError = DefaultProjectService.validateDueDateFilter(dueDate, dueAfter, dueBefore);
+            }
+            if (validationError != null) {
+                dashboardResponse.setMessage(validationError);
+                dashboardResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+                return new ResponseEntity<>(dashboardResponse, HttpStatus.BAD_REQUEST);
+            }
+
+            //Nothing to batch here: every lookup is an index read in memory
+            boolean dueRange = dueAfter != null || dueBefore != null;
+            LocalDate cursorDueDate = dueRange ? DefaultProjectService.rangeTo(dueBefore) : null;
+            int pageSize = Math.min(limit, MAX_CURSOR_LIMIT);
+            List<DashboardProject> dashboardProjects = new ArrayList<>();
+            List<Long> notFound = new ArrayList<>();
+            for (Long id : projectIds.stream().distinct().toList()) {
+                Optional<StoredProject> project = store.project(id);
+                if (project.isEmpty()) {
+                    notFound.add(id);
+                    continue;
+                }
+                List<StoredTask> tasks = store.tasksBefore(id, query(dueDate, dueAfter, dueBefore, status), cursorDueDate, cursor(null), pageSize + 1);
+                List<TaskView> page = tasks.stream().limit(pageSize).map(InMemoryProjectService::toView).toList();
+                boolean hasNext = tasks.size() > pageSize;
+
+                DashboardProject dashboardProject = new DashboardProject();
+                dashboardProject.setProject(toView(project.get()));
+                dashboardProject.setTasks(page);
+                dashboardProject.setNextCursor(hasNext ? page.get(page.size() - 1).id() : null);
+                dashboardProject.setNextCursorDueDate(hasNext && dueRange ? page.get(page.size() - 1).dueDate() : null);
+                dashboardProjects.add(dashboardProject);
+            }
+
+            dashboardResponse.setProjects(dashboardProjects);
+            dashboardResponse.setNotFound(notFound);
+            dashboardResponse.setStatus(HttpStatus.OK.value());
+            dashboardResponse.setMessage("Success");
+            return new ResponseEntity<>(dashboardResponse, HttpStatus.OK);
+
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while getting the projects dashboard", e);
+        }
+    }
+
+    @Override
+    public Optional<Long> getProjectVersion(long projectId) {
+        return store.project(projectId).map(StoredProject::version);
+    }
+
+    @Override
+    public Optional<Long> getProjectTasksVersion(long projectId) {
+        return store.project(projectId).map(StoredProject::tasksVersion);
+    }
+
+    private void tasksChanged(TaskChangeType type, List<StoredTask> tasks) {
+        taskEventService.tasksChanged(type, tasks.stream().map(InMemoryProjectService::toView).toList());
+    }
+
+    private static ResponseEntity<BaseResponse> notFound(long taskId) {
+        return new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+    }
+
+    private static ResponseEntity<BaseResponse> staleVersion(long taskId, long expectedVersion) {
+        return new ResponseEntity<>(new BaseResponse("Task with id " + taskId + " has changed since version " + expectedVersion,
+                HttpStatus.PRECONDITION_FAILED.value()), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private static TaskQuery query(LocalDate dueDate, LocalDate dueAfter, LocalDate dueBefore, Status status) {
+        if (dueAfter == null && dueBefore == null) {
+            return new TaskQuery(dueDate, null, null, status);
+        }
+        return new TaskQuery(null, DefaultProjectService.rangeFrom(dueAfter), DefaultProjectService.rangeTo(dueBefore), status);
+    }
+
+    private static TaskDraft draft(CreateTaskRequest request) {
+        return new TaskDraft(request.getTitle(), request.getDescription(), request.getStatus(), request.getDueDate());
+    }
+
+    private static long cursor(Long after) {
+        return after == null ? Long.MAX_VALUE : after;
+    }
+
+    private static ProjectView toView(StoredProject project) {
+        return new ProjectView(project.id(), project.name(), project.description());
+    }
+
+    private static TaskView toView(StoredTask task) {
+        return new TaskView(task.id(), task.title(), task.description(), task.status(), task.dueDate(), task.projectId(), task.version());
+    }
+
+    private static ProjectEntity toEntity(StoredProject project) {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(project.id());
+        projectEntity.setName(project.name());
+        projectEntity.setDescription(project.description());
+        projectEntity.setVersion(project.version());
+        projectEntity.setTasksVersion(project.tasksVersion());
+        return projectEntity;
+    }
+
+    //A detached copy for applyUpdate to work on; it is never persisted through JPA
+    private static TaskEntity toEntity(StoredTask task) {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(task.projectId());
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(task.id());
+        taskEntity.setTitle(task.title());
+        taskEntity.setDescription(task.description());
+        taskEntity.setStatus(task.status());
+        taskEntity.setDueDate(task.dueDate());
+        taskEntity.setProjectEntity(projectEntity);
+        taskEntity.setProjectId(task.projectId());
+        taskEntity.setVersion(task.version());
+        return taskEntity;
+    }
+}
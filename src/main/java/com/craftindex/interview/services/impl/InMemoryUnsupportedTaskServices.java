@@ -0,0 +1,85 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import com.craftindex.interview.services.OverdueTaskService;
+import com.craftindex.interview.services.TaskExportService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Export, search and the overdue feed with interview.store.engine=memory. They read the task tables,
+ * which the memory engine leaves empty, so rather than answering 404 for projects that exist or an empty
+ * result, every request is answered with 501 until they are built over MemoryTaskStore.
+ */
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "interview.store.engine", havingValue = "memory")
+public class InMemoryUnsupportedTaskServices implements TaskExportService, TaskSearchService, OverdueTaskService {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportProjectTasks(long projectId) {
+        BaseResponse baseResponse = notImplemented("Task export");
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> objectMapper.writeValue(outputStream, baseResponse));
+    }
+
+    //InMemoryProjectService never reports changes here, there is no index to keep
+    @Override
+    public void tasksSaved(List<TaskEntity> taskEntities) {
+    }
+
+    @Override
+    public void taskDeleted(TaskEntity taskEntity) {
+    }
+
+    @Override
+    public ResponseEntity<SearchTasksResponse> searchTasks(String query, Long projectId, Pageable pageable) {
+        SearchTasksResponse searchTasksResponse = new SearchTasksResponse();
+        searchTasksResponse.setMessage(notImplemented("Task search").getMessage());
+        searchTasksResponse.setStatus(HttpStatus.NOT_IMPLEMENTED.value());
+        return new ResponseEntity<>(searchTasksResponse, HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> rebuild() {
+        return new ResponseEntity<>(notImplemented("Task search"), HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Override
+    public int scan(LocalDate today) {
+        return 0;
+    }
+
+    @Override
+    public ResponseEntity<BaseResponse> scan() {
+        return new ResponseEntity<>(notImplemented("The overdue task feed"), HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Override
+    public ResponseEntity<GetOverdueTasksResponse> getOverdueTasks(Long projectId, Long after, int limit) {
+        GetOverdueTasksResponse getOverdueTasksResponse = new GetOverdueTasksResponse();
+        getOverdueTasksResponse.setMessage(notImplemented("The overdue task feed").getMessage());
+        getOverdueTasksResponse.setStatus(HttpStatus.NOT_IMPLEMENTED.value());
+        return new ResponseEntity<>(getOverdueTasksResponse, HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    private static BaseResponse notImplemented(String feature) {
+        return new BaseResponse(feature + " is not available with the memory store engine", HttpStatus.NOT_IMPLEMENTED.value());
+    }
+}
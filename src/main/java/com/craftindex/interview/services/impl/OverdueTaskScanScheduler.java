@@ -0,0 +1,30 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.services.OverdueTaskService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@AllArgsConstructor
+//Only the JPA engine keeps its tasks in the task table this works from
+@ConditionalOnExpression("${interview.overdue-scan.enabled:true} and '${interview.store.engine:jpa}' == 'jpa'")
+public class OverdueTaskScanScheduler {
+    private final OverdueTaskService overdueTaskService;
+
+    //Catches up on any days that passed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void scanOnStartup() {
+        overdueTaskService.scan(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${interview.overdue-scan.cron:0 5 0 * * *}")
+    public void scanDaily() {
+        overdueTaskService.scan(LocalDate.now());
+    }
+}
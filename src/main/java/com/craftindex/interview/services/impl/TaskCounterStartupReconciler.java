@@ -0,0 +1,25 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+import com.craftindex.interview.services.TaskCounterService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+@Slf4j
+//Only the JPA engine keeps its tasks in the task table this works from
+@ConditionalOnExpression("${interview.task-counters.reconcile-on-startup:true} and '${interview.store.engine:jpa}' == 'jpa'")
+public class TaskCounterStartupReconciler {
+    private final TaskCounterService taskCounterService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        ReconcileTaskCountersResponse response = taskCounterService.reconcile();
+        log.info("Checked {} task counters on startup, {} drifted", response.getCountersChecked(), response.getDrifts().size());
+    }
+}
@@ -0,0 +1,23 @@
+package com.craftindex.interview.services.impl;
+
+import com.craftindex.interview.services.TaskSearchService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+//Only the JPA engine keeps its tasks in the task table this works from
+@ConditionalOnExpression("${interview.search.rebuild-on-startup:true} and '${interview.store.engine:jpa}' == 'jpa'")
+public class TaskSearchIndexStartupBuilder {
+    private final TaskSearchService taskSearchService;
+
+    //The index lives in memory only, so it is rebuilt from the task table every time the application starts.
+    //Traffic is already being served by then; searches answer 503 until the rebuild is swapped in
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        taskSearchService.rebuild();
+    }
+}
@@ -0,0 +1,496 @@
+package com.craftindex.interview.store;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Projects and tasks held entirely in memory, for the latency-critical tier.
+ *
+ * Tasks live in a long-keyed map of immutable records. Every project keeps its own ids in ascending
+ * arrays, once for all tasks, once per status and once per due date, plus a map from lower-cased
+ * title to id and a running count per status, so listings, duplicate checks and summaries never
+ * scan more than the rows they return. The orderings match what DefaultProjectService asks the
+ * database for: newest first, or by due date and then newest first when a due date is filtered on.
+ *
+ * Every change is appended to the journal before it is applied, and the journal is replayed when
+ * the store is opened. Reads share the read lock; changes take the write lock, so a duplicate title
+ * check and the insert that follows it cannot interleave with another writer.
+ */
+public class MemoryTaskStore implements Closeable {
+    private static final Status[] STATUSES = Status.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TaskStoreJournal journal;
+    private final LongObjectHashMap<ProjectState> projects = new LongObjectHashMap<>(1024);
+    private final SortedLongSet projectIds = new SortedLongSet();
+    private final Map<String, Long> projectIdsByName = new HashMap<>();
+    private final LongObjectHashMap<StoredTask> tasks = new LongObjectHashMap<>(1024);
+    private long lastProjectId;
+    private long lastTaskId;
+
+    public record StoredProject(long id, String name, String description, long version, long tasksVersion) {
+    }
+
+    //The due date is the only field that can be null; nothing else is ever missing from a stored task
+    public record StoredTask(long id, long projectId, String title, String description, Status status, LocalDate dueDate, long version) {
+    }
+
+    public record TaskDraft(String title, String description, Status status, LocalDate dueDate) {
+    }
+
+    //dueFrom and dueTo are inclusive and only ever set together; dueDate is never combined with them
+    public record TaskQuery(LocalDate dueDate, LocalDate dueFrom, LocalDate dueTo, Status status) {
+        boolean dueRange() {
+            return dueFrom != null;
+        }
+    }
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        CONFLICT,
+        STALE
+    }
+
+    public record WriteResult<T>(Outcome outcome, T value) {
+        static <T> WriteResult<T> applied(T value) {
+            return new WriteResult<>(Outcome.APPLIED, value);
+        }
+
+        static <T> WriteResult<T> rejected(Outcome outcome) {
+            return new WriteResult<>(outcome, null);
+        }
+    }
+
+    private static final class ProjectState {
+        private StoredProject project;
+        private final SortedLongSet taskIds = new SortedLongSet();
+        private final SortedLongSet[] taskIdsByStatus = new SortedLongSet[STATUSES.length];
+        private final TreeMap<LocalDate, SortedLongSet> taskIdsByDueDate = new TreeMap<>();
+        private final Map<String, Long> taskIdsByTitle = new HashMap<>();
+        private final long[] statusCounts = new long[STATUSES.length];
+
+        private ProjectState(StoredProject project) {
+            this.project = project;
+            for (int i = 0; i < taskIdsByStatus.length; i++) {
+                taskIdsByStatus[i] = new SortedLongSet();
+            }
+        }
+    }
+
+    MemoryTaskStore(TaskStoreJournal journal) {
+        this.journal = journal;
+    }
+
+    //Replays the snapshot and journal in the directory; once the journal has grown past snapshotAfter records it is folded into a new snapshot
+    public static MemoryTaskStore open(Path directory, boolean fsync, long snapshotAfter) throws IOException {
+        TaskStoreJournal journal = new TaskStoreJournal(directory, fsync);
+        MemoryTaskStore store = new MemoryTaskStore(journal);
+        try {
+            long replayed = journal.replay(store.new Replay());
+            if (replayed >= snapshotAfter) {
+                store.snapshot();
+            }
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return store;
+    }
+
+    public void snapshot() throws IOException {
+        //Writers wait so the snapshot and the journal position it records agree
+        lock.writeLock().lock();
+        try {
+            List<StoredProject> allProjects = new ArrayList<>(projects.size());
+            projects.forEachValue(state -> allProjects.add(state.project));
+            List<StoredTask> allTasks = new ArrayList<>(tasks.size());
+            tasks.forEachValue(allTasks::add);
+            journal.snapshot(allProjects, allTasks);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int projectCount() {
+        lock.readLock().lock();
+        try {
+            return projects.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int taskCount() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<StoredProject> project(long projectId) {
+        lock.readLock().lock();
+        try {
+            ProjectState state = projects.get(projectId);
+            return state == null ? Optional.empty() : Optional.of(state.project);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Newest first, skipping offset projects
+    public List<StoredProject> projects(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<StoredProject> page = new ArrayList<>(limit);
+            for (long index = projectIds.size() - 1 - offset; index >= 0 && page.size() < limit; index--) {
+                page.add(projects.get(projectIds.get((int) index)).project);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Newest first, starting below the given id
+    public List<StoredProject> projectsBefore(long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<StoredProject> page = new ArrayList<>(limit);
+            for (int index = projectIds.countBelow(beforeId) - 1; index >= 0 && page.size() < limit; index--) {
+                page.add(projects.get(projectIds.get(index)).project);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<StoredTask> task(long taskId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(tasks.get(taskId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEachTask(Consumer<StoredTask> consumer) {
+        lock.readLock().lock();
+        try {
+            tasks.forEachValue(consumer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StoredTask> tasks(long projectId, TaskQuery query, long offset, int limit) {
+        return page(projectId, query, null, Long.MAX_VALUE, offset, limit);
+    }
+
+    //Continues a listing below (beforeDueDate, beforeId) for a due date range, where beforeDueDate is also the range's upper end, or below beforeId otherwise
+    public List<StoredTask> tasksBefore(long projectId, TaskQuery query, LocalDate beforeDueDate, long beforeId, int limit) {
+        return page(projectId, query, beforeDueDate, beforeId, 0, limit);
+    }
+
+    //Per-status counts with the zero ones left out, as the maintained counters report them
+    public Map<Status, Long> statusCounts(long projectId) {
+        lock.readLock().lock();
+        try {
+            ProjectState state = projects.get(projectId);
+            Map<Status, Long> counts = new EnumMap<>(Status.class);
+            if (state != null) {
+                for (Status status : STATUSES) {
+                    if (state.statusCounts[status.ordinal()] != 0) {
+                        counts.put(status, state.statusCounts[status.ordinal()]);
+                    }
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public WriteResult<StoredProject> createProject(String name, String description) {
+        lock.writeLock().lock();
+        try {
+            if (projectIdsByName.containsKey(ProjectEntity.nameKey(name))) {
+                return WriteResult.rejected(Outcome.CONFLICT);
+            }
+            StoredProject project = new StoredProject(lastProjectId + 1, name, description, 0, 0);
+            journal.appendProject(project);
+            commit();
+            applyProject(project);
+            return WriteResult.applied(project);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public WriteResult<StoredTask> createTask(long projectId, TaskDraft draft) {
+        WriteResult<List<StoredTask>> created = createTasks(projectId, List.of(draft));
+        if (created.outcome() != Outcome.APPLIED) {
+            return WriteResult.rejected(created.outcome());
+        }
+        StoredTask task = created.value().get(0);
+        return task == null ? WriteResult.rejected(Outcome.CONFLICT) : WriteResult.applied(task);
+    }
+
+    //Drafts whose title is already taken in the project come back as null; the caller rejects titles repeated within the batch
+    public WriteResult<List<StoredTask>> createTasks(long projectId, List<TaskDraft> drafts) {
+        lock.writeLock().lock();
+        try {
+            ProjectState state = projects.get(projectId);
+            if (state == null) {
+                return WriteResult.rejected(Outcome.NOT_FOUND);
+            }
+            List<StoredTask> created = new ArrayList<>(drafts.size());
+            long nextTaskId = lastTaskId;
+            long tasksVersion = state.project.tasksVersion() + 1;
+            for (TaskDraft draft : drafts) {
+                if (state.taskIdsByTitle.containsKey(TaskEntity.titleKey(draft.title()))) {
+                    created.add(null);
+                    continue;
+                }
+                StoredTask task = new StoredTask(++nextTaskId, projectId, draft.title(), draft.description(), draft.status(), draft.dueDate(), 0);
+                journal.appendTask(task, tasksVersion);
+                created.add(task);
+            }
+            if (nextTaskId == lastTaskId) {
+                return WriteResult.applied(created);
+            }
+            commit();
+            for (StoredTask task : created) {
+                if (task != null) {
+                    applyTask(task, tasksVersion);
+                }
+            }
+            return WriteResult.applied(created);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Replaces the task only if it still holds expectedVersion and the new title is free in its project
+    public WriteResult<StoredTask> updateTask(long taskId, long expectedVersion, TaskDraft draft) {
+        lock.writeLock().lock();
+        try {
+            StoredTask current = tasks.get(taskId);
+            if (current == null) {
+                return WriteResult.rejected(Outcome.NOT_FOUND);
+            }
+            if (current.version() != expectedVersion) {
+                return WriteResult.rejected(Outcome.STALE);
+            }
+            ProjectState state = projects.get(current.projectId());
+            Long titleOwner = state.taskIdsByTitle.get(TaskEntity.titleKey(draft.title()));
+            if (titleOwner != null && titleOwner != taskId) {
+                return WriteResult.rejected(Outcome.CONFLICT);
+            }
+            StoredTask updated = new StoredTask(taskId, current.projectId(), draft.title(), draft.description(), draft.status(),
+                    draft.dueDate(), current.version() + 1);
+            long tasksVersion = state.project.tasksVersion() + 1;
+            journal.appendTask(updated, tasksVersion);
+            commit();
+            applyTask(updated, tasksVersion);
+            return WriteResult.applied(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public WriteResult<StoredTask> deleteTask(long taskId) {
+        lock.writeLock().lock();
+        try {
+            StoredTask current = tasks.get(taskId);
+            if (current == null) {
+                return WriteResult.rejected(Outcome.NOT_FOUND);
+            }
+            long tasksVersion = projects.get(current.projectId()).project.tasksVersion() + 1;
+            journal.appendTaskDeleted(taskId, current.projectId(), tasksVersion);
+            commit();
+            applyTaskDeleted(taskId, tasksVersion);
+            return WriteResult.applied(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<StoredTask> page(long projectId, TaskQuery query, LocalDate beforeDueDate, long beforeId, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            ProjectState state = projects.get(projectId);
+            List<StoredTask> page = new ArrayList<>(limit);
+            if (state == null || limit < 1) {
+                return page;
+            }
+            long[] skip = {offset};
+            if (query.dueDate() != null) {
+                collect(state.taskIdsByDueDate.get(query.dueDate()), beforeId, query.status(), skip, limit, page);
+            } else if (query.dueRange()) {
+                //Due dates newest first, and within one date newest id first; the cursor's own date resumes below its id
+                LocalDate to = beforeDueDate == null ? query.dueTo() : beforeDueDate;
+                if (!to.isBefore(query.dueFrom())) {
+                    NavigableMap<LocalDate, SortedLongSet> dates = state.taskIdsByDueDate.subMap(query.dueFrom(), true, to, true).descendingMap();
+                    for (Map.Entry<LocalDate, SortedLongSet> date : dates.entrySet()) {
+                        if (page.size() >= limit) {
+                            break;
+                        }
+                        long below = beforeDueDate != null && date.getKey().equals(beforeDueDate) ? beforeId : Long.MAX_VALUE;
+                        collect(date.getValue(), below, query.status(), skip, limit, page);
+                    }
+                }
+            } else if (query.status() != null) {
+                collect(state.taskIdsByStatus[query.status().ordinal()], beforeId, null, skip, limit, page);
+            } else {
+                collect(state.taskIds, beforeId, null, skip, limit, page);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Walks ids below the bound newest first into the page; without a status to check, the skipped rows are stepped over in one go
+    private void collect(SortedLongSet ids, long below, Status status, long[] skip, int limit, List<StoredTask> page) {
+        if (ids == null) {
+            return;
+        }
+        int index = ids.countBelow(below) - 1;
+        if (status == null) {
+            long skipped = Math.min(skip[0], index + 1L);
+            index -= (int) skipped;
+            skip[0] -= skipped;
+        }
+        for (; index >= 0 && page.size() < limit; index--) {
+            StoredTask task = tasks.get(ids.get(index));
+            if (status != null && task.status() != status) {
+                continue;
+            }
+            if (skip[0] > 0) {
+                skip[0]--;
+                continue;
+            }
+            page.add(task);
+        }
+    }
+
+    private void commit() {
+        try {
+            journal.commit();
+        } catch (IOException e) {
+            //Nothing was applied; records of the batch that reached the journal before the failure come back on the next replay
+            throw new UncheckedIOException("Could not write the task store journal", e);
+        }
+    }
+
+    private void applyProject(StoredProject project) {
+        ProjectState state = projects.get(project.id());
+        if (state == null) {
+            projects.put(project.id(), new ProjectState(project));
+            projectIds.add(project.id());
+        } else {
+            projectIdsByName.remove(ProjectEntity.nameKey(state.project.name()));
+            state.project = project;
+        }
+        projectIdsByName.put(ProjectEntity.nameKey(project.name()), project.id());
+        lastProjectId = Math.max(lastProjectId, project.id());
+    }
+
+    private void applyTask(StoredTask task, long tasksVersion) {
+        ProjectState state = projects.get(task.projectId());
+        StoredTask previous = tasks.put(task.id(), task);
+        if (previous != null) {
+            unindex(state, previous);
+        }
+        state.taskIds.add(task.id());
+        state.taskIdsByStatus[task.status().ordinal()].add(task.id());
+        if (task.dueDate() != null) {
+            state.taskIdsByDueDate.computeIfAbsent(task.dueDate(), date -> new SortedLongSet()).add(task.id());
+        }
+        state.taskIdsByTitle.put(TaskEntity.titleKey(task.title()), task.id());
+        state.statusCounts[task.status().ordinal()]++;
+        bumpTasksVersion(state, tasksVersion);
+        lastTaskId = Math.max(lastTaskId, task.id());
+    }
+
+    private void applyTaskDeleted(long taskId, long tasksVersion) {
+        StoredTask previous = tasks.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        ProjectState state = projects.get(previous.projectId());
+        unindex(state, previous);
+        bumpTasksVersion(state, tasksVersion);
+    }
+
+    private static void unindex(ProjectState state, StoredTask task) {
+        state.taskIds.remove(task.id());
+        state.taskIdsByStatus[task.status().ordinal()].remove(task.id());
+        if (task.dueDate() != null) {
+            SortedLongSet sameDay = state.taskIdsByDueDate.get(task.dueDate());
+            sameDay.remove(task.id());
+            if (sameDay.size() == 0) {
+                state.taskIdsByDueDate.remove(task.dueDate());
+            }
+        }
+        state.taskIdsByTitle.remove(TaskEntity.titleKey(task.title()));
+        state.statusCounts[task.status().ordinal()]--;
+    }
+
+    //Snapshots carry the project's version and replay tasks after it, so the version only ever moves forward
+    private static void bumpTasksVersion(ProjectState state, long tasksVersion) {
+        if (tasksVersion > state.project.tasksVersion()) {
+            StoredProject project = state.project;
+            state.project = new StoredProject(project.id(), project.name(), project.description(), project.version(), tasksVersion);
+        }
+    }
+
+    //Replay runs before the store is handed out, so it applies straight to the maps
+    private final class Replay implements TaskStoreJournal.Handler {
+        @Override
+        public void project(StoredProject project) {
+            applyProject(project);
+        }
+
+        @Override
+        public void task(StoredTask task, long tasksVersion) {
+            applyTask(task, tasksVersion);
+        }
+
+        @Override
+        public void taskDeleted(long taskId, long tasksVersion) {
+            applyTaskDeleted(taskId, tasksVersion);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.craftindex.interview.store;
+
+import java.util.Arrays;
+
+/**
+ * Ids kept in ascending order in a plain long array. Ids are handed out in increasing order, so
+ * an add is almost always an append; listings walk it backwards to read newest first.
+ */
+final class SortedLongSet {
+    private long[] values = new long[8];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    void add(long value) {
+        if (size == 0 || value > values[size - 1]) {
+            ensureCapacity(size + 1);
+            values[size++] = value;
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+    }
+
+    boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    //How many values are strictly below the bound; walking down from one less than this reads ids before a cursor
+    int countBelow(long bound) {
+        int index = Arrays.binarySearch(values, 0, size, bound);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.craftindex.interview.store;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.journal.SegmentedJournal;
+import com.craftindex.interview.store.MemoryTaskStore.StoredProject;
+import com.craftindex.interview.store.MemoryTaskStore.StoredTask;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.craftindex.interview.journal.JournalCodec.input;
+import static com.craftindex.interview.journal.JournalCodec.readDate;
+import static com.craftindex.interview.journal.JournalCodec.readString;
+import static com.craftindex.interview.journal.JournalCodec.writeDate;
+import static com.craftindex.interview.journal.JournalCodec.writeString;
+
+/**
+ * Log of every change made to a MemoryTaskStore, kept in a SegmentedJournal next to a snapshot of the whole store.
+ *
+ * A snapshot is written to a temporary file and moved over the previous one; it remembers the last
+ * journal sequence it covers, so a crash before the covered segments are deleted replays nothing
+ * twice. The journal itself drops a record cut short by a crash when it is opened.
+ *
+ * Changes are encoded as they are made and handed to the journal together on commit, which waits
+ * for them to reach disk only when fsync is on; otherwise they survive a crash of the process but
+ * not of the machine.
+ */
+class TaskStoreJournal implements Closeable {
+    private static final byte PROJECT = 1;
+    private static final byte TASK = 2;
+    private static final byte TASK_DELETED = 3;
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    private static final int SNAPSHOT_CHUNK = 1 << 20;
+    private static final int SEGMENT_SIZE = 16 << 20;
+
+    private final Path directory;
+    private final Path snapshotFile;
+    private final Path snapshotTempFile;
+    private final boolean fsync;
+    private final List<byte[]> pending = new ArrayList<>();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private SegmentedJournal log;
+
+    interface Handler {
+        void project(StoredProject project);
+        void task(StoredTask task, long tasksVersion);
+        void taskDeleted(long taskId, long tasksVersion);
+    }
+
+    TaskStoreJournal(Path directory, boolean fsync) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.snapshotFile = directory.resolve("snapshot.bin");
+        this.snapshotTempFile = directory.resolve("snapshot.bin.tmp");
+        this.fsync = fsync;
+    }
+
+    //Returns how many journal records were replayed on top of the snapshot; the journal is open for appends afterwards
+    long replay(Handler handler) throws IOException {
+        long snapshotSequence = 0;
+        if (Files.exists(snapshotFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a task store snapshot: " + snapshotFile);
+                }
+                snapshotSequence = in.readLong();
+                int length;
+                while ((length = in.readInt()) > 0) {
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    apply(new DataInputStream(new ByteArrayInputStream(payload)), handler);
+                }
+            }
+        }
+
+        log = new SegmentedJournal(directory, SEGMENT_SIZE, fsync);
+        return log.replay(snapshotSequence, (sequence, payload) -> apply(input(payload), handler));
+    }
+
+    void appendProject(StoredProject project) {
+        pending.add(encodeProject(project));
+    }
+
+    void appendTask(StoredTask task, long tasksVersion) {
+        pending.add(encodeTask(task, tasksVersion));
+    }
+
+    void appendTaskDeleted(long taskId, long projectId, long tasksVersion) {
+        pending.add(encode(TASK_DELETED, out -> {
+            out.writeLong(taskId);
+            out.writeLong(projectId);
+            out.writeLong(tasksVersion);
+        }));
+    }
+
+    //Hands everything appended since the last commit to the journal and waits until it is as durable as configured
+    void commit() throws IOException {
+        try {
+            long last = 0;
+            for (byte[] payload : pending) {
+                last = log.append(payload);
+            }
+            log.awaitDurable(last);
+        } catch (RuntimeException e) {
+            throw new IOException("Could not append to the task store journal in " + directory, e);
+        } finally {
+            pending.clear();
+        }
+    }
+
+    void snapshot(List<StoredProject> projects, List<StoredTask> tasks) throws IOException {
+        long sequence = log.lastSequence();
+        FileChannel snapshotChannel = FileChannel.open(snapshotTempFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(snapshotChannel), SNAPSHOT_CHUNK))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            //Projects first, so every task finds its project when the snapshot is read back
+            for (StoredProject project : projects) {
+                writeFramed(out, encodeProject(project));
+            }
+            for (StoredTask task : tasks) {
+                writeFramed(out, encodeTask(task, 0));
+            }
+            out.writeInt(0);
+            out.flush();
+            snapshotChannel.force(true);
+        }
+        Files.move(snapshotTempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.deleteThrough(sequence);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private byte[] encodeProject(StoredProject project) {
+        return encode(PROJECT, out -> {
+            out.writeLong(project.id());
+            writeString(out, project.name());
+            writeString(out, project.description());
+            out.writeLong(project.version());
+            out.writeLong(project.tasksVersion());
+        });
+    }
+
+    private byte[] encodeTask(StoredTask task, long tasksVersion) {
+        return encode(TASK, out -> {
+            out.writeLong(task.id());
+            out.writeLong(task.projectId());
+            writeString(out, task.title());
+            writeString(out, task.description());
+            out.writeByte(task.status().ordinal());
+            writeDate(out, task.dueDate());
+            out.writeLong(task.version());
+            out.writeLong(tasksVersion);
+        });
+    }
+
+    private byte[] encode(byte type, RecordWriter writer) {
+        try {
+            record.reset();
+            recordOut.writeByte(type);
+            writer.write(recordOut);
+            return record.toByteArray();
+        } catch (IOException e) {
+            //Only ever writes to a byte array
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeFramed(DataOutputStream out, byte[] payload) throws IOException {
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    private static void apply(DataInput in, Handler handler) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case PROJECT -> handler.project(new StoredProject(in.readLong(), readString(in), readString(in), in.readLong(), in.readLong()));
+            case TASK -> {
+                StoredTask task = new StoredTask(in.readLong(), in.readLong(), readString(in), readString(in),
+                        Status.values()[in.readByte()], readDate(in), in.readLong());
+                handler.task(task, in.readLong());
+            }
+            case TASK_DELETED -> {
+                long taskId = in.readLong();
+                in.readLong();
+                handler.taskDeleted(taskId, in.readLong());
+            }
+            default -> throw new IOException("Unknown task store record type " + type);
+        }
+    }
+}
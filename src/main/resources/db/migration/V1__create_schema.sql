@@ -0,0 +1,43 @@
+-- Ids are handed out in blocks of 50 by Hibernate's pooled optimizer, so the increments must match allocationSize
+CREATE SEQUENCE project_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE project_task_count_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE project (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    version       BIGINT,
+    tasks_version BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_project PRIMARY KEY (id),
+    CONSTRAINT uk_project_name UNIQUE (name)
+);
+
+-- Status is stored by ordinal; there is deliberately no range check so new statuses can be appended without a migration
+CREATE TABLE task (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    title_key   VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    status      TINYINT      NOT NULL,
+    due_date    DATE,
+    project_id  BIGINT       NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (id)
+);
+
+-- Created before the foreign key so H2 reuses it for the constraint instead of adding a bare project_id index
+CREATE INDEX idx_task_project_id ON task (project_id, id);
+CREATE INDEX idx_task_project_status ON task (project_id, status, id);
+CREATE INDEX idx_task_project_due_date ON task (project_id, due_date, id);
+CREATE INDEX idx_task_project_title_key ON task (project_id, title_key);
+
+ALTER TABLE task ADD CONSTRAINT fk_task_project FOREIGN KEY (project_id) REFERENCES project (id);
+
+CREATE TABLE project_task_count (
+    id         BIGINT  NOT NULL,
+    project_id BIGINT  NOT NULL,
+    status     TINYINT NOT NULL,
+    task_count BIGINT  NOT NULL,
+    CONSTRAINT pk_project_task_count PRIMARY KEY (id),
+    CONSTRAINT uk_project_task_count_project_status UNIQUE (project_id, status)
+);
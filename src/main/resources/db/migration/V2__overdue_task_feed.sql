@@ -0,0 +1,25 @@
+-- Lets the overdue scanner find the next due date after its watermark with a seek instead of a scan
+CREATE INDEX idx_task_due_date ON task (due_date, id);
+
+CREATE SEQUENCE overdue_task_seq START WITH 1 INCREMENT BY 50;
+
+-- One row per task per time it went overdue; no foreign key, so the feed keeps its history when tasks are deleted
+CREATE TABLE overdue_task (
+    id          BIGINT    NOT NULL,
+    task_id     BIGINT    NOT NULL,
+    project_id  BIGINT    NOT NULL,
+    due_date    DATE      NOT NULL,
+    detected_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_overdue_task PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_overdue_task_project_id ON overdue_task (project_id, id);
+
+-- Single row: every task due before the watermark has already been checked
+CREATE TABLE overdue_scan_state (
+    id        INT  NOT NULL,
+    watermark DATE,
+    CONSTRAINT pk_overdue_scan_state PRIMARY KEY (id)
+);
+
+INSERT INTO overdue_scan_state (id, watermark) VALUES (1, NULL);
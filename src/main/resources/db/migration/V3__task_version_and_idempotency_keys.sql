@@ -0,0 +1,18 @@
+-- Optimistic locking: every update bumps the version, and an update read from an older version fails instead of overwriting
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Titles are unique per project ignoring case and surrounding whitespace; the constraint's index takes over the lookups
+DROP INDEX idx_task_project_title_key;
+ALTER TABLE task ADD CONSTRAINT uk_task_project_title_key UNIQUE (project_id, title_key);
+
+-- The stored response of every create sent with an Idempotency-Key, replayed when the client retries with the same key
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    response_status INT          NOT NULL,
+    response_body   CLOB,
+    created_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,84 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.TaskUpdateBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The flush interval is long enough that only the explicit flushes below write anything
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = {"spring.datasource.url=jdbc:h2:mem:write-behind", "interview.overdue-scan.enabled=false",
+				"interview.write-behind.enabled=true", "interview.write-behind.flush-interval=1h"})
+class BufferedTaskUpdateTests {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private TaskUpdateBuffer taskUpdateBuffer;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void aTitleTakenByABufferedRenameIsRefusedUntilItIsFlushed() {
+		long projectId = project("Renames");
+		TaskView first = task(projectId, "First");
+		TaskView second = task(projectId, "Second");
+		double rejectedBefore = meterRegistry.counter("task.updates.rejected").count();
+
+		assertEquals(HttpStatus.OK, projectService.updateTask(rename("Shared"), first.id(), null).getStatusCode());
+		ResponseEntity<?> conflicting = projectService.updateTask(rename("shared "), second.id(), null);
+		assertEquals(HttpStatus.CONFLICT, conflicting.getStatusCode());
+		assertEquals(HttpStatus.CONFLICT, projectService.createProjectTask(taskRequest("SHARED"), projectId).getStatusCode());
+		ResponseEntity<BulkCreateTasksResponse> bulk = projectService.createProjectTasks(List.of(taskRequest("Shared")), projectId);
+		assertEquals(HttpStatus.CONFLICT.value(), bulk.getBody().getResults().get(0).getStatus());
+
+		assertEquals(1, taskUpdateBuffer.flush());
+		assertEquals(rejectedBefore, meterRegistry.counter("task.updates.rejected").count());
+		assertEquals(List.of("Second", "Shared"), projectService.getProjectTasksAfter(projectId, null, null, null, null, null, null, 10)
+				.getBody().getTasks().stream().map(TaskView::title).sorted().toList());
+		//Once written, the committed row is what holds the title
+		assertEquals(HttpStatus.CONFLICT, projectService.updateTask(rename("Shared"), second.id(), null).getStatusCode());
+	}
+
+	private long project(String name) {
+		CreateProjectRequest request = new CreateProjectRequest();
+		request.setName(name);
+		request.setDescription("Description of the project");
+		assertEquals(HttpStatus.OK, projectService.createProject(request).getStatusCode());
+		return projectService.getProjectsAfter(null, 1).getBody().getProjects().get(0).id();
+	}
+
+	private TaskView task(long projectId, String title) {
+		assertEquals(HttpStatus.OK, projectService.createProjectTask(taskRequest(title), projectId).getStatusCode());
+		return projectService.getProjectTasksAfter(projectId, null, null, null, null, null, null, 1).getBody().getTasks().get(0);
+	}
+
+	private static CreateTaskRequest rename(String title) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle(title);
+		return request;
+	}
+
+	private static CreateTaskRequest taskRequest(String title) {
+		CreateTaskRequest request = rename(title);
+		request.setStatus(Status.TO_DO);
+		request.setDueDate(LocalDate.now());
+		return request;
+	}
+}
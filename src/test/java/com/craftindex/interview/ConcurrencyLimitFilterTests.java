@@ -0,0 +1,98 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.filters.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void defaultsToConnectionPoolSize() {
+		try (HikariDataSource dataSource = new HikariDataSource()) {
+			dataSource.setMaximumPoolSize(7);
+
+			ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(dataSource, objectMapper, 0, Duration.ofMillis(10));
+
+			assertEquals(7, filter.getMaxConcurrentRequests());
+		}
+	}
+
+	@Test
+	void rejectsRequestsBeyondTheLimit() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new HikariDataSource(), objectMapper, 1, Duration.ofMillis(10));
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+		filter.doFilter(apiRequest(), new MockHttpServletResponse(),
+				(request, response) -> filter.doFilter(apiRequest(), rejected, (innerRequest, innerResponse) -> fail("Should not run")));
+
+		assertEquals(503, rejected.getStatus());
+		assertEquals("1", rejected.getHeader("Retry-After"));
+		assertTrue(rejected.getContentAsString().contains("Too many concurrent requests"));
+		assertEquals(1, filter.getAvailablePermits());
+	}
+
+	@Test
+	void ignoresNonApiRequests() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new HikariDataSource(), objectMapper, 1, Duration.ofMillis(10));
+		AtomicInteger handled = new AtomicInteger();
+		MockHttpServletRequest health = new MockHttpServletRequest("GET", "/actuator/health");
+
+		filter.doFilter(apiRequest(), new MockHttpServletResponse(),
+				(request, response) -> filter.doFilter(health, new MockHttpServletResponse(), (innerRequest, innerResponse) -> handled.incrementAndGet()));
+
+		assertEquals(1, handled.get());
+	}
+
+	@Test
+	void holdsThePermitUntilAsyncRequestCompletes() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new HikariDataSource(), objectMapper, 1, Duration.ofMillis(10));
+		MockHttpServletRequest request = apiRequest();
+		request.setAsyncSupported(true);
+
+		filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> servletRequest.startAsync());
+
+		assertEquals(0, filter.getAvailablePermits());
+		((MockAsyncContext) request.getAsyncContext()).complete();
+		assertEquals(1, filter.getAvailablePermits());
+	}
+
+	@Test
+	void eventStreamsDoNotHoldPermits() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new HikariDataSource(), objectMapper, 2, Duration.ofMillis(10));
+		for (int i = 0; i < 5; i++) {
+			MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/v1/projects/1/tasks/events");
+			stream.setAsyncSupported(true);
+			filter.doFilter(stream, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+				servletRequest.setAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, Set.of(MediaType.TEXT_EVENT_STREAM));
+				servletRequest.startAsync();
+			});
+			assertTrue(stream.isAsyncStarted());
+		}
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicInteger handled = new AtomicInteger();
+		filter.doFilter(apiRequest(), response, (request, servletResponse) -> handled.incrementAndGet());
+
+		assertEquals(1, handled.get());
+		assertEquals(200, response.getStatus());
+		assertEquals(2, filter.getAvailablePermits());
+	}
+
+	private MockHttpServletRequest apiRequest() {
+		return new MockHttpServletRequest("GET", "/api/v1/projects");
+	}
+}
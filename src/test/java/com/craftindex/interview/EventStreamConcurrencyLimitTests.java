@@ -0,0 +1,69 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.filters.ConcurrencyLimitFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The permit is released by the servlet container's async lifecycle, so this goes over a real socket rather than through MockMvc.
+//A stream only answers with its first event, hence the short heartbeat
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.datasource.url=jdbc:h2:mem:event-stream-limit", "interview.overdue-scan.enabled=false",
+				"interview.concurrency-limit.enabled=true", "interview.concurrency-limit.max-concurrent-requests=2",
+				"interview.concurrency-limit.acquire-timeout=200ms", "interview.task-events.heartbeat-interval=100ms"})
+class EventStreamConcurrencyLimitTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@Test
+	void openEventStreamsLeaveRoomForOtherRequests() throws Exception {
+		HttpResponse<String> created = httpClient.send(HttpRequest.newBuilder(uri("/api/v1/projects"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Dashboards\",\"description\":\"Board\"}"))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertTrue(created.statusCode() < 300, created.body());
+		long projectId = Long.parseLong(httpClient.send(HttpRequest.newBuilder(uri("/api/v1/projects?limit=1")).build(),
+				HttpResponse.BodyHandlers.ofString()).body().replaceAll("(?s).*?\"id\":(\\d+).*", "$1"));
+
+		List<InputStream> streams = new ArrayList<>();
+		try {
+			for (int i = 0; i < concurrencyLimitFilter.getMaxConcurrentRequests() * 3; i++) {
+				HttpResponse<InputStream> stream = httpClient.send(HttpRequest.newBuilder(uri("/api/v1/projects/" + projectId + "/tasks/events"))
+						.header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofInputStream());
+				streams.add(stream.body());
+				assertEquals(200, stream.statusCode());
+			}
+
+			HttpResponse<String> project = httpClient.send(HttpRequest.newBuilder(uri("/api/v1/projects/" + projectId)).build(),
+					HttpResponse.BodyHandlers.ofString());
+			assertEquals(200, project.statusCode(), project.body());
+			assertEquals(concurrencyLimitFilter.getMaxConcurrentRequests(), concurrencyLimitFilter.getAvailablePermits());
+		} finally {
+			for (InputStream stream : streams) {
+				stream.close();
+			}
+		}
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+}
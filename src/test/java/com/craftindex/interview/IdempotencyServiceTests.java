@@ -0,0 +1,100 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.repos.IdempotencyKeyRepository;
+import com.craftindex.interview.services.impl.DefaultIdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The service commits the key together with the action, so these tests run outside the usual rolled back test transaction
+@DataJpaTest
+@Import({DefaultIdempotencyService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTests {
+
+	@Autowired
+	private DefaultIdempotencyService idempotencyService;
+
+	@Autowired
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@AfterEach
+	void tearDown() {
+		idempotencyKeyRepository.deleteAll();
+	}
+
+	@Test
+	void retryReplaysTheStoredResponseWithoutRunningTheActionAgain() {
+		AtomicInteger calls = new AtomicInteger();
+		CreateTaskRequest request = request("Write report");
+
+		ResponseEntity<BaseResponse> first = idempotencyService.execute("key-1", "POST /projects/1/tasks", request, BaseResponse.class, () -> created(calls));
+		ResponseEntity<BaseResponse> retry = idempotencyService.execute("key-1", "POST /projects/1/tasks", request("Write report"), BaseResponse.class, () -> created(calls));
+
+		assertEquals(1, calls.get());
+		assertNull(first.getHeaders().getFirst(DefaultIdempotencyService.REPLAYED_HEADER));
+		assertEquals("true", retry.getHeaders().getFirst(DefaultIdempotencyService.REPLAYED_HEADER));
+		assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+		assertEquals("Task created successfully", retry.getBody().getMessage());
+	}
+
+	@Test
+	void keyReusedForADifferentRequestIsRejected() {
+		AtomicInteger calls = new AtomicInteger();
+		idempotencyService.execute("key-2", "POST /projects/1/tasks", request("First"), BaseResponse.class, () -> created(calls));
+
+		ResponseStatusException otherBody = assertThrows(ResponseStatusException.class,
+				() -> idempotencyService.execute("key-2", "POST /projects/1/tasks", request("Second"), BaseResponse.class, () -> created(calls)));
+		ResponseStatusException otherProject = assertThrows(ResponseStatusException.class,
+				() -> idempotencyService.execute("key-2", "POST /projects/2/tasks", request("First"), BaseResponse.class, () -> created(calls)));
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otherBody.getStatusCode());
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otherProject.getStatusCode());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void failedActionLeavesTheKeyFreeForTheRetry() {
+		AtomicInteger calls = new AtomicInteger();
+		assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key-3", "POST /projects", request("Board"), BaseResponse.class, () -> {
+			throw new IllegalStateException("boom");
+		}));
+		assertFalse(idempotencyKeyRepository.existsById("key-3"));
+
+		ResponseEntity<BaseResponse> retry = idempotencyService.execute("key-3", "POST /projects", request("Board"), BaseResponse.class, () -> created(calls));
+		assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void blankKeyIsABadRequest() {
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> idempotencyService.execute(" ", "POST /projects", request("Board"), BaseResponse.class, () -> created(new AtomicInteger())));
+		assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+	}
+
+	private static ResponseEntity<BaseResponse> created(AtomicInteger calls) {
+		calls.incrementAndGet();
+		return new ResponseEntity<>(new BaseResponse("Task created successfully", HttpStatus.CREATED.value()), HttpStatus.CREATED);
+	}
+
+	private static CreateTaskRequest request(String title) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle(title);
+		return request;
+	}
+}
@@ -0,0 +1,95 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.services.OverdueTaskService;
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.TaskExportService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.impl.InMemoryProjectService;
+import com.craftindex.interview.services.impl.OverdueTaskScanScheduler;
+import com.craftindex.interview.services.impl.TaskCounterStartupReconciler;
+import com.craftindex.interview.services.impl.TaskSearchIndexStartupBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//InMemoryProjectService as the memory profile wires it, over a fresh journal
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = "spring.datasource.url=jdbc:h2:mem:contract-memory")
+@ActiveProfiles("memory")
+class InMemoryProjectServiceContractTests extends ProjectServiceContractTests {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private TaskExportService taskExportService;
+
+	@Autowired
+	private TaskSearchService taskSearchService;
+
+	@Autowired
+	private OverdueTaskService overdueTaskService;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@DynamicPropertySource
+	static void journalDir(DynamicPropertyRegistry registry) throws IOException {
+		String journalDir = Files.createTempDirectory("contract-memory").toString();
+		registry.add("interview.store.journal-dir", () -> journalDir);
+	}
+
+	@Override
+	protected ProjectService projectService() {
+		return projectService;
+	}
+
+	@Test
+	void theMemoryProfileSelectsTheMemoryEngine() {
+		assertInstanceOf(InMemoryProjectService.class, projectService);
+	}
+
+	//They read the task tables, which stay empty with this engine, so they must not answer for projects that exist
+	@Test
+	void exportSearchAndTheOverdueFeedAreNotImplemented() {
+		CreateProjectRequest request = new CreateProjectRequest();
+		request.setName("Not in the tables");
+		request.setDescription("Description of the project");
+		assertEquals(HttpStatus.OK, projectService.createProject(request).getStatusCode());
+		long projectId = projectService.getProjectsAfter(null, 1).getBody().getProjects().get(0).id();
+		assertEquals(HttpStatus.OK, projectService.getProjectById(projectId).getStatusCode());
+
+		assertEquals(HttpStatus.NOT_IMPLEMENTED, taskExportService.exportProjectTasks(projectId).getStatusCode());
+		assertNotImplemented(taskSearchService.searchTasks("task", projectId, PageRequest.of(0, 10)).getBody());
+		assertNotImplemented(taskSearchService.searchTasks("task", null, PageRequest.of(0, 10)).getBody());
+		assertNotImplemented(taskSearchService.rebuild().getBody());
+		assertNotImplemented(overdueTaskService.getOverdueTasks(projectId, null, 10).getBody());
+		assertNotImplemented(overdueTaskService.getOverdueTasks(null, null, 10).getBody());
+		assertNotImplemented(overdueTaskService.scan().getBody());
+	}
+
+	@Test
+	void nothingRunsAgainstTheTaskTablesOnStartup() {
+		assertTrue(applicationContext.getBeansOfType(TaskCounterStartupReconciler.class).isEmpty());
+		assertTrue(applicationContext.getBeansOfType(TaskSearchIndexStartupBuilder.class).isEmpty());
+		assertTrue(applicationContext.getBeansOfType(OverdueTaskScanScheduler.class).isEmpty());
+	}
+
+	private static void assertNotImplemented(BaseResponse response) {
+		assertEquals(HttpStatus.NOT_IMPLEMENTED.value(), response.getStatus());
+		assertTrue(response.getMessage().endsWith("is not available with the memory store engine"), response.getMessage());
+	}
+}
@@ -0,0 +1,339 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import com.craftindex.interview.models.responses.BulkTaskResult;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsDashboardResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.ProjectSummaryResponse;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.impl.InMemoryProjectService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InMemoryProjectServiceTests {
+
+	@TempDir
+	Path journalDir;
+
+	private final TaskEventService taskEventService = mock(TaskEventService.class);
+	private InMemoryProjectService projectService;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		projectService = open(100_000);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		projectService.destroy();
+	}
+
+	@Test
+	void createProjectConflictIgnoresCase() {
+		assertEquals(HttpStatus.OK, projectService.createProject(projectRequest("New Project")).getStatusCode());
+		ResponseEntity<BaseResponse> response = projectService.createProject(projectRequest("new project"));
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals("Project with similar name already exists", response.getBody().getMessage());
+	}
+
+	@Test
+	void getProjectsAfterReturnsNextCursorWhenMoreRowsExist() {
+		for (int i = 1; i <= 3; i++) {
+			projectService.createProject(projectRequest("Project " + i));
+		}
+		ResponseEntity<GetProjectsResponse> first = projectService.getProjectsAfter(null, 2);
+		assertEquals(List.of(3L, 2L), first.getBody().getProjects().stream().map(project -> project.id()).toList());
+		assertEquals(2L, first.getBody().getNextCursor());
+
+		ResponseEntity<GetProjectsResponse> last = projectService.getProjectsAfter(2L, 2);
+		assertEquals(1, last.getBody().getProjects().size());
+		assertNull(last.getBody().getNextCursor());
+		assertEquals(HttpStatus.BAD_REQUEST, projectService.getProjectsAfter(null, 0).getStatusCode());
+	}
+
+	@Test
+	void createProjectTaskProjectNotFound() {
+		ResponseEntity<BaseResponse> response = projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), 1L);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("Project with id 1 not found", response.getBody().getMessage());
+		verifyNoInteractions(taskEventService);
+	}
+
+	@Test
+	void createProjectTaskRejectsDuplicateTitle() {
+		long projectId = createProject("Project");
+		assertEquals(HttpStatus.OK, projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId).getStatusCode());
+		ResponseEntity<BaseResponse> response = projectService.createProjectTask(taskRequest(" task 1", Status.DONE, LocalDate.now()), projectId);
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.CREATED), argThat(tasks -> tasks.get(0).projectId() == projectId));
+	}
+
+	@Test
+	void createProjectTasksReportsPerItemResults() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Existing", Status.TO_DO, LocalDate.now()), projectId);
+		List<CreateTaskRequest> requests = List.of(
+				taskRequest("New", Status.TO_DO, LocalDate.now()),
+				taskRequest("Existing", Status.TO_DO, LocalDate.now()),
+				taskRequest("new", Status.TO_DO, LocalDate.now()),
+				taskRequest("", Status.TO_DO, LocalDate.now()));
+
+		ResponseEntity<BulkCreateTasksResponse> response = projectService.createProjectTasks(requests, projectId);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().getCreated());
+		assertEquals(3, response.getBody().getFailed());
+		List<BulkTaskResult> results = response.getBody().getResults();
+		assertEquals(HttpStatus.OK.value(), results.get(0).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(1).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(2).getStatus());
+		assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(3).getStatus());
+		assertEquals(Map.of(Status.TO_DO, 2L), summary().get(0).getStatusCounts());
+	}
+
+	@Test
+	void getProjectTasksFiltersByStatusAndDueDate() {
+		long projectId = createProject("Project");
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, tomorrow), projectId);
+		projectService.createProjectTask(taskRequest("Task 2", Status.DONE, tomorrow), projectId);
+		projectService.createProjectTask(taskRequest("Task 3", Status.TO_DO, tomorrow.plusDays(1)), projectId);
+
+		assertEquals(List.of("Task 3", "Task 2", "Task 1"), titles(projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(0, 5))));
+		assertEquals(List.of("Task 3", "Task 1"), titles(projectService.getProjectTasks(projectId, null, null, null, Status.TO_DO, PageRequest.of(0, 5))));
+		assertEquals(List.of("Task 2", "Task 1"), titles(projectService.getProjectTasks(projectId, tomorrow, null, null, null, PageRequest.of(0, 5))));
+		assertEquals(List.of("Task 1"), titles(projectService.getProjectTasks(projectId, tomorrow, null, null, Status.TO_DO, PageRequest.of(0, 5))));
+		assertEquals(List.of("Task 2"), titles(projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(1, 1))));
+	}
+
+	@Test
+	void getProjectsDashboardReturnsFirstPagesInRequestOrder() {
+		long first = createProject("First");
+		long second = createProject("Second");
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, tomorrow), first);
+		projectService.createProjectTask(taskRequest("Task 2", Status.TO_DO, tomorrow), first);
+		projectService.createProjectTask(taskRequest("Task 3", Status.DONE, tomorrow), first);
+		projectService.createProjectTask(taskRequest("Task 4", Status.TO_DO, tomorrow), second);
+
+		GetProjectsDashboardResponse dashboard = projectService.getProjectsDashboard(List.of(second, 999L, first), null, null, null, Status.TO_DO, 1).getBody();
+
+		assertEquals(List.of(second, first), dashboard.getProjects().stream().map(project -> project.getProject().id()).toList());
+		assertEquals(List.of("Task 4"), dashboard.getProjects().get(0).getTasks().stream().map(TaskView::title).toList());
+		assertNull(dashboard.getProjects().get(0).getNextCursor());
+		assertEquals(List.of("Task 2"), dashboard.getProjects().get(1).getTasks().stream().map(TaskView::title).toList());
+		assertEquals(dashboard.getProjects().get(1).getTasks().get(0).id(), dashboard.getProjects().get(1).getNextCursor());
+		assertEquals(List.of(999L), dashboard.getNotFound());
+	}
+
+	@Test
+	void getProjectTasksDueRangeExcludesBothBoundsAndPagesByDueDate() {
+		long projectId = createProject("Project");
+		LocalDate start = LocalDate.now().plusDays(1);
+		for (int day = 0; day < 4; day++) {
+			projectService.createProjectTask(taskRequest("Task " + day, Status.TO_DO, start.plusDays(day)), projectId);
+		}
+		projectService.createProjectTask(taskRequest("Task 4", Status.TO_DO, start.plusDays(1)), projectId);
+
+		assertEquals(List.of("Task 2", "Task 4", "Task 1"),
+				titles(projectService.getProjectTasks(projectId, null, start, start.plusDays(3), null, PageRequest.of(0, 5))));
+
+		ResponseEntity<GetProjectTasksResponse> first = projectService.getProjectTasksAfter(projectId, null, start, start.plusDays(3), null, null, null, 2);
+		assertEquals(List.of("Task 2", "Task 4"), titles(first));
+		assertEquals(start.plusDays(1), first.getBody().getNextCursorDueDate());
+		ResponseEntity<GetProjectTasksResponse> second = projectService.getProjectTasksAfter(projectId, null, start, start.plusDays(3), null,
+				first.getBody().getNextCursor(), first.getBody().getNextCursorDueDate(), 2);
+		assertEquals(List.of("Task 1"), titles(second));
+		assertNull(second.getBody().getNextCursor());
+		assertNull(second.getBody().getNextCursorDueDate());
+	}
+
+	@Test
+	void getProjectTasksRejectsDueDateWithRange() {
+		ResponseEntity<GetProjectTasksResponse> response = projectService.getProjectTasks(
+				1L, LocalDate.of(2026, 1, 10), null, LocalDate.of(2026, 2, 1), null, PageRequest.of(0, 5));
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("dueDate cannot be combined with dueAfter or dueBefore", response.getBody().getMessage());
+	}
+
+	@Test
+	void updateTaskMovesItBetweenIndexesAndBumpsVersions() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId);
+		long taskId = taskIds(projectId).get(0);
+		long tasksVersion = projectService.getProjectTasksVersion(projectId).orElseThrow();
+
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskId, 0L);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("\"task-" + taskId + "-1\"", response.getHeaders().getETag());
+		assertEquals(List.of(), titles(projectService.getProjectTasks(projectId, null, null, null, Status.TO_DO, PageRequest.of(0, 5))));
+		assertEquals(List.of("Task 1"), titles(projectService.getProjectTasks(projectId, null, null, null, Status.DONE, PageRequest.of(0, 5))));
+		assertEquals(Map.of(Status.DONE, 1L), summary().get(0).getStatusCounts());
+		assertEquals(Optional.of(tasksVersion + 1), projectService.getProjectTasksVersion(projectId));
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.UPDATED), argThat(tasks -> tasks.get(0).status() == Status.DONE));
+	}
+
+	@Test
+	void updateTaskWithStaleVersionIsPreconditionFailed() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId);
+		long taskId = taskIds(projectId).get(0);
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		assertEquals(HttpStatus.PRECONDITION_FAILED, projectService.updateTask(request, taskId, 3L).getStatusCode());
+		assertEquals(HttpStatus.NOT_FOUND, projectService.updateTask(request, taskId + 1, null).getStatusCode());
+	}
+
+	@Test
+	void updateTaskRenamedOntoAnExistingTitleIsConflict() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Taken", Status.TO_DO, LocalDate.now()), projectId);
+		projectService.createProjectTask(taskRequest("Original", Status.TO_DO, LocalDate.now()), projectId);
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("TAKEN");
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskIds(projectId).get(1), null);
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals(List.of("Original", "Taken"), titles(projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(0, 5))));
+	}
+
+	@Test
+	void updateTaskWithPastDueDateLeavesTaskUnchanged() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Original", Status.TO_DO, LocalDate.now()), projectId);
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Changed");
+		request.setDueDate(LocalDate.now().minusDays(1));
+		assertEquals(HttpStatus.BAD_REQUEST, projectService.updateTask(request, taskIds(projectId).get(0), null).getStatusCode());
+		assertEquals(List.of("Original"), titles(projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(0, 5))));
+	}
+
+	@Test
+	void deleteTaskFreesTitleAndCounters() {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId);
+		long taskId = taskIds(projectId).get(0);
+
+		ResponseEntity<BaseResponse> response = projectService.deleteTask(taskId);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Task with id " + taskId + " successfully deleted", response.getBody().getMessage());
+		assertEquals(HttpStatus.NOT_FOUND, projectService.deleteTask(taskId).getStatusCode());
+		assertEquals(0, summary().get(0).getTaskCounts());
+		assertEquals(HttpStatus.OK, projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId).getStatusCode());
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.DELETED), argThat(tasks -> tasks.get(0).id() == taskId));
+	}
+
+	@Test
+	void reopeningReplaysTheJournal() throws IOException {
+		long projectId = createProject("Project");
+		projectService.createProjectTasks(List.of(
+				taskRequest("Task 1", Status.TO_DO, LocalDate.now()),
+				taskRequest("Task 2", Status.TO_DO, LocalDate.now())), projectId);
+		List<Long> taskIds = taskIds(projectId);
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.BLOCKED);
+		projectService.updateTask(request, taskIds.get(0), null);
+		projectService.deleteTask(taskIds.get(1));
+		long tasksVersion = projectService.getProjectTasksVersion(projectId).orElseThrow();
+		projectService.destroy();
+
+		//Bytes of a record cut short by a crash are dropped rather than failing the replay
+		try (Stream<Path> files = Files.list(journalDir); FileChannel segment = FileChannel.open(
+				files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow(), StandardOpenOption.WRITE)) {
+			segment.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 42, 2}), segment.size() - 5);
+		}
+		projectService = open(100_000);
+
+		assertEquals(Optional.of(tasksVersion), projectService.getProjectTasksVersion(projectId));
+		assertEquals(Map.of(Status.BLOCKED, 1L), summary().get(0).getStatusCounts());
+		assertEquals(List.of(taskIds.get(0)), taskIds(projectId));
+		assertEquals(HttpStatus.CONFLICT, projectService.createProject(projectRequest("PROJECT")).getStatusCode());
+	}
+
+	@Test
+	void snapshotReplacesTheJournalOnceItGrows() throws IOException {
+		long projectId = createProject("Project");
+		projectService.createProjectTask(taskRequest("Task 1", Status.TO_DO, LocalDate.now()), projectId);
+		projectService.destroy();
+		projectService = open(1);
+		projectService.createProjectTask(taskRequest("Task 2", Status.DONE, LocalDate.now()), projectId);
+		projectService.destroy();
+
+		assertTrue(Files.exists(journalDir.resolve("snapshot.bin")));
+		projectService = open(100_000);
+		assertEquals(List.of("Task 2", "Task 1"), titles(projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(0, 5))));
+		assertEquals(Optional.of(2L), projectService.getProjectTasksVersion(projectId));
+	}
+
+	private InMemoryProjectService open(long snapshotAfter) throws IOException {
+		return new InMemoryProjectService(taskEventService, journalDir, false, snapshotAfter);
+	}
+
+	private long createProject(String name) {
+		projectService.createProject(projectRequest(name));
+		return projectService.getProjectsAfter(null, 1).getBody().getProjects().get(0).id();
+	}
+
+	private List<ProjectSummaryResponse> summary() {
+		return projectService.getProjectsSummary(PageRequest.of(0, 20)).getBody();
+	}
+
+	private List<Long> taskIds(long projectId) {
+		return projectService.getProjectTasks(projectId, null, null, null, null, PageRequest.of(0, 100)).getBody().getTasks().stream()
+				.map(TaskView::id)
+				.sorted()
+				.toList();
+	}
+
+	private static List<String> titles(ResponseEntity<GetProjectTasksResponse> response) {
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		return response.getBody().getTasks().stream().map(TaskView::title).toList();
+	}
+
+	private static CreateProjectRequest projectRequest(String name) {
+		CreateProjectRequest request = new CreateProjectRequest();
+		request.setName(name);
+		request.setDescription("Description of " + name);
+		return request;
+	}
+
+	private static CreateTaskRequest taskRequest(String title, Status status, LocalDate dueDate) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle(title);
+		request.setStatus(status);
+		request.setDueDate(dueDate);
+		return request;
+	}
+
+}
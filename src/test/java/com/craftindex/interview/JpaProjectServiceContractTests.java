@@ -0,0 +1,28 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.impl.DefaultProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+//DefaultProjectService over JPA and H2, with every write committed as it would be behind the controller
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = {"spring.datasource.url=jdbc:h2:mem:contract-jpa", "interview.overdue-scan.enabled=false"})
+class JpaProjectServiceContractTests extends ProjectServiceContractTests {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Override
+	protected ProjectService projectService() {
+		return projectService;
+	}
+
+	@Test
+	void theJpaEngineIsTheDefault() {
+		assertInstanceOf(DefaultProjectService.class, projectService);
+	}
+}
@@ -0,0 +1,114 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.OverdueScanStateEntity;
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import com.craftindex.interview.models.responses.OverdueTaskEvent;
+import com.craftindex.interview.repos.OverdueScanStateRepository;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.services.impl.DefaultOverdueTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DefaultOverdueTaskService.class)
+class OverdueTaskServiceTests {
+
+	@Autowired
+	private DefaultOverdueTaskService overdueTaskService;
+
+	@Autowired
+	private OverdueScanStateRepository overdueScanStateRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void scanRecordsOpenTasksDueBeforeTodayAndAdvancesTheWatermark() {
+		ProjectEntity projectEntity = saveProject("Scan");
+		TaskEntity late = saveTask(projectEntity, "Late", Status.TO_DO, LocalDate.of(2026, 1, 10));
+		saveTask(projectEntity, "Finished", Status.DONE, LocalDate.of(2026, 1, 10));
+		TaskEntity blocked = saveTask(projectEntity, "Blocked", Status.BLOCKED, LocalDate.of(2026, 1, 12));
+		saveTask(projectEntity, "Due today", Status.TO_DO, LocalDate.of(2026, 1, 15));
+
+		assertEquals(2, overdueTaskService.scan(LocalDate.of(2026, 1, 15)));
+		assertEquals(LocalDate.of(2026, 1, 15), overdueScanStateRepository.findById(OverdueScanStateEntity.ID).orElseThrow().getWatermark());
+		assertEquals(List.of(late.getId(), blocked.getId()), feedTaskIds(null));
+
+		//Days behind the watermark are not visited again
+		assertEquals(0, overdueTaskService.scan(LocalDate.of(2026, 1, 15)));
+		assertEquals(1, overdueTaskService.scan(LocalDate.of(2026, 1, 16)));
+		assertEquals(3, feedTaskIds(null).size());
+	}
+
+	@Test
+	void feedPagesOldestFirstAndSkipsDeletedTasks() {
+		ProjectEntity first = saveProject("First");
+		ProjectEntity second = saveProject("Second");
+		TaskEntity a = saveTask(first, "A", Status.TO_DO, LocalDate.of(2026, 1, 1));
+		TaskEntity b = saveTask(second, "B", Status.TO_DO, LocalDate.of(2026, 1, 2));
+		TaskEntity c = saveTask(first, "C", Status.IN_PROGRESS, LocalDate.of(2026, 1, 3));
+		overdueTaskService.scan(LocalDate.of(2026, 2, 1));
+
+		ResponseEntity<GetOverdueTasksResponse> firstPage = overdueTaskService.getOverdueTasks(null, null, 2);
+		assertEquals(List.of(a.getId(), b.getId()), firstPage.getBody().getEvents().stream().map(event -> event.getTask().id()).toList());
+		assertNotNull(firstPage.getBody().getNextCursor());
+		ResponseEntity<GetOverdueTasksResponse> secondPage = overdueTaskService.getOverdueTasks(null, firstPage.getBody().getNextCursor(), 2);
+		assertEquals(List.of(c.getId()), secondPage.getBody().getEvents().stream().map(event -> event.getTask().id()).toList());
+		assertNull(secondPage.getBody().getNextCursor());
+
+		assertEquals(List.of(a.getId(), c.getId()), feedTaskIds(first.getId()));
+		taskRepository.delete(a);
+		entityManager.flush();
+		assertEquals(List.of(c.getId()), feedTaskIds(first.getId()));
+	}
+
+	@Test
+	void feedForUnknownProjectIsNotFound() {
+		assertEquals(HttpStatus.NOT_FOUND, overdueTaskService.getOverdueTasks(999L, null, 20).getStatusCode());
+	}
+
+	private List<Long> feedTaskIds(Long projectId) {
+		return overdueTaskService.getOverdueTasks(projectId, null, 100).getBody().getEvents().stream()
+				.map(OverdueTaskEvent::getTask)
+				.map(task -> task.id())
+				.toList();
+	}
+
+	private ProjectEntity saveProject(String name) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName(name);
+		return projectRepository.save(projectEntity);
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, Status status, LocalDate dueDate) {
+		TaskEntity taskEntity = new TaskEntity();
+		taskEntity.setTitle(title);
+		taskEntity.setStatus(status);
+		taskEntity.setDueDate(dueDate);
+		taskEntity.setProjectEntity(projectEntity);
+		taskRepository.save(taskEntity);
+		//The scan copies rows with plain JDBC, so they have to reach the database first
+		entityManager.flush();
+		return taskEntity;
+	}
+}
@@ -2,12 +2,25 @@ package com.craftindex.interview;
 
 
 import com.craftindex.interview.controller.ProjectController;
+import com.craftindex.interview.enums.Status;
 import com.craftindex.interview.models.requests.CreateProjectRequest;
 import com.craftindex.interview.models.requests.CreateTaskRequest;
 import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsDashboardResponse;
 import com.craftindex.interview.models.responses.GetProjectsResponse;
 import com.craftindex.interview.models.responses.ProjectResponse;
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.services.IdempotencyService;
+import com.craftindex.interview.services.OverdueTaskService;
 import com.craftindex.interview.services.ProjectService;
+import com.craftindex.interview.services.ReadCoalescingService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +28,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +52,24 @@ public class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private TaskSearchService taskSearchService;
+
+    @Mock
+    private OverdueTaskService overdueTaskService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @Mock
+    private ReadCoalescingService readCoalescingService;
+
     @InjectMocks
     private ProjectController projectController;
 
@@ -39,7 +77,15 @@ public class ProjectControllerTest {
 
     @BeforeEach
     public void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(projectController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(projectController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+        //Without an Idempotency-Key the service just runs the action
+        lenient().when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(4)).get());
+        //With no other request in flight the read simply runs
+        lenient().when(readCoalescingService.execute(any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
     }
 
     @Test
@@ -81,6 +127,160 @@ public class ProjectControllerTest {
         verify(projectService, times(1)).getProjectById(projectId);
     }
 
+    @Test
+    public void testGetProjectsDashboard() throws Exception {
+        GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+        dashboardResponse.setMessage("Success");
+        dashboardResponse.setStatus(HttpStatus.OK.value());
+        dashboardResponse.setNotFound(List.of(2L));
+
+        when(projectService.getProjectsDashboard(List.of(1L, 2L, 3L), null, null, null, Status.TO_DO, 5))
+                .thenReturn(new ResponseEntity<>(dashboardResponse, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/v1/projects/dashboard").param("ids", "1,2,3").param("status", "TO_DO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notFound[0]").value(2));
+
+        verify(projectService, never()).getProjectById(anyLong());
+    }
+
+    @Test
+    public void testGetProjectTasksWithCursor() throws Exception {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+        tasksResponse.setNextCursor(40L);
+
+        when(projectService.getProjectTasksAfter(1L, null, null, null, null, 50L, null, 10))
+                .thenReturn(new ResponseEntity<>(tasksResponse, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L)
+                        .param("after", "50")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(40));
+
+        verify(projectService, times(1)).getProjectTasksAfter(1L, null, null, null, null, 50L, null, 10);
+        verify(projectService, never()).getProjectTasks(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetProjectTasksWithDueDateRange() throws Exception {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectTasks(eq(1L), any(), any(), any(), any(), any()))
+                .thenReturn(new ResponseEntity<>(tasksResponse, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L)
+                        .param("dueAfter", "2026-01-01")
+                        .param("dueBefore", "2026-02-01"))
+                .andExpect(status().isOk());
+
+        verify(projectService, times(1)).getProjectTasks(1L, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1), null, PageRequest.of(0, 5));
+    }
+
+    @Test
+    public void testGetOverdueTasksFeed() throws Exception {
+        GetOverdueTasksResponse overdueResponse = new GetOverdueTasksResponse();
+        overdueResponse.setMessage("Success");
+        overdueResponse.setStatus(HttpStatus.OK.value());
+        overdueResponse.setEvents(List.of());
+        overdueResponse.setNextCursor(12L);
+
+        when(overdueTaskService.getOverdueTasks(1L, 10L, 20)).thenReturn(ResponseEntity.ok(overdueResponse));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks/overdue", 1L).param("after", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(12));
+
+        verify(overdueTaskService, times(1)).getOverdueTasks(1L, 10L, 20);
+    }
+
+    @Test
+    public void testGetProjectTasksSetsETagFromTasksVersion() throws Exception {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectTasksVersion(1L)).thenReturn(Optional.of(7L));
+        when(projectService.getProjectTasks(eq(1L), any(), any(), any(), any(), any()))
+                .thenReturn(new ResponseEntity<>(tasksResponse, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"tasks-1-7\""));
+    }
+
+    @Test
+    public void testGetProjectTasksCoalescesOnTheTasksVersion() throws Exception {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectTasksVersion(1L)).thenReturn(Optional.of(7L), Optional.of(8L));
+        when(projectService.getProjectTasks(eq(1L), any(), any(), any(), any(), any()))
+                .thenReturn(new ResponseEntity<>(tasksResponse, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L).param("status", "DONE"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L).param("status", "DONE"))
+                .andExpect(status().isOk());
+
+        //A write in between moves the listing onto a new key, so it never shares a read from before the write
+        verify(readCoalescingService, times(1)).execute(eq("tasks:1:7:null:null:null:DONE:page:0:5"), any());
+        verify(readCoalescingService, times(1)).execute(eq("tasks:1:8:null:null:null:DONE:page:0:5"), any());
+    }
+
+    @Test
+    public void testGetProjectTasksNotModifiedSkipsLoadingTasks() throws Exception {
+        when(projectService.getProjectTasksVersion(1L)).thenReturn(Optional.of(7L));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks", 1L)
+                        .header("If-None-Match", "\"tasks-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(projectService, never()).getProjectTasks(anyLong(), any(), any(), any(), any(), any());
+        verify(projectService, never()).getProjectTasksAfter(anyLong(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void testGetProjectByIdNotModified() throws Exception {
+        when(projectService.getProjectVersion(1L)).thenReturn(Optional.of(0L));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}", 1L)
+                        .header("If-None-Match", "\"project-1-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectById(anyLong());
+    }
+
+    @Test
+    public void testTaskEventsResumeFromTheLastEventId() throws Exception {
+        when(projectService.getProjectVersion(1L)).thenReturn(Optional.of(0L));
+        when(taskEventService.subscribe(eq(1L), any(), any())).thenReturn(mock(TaskEventService.Subscription.class));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks/events", 1L).header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks/events", 1L).param("lastEventId", "7"))
+                .andExpect(request().asyncStarted());
+
+        verify(taskEventService, times(1)).subscribe(eq(1L), eq(41L), any());
+        verify(taskEventService, times(1)).subscribe(eq(1L), eq(7L), any());
+    }
+
+    @Test
+    public void testTaskEventsForAnUnknownProjectIsNotFound() throws Exception {
+        when(projectService.getProjectVersion(9L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks/events", 9L))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(taskEventService);
+    }
+
     @Test
     public void testCreateTask() throws Exception {
         CreateTaskRequest request = new CreateTaskRequest();
@@ -114,7 +314,7 @@ public class ProjectControllerTest {
         baseResponse.setMessage("Task updated successfully");
         baseResponse.setStatus(HttpStatus.OK.value());
 
-        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L)))
+        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L), isNull()))
                 .thenReturn(new ResponseEntity<>(baseResponse, HttpStatus.OK));
 
         mockMvc.perform(put("/api/v1/tasks/{taskId}", 1L)
@@ -124,7 +324,59 @@ public class ProjectControllerTest {
                 .andExpect(jsonPath("$.message").value("Task updated successfully"))
                 .andExpect(jsonPath("$.status").value(HttpStatus.OK.value()));
 
-        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L));
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), isNull());
+    }
+
+    @Test
+    public void testUpdateTaskPassesTheIfMatchVersion() throws Exception {
+        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L), eq(3L)))
+                .thenReturn(new ResponseEntity<>(new BaseResponse("Task updated successfully", HttpStatus.OK.value()), HttpStatus.OK));
+
+        mockMvc.perform(put("/api/v1/tasks/{taskId}", 1L)
+                        .header("If-Match", "\"task-1-3\"")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Updated Task Title\"}"))
+                .andExpect(status().isOk());
+
+        //An ETag of another task can never match
+        mockMvc.perform(put("/api/v1/tasks/{taskId}", 1L)
+                        .header("If-Match", "\"task-2-3\"")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Updated Task Title\"}"));
+
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), eq(3L));
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), eq(-1L));
+    }
+
+    @Test
+    public void testConcurrentUpdateIsPreconditionFailedWithIfMatch() throws Exception {
+        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1L));
+
+        mockMvc.perform(put("/api/v1/tasks/{taskId}", 1L)
+                        .header("If-Match", "\"task-1-3\"")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Updated Task Title\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/v1/tasks/{taskId}", 1L)
+                        .contentType("application/json")
+                        .content("{\"title\":\"Updated Task Title\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testCreateTaskGoesThroughTheIdempotencyKey() throws Exception {
+        when(projectService.createProjectTask(any(CreateTaskRequest.class), eq(1L)))
+                .thenReturn(new ResponseEntity<>(new BaseResponse("Task created successfully", HttpStatus.OK.value()), HttpStatus.OK));
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/tasks", 1L)
+                        .header("Idempotency-Key", "abc")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task\", \"description\":\"Task\"}"))
+                .andExpect(status().isOk());
+
+        verify(idempotencyService, times(1)).execute(eq("abc"), eq("POST /projects/1/tasks"), any(), eq(BaseResponse.class), any());
     }
 
     @Test
@@ -143,5 +395,40 @@ public class ProjectControllerTest {
         verify(projectService, times(1)).deleteTask(eq(1L));
     }
 
+    @Test
+    public void testReconcileProjectSummary() throws Exception {
+        ReconcileTaskCountersResponse reconcileResponse = new ReconcileTaskCountersResponse();
+        reconcileResponse.setMessage("Task counters are in sync");
+        reconcileResponse.setStatus(HttpStatus.OK.value());
+        reconcileResponse.setDrifts(List.of());
+
+        when(taskCounterService.reconcile()).thenReturn(reconcileResponse);
+
+        mockMvc.perform(post("/api/v1/projects/summary/reconcile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Task counters are in sync"))
+                .andExpect(jsonPath("$.drifts").isEmpty());
+
+        verify(taskCounterService, times(1)).reconcile();
+    }
+
+    @Test
+    public void testSearchProjectTasks() throws Exception {
+        SearchTasksResponse searchResponse = new SearchTasksResponse();
+        searchResponse.setMessage("Success");
+        searchResponse.setStatus(HttpStatus.OK.value());
+        searchResponse.setTotalHits(0);
+        searchResponse.setHits(List.of());
+
+        when(taskSearchService.searchTasks(eq("release notes"), eq(1L), any(Pageable.class))).thenReturn(ResponseEntity.ok(searchResponse));
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}/tasks/search", 1L).param("q", "release notes").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(0))
+                .andExpect(jsonPath("$.hits").isEmpty());
+
+        verify(taskSearchService, times(1)).searchTasks(eq("release notes"), eq(1L), eq(PageRequest.of(1, 20)));
+    }
+
 
 }
@@ -0,0 +1,153 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.services.impl.DefaultProjectLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectLockServiceTests {
+
+	private static final int WRITES_PER_THREAD = 200;
+
+	private final DefaultProjectLockService lockService = new DefaultProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofSeconds(30));
+
+	@Test
+	void writesToOneProjectNeverOverlap() throws Exception {
+		long[] counters = new long[2];
+		runWriters(8, thread -> thread % 2, project -> counters[project]++);
+		assertEquals(8L * WRITES_PER_THREAD / 2, counters[0]);
+		assertEquals(8L * WRITES_PER_THREAD / 2, counters[1]);
+	}
+
+	@Test
+	void aBusyProjectTimesOutWithoutBlockingOthers() throws Exception {
+		DefaultProjectLockService shortWait = new DefaultProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofMillis(50));
+		CountDownLatch held = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> holder = executor.submit(() -> inTransaction(() -> {
+				shortWait.lockForTransaction(1L);
+				held.countDown();
+				release.await();
+				return null;
+			}));
+			assertTrue(held.await(5, TimeUnit.SECONDS));
+
+			ResponseStatusException e = assertThrows(ResponseStatusException.class,
+					() -> inTransaction(() -> {
+						shortWait.lockForTransaction(1L);
+						return null;
+					}));
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+			inTransaction(() -> {
+				shortWait.lockForTransaction(2L);
+				return null;
+			});
+
+			release.countDown();
+			holder.get(5, TimeUnit.SECONDS);
+			//Released at completion, so the project takes writes again
+			inTransaction(() -> {
+				shortWait.lockForTransaction(1L);
+				return null;
+			});
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	//Whatever else runs after completion, such as the journal waiting for the disk, runs with the project already free
+	@Test
+	void theLockIsReleasedBeforeOtherSynchronizationsComplete() throws Exception {
+		DefaultProjectLockService shortWait = new DefaultProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofMillis(50));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		List<Boolean> freeForOthers = new ArrayList<>();
+		try {
+			inTransaction(() -> {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCompletion(int status) {
+						try {
+							freeForOthers.add(executor.submit(() -> inTransaction(() -> {
+								shortWait.lockForTransaction(1L);
+								return true;
+							})).get(5, TimeUnit.SECONDS));
+						} catch (Exception e) {
+							freeForOthers.add(false);
+						}
+					}
+				});
+				shortWait.lockForTransaction(1L);
+				return null;
+			});
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(List.of(true), freeForOthers);
+	}
+
+	@Test
+	void aLockNeedsATransaction() {
+		assertThrows(IllegalStateException.class, () -> lockService.lockForTransaction(1L));
+	}
+
+	//Each write locks its thread's project, runs the action and commits; throughput is measured by ProjectLockBenchmark
+	private void runWriters(int threads, IntToLongFunction projectOfThread, ProjectWrite write) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CyclicBarrier start = new CyclicBarrier(threads + 1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++) {
+				long projectId = projectOfThread.applyAsLong(thread);
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < WRITES_PER_THREAD; i++) {
+						inTransaction(() -> {
+							lockService.lockForTransaction(projectId);
+							write.run((int) projectId);
+							return null;
+						});
+					}
+					return null;
+				}));
+			}
+			start.await();
+			for (Future<?> future : futures) {
+				future.get(2, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> T inTransaction(Callable<T> work) throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		int status = TransactionSynchronization.STATUS_ROLLED_BACK;
+		try {
+			T result = work.call();
+			status = TransactionSynchronization.STATUS_COMMITTED;
+			return result;
+		} finally {
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			TransactionSynchronizationManager.clearSynchronization();
+			TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+		}
+	}
+
+	private interface ProjectWrite {
+		void run(int projectId);
+	}
+}
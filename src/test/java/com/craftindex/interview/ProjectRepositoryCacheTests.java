@@ -0,0 +1,60 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.repos.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.cache.cache-names=projectsById,projectsByName")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+class ProjectRepositoryCacheTests {
+
+	@TestConfiguration
+	@EnableCaching
+	static class CachingConfig {
+	}
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void findByIdIsCachedAndEvictedOnSave() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName("Cached");
+		projectRepository.save(projectEntity);
+
+		projectRepository.findById(projectEntity.getId());
+		assertNotNull(cacheManager.getCache(ProjectRepository.PROJECTS_BY_ID).get(projectEntity.getId()));
+
+		projectEntity.setDescription("Changed");
+		projectRepository.save(projectEntity);
+		assertNull(cacheManager.getCache(ProjectRepository.PROJECTS_BY_ID).get(projectEntity.getId()));
+	}
+
+	@Test
+	void findByNameIgnoreCaseSharesEntryAcrossCasing() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName("Mixed Case");
+		projectRepository.save(projectEntity);
+
+		projectRepository.findByNameIgnoreCase("MIXED case");
+		assertNotNull(cacheManager.getCache(ProjectRepository.PROJECTS_BY_NAME).get("mixed case"));
+	}
+
+	@Test
+	void missesAreNotCached() {
+		assertTrue(projectRepository.findById(Long.MAX_VALUE).isEmpty());
+		assertNull(cacheManager.getCache(ProjectRepository.PROJECTS_BY_ID).get(Long.MAX_VALUE));
+	}
+}
@@ -0,0 +1,402 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import com.craftindex.interview.models.responses.BulkTaskResult;
+import com.craftindex.interview.models.responses.DashboardProject;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsDashboardResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.ProjectSummaryResponse;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The behaviour ProjectServiceTests pins down with mocks, run end to end against each ProjectService engine,
+ * so the JPA and in-memory stores are held to the same answers. Cases that only exist on one engine (the
+ * project lock, the write-behind buffer) stay with that engine's own tests. Every case works on projects
+ * of its own, so the engines may keep their data between cases.
+ */
+abstract class ProjectServiceContractTests {
+
+	private static final long UNKNOWN_ID = 999_999_999L;
+
+	protected abstract ProjectService projectService();
+
+	@Test
+	void createProjectSuccess() {
+		ResponseEntity<BaseResponse> response = projectService().createProject(projectRequest("Contract New Project"));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Project created successfully", response.getBody().getMessage());
+		ProjectView created = projectService().getProjectsAfter(null, 1).getBody().getProjects().get(0);
+		assertEquals("Contract New Project", created.name());
+		assertEquals(HttpStatus.OK, projectService().getProjectById(created.id()).getStatusCode());
+	}
+
+	@Test
+	void createProjectConflict() {
+		project("Contract Existing Project");
+		ResponseEntity<BaseResponse> response = projectService().createProject(projectRequest("contract EXISTING project"));
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals("Project with similar name already exists", response.getBody().getMessage());
+	}
+
+	@Test
+	void getProjectsSuccess() {
+		long projectId = project("Contract Listed");
+		ResponseEntity<GetProjectsResponse> response = projectService().getProjects(PageRequest.of(0, 5));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(projectId, response.getBody().getProjects().get(0).id());
+	}
+
+	@Test
+	void getProjectsAfterReturnsNextCursorWhenMoreRowsExist() {
+		long first = project("Contract Cursor 1");
+		long second = project("Contract Cursor 2");
+		long third = project("Contract Cursor 3");
+		ResponseEntity<GetProjectsResponse> response = projectService().getProjectsAfter(third + 1, 2);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of(third, second), response.getBody().getProjects().stream().map(ProjectView::id).toList());
+		assertEquals(second, response.getBody().getNextCursor());
+		assertEquals(first, projectService().getProjectsAfter(second, 1).getBody().getProjects().get(0).id());
+	}
+
+	@Test
+	void getProjectTasksAfterLastPageHasNoCursor() {
+		long projectId = project("Contract Last Page");
+		task(projectId, "Task 3", Status.TO_DO, LocalDate.now());
+		task(projectId, "Task 4", Status.DONE, LocalDate.now());
+		ResponseEntity<GetProjectTasksResponse> response = projectService().getProjectTasksAfter(projectId, null, null, null, Status.TO_DO, null, null, 5);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of("Task 3"), titles(response));
+		assertNull(response.getBody().getNextCursor());
+	}
+
+	@Test
+	void getProjectTasksDueRangeExcludesBothBounds() {
+		LocalDate today = LocalDate.now();
+		long projectId = project("Contract Due Range");
+		task(projectId, "On the lower bound", Status.TO_DO, today.plusDays(10));
+		TaskView inside = task(projectId, "Inside", Status.TO_DO, today.plusDays(15));
+		task(projectId, "On the upper bound", Status.TO_DO, today.plusDays(20));
+		ResponseEntity<GetProjectTasksResponse> response = projectService().getProjectTasks(
+				projectId, null, today.plusDays(10), today.plusDays(20), null, PageRequest.of(0, 5));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of(inside), response.getBody().getTasks());
+	}
+
+	@Test
+	void getProjectTasksAfterDueRangeReturnsCompoundCursor() {
+		LocalDate today = LocalDate.now();
+		long projectId = project("Contract Compound Cursor");
+		TaskView latest = task(projectId, "Latest", Status.TO_DO, today.plusDays(20));
+		TaskView middle = task(projectId, "Middle", Status.TO_DO, today.plusDays(15));
+		task(projectId, "Too early", Status.TO_DO, today.plusDays(5));
+		ResponseEntity<GetProjectTasksResponse> firstPage = projectService().getProjectTasksAfter(
+				projectId, null, today.plusDays(10), null, null, null, null, 1);
+		assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+		assertEquals(List.of(latest), firstPage.getBody().getTasks());
+		assertEquals(latest.id(), firstPage.getBody().getNextCursor());
+		assertEquals(latest.dueDate(), firstPage.getBody().getNextCursorDueDate());
+
+		ResponseEntity<GetProjectTasksResponse> lastPage = projectService().getProjectTasksAfter(
+				projectId, null, today.plusDays(10), null, null, latest.id(), latest.dueDate(), 1);
+		assertEquals(List.of(middle), lastPage.getBody().getTasks());
+		assertNull(lastPage.getBody().getNextCursor());
+
+		ResponseEntity<GetProjectTasksResponse> missingDueDate = projectService().getProjectTasksAfter(
+				projectId, null, today.plusDays(10), null, null, latest.id(), null, 1);
+		assertEquals(HttpStatus.BAD_REQUEST, missingDueDate.getStatusCode());
+	}
+
+	@Test
+	void getProjectTasksRejectsDueDateWithRange() {
+		long projectId = project("Contract Rejected Filter");
+		ResponseEntity<GetProjectTasksResponse> response = projectService().getProjectTasks(
+				projectId, LocalDate.now(), null, LocalDate.now().plusDays(5), null, PageRequest.of(0, 5));
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("dueDate cannot be combined with dueAfter or dueBefore", response.getBody().getMessage());
+	}
+
+	@Test
+	void createProjectTaskProjectNotFound() {
+		ResponseEntity<BaseResponse> response = projectService().createProjectTask(taskRequest("Task 1"), UNKNOWN_ID);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("Project with id " + UNKNOWN_ID + " not found", response.getBody().getMessage());
+	}
+
+	@Test
+	void createProjectTaskSuccess() {
+		long projectId = project("Contract Created Task");
+		CreateTaskRequest request = taskRequest("Task 1");
+		request.setDescription("Task description");
+		ResponseEntity<BaseResponse> response = projectService().createProjectTask(request, projectId);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Task created successfully", response.getBody().getMessage());
+		TaskView created = newestTask(projectId);
+		assertEquals("Task 1", created.title());
+		assertEquals("Task description", created.description());
+		assertEquals(Status.TO_DO, created.status());
+		assertEquals(LocalDate.now(), created.dueDate());
+		assertEquals(projectId, created.projectId());
+		assertEquals(HttpStatus.CONFLICT, projectService().createProjectTask(taskRequest(" TASK 1"), projectId).getStatusCode());
+	}
+
+	@Test
+	void createProjectTasksReportsPerItemResults() {
+		long projectId = project("Contract Bulk");
+		task(projectId, "Existing", Status.TO_DO, LocalDate.now());
+		List<CreateTaskRequest> requests = List.of(
+				taskRequest("New"),
+				taskRequest("Existing"),
+				taskRequest("new"),
+				taskRequest(""));
+
+		ResponseEntity<BulkCreateTasksResponse> response = projectService().createProjectTasks(requests, projectId);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().getCreated());
+		assertEquals(3, response.getBody().getFailed());
+		List<BulkTaskResult> results = response.getBody().getResults();
+		assertEquals(HttpStatus.OK.value(), results.get(0).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(1).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(2).getStatus());
+		assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(3).getStatus());
+		assertEquals(Map.of(Status.TO_DO, 2L), summary(projectId).getStatusCounts());
+	}
+
+	@Test
+	void createProjectTasksProjectNotFound() {
+		ResponseEntity<BulkCreateTasksResponse> response = projectService().createProjectTasks(List.of(taskRequest("New")), UNKNOWN_ID);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+	}
+
+	@Test
+	void deleteTaskSuccess() {
+		long projectId = project("Contract Deleted Task");
+		TaskView task = task(projectId, "Doomed", Status.TO_DO, LocalDate.now());
+		ResponseEntity<BaseResponse> response = projectService().deleteTask(task.id());
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Task with id " + task.id() + " successfully deleted", response.getBody().getMessage());
+		assertEquals(List.of(), titles(projectService().getProjectTasksAfter(projectId, null, null, null, null, null, null, 5)));
+		assertEquals(0, summary(projectId).getTaskCounts());
+		//The title is free again
+		task(projectId, "Doomed", Status.TO_DO, LocalDate.now());
+	}
+
+	@Test
+	void deleteTaskNotFound() {
+		ResponseEntity<BaseResponse> response = projectService().deleteTask(UNKNOWN_ID);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("Task with id " + UNKNOWN_ID + " not found", response.getBody().getMessage());
+	}
+
+	@Test
+	void updateTaskTaskDoesNotExistReturnsNotFound() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Updated Title");
+		ResponseEntity<BaseResponse> response = projectService().updateTask(request, UNKNOWN_ID, null);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("Task with id " + UNKNOWN_ID + " not found", response.getBody().getMessage());
+	}
+
+	@Test
+	void updateTaskValidUpdateReturnsOk() {
+		long projectId = project("Contract Updated Task");
+		TaskView task = task(projectId, "Old Title", Status.TO_DO, LocalDate.now());
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Updated Title");
+		request.setDescription("Updated Description");
+		request.setStatus(Status.IN_PROGRESS);
+		request.setDueDate(LocalDate.now().plusDays(5));
+		ResponseEntity<BaseResponse> response = projectService().updateTask(request, task.id(), null);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Task updated successfully", response.getBody().getMessage());
+		assertEquals("\"task-" + task.id() + "-" + (task.version() + 1) + "\"", response.getHeaders().getETag());
+		assertEquals(new TaskView(task.id(), "Updated Title", "Updated Description", Status.IN_PROGRESS, LocalDate.now().plusDays(5),
+				projectId, task.version() + 1), newestTask(projectId));
+	}
+
+	@Test
+	void getProjectsSummaryReadsStatusCounters() {
+		long projectId = project("Contract Summary");
+		for (int i = 0; i < 3; i++) {
+			task(projectId, "To do " + i, Status.TO_DO, LocalDate.now());
+		}
+		for (int i = 0; i < 2; i++) {
+			task(projectId, "Done " + i, Status.DONE, LocalDate.now());
+		}
+		ProjectSummaryResponse summary = summary(projectId);
+		assertEquals(5, summary.getTaskCounts());
+		assertEquals(Map.of(Status.TO_DO, 3L, Status.DONE, 2L), summary.getStatusCounts());
+	}
+
+	@Test
+	void getProjectsDashboardReadsEveryProjectInTwoQueries() {
+		LocalDate today = LocalDate.now();
+		long first = project("Contract Dashboard First");
+		long third = project("Contract Dashboard Third");
+		task(first, "A", Status.TO_DO, today);
+		TaskView b = task(first, "B", Status.TO_DO, today);
+		TaskView c = task(first, "C", Status.TO_DO, today);
+		task(first, "Finished", Status.DONE, today);
+		TaskView d = task(third, "D", Status.TO_DO, today);
+
+		ResponseEntity<GetProjectsDashboardResponse> response = projectService().getProjectsDashboard(
+				List.of(third, first, UNKNOWN_ID, first), null, null, null, Status.TO_DO, 2);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		List<DashboardProject> projects = response.getBody().getProjects();
+		assertEquals(List.of(third, first), projects.stream().map(project -> project.getProject().id()).toList());
+		assertEquals(List.of(d), projects.get(0).getTasks());
+		assertNull(projects.get(0).getNextCursor());
+		assertEquals(List.of(c, b), projects.get(1).getTasks());
+		assertEquals(b.id(), projects.get(1).getNextCursor());
+		assertEquals(List.of(UNKNOWN_ID), response.getBody().getNotFound());
+	}
+
+	@Test
+	void getProjectsDashboardRejectsAnEmptyIdList() {
+		ResponseEntity<GetProjectsDashboardResponse> response = projectService().getProjectsDashboard(List.of(), null, null, null, null, 5);
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("At least one project id is required", response.getBody().getMessage());
+	}
+
+	@Test
+	void updateTaskStatusChangeUpdatesCounters() {
+		long projectId = project("Contract Status Change");
+		TaskView task = task(projectId, "Moving", Status.TO_DO, LocalDate.now());
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		request.setDescription("Description");
+		assertEquals(HttpStatus.OK, projectService().updateTask(request, task.id(), null).getStatusCode());
+		assertEquals(Map.of(Status.DONE, 1L), summary(projectId).getStatusCounts());
+		assertEquals(Status.DONE, newestTask(projectId).status());
+	}
+
+	@Test
+	void updateTaskWithNullDescriptionKeepsDescription() {
+		long projectId = project("Contract Kept Description");
+		CreateTaskRequest create = taskRequest("Described");
+		create.setDescription("Kept");
+		projectService().createProjectTask(create, projectId);
+		TaskView task = newestTask(projectId);
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		assertEquals(HttpStatus.OK, projectService().updateTask(request, task.id(), null).getStatusCode());
+		TaskView updated = newestTask(projectId);
+		assertEquals("Kept", updated.description());
+		assertEquals(Status.DONE, updated.status());
+	}
+
+	@Test
+	void updateTaskWithPastDueDateLeavesTaskUnchanged() {
+		long projectId = project("Contract Past Due Date");
+		TaskView task = task(projectId, "Original", Status.TO_DO, LocalDate.now());
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Changed");
+		request.setDueDate(LocalDate.now().minusDays(1));
+		ResponseEntity<BaseResponse> response = projectService().updateTask(request, task.id(), null);
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals(task, newestTask(projectId));
+	}
+
+	@Test
+	void updateTaskWithStaleVersionIsPreconditionFailed() {
+		long projectId = project("Contract Stale Version");
+		TaskView task = task(projectId, "Versioned", Status.TO_DO, LocalDate.now());
+		CreateTaskRequest first = new CreateTaskRequest();
+		first.setStatus(Status.IN_PROGRESS);
+		assertEquals(HttpStatus.OK, projectService().updateTask(first, task.id(), task.version()).getStatusCode());
+		CreateTaskRequest second = new CreateTaskRequest();
+		second.setStatus(Status.DONE);
+		ResponseEntity<BaseResponse> response = projectService().updateTask(second, task.id(), task.version());
+		assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+		assertEquals(Status.IN_PROGRESS, newestTask(projectId).status());
+	}
+
+	@Test
+	void updateTaskRenamedOntoAnExistingTitleIsConflict() {
+		long projectId = project("Contract Rename Conflict");
+		task(projectId, "Taken", Status.TO_DO, LocalDate.now());
+		TaskView task = task(projectId, "Original", Status.TO_DO, LocalDate.now());
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("TAKEN");
+		ResponseEntity<BaseResponse> response = projectService().updateTask(request, task.id(), task.version());
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals(task, newestTask(projectId));
+	}
+
+	@Test
+	void getProjectTasksVersionReadsFromRepository() {
+		long projectId = project("Contract Tasks Version");
+		Optional<Long> before = projectService().getProjectTasksVersion(projectId);
+		assertTrue(before.isPresent());
+		task(projectId, "Bumps the version", Status.TO_DO, LocalDate.now());
+		assertEquals(Optional.of(before.get() + 1), projectService().getProjectTasksVersion(projectId));
+		assertEquals(Optional.empty(), projectService().getProjectTasksVersion(UNKNOWN_ID));
+	}
+
+	//Creates the project and returns its id: the newest project is the first one listed
+	private long project(String name) {
+		assertEquals(HttpStatus.OK, projectService().createProject(projectRequest(name)).getStatusCode());
+		ProjectView created = projectService().getProjectsAfter(null, 1).getBody().getProjects().get(0);
+		assertEquals(name, created.name());
+		return created.id();
+	}
+
+	private TaskView task(long projectId, String title, Status status, LocalDate dueDate) {
+		CreateTaskRequest request = taskRequest(title);
+		request.setStatus(status);
+		request.setDueDate(dueDate);
+		assertEquals(HttpStatus.OK, projectService().createProjectTask(request, projectId).getStatusCode());
+		TaskView created = newestTask(projectId);
+		assertEquals(title, created.title());
+		return created;
+	}
+
+	private TaskView newestTask(long projectId) {
+		return projectService().getProjectTasksAfter(projectId, null, null, null, null, null, null, 1).getBody().getTasks().get(0);
+	}
+
+	private ProjectSummaryResponse summary(long projectId) {
+		return projectService().getProjectsSummary(PageRequest.of(0, 100)).getBody().stream()
+				.filter(summary -> summary.getProject().id() == projectId)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static List<String> titles(ResponseEntity<GetProjectTasksResponse> response) {
+		return response.getBody().getTasks().stream().map(TaskView::title).toList();
+	}
+
+	private static CreateProjectRequest projectRequest(String name) {
+		CreateProjectRequest request = new CreateProjectRequest();
+		request.setName(name);
+		request.setDescription("Description of the project");
+		return request;
+	}
+
+	private static CreateTaskRequest taskRequest(String title) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle(title);
+		request.setStatus(Status.TO_DO);
+		request.setDueDate(LocalDate.now());
+		return request;
+	}
+}
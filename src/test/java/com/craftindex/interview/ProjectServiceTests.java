@@ -3,11 +3,28 @@ package com.craftindex.interview;
 
 import com.craftindex.interview.entities.ProjectEntity;
 import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
 import com.craftindex.interview.models.requests.CreateProjectRequest;
 import com.craftindex.interview.models.requests.CreateTaskRequest;
 import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.BulkCreateTasksResponse;
+import com.craftindex.interview.models.responses.BulkTaskResult;
+import com.craftindex.interview.models.responses.DashboardProject;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsDashboardResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.ProjectSummaryResponse;
 import com.craftindex.interview.repos.ProjectRepository;
 import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.ProjectLockService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.TaskUpdateBuffer;
 import com.craftindex.interview.services.impl.DefaultProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,16 +35,21 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ProjectServiceTests {
@@ -38,6 +60,24 @@ class ProjectServiceTests {
 	@Mock
 	private TaskRepository taskRepository;
 
+	@Mock
+	private TaskCounterService taskCounterService;
+
+	@Mock
+	private TaskSearchService taskSearchService;
+
+	@Mock
+	private TaskUpdateBuffer taskUpdateBuffer;
+
+	@Mock
+	private TaskEventService taskEventService;
+
+	@Mock
+	private TaskJournalService taskJournalService;
+
+	@Mock
+	private ProjectLockService projectLockService;
+
 	@InjectMocks
 	private DefaultProjectService projectService;
 
@@ -57,6 +97,7 @@ class ProjectServiceTests {
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals("Project created successfully", response.getBody().getMessage());
 		verify(projectRepository, times(1)).save(any(ProjectEntity.class));
+		verify(taskJournalService, times(1)).projectCreated(argThat(project -> "New Project".equals(project.name())));
 	}
 
 	@Test
@@ -76,26 +117,101 @@ class ProjectServiceTests {
 	@Test
 	void getProjectsSuccess() {
 		PageRequest pageRequest = PageRequest.of(0, 5, Sort.by(Sort.Order.desc("id")));
-		ProjectEntity projectEntity = new ProjectEntity();
-		projectEntity.setName("Project 1");
-		Page<ProjectEntity> projectPage = new PageImpl<>(Collections.singletonList(projectEntity));
-		when(projectRepository.findAll(pageRequest)).thenReturn(projectPage);
+		Page<ProjectView> projectPage = new PageImpl<>(Collections.singletonList(new ProjectView(1L, "Project 1", null)));
+		when(projectRepository.findProjectedBy(pageRequest, ProjectView.class)).thenReturn(projectPage);
 		ResponseEntity<?> response = projectService.getProjects(pageRequest);
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
-		verify(projectRepository, times(1)).findAll(pageRequest);
+		verify(projectRepository, times(1)).findProjectedBy(pageRequest, ProjectView.class);
+	}
+
+	@Test
+	void getProjectsAfterReturnsNextCursorWhenMoreRowsExist() {
+		PageRequest cursorPage = PageRequest.of(0, 2, Sort.by(Sort.Order.desc("id")));
+		ProjectView first = new ProjectView(9L, "Project 9", null);
+		ProjectView second = new ProjectView(7L, "Project 7", null);
+		when(projectRepository.findByIdLessThan(10L, cursorPage, ProjectView.class)).thenReturn(new SliceImpl<>(List.of(first, second), cursorPage, true));
+		ResponseEntity<GetProjectsResponse> response = projectService.getProjectsAfter(10L, 2);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(2, response.getBody().getProjects().size());
+		assertEquals(7L, response.getBody().getNextCursor());
+		verify(projectRepository, never()).findProjectedBy(any(PageRequest.class), eq(ProjectView.class));
+	}
+
+	@Test
+	void getProjectTasksAfterLastPageHasNoCursor() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		TaskView taskView = new TaskView(3L, "Task 3", null, Status.TO_DO, LocalDate.now(), 1L, 0L);
+		PageRequest cursorPage = PageRequest.of(0, 5,
+				Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("status"), Sort.Order.desc("id")));
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
+		when(taskRepository.findByProjectEntityAndStatusAndIdLessThan(projectEntity, Status.TO_DO, Long.MAX_VALUE, cursorPage, TaskView.class))
+				.thenReturn(new SliceImpl<>(List.of(taskView), cursorPage, false));
+		ResponseEntity<GetProjectTasksResponse> response = projectService.getProjectTasksAfter(1L, null, null, null, Status.TO_DO, null, null, 5);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().getTasks().size());
+		assertNull(response.getBody().getNextCursor());
+	}
+
+	@Test
+	void getProjectTasksDueRangeExcludesBothBounds() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		TaskView taskView = new TaskView(4L, "Task 4", null, Status.TO_DO, LocalDate.of(2026, 1, 15), 1L, 0L);
+		PageRequest pageRequest = PageRequest.of(0, 5,
+				Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("dueDate"), Sort.Order.desc("id")));
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
+		when(taskRepository.findByProjectEntityAndDueDateBetween(projectEntity, LocalDate.of(2026, 1, 2), LocalDate.of(2026, 1, 31), pageRequest, TaskView.class))
+				.thenReturn(new PageImpl<>(List.of(taskView), pageRequest, 1));
+		ResponseEntity<GetProjectTasksResponse> response = projectService.getProjectTasks(
+				1L, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1), null, PageRequest.of(0, 5));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of(taskView), response.getBody().getTasks());
+	}
+
+	@Test
+	void getProjectTasksAfterDueRangeReturnsCompoundCursor() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		TaskView taskView = new TaskView(9L, "Task 9", null, Status.TO_DO, LocalDate.of(2026, 1, 20), 1L, 0L);
+		PageRequest cursorPage = PageRequest.of(0, 1,
+				Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("dueDate"), Sort.Order.desc("id")));
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
+		when(taskRepository.findByProjectEntityAndDueDateBetweenAfter(projectEntity, null, LocalDate.of(2026, 1, 2), LocalDate.of(2026, 1, 25), 12L, cursorPage))
+				.thenReturn(new SliceImpl<>(List.of(taskView), cursorPage, true));
+		ResponseEntity<GetProjectTasksResponse> response = projectService.getProjectTasksAfter(
+				1L, null, LocalDate.of(2026, 1, 1), null, null, 12L, LocalDate.of(2026, 1, 25), 1);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(9L, response.getBody().getNextCursor());
+		assertEquals(LocalDate.of(2026, 1, 20), response.getBody().getNextCursorDueDate());
+
+		ResponseEntity<GetProjectTasksResponse> missingDueDate = projectService.getProjectTasksAfter(
+				1L, null, LocalDate.of(2026, 1, 1), null, null, 12L, null, 1);
+		assertEquals(HttpStatus.BAD_REQUEST, missingDueDate.getStatusCode());
+	}
+
+	@Test
+	void getProjectTasksRejectsDueDateWithRange() {
+		ResponseEntity<GetProjectTasksResponse> response = projectService.getProjectTasks(
+				1L, LocalDate.of(2026, 1, 10), null, LocalDate.of(2026, 2, 1), null, PageRequest.of(0, 5));
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("dueDate cannot be combined with dueAfter or dueBefore", response.getBody().getMessage());
+		verifyNoInteractions(taskRepository);
 	}
 
 	@Test
 	void createProjectTaskProjectNotFound() {
 		CreateTaskRequest request = new CreateTaskRequest();
 		request.setTitle("Task 1");
+		request.setStatus(Status.TO_DO);
+		request.setDueDate(LocalDate.now());
 		when(projectRepository.findById(1L)).thenReturn(Optional.empty());
 		ResponseEntity<BaseResponse> response = projectService.createProjectTask(request, 1L);
 		assertNotNull(response);
 		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 		assertEquals("Project with id 1 not found", response.getBody().getMessage());
-		verify(taskRepository, never()).save(any(TaskEntity.class));
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
 	}
 
 	@Test
@@ -104,7 +220,7 @@ class ProjectServiceTests {
 		request.setTitle("Task 1");
 		request.setDescription("Task description");
 		request.setDueDate(LocalDate.now());
-		request.setStatus("TO_DO");
+		request.setStatus(Status.TO_DO);
 		ProjectEntity projectEntity = new ProjectEntity();
 		projectEntity.setId(1L);
 		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
@@ -113,19 +229,81 @@ class ProjectServiceTests {
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals("Task created successfully", response.getBody().getMessage());
-		verify(taskRepository, times(1)).save(any(TaskEntity.class));
+		verify(taskRepository, times(1)).saveAndFlush(any(TaskEntity.class));
+		verify(taskSearchService, times(1)).tasksSaved(argThat(tasks -> tasks.size() == 1));
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.CREATED), argThat(tasks -> tasks.size() == 1 && tasks.get(0).projectId() == 1L));
+		verify(taskJournalService, times(1)).tasksChanged(eq(TaskChangeType.CREATED), argThat(tasks -> tasks.size() == 1 && tasks.get(0).projectId() == 1L));
+		verify(projectLockService, times(1)).lockForTransaction(1L);
+		verify(projectRepository, times(1)).incrementTasksVersion(1L);
+	}
+
+	@Test
+	void createProjectTaskOnABusyProjectIsNotWrapped() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Task 1");
+		request.setStatus(Status.TO_DO);
+		request.setDueDate(LocalDate.now());
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
+		doThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Project 1 is busy with other writes, try again shortly"))
+				.when(projectLockService).lockForTransaction(1L);
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> projectService.createProjectTask(request, 1L));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+		verify(taskRepository, never()).findByTitleIgnoreCaseAndProjectEntity(any(), any());
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+	}
+
+	@Test
+	void createProjectTasksReportsPerItemResults() {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(projectEntity));
+		when(taskRepository.findTitleKeysByProjectEntityAndTitleKeyIn(eq(projectEntity), any()))
+				.thenReturn(List.of("existing"));
+		List<CreateTaskRequest> requests = List.of(
+				taskRequest("New"),
+				taskRequest("Existing"),
+				taskRequest("new"),
+				taskRequest(""));
+
+		ResponseEntity<BulkCreateTasksResponse> response = projectService.createProjectTasks(requests, 1L);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().getCreated());
+		assertEquals(3, response.getBody().getFailed());
+		List<BulkTaskResult> results = response.getBody().getResults();
+		assertEquals(HttpStatus.OK.value(), results.get(0).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(1).getStatus());
+		assertEquals(HttpStatus.CONFLICT.value(), results.get(2).getStatus());
+		assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(3).getStatus());
+		verify(taskRepository, times(1)).findTitleKeysByProjectEntityAndTitleKeyIn(eq(projectEntity), any());
+		verify(taskRepository, times(1)).saveAll(argThat(tasks -> ((List<?>) tasks).size() == 1));
+		verify(taskCounterService, times(1)).adjust(1L, Status.TO_DO, 1L);
+	}
+
+	@Test
+	void createProjectTasksProjectNotFound() {
+		when(projectRepository.findById(1L)).thenReturn(Optional.empty());
+		ResponseEntity<BulkCreateTasksResponse> response = projectService.createProjectTasks(List.of(taskRequest("New")), 1L);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		verify(taskRepository, never()).saveAll(any());
 	}
 
 	@Test
 	void deleteTaskSuccess() {
 		TaskEntity taskEntity = new TaskEntity();
 		taskEntity.setId(1L);
+		taskEntity.setProjectEntity(project(2L));
 		when(taskRepository.findById(1L)).thenReturn(Optional.of(taskEntity));
 		ResponseEntity<BaseResponse> response = projectService.deleteTask(1L);
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals("Task with id 1 successfully deleted", response.getBody().getMessage());
 		verify(taskRepository, times(1)).delete(taskEntity);
+		verify(taskSearchService, times(1)).taskDeleted(taskEntity);
+		verify(taskEventService, times(1)).tasksChanged(TaskChangeType.DELETED, List.of(new TaskView(1L, null, null, null, null, 2L, null)));
+		verify(projectRepository, times(1)).incrementTasksVersion(2L);
 	}
 
 	@Test
@@ -136,6 +314,7 @@ class ProjectServiceTests {
 		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 		assertEquals("Task with id 1 not found", response.getBody().getMessage());
 		verify(taskRepository, never()).delete(any(TaskEntity.class));
+		verifyNoInteractions(taskEventService);
 	}
 
 	@Test
@@ -144,7 +323,7 @@ class ProjectServiceTests {
 		CreateTaskRequest request = new CreateTaskRequest();
 		request.setTitle("Updated Title");
 		Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
-		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskId);
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskId, null);
 		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 		assertNotNull(response.getBody());
 		assertEquals("Task with id 1 not found", response.getBody().getMessage());
@@ -157,24 +336,204 @@ class ProjectServiceTests {
 		CreateTaskRequest request = new CreateTaskRequest();
 		request.setTitle("Updated Title");
 		request.setDescription("Updated Description");
-		request.setStatus("IN_PROGRESS");
+		request.setStatus(Status.IN_PROGRESS);
 		request.setDueDate(LocalDate.now().plusDays(5));
 		TaskEntity existingTask = new TaskEntity();
 		existingTask.setId(taskId);
 		existingTask.setTitle("Old Title");
 		existingTask.setDescription("Old Description");
-		existingTask.setStatus("TO_DO");
+		existingTask.setStatus(Status.TO_DO);
 		existingTask.setDueDate(LocalDate.now());
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(0L);
 		Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskId);
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, taskId, null);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
 		assertEquals("Task updated successfully", response.getBody().getMessage());
 		assertEquals("Updated Title", existingTask.getTitle());
 		assertEquals("Updated Description", existingTask.getDescription());
-		assertEquals("IN_PROGRESS", existingTask.getStatus());
+		assertEquals(Status.IN_PROGRESS, existingTask.getStatus());
 		assertEquals(LocalDate.now().plusDays(5), existingTask.getDueDate());
-		Mockito.verify(taskRepository, Mockito.times(1)).save(existingTask);
+		Mockito.verify(taskRepository, Mockito.times(1)).saveAndFlush(existingTask);
+	}
+
+	@Test
+	void getProjectsSummaryReadsStatusCounters() {
+		PageRequest pageRequest = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("id")));
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(1L);
+		when(projectRepository.findAllBy(pageRequest)).thenReturn(new SliceImpl<>(List.of(projectEntity)));
+		when(taskCounterService.getStatusCounts(List.of(1L))).thenReturn(Map.of(1L, Map.of(Status.TO_DO, 3L, Status.DONE, 2L)));
+		ResponseEntity<List<ProjectSummaryResponse>> response = projectService.getProjectsSummary(pageRequest);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().size());
+		assertEquals(5, response.getBody().get(0).getTaskCounts());
+		assertEquals(Map.of(Status.TO_DO, 3L, Status.DONE, 2L), response.getBody().get(0).getStatusCounts());
+		verify(taskRepository, never()).countGroupedByProjectAndStatus();
+	}
+
+	@Test
+	void getProjectsDashboardReadsEveryProjectInTwoQueries() {
+		LocalDate today = LocalDate.now();
+		when(projectRepository.findByIdIn(List.of(3L, 1L, 2L), ProjectView.class))
+				.thenReturn(List.of(new ProjectView(1L, "First", null), new ProjectView(3L, "Third", null)));
+		when(taskRepository.findFirstPagesByProjectIds(anyCollection(), eq(Status.TO_DO), eq(3L))).thenReturn(List.of(
+				new TaskView(12L, "C", null, Status.TO_DO, today, 1L, 0L),
+				new TaskView(11L, "B", null, Status.TO_DO, today, 1L, 0L),
+				new TaskView(10L, "A", null, Status.TO_DO, today, 1L, 0L),
+				new TaskView(30L, "D", null, Status.TO_DO, today, 3L, 0L)));
+
+		ResponseEntity<GetProjectsDashboardResponse> response = projectService.getProjectsDashboard(List.of(3L, 1L, 2L, 1L), null, null, null, Status.TO_DO, 2);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		List<DashboardProject> projects = response.getBody().getProjects();
+		assertEquals(List.of(3L, 1L), projects.stream().map(project -> project.getProject().id()).toList());
+		assertEquals(List.of(30L), projects.get(0).getTasks().stream().map(TaskView::id).toList());
+		assertNull(projects.get(0).getNextCursor());
+		assertEquals(List.of(12L, 11L), projects.get(1).getTasks().stream().map(TaskView::id).toList());
+		assertEquals(11L, projects.get(1).getNextCursor());
+		assertEquals(List.of(2L), response.getBody().getNotFound());
+		verify(projectRepository, never()).findById(any());
+		verify(taskRepository, times(1)).findFirstPagesByProjectIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 3L))), eq(Status.TO_DO), eq(3L));
+	}
+
+	@Test
+	void getProjectsDashboardRejectsAnEmptyIdList() {
+		ResponseEntity<GetProjectsDashboardResponse> response = projectService.getProjectsDashboard(List.of(), null, null, null, null, 5);
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("At least one project id is required", response.getBody().getMessage());
+	}
+
+	@Test
+	void updateTaskStatusChangeUpdatesCounters() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		request.setDescription("Description");
+		TaskEntity existingTask = new TaskEntity();
+		existingTask.setId(1L);
+		existingTask.setStatus(Status.TO_DO);
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(0L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, null);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		verify(taskCounterService, times(1)).taskStatusChanged(existingTask, Status.TO_DO);
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.UPDATED), argThat(tasks -> tasks.get(0).status() == Status.DONE));
+	}
+
+	@Test
+	void updateTaskWithNullDescriptionKeepsDescription() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		TaskEntity existingTask = new TaskEntity();
+		existingTask.setId(1L);
+		existingTask.setDescription("Kept");
+		existingTask.setStatus(Status.TO_DO);
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(0L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, null);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Kept", existingTask.getDescription());
+		assertEquals(Status.DONE, existingTask.getStatus());
+	}
+
+	@Test
+	void updateTaskWithPastDueDateLeavesTaskUnchanged() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Changed");
+		request.setDueDate(LocalDate.now().minusDays(1));
+		TaskEntity existingTask = new TaskEntity();
+		existingTask.setId(1L);
+		existingTask.setTitle("Original");
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(0L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, null);
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals("Original", existingTask.getTitle());
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+	}
+
+	@Test
+	void updateTaskWithStaleVersionIsPreconditionFailed() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		TaskEntity existingTask = new TaskEntity();
+		existingTask.setId(1L);
+		existingTask.setStatus(Status.TO_DO);
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(4L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, 3L);
+		assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+		assertEquals(Status.TO_DO, existingTask.getStatus());
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+	}
+
+	@Test
+	void updateTaskRenamedOntoAnExistingTitleIsConflict() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Taken");
+		TaskEntity existingTask = new TaskEntity();
+		existingTask.setId(1L);
+		existingTask.setTitle("Original");
+		existingTask.setProjectEntity(project(1L));
+		existingTask.setVersion(0L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+		when(taskRepository.existsByProjectIdAndTitleKey(1L, "taken")).thenReturn(true);
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, 0L);
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals("Original", existingTask.getTitle());
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+	}
+
+	@Test
+	void updateTaskIsBufferedWhenWriteBehindIsEnabled() {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setStatus(Status.DONE);
+		TaskView current = new TaskView(1L, "Title", "Description", Status.TO_DO, LocalDate.now(), 2L, 3L);
+		when(taskUpdateBuffer.isEnabled()).thenReturn(true);
+		when(taskUpdateBuffer.pending(1L)).thenReturn(Optional.empty());
+		when(taskRepository.findProjectedById(1L, TaskView.class)).thenReturn(Optional.of(current));
+		when(taskUpdateBuffer.enqueue(any(), any())).thenReturn(true);
+		ResponseEntity<BaseResponse> response = projectService.updateTask(request, 1L, null);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("\"task-1-4\"", response.getHeaders().getETag());
+		verify(taskUpdateBuffer, times(1)).enqueue(current, new TaskView(1L, "Title", "Description", Status.DONE, LocalDate.now(), 2L, 4L));
+		verify(taskRepository, never()).findById(any());
+		verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+		verify(taskCounterService, never()).taskStatusChanged(any(), any());
+	}
+
+	@Test
+	void getProjectTasksVersionIsWithheldWhileUpdatesArePending() {
+		when(taskUpdateBuffer.isEnabled()).thenReturn(true);
+		when(taskUpdateBuffer.hasPending(1L)).thenReturn(true);
+		assertEquals(Optional.empty(), projectService.getProjectTasksVersion(1L));
+		verify(projectRepository, never()).findTasksVersionById(1L);
+	}
+
+	@Test
+	void getProjectTasksVersionReadsFromRepository() {
+		when(projectRepository.findTasksVersionById(1L)).thenReturn(Optional.of(4L));
+		assertEquals(Optional.of(4L), projectService.getProjectTasksVersion(1L));
+		assertEquals(Optional.empty(), projectService.getProjectTasksVersion(2L));
+	}
+
+	private static ProjectEntity project(long id) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setId(id);
+		return projectEntity;
+	}
+
+	private static CreateTaskRequest taskRequest(String title) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle(title);
+		request.setStatus(Status.TO_DO);
+		request.setDueDate(LocalDate.now());
+		return request;
 	}
 
 }
@@ -0,0 +1,220 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.craftindex.interview.models.responses.TaskChangeEvent;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskJournalService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The whole reactive profile on Netty and R2DBC, against the schema Flyway creates
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.datasource.url=jdbc:h2:mem:reactive", "interview.overdue-scan.enabled=false",
+				"interview.journal.enabled=true", "interview.journal.dir=target/reactive-journal-${random.uuid}", "interview.journal.fsync=false"})
+@ActiveProfiles("reactive")
+class ReactiveProjectApiTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TaskJournalService taskJournalService;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void projectAndTaskLifecycle() {
+		String dueDate = LocalDate.now().plusDays(3).toString();
+		post("/api/v1/projects", Map.of("name", "Reactive", "description", "Board")).expectStatus().isOk();
+		post("/api/v1/projects", Map.of("name", "reactive", "description", "Again")).expectStatus().isEqualTo(409);
+		Long projectId = projectId("Reactive");
+
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", "Write", "description", "Draft", "status", "TO_DO", "dueDate", dueDate))
+				.expectStatus().isOk();
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", " WRITE", "description", "Draft", "status", "TO_DO", "dueDate", dueDate))
+				.expectStatus().isEqualTo(409);
+		post("/api/v1/projects/" + projectId + "/tasks/bulk", List.of(
+				Map.of("title", "Review", "status", "IN_PROGRESS", "dueDate", dueDate),
+				Map.of("title", "write", "status", "TO_DO", "dueDate", dueDate)))
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.created").isEqualTo(1).jsonPath("$.failed").isEqualTo(1);
+
+		String listing = "/api/v1/projects/" + projectId + "/tasks?limit=1";
+		String eTag = webTestClient.get().uri(listing).exchange()
+				.expectStatus().isOk()
+				.expectHeader().exists(HttpHeaders.ETAG)
+				.expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.returnResult(GetProjectTasksResponse.class).getResponseHeaders().getETag();
+		//The same tag whatever the encoding, so caches tell the encodings apart by Accept
+		webTestClient.get().uri(listing).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, eTag).exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		webTestClient.get().uri(listing).header(HttpHeaders.IF_NONE_MATCH, eTag).exchange().expectStatus().isNotModified();
+		GetProjectTasksResponse firstPage = webTestClient.get().uri(listing).exchange()
+				.expectBody(GetProjectTasksResponse.class).returnResult().getResponseBody();
+		TaskView review = firstPage.getTasks().get(0);
+		assertEquals("Review", review.title());
+		assertNotNull(firstPage.getNextCursor());
+		GetProjectTasksResponse secondPage = webTestClient.get().uri(listing + "&after=" + firstPage.getNextCursor()).exchange()
+				.expectBody(GetProjectTasksResponse.class).returnResult().getResponseBody();
+		assertEquals(List.of("Write"), secondPage.getTasks().stream().map(TaskView::title).toList());
+		assertNull(secondPage.getNextCursor());
+
+		//The update answers with the new ETag; the old one no longer matches
+		String taskETag = webTestClient.put().uri("/api/v1/tasks/" + review.id())
+				.header(HttpHeaders.IF_MATCH, "\"task-" + review.id() + "-" + review.version() + "\"")
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("status", "DONE"))
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Void.class).getResponseHeaders().getETag();
+		assertEquals("\"task-" + review.id() + "-" + (review.version() + 1) + "\"", taskETag);
+		webTestClient.put().uri("/api/v1/tasks/" + review.id())
+				.header(HttpHeaders.IF_MATCH, "\"task-" + review.id() + "-" + review.version() + "\"")
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("status", "BLOCKED"))
+				.exchange()
+				.expectStatus().isEqualTo(412);
+		webTestClient.get().uri(listing).header(HttpHeaders.IF_NONE_MATCH, eTag).exchange().expectStatus().isOk();
+
+		webTestClient.get().uri("/api/v1/projects/summary").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$[?(@.project.id == " + projectId + ")].taskCounts").isEqualTo(2)
+				.jsonPath("$[?(@.project.id == " + projectId + ")].statusCounts.DONE").isEqualTo(1);
+
+		webTestClient.get().uri("/api/v1/projects/dashboard?ids=" + projectId + ",999999&limit=1").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.projects[0].tasks[0].title").isEqualTo("Review")
+				.jsonPath("$.projects[0].nextCursor").isEqualTo(review.id())
+				.jsonPath("$.notFound[0]").isEqualTo(999999);
+		webTestClient.get().uri("/api/v1/projects/dashboard?ids=" + projectId + "&status=TO_DO&dueAfter=" + LocalDate.now()).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.projects[0].tasks.length()").isEqualTo(1)
+				.jsonPath("$.projects[0].tasks[0].title").isEqualTo("Write")
+				.jsonPath("$.projects[0].nextCursor").doesNotExist();
+
+		webTestClient.delete().uri("/api/v1/tasks/" + review.id()).exchange().expectStatus().isOk();
+		webTestClient.delete().uri("/api/v1/tasks/" + review.id()).exchange().expectStatus().isNotFound();
+		webTestClient.get().uri("/api/v1/tasks/search?q=write").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.totalHits").isEqualTo(1);
+		webTestClient.get().uri("/api/v1/projects/" + projectId + "/tasks/export").accept(MediaType.APPLICATION_NDJSON).exchange()
+				.expectStatus().isOk()
+				.expectBodyList(TaskView.class).value(tasks -> assertEquals(List.of("Write"), tasks.stream().map(TaskView::title).toList()));
+	}
+
+	@Test
+	void unknownProjectIsNotFound() {
+		webTestClient.get().uri("/api/v1/projects/999999").exchange().expectStatus().isNotFound();
+		webTestClient.get().uri("/api/v1/projects/999999/tasks").exchange().expectStatus().isNotFound();
+		webTestClient.get().uri("/api/v1/projects/999999/tasks/export").exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void taskChangesAreStreamedAfterTheyCommit() throws Exception {
+		post("/api/v1/projects", Map.of("name", "Streamed", "description", "Board")).expectStatus().isOk();
+		Long projectId = projectId("Streamed");
+		double subscribers = meterRegistry.get("task.events.subscribers").gauge().value();
+
+		CompletableFuture<List<ServerSentEvent<TaskChangeEvent>>> events = WebClient.create("http://localhost:" + port).get()
+				.uri("/api/v1/projects/" + projectId + "/tasks/events")
+				.retrieve()
+				.bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<TaskChangeEvent>>() {})
+				.filter(event -> event.data() != null)
+				.take(2)
+				.collectList()
+				.toFuture();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (meterRegistry.get("task.events.subscribers").gauge().value() <= subscribers && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", "Pushed", "status", "TO_DO", "dueDate", LocalDate.now().plusDays(1).toString()))
+				.expectStatus().isOk();
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", "pushed", "status", "TO_DO", "dueDate", LocalDate.now().plusDays(1).toString()))
+				.expectStatus().isEqualTo(409);
+		post("/api/v1/projects/" + projectId + "/tasks/bulk", List.of(Map.of("title", "Second", "status", "DONE", "dueDate", LocalDate.now().plusDays(1).toString())))
+				.expectStatus().isOk();
+
+		List<ServerSentEvent<TaskChangeEvent>> received = events.get(10, TimeUnit.SECONDS);
+		assertEquals(List.of("Pushed", "Second"), received.stream().map(event -> event.data().task().title()).toList());
+		assertEquals(List.of(TaskChangeType.CREATED.name(), TaskChangeType.CREATED.name()), received.stream().map(ServerSentEvent::event).toList());
+		assertEquals(String.valueOf(received.get(0).data().id()), received.get(0).id());
+
+		//Resuming after the first event replays only the second
+		webTestClient.mutate().responseTimeout(Duration.ofSeconds(10)).build()
+				.get().uri("/api/v1/projects/" + projectId + "/tasks/events")
+				.header("Last-Event-ID", received.get(0).id())
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskChangeEvent>>() {})
+				.getResponseBody()
+				.filter(event -> event.data() != null)
+				.take(1)
+				.doOnNext(event -> assertEquals("Second", event.data().task().title()))
+				.blockLast(Duration.ofSeconds(10));
+	}
+
+	@Test
+	void mutationsAreJournaledAfterTheyCommit() {
+		post("/api/v1/projects", Map.of("name", "Journaled", "description", "Board")).expectStatus().isOk();
+		Long projectId = projectId("Journaled");
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", "Record", "status", "TO_DO", "dueDate", LocalDate.now().plusDays(1).toString()))
+				.expectStatus().isOk();
+		post("/api/v1/projects/" + projectId + "/tasks", Map.of("title", "record", "status", "TO_DO", "dueDate", LocalDate.now().plusDays(1).toString()))
+				.expectStatus().isEqualTo(409);
+		TaskView task = webTestClient.get().uri("/api/v1/projects/" + projectId + "/tasks").exchange()
+				.expectBody(GetProjectTasksResponse.class).returnResult().getResponseBody().getTasks().get(0);
+		webTestClient.put().uri("/api/v1/tasks/" + task.id()).contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("status", "DONE"))
+				.exchange().expectStatus().isOk();
+		webTestClient.delete().uri("/api/v1/tasks/" + task.id()).exchange().expectStatus().isOk();
+
+		//The rejected duplicate never committed, so it left no record
+		List<TaskJournalService.Kind> kinds = new ArrayList<>();
+		taskJournalService.replay(0, entry -> {
+			if (entry.project() != null ? entry.project().id().equals(projectId) : entry.task().projectId().equals(projectId)) {
+				kinds.add(entry.kind());
+			}
+		});
+		assertEquals(List.of(TaskJournalService.Kind.PROJECT_CREATED, TaskJournalService.Kind.TASK_CREATED,
+				TaskJournalService.Kind.TASK_UPDATED, TaskJournalService.Kind.TASK_DELETED), kinds);
+	}
+
+	private Long projectId(String name) {
+		return webTestClient.get().uri("/api/v1/projects?limit=10").exchange()
+				.expectStatus().isOk()
+				.expectBody(GetProjectsResponse.class).returnResult().getResponseBody()
+				.getProjects().stream().filter(project -> project.name().equals(name)).findFirst().orElseThrow().id();
+	}
+
+	private WebTestClient.ResponseSpec post(String uri, Object body) {
+		return webTestClient.post().uri(uri).contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange();
+	}
+}
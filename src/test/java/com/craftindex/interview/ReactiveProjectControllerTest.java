@@ -0,0 +1,358 @@
+package com.craftindex.interview;
+
+
+import com.craftindex.interview.controller.ReactiveProjectController;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.requests.CreateProjectRequest;
+import com.craftindex.interview.models.requests.CreateTaskRequest;
+import com.craftindex.interview.models.responses.BaseResponse;
+import com.craftindex.interview.models.responses.GetOverdueTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsDashboardResponse;
+import com.craftindex.interview.models.responses.ProjectResponse;
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import com.craftindex.interview.services.OverdueTaskService;
+import com.craftindex.interview.services.ReactiveProjectService;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+//The cases of ProjectControllerTest, run against the WebFlux controller
+@ExtendWith(MockitoExtension.class)
+public class ReactiveProjectControllerTest {
+
+    @Mock
+    private ReactiveProjectService projectService;
+
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private TaskSearchService taskSearchService;
+
+    @Mock
+    private OverdueTaskService overdueTaskService;
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @InjectMocks
+    private ReactiveProjectController projectController;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToController(projectController)
+                .argumentResolvers(configurer -> configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver()))
+                .build();
+        //No stored version: the listing is served without an ETag
+        lenient().when(projectService.getProjectVersion(anyLong())).thenReturn(Mono.empty());
+        lenient().when(projectService.getProjectTasksVersion(anyLong())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    public void testCreateProject() {
+        when(projectService.createProject(any(CreateProjectRequest.class)))
+                .thenReturn(Mono.just(new ResponseEntity<>(new BaseResponse("Project created successfully", HttpStatus.OK.value()), HttpStatus.OK)));
+
+        webTestClient.post().uri("/api/v1/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Project Name\", \"description\":\"Project Description\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Project created successfully")
+                .jsonPath("$.status").isEqualTo(HttpStatus.OK.value());
+
+        verify(projectService, times(1)).createProject(any(CreateProjectRequest.class));
+    }
+
+    @Test
+    public void testGetProjectById() {
+        ProjectResponse projectResponse = new ProjectResponse();
+        projectResponse.setMessage("Success");
+        projectResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectById(1L)).thenReturn(Mono.just(new ResponseEntity<>(projectResponse, HttpStatus.OK)));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Success")
+                .jsonPath("$.status").isEqualTo(HttpStatus.OK.value());
+
+        verify(projectService, times(1)).getProjectById(1L);
+    }
+
+    @Test
+    public void testGetProjectsDashboard() {
+        GetProjectsDashboardResponse dashboardResponse = new GetProjectsDashboardResponse();
+        dashboardResponse.setMessage("Success");
+        dashboardResponse.setStatus(HttpStatus.OK.value());
+        dashboardResponse.setNotFound(List.of(2L));
+
+        when(projectService.getProjectsDashboard(List.of(1L, 2L, 3L), null, null, null, Status.TO_DO, 5))
+                .thenReturn(Mono.just(new ResponseEntity<>(dashboardResponse, HttpStatus.OK)));
+
+        webTestClient.get().uri("/api/v1/projects/dashboard?ids=1,2,3&status=TO_DO")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.notFound[0]").isEqualTo(2);
+
+        verify(projectService, never()).getProjectById(anyLong());
+    }
+
+    @Test
+    public void testGetProjectTasksWithCursor() {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+        tasksResponse.setNextCursor(40L);
+
+        when(projectService.getProjectTasksAfter(1L, null, null, null, null, 50L, null, 10))
+                .thenReturn(Mono.just(new ResponseEntity<>(tasksResponse, HttpStatus.OK)));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks?after=50&limit=10", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nextCursor").isEqualTo(40);
+
+        verify(projectService, times(1)).getProjectTasksAfter(1L, null, null, null, null, 50L, null, 10);
+        verify(projectService, never()).getProjectTasks(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetProjectTasksWithDueDateRange() {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectTasks(eq(1L), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(tasksResponse, HttpStatus.OK)));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks?dueAfter=2026-01-01&dueBefore=2026-02-01", 1L)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(projectService, times(1)).getProjectTasks(1L, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1), null, PageRequest.of(0, 5));
+    }
+
+    @Test
+    public void testGetOverdueTasksFeed() {
+        GetOverdueTasksResponse overdueResponse = new GetOverdueTasksResponse();
+        overdueResponse.setMessage("Success");
+        overdueResponse.setStatus(HttpStatus.OK.value());
+        overdueResponse.setEvents(List.of());
+        overdueResponse.setNextCursor(12L);
+
+        when(overdueTaskService.getOverdueTasks(1L, 10L, 20)).thenReturn(ResponseEntity.ok(overdueResponse));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks/overdue?after=10", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nextCursor").isEqualTo(12);
+
+        verify(overdueTaskService, times(1)).getOverdueTasks(1L, 10L, 20);
+    }
+
+    @Test
+    public void testGetProjectTasksSetsETagFromTasksVersion() {
+        GetProjectTasksResponse tasksResponse = new GetProjectTasksResponse();
+        tasksResponse.setMessage("Success");
+        tasksResponse.setStatus(HttpStatus.OK.value());
+
+        when(projectService.getProjectTasksVersion(1L)).thenReturn(Mono.just(7L));
+        when(projectService.getProjectTasks(eq(1L), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(tasksResponse, HttpStatus.OK)));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "W/\"tasks-1-7\"");
+    }
+
+    @Test
+    public void testGetProjectTasksNotModifiedSkipsLoadingTasks() {
+        when(projectService.getProjectTasksVersion(1L)).thenReturn(Mono.just(7L));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks", 1L)
+                .header("If-None-Match", "\"tasks-1-7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        verify(projectService, never()).getProjectTasks(anyLong(), any(), any(), any(), any(), any());
+        verify(projectService, never()).getProjectTasksAfter(anyLong(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void testGetProjectByIdNotModified() {
+        when(projectService.getProjectVersion(1L)).thenReturn(Mono.just(0L));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}", 1L)
+                .header("If-None-Match", "\"project-1-0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(projectService, never()).getProjectById(anyLong());
+    }
+
+    @Test
+    public void testTaskEventsForAnUnknownProjectIsNotFound() {
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks/events", 9L)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verifyNoInteractions(taskEventService);
+    }
+
+    @Test
+    public void testCreateTask() {
+        when(projectService.createProjectTask(any(CreateTaskRequest.class), eq(1L)))
+                .thenReturn(Mono.just(new ResponseEntity<>(new BaseResponse("Task created successfully", HttpStatus.OK.value()), HttpStatus.OK)));
+
+        webTestClient.post().uri("/api/v1/projects/{projectId}/tasks", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Task Title\", \"description\":\"Task Description\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task created successfully")
+                .jsonPath("$.status").isEqualTo(HttpStatus.OK.value());
+
+        verify(projectService, times(1)).createProjectTask(any(CreateTaskRequest.class), eq(1L));
+    }
+
+    @Test
+    public void testUpdateTaskPassesTheIfMatchVersion() {
+        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(new BaseResponse("Task updated successfully", HttpStatus.OK.value()), HttpStatus.OK)));
+
+        webTestClient.put().uri("/api/v1/tasks/{taskId}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Updated Task Title\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task updated successfully");
+        webTestClient.put().uri("/api/v1/tasks/{taskId}", 1L)
+                .header("If-Match", "\"task-1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Updated Task Title\"}")
+                .exchange()
+                .expectStatus().isOk();
+        //An ETag of another task can never match
+        webTestClient.put().uri("/api/v1/tasks/{taskId}", 1L)
+                .header("If-Match", "\"task-2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Updated Task Title\"}")
+                .exchange();
+
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), isNull());
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), eq(3L));
+        verify(projectService, times(1)).updateTask(any(CreateTaskRequest.class), eq(1L), eq(-1L));
+    }
+
+    @Test
+    public void testConcurrentUpdateIsPreconditionFailedWithIfMatch() {
+        when(projectService.updateTask(any(CreateTaskRequest.class), eq(1L), any()))
+                .thenReturn(Mono.error(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1L)));
+
+        webTestClient.put().uri("/api/v1/tasks/{taskId}", 1L)
+                .header("If-Match", "\"task-1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Updated Task Title\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.put().uri("/api/v1/tasks/{taskId}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Updated Task Title\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    public void testDeleteTask() {
+        when(projectService.deleteTask(eq(1L)))
+                .thenReturn(Mono.just(new ResponseEntity<>(new BaseResponse("Task deleted successfully", HttpStatus.OK.value()), HttpStatus.OK)));
+
+        webTestClient.delete().uri("/api/v1/tasks/{taskId}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task deleted successfully")
+                .jsonPath("$.status").isEqualTo(HttpStatus.OK.value());
+
+        verify(projectService, times(1)).deleteTask(eq(1L));
+    }
+
+    @Test
+    public void testReconcileProjectSummary() {
+        ReconcileTaskCountersResponse reconcileResponse = new ReconcileTaskCountersResponse();
+        reconcileResponse.setMessage("Task counters are in sync");
+        reconcileResponse.setStatus(HttpStatus.OK.value());
+        reconcileResponse.setDrifts(List.of());
+
+        when(taskCounterService.reconcile()).thenReturn(reconcileResponse);
+
+        webTestClient.post().uri("/api/v1/projects/summary/reconcile")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task counters are in sync")
+                .jsonPath("$.drifts").isEmpty();
+
+        verify(taskCounterService, times(1)).reconcile();
+    }
+
+    @Test
+    public void testSearchProjectTasks() {
+        SearchTasksResponse searchResponse = new SearchTasksResponse();
+        searchResponse.setMessage("Success");
+        searchResponse.setStatus(HttpStatus.OK.value());
+        searchResponse.setTotalHits(0);
+        searchResponse.setHits(List.of());
+
+        when(taskSearchService.searchTasks(eq("release notes"), eq(1L), any(Pageable.class))).thenReturn(ResponseEntity.ok(searchResponse));
+
+        webTestClient.get().uri("/api/v1/projects/{projectId}/tasks/search?q=release notes&page=1", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalHits").isEqualTo(0)
+                .jsonPath("$.hits").isEmpty();
+
+        verify(taskSearchService, times(1)).searchTasks(eq("release notes"), eq(1L), eq(PageRequest.of(1, 20)));
+    }
+
+
+}
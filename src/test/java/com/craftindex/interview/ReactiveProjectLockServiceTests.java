@@ -0,0 +1,103 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.services.impl.DefaultReactiveProjectLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveProjectLockServiceTests {
+
+	//Transactions with nothing behind them, so the lock is released by their completion as it would be after a commit
+	private final TransactionalOperator transactionalOperator = TransactionalOperator.create(new NoOpTransactionManager());
+	private final DefaultReactiveProjectLockService lockService = new DefaultReactiveProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofSeconds(30));
+
+	@Test
+	void writesToOneProjectNeverOverlap() {
+		AtomicInteger inside = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		AtomicInteger writes = new AtomicInteger();
+		Flux.range(0, 50)
+				.flatMap(write -> lockService.lockForTransaction(1L)
+						.then(Mono.fromRunnable(() -> {
+							if (inside.incrementAndGet() > 1) {
+								overlaps.incrementAndGet();
+							}
+						}))
+						//Gives the other writers every chance to get in while this one holds the lock
+						.then(Mono.delay(Duration.ofMillis(1)))
+						.doOnNext(tick -> {
+							inside.decrementAndGet();
+							writes.incrementAndGet();
+						})
+						.as(transactionalOperator::transactional))
+				.blockLast(Duration.ofSeconds(30));
+
+		assertEquals(50, writes.get());
+		assertEquals(0, overlaps.get());
+	}
+
+	@Test
+	void aBusyProjectTimesOutWithoutBlockingOthers() {
+		DefaultReactiveProjectLockService shortWait = new DefaultReactiveProjectLockService(new SimpleMeterRegistry(), 256, Duration.ofMillis(50));
+		Mono<Void> holder = shortWait.lockForTransaction(1L)
+				.then(Mono.delay(Duration.ofMillis(500)))
+				.then()
+				.as(transactionalOperator::transactional);
+		Mono<String> waiter = shortWait.lockForTransaction(1L)
+				.thenReturn("locked")
+				.as(transactionalOperator::transactional);
+		Mono<String> other = Mono.delay(Duration.ofMillis(10))
+				.then(shortWait.lockForTransaction(2L))
+				.thenReturn("locked")
+				.as(transactionalOperator::transactional);
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> Mono.when(holder,
+				Mono.delay(Duration.ofMillis(10)).then(waiter),
+				other.doOnNext(result -> assertEquals("locked", result))).block(Duration.ofSeconds(10)));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+
+		//The holder's completion released it, and the timed out waiter left nothing behind
+		holder.block(Duration.ofSeconds(10));
+		assertEquals("locked", waiter.block(Duration.ofSeconds(10)));
+	}
+
+	@Test
+	void aLockNeedsATransaction() {
+		assertThrows(IllegalStateException.class, () -> lockService.lockForTransaction(1L).block(Duration.ofSeconds(5)));
+	}
+
+	private static final class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+		@Override
+		protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+			return new Object();
+		}
+
+		@Override
+		protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction, TransactionDefinition definition) {
+			return Mono.empty();
+		}
+
+		@Override
+		protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+			return Mono.empty();
+		}
+
+		@Override
+		protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+			return Mono.empty();
+		}
+	}
+}
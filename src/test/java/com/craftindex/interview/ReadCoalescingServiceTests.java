@@ -0,0 +1,144 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.services.impl.DefaultReadCoalescingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescingServiceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void identicalReadsInFlightRunOnce() throws Exception {
+		DefaultReadCoalescingService coalescing = new DefaultReadCoalescingService(meterRegistry, true, Duration.ZERO);
+		int callers = 8;
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(executor.submit(() -> coalescing.execute("tasks:1", () -> {
+				started.countDown();
+				await(release);
+				return "page " + executions.incrementAndGet();
+			})));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			for (int i = 1; i < callers; i++) {
+				results.add(executor.submit(() -> coalescing.execute("tasks:1", () -> "page " + executions.incrementAndGet())));
+			}
+			//Everyone else has to be waiting on the first read before it is let go
+			while (count("coalesced") < callers - 1) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("page 1", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, executions.get());
+		assertEquals(1, count("executed"));
+
+		//Without a TTL the next read after that goes to the backend again
+		assertEquals("page 2", coalescing.execute("tasks:1", () -> "page " + executions.incrementAndGet()));
+	}
+
+	@Test
+	void differentKeysDoNotWaitOnEachOther() throws Exception {
+		DefaultReadCoalescingService coalescing = new DefaultReadCoalescingService(meterRegistry, true, Duration.ZERO);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> slow = executor.submit(() -> coalescing.execute("tasks:1", () -> {
+				started.countDown();
+				await(release);
+				return "project 1";
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			assertEquals("project 2", coalescing.execute("tasks:2", () -> "project 2"));
+			release.countDown();
+			assertEquals("project 1", slow.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void waitersGetTheFailureAndTheNextReadRetries() throws Exception {
+		DefaultReadCoalescingService coalescing = new DefaultReadCoalescingService(meterRegistry, true, Duration.ofMinutes(1));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = executor.submit(() -> coalescing.execute("summary", () -> {
+				started.countDown();
+				await(release);
+				throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Database unavailable");
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			Future<String> waiter = executor.submit(() -> coalescing.execute("summary", () -> "not run"));
+			while (count("coalesced") < 1) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+
+			assertInstanceOf(ResponseStatusException.class, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+			assertInstanceOf(ResponseStatusException.class, assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		//A failure is never reused, TTL or not
+		assertEquals("recovered", coalescing.execute("summary", () -> "recovered"));
+	}
+
+	@Test
+	void aFinishedResultIsReusedUntilItsTtlEnds() throws Exception {
+		DefaultReadCoalescingService coalescing = new DefaultReadCoalescingService(meterRegistry, true, Duration.ofMillis(200));
+		AtomicInteger executions = new AtomicInteger();
+		assertEquals(1, read(coalescing, executions));
+		assertEquals(1, read(coalescing, executions));
+		assertEquals(1, count("reused"));
+
+		Thread.sleep(300);
+		assertEquals(2, read(coalescing, executions));
+	}
+
+	@Test
+	void disabledReadsAlwaysRun() {
+		DefaultReadCoalescingService coalescing = new DefaultReadCoalescingService(meterRegistry, false, Duration.ofMinutes(1));
+		AtomicInteger executions = new AtomicInteger();
+		read(coalescing, executions);
+		read(coalescing, executions);
+		assertEquals(2, executions.get());
+	}
+
+	private static int read(DefaultReadCoalescingService coalescing, AtomicInteger executions) {
+		return coalescing.execute("summary", executions::incrementAndGet);
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("project.reads").tag("outcome", outcome).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
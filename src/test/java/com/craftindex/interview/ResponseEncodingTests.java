@@ -0,0 +1,159 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.models.responses.GetProjectTasksResponse;
+import com.craftindex.interview.models.responses.GetProjectsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Compression is applied by the embedded server, so these go over a real socket rather than through MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.datasource.url=jdbc:h2:mem:encoding", "interview.overdue-scan.enabled=false"})
+class ResponseEncodingTests {
+
+	private static final int TASKS = 100;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+	private Long projectId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		Optional<Long> existing = projectId("Encoding");
+		if (existing.isPresent()) {
+			projectId = existing.get();
+			return;
+		}
+		send(post("/api/v1/projects", "application/json", objectMapper.writeValueAsBytes(Map.of("name", "Encoding", "description", "Board"))));
+		projectId = projectId("Encoding").orElseThrow();
+		List<Map<String, String>> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(Map.of("title", "Task " + i, "description", "Description of task " + i, "status", "TO_DO",
+					"dueDate", LocalDate.now().plusDays(i + 1).toString()));
+		}
+		assertEquals(200, send(post("/api/v1/projects/" + projectId + "/tasks/bulk", "application/json", objectMapper.writeValueAsBytes(tasks))).statusCode());
+	}
+
+	@Test
+	void largeListsAreGzippedOnlyWhenAccepted() throws Exception {
+		String listing = "/api/v1/projects/" + projectId + "/tasks?limit=" + TASKS;
+		HttpResponse<byte[]> gzipped = send(get(listing).header("Accept-Encoding", "gzip").build());
+		HttpResponse<byte[]> plain = send(get(listing).build());
+
+		assertEquals(Optional.of("gzip"), gzipped.headers().firstValue("Content-Encoding"));
+		assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+		byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped.body())).readAllBytes();
+		assertEquals(objectMapper.readTree(plain.body()), objectMapper.readTree(unzipped));
+		assertTrue(gzipped.body().length * 3 < plain.body().length, gzipped.body().length + " of " + plain.body().length);
+	}
+
+	@Test
+	void eventStreamsAreNeverCompressed() throws Exception {
+		HttpResponse<InputStream> response = httpClient.send(get("/api/v1/projects/" + projectId + "/tasks/events").header("Accept-Encoding", "gzip").build(),
+				HttpResponse.BodyHandlers.ofInputStream());
+		try (InputStream stream = response.body()) {
+			assertEquals(200, response.statusCode());
+			assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+		}
+	}
+
+	@Test
+	void binaryEncodingsCarryTheSameModelAsJson() throws Exception {
+		String listing = "/api/v1/projects/" + projectId + "/tasks?limit=" + TASKS;
+		byte[] json = send(get(listing).build()).body();
+		GetProjectTasksResponse expected = objectMapper.readValue(json, GetProjectTasksResponse.class);
+		assertEquals(TASKS, expected.getTasks().size());
+
+		for (Map.Entry<String, ObjectMapper> format : Map.<String, ObjectMapper>of(
+				"application/cbor", Jackson2ObjectMapperBuilder.cbor().build(),
+				"application/x-jackson-smile", Jackson2ObjectMapperBuilder.smile().build()).entrySet()) {
+			HttpResponse<byte[]> response = send(get(listing).header("Accept", format.getKey()).build());
+
+			assertEquals(200, response.statusCode());
+			assertEquals(Optional.of(format.getKey()), response.headers().firstValue("Content-Type"));
+			assertEquals(expected, format.getValue().readValue(response.body(), GetProjectTasksResponse.class));
+			//Dates stay ISO strings, as in the JSON
+			assertEquals(expected.getTasks().get(0).dueDate().toString(),
+					format.getValue().readTree(response.body()).get("tasks").get(0).get("dueDate").asText());
+			assertTrue(response.body().length < json.length, format.getKey() + " " + response.body().length + " of " + json.length);
+		}
+	}
+
+	//The listing ETag is the same whatever the encoding, so caches have to tell the encodings apart by Accept
+	@Test
+	void negotiatedResponsesVaryByAccept() throws Exception {
+		String listing = "/api/v1/projects/" + projectId + "/tasks?limit=" + TASKS;
+		HttpResponse<byte[]> json = send(get(listing).header("Accept-Encoding", "gzip").build());
+		HttpResponse<byte[]> cbor = send(get(listing).header("Accept", "application/cbor").build());
+		String eTag = json.headers().firstValue("ETag").orElseThrow();
+		HttpResponse<byte[]> notModified = send(get(listing).header("Accept", "application/x-jackson-smile").header("If-None-Match", eTag).build());
+
+		assertEquals(Optional.of("gzip"), json.headers().firstValue("Content-Encoding"));
+		//The server adds Accept-Encoding next to it for whatever it may compress
+		assertTrue(vary(json).containsAll(List.of("accept", "accept-encoding")), vary(json).toString());
+		assertTrue(vary(cbor).contains("accept"), vary(cbor).toString());
+		assertEquals(304, notModified.statusCode());
+		assertTrue(vary(notModified).contains("accept"), vary(notModified).toString());
+		HttpResponse<byte[]> notFound = send(get("/api/v1/projects/999999").build());
+		assertTrue(vary(notFound).contains("accept"), vary(notFound).toString());
+	}
+
+	@Test
+	void binaryRequestBodiesAreAccepted() throws Exception {
+		byte[] body = Jackson2ObjectMapperBuilder.cbor().build().writeValueAsBytes(Map.of("name", "Binary", "description", "Sent as CBOR"));
+
+		assertEquals(200, send(post("/api/v1/projects", "application/cbor", body)).statusCode());
+		assertTrue(projectId("Binary").isPresent());
+	}
+
+	private Optional<Long> projectId(String name) throws IOException, InterruptedException {
+		GetProjectsResponse projects = objectMapper.readValue(send(get("/api/v1/projects?limit=100").build()).body(), GetProjectsResponse.class);
+		return projects.getProjects().stream().filter(project -> project.name().equals(name)).map(project -> project.id()).findFirst();
+	}
+
+	private static List<String> vary(HttpResponse<?> response) {
+		return response.headers().allValues("Vary").stream()
+				.flatMap(value -> Arrays.stream(value.split(",")))
+				.map(value -> value.trim().toLowerCase(Locale.ROOT))
+				.toList();
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+	}
+
+	private HttpRequest post(String path, String contentType, byte[] body) {
+		return get(path).header("Content-Type", contentType).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+}
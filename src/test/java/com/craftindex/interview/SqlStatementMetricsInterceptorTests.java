@@ -0,0 +1,69 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.metrics.SqlStatementCounter;
+import com.craftindex.interview.metrics.SqlStatementMetricsInterceptor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsInterceptorTests {
+
+	private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SqlStatementMetricsInterceptor interceptor = new SqlStatementMetricsInterceptor(sqlStatementCounter, meterRegistry, 20);
+
+	@Test
+	void countsOnlyStatementsIssuedWhileStarted() {
+		sqlStatementCounter.inspect("select 1");
+		sqlStatementCounter.start();
+		sqlStatementCounter.inspect("select 1");
+		sqlStatementCounter.inspect("select 2");
+
+		assertEquals(2, sqlStatementCounter.finish());
+		assertEquals(0, sqlStatementCounter.finish());
+	}
+
+	@Test
+	void recordsStatementsPerRequestTaggedByPattern() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/projects/1/tasks");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/projects/{projectId}/tasks");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, new Object());
+		sqlStatementCounter.inspect("select p from project p");
+		sqlStatementCounter.inspect("select t from task t");
+		sqlStatementCounter.inspect("select count(t) from task t");
+		interceptor.afterCompletion(request, response, new Object(), null);
+
+		DistributionSummary summary = meterRegistry.get(SqlStatementMetricsInterceptor.METRIC_NAME)
+				.tag("method", "GET")
+				.tag("uri", "/api/v1/projects/{projectId}/tasks")
+				.summary();
+		assertEquals(1, summary.count());
+		assertEquals(3, summary.totalAmount());
+	}
+
+	@Test
+	void asyncDispatchIsNotRecordedTwice() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/projects/1/tasks/export");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/projects/{projectId}/tasks/export");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, new Object());
+		sqlStatementCounter.inspect("select p from project p");
+		interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+		request.setDispatcherType(DispatcherType.ASYNC);
+		interceptor.preHandle(request, response, new Object());
+		interceptor.afterCompletion(request, response, new Object(), null);
+
+		DistributionSummary summary = meterRegistry.get(SqlStatementMetricsInterceptor.METRIC_NAME).summary();
+		assertEquals(1, summary.count());
+		assertEquals(1, summary.totalAmount());
+	}
+}
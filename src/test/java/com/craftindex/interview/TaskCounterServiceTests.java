@@ -0,0 +1,140 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.ReconcileTaskCountersResponse;
+import com.craftindex.interview.models.responses.TaskCounterDrift;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.ProjectTaskCountRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.impl.DefaultTaskCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DefaultTaskCounterService.class)
+class TaskCounterServiceTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskCounterService taskCounterService;
+
+	@Autowired
+	private ProjectTaskCountRepository projectTaskCountRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void countersFollowTaskLifecycle() {
+		ProjectEntity projectEntity = saveProject("Counted");
+		taskCounterService.initializeProject(projectEntity.getId());
+		TaskEntity first = saveTask(projectEntity, "A", Status.TO_DO);
+		taskCounterService.taskCreated(first);
+		TaskEntity second = saveTask(projectEntity, "B", Status.TO_DO);
+		taskCounterService.taskCreated(second);
+
+		second.setStatus(Status.DONE);
+		taskCounterService.taskStatusChanged(second, Status.TO_DO);
+		taskCounterService.taskDeleted(first);
+		taskRepository.delete(first);
+
+		assertEquals(Map.of(projectEntity.getId(), Map.of(Status.DONE, 1L)),
+				taskCounterService.getStatusCounts(List.of(projectEntity.getId())));
+		assertTrue(taskCounterService.reconcile().getDrifts().isEmpty());
+	}
+
+	@Test
+	void reconcileReportsAndRepairsDrift() {
+		ProjectEntity projectEntity = saveProject("Drifted");
+		taskCounterService.initializeProject(projectEntity.getId());
+		saveTask(projectEntity, "A", Status.TO_DO);
+		saveTask(projectEntity, "B", Status.BLOCKED);
+
+		ReconcileTaskCountersResponse response = taskCounterService.reconcile();
+
+		assertEquals(2, response.getDrifts().size());
+		TaskCounterDrift drift = response.getDrifts().stream()
+				.filter(candidate -> candidate.getStatus() == Status.TO_DO)
+				.findFirst()
+				.orElseThrow();
+		assertEquals(0, drift.getCounted());
+		assertEquals(1, drift.getActual());
+		assertEquals(Map.of(projectEntity.getId(), Map.of(Status.TO_DO, 1L, Status.BLOCKED, 1L)),
+				taskCounterService.getStatusCounts(List.of(projectEntity.getId())));
+		assertTrue(taskCounterService.reconcile().getDrifts().isEmpty());
+	}
+
+	//Commits for real, so both writers can miss the counter at once as they would in production
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void concurrentWritersCreateAMissingCounterOnce() throws Exception {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<Long> projectIds = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 20; round++) {
+				//No initializeProject: like a project from before the counters, it has no rows yet
+				long projectId = transactionTemplate.execute(status -> saveProject("Legacy " + projectIds.size()).getId());
+				projectIds.add(projectId);
+				CyclicBarrier start = new CyclicBarrier(2);
+				List<Future<?>> writers = new ArrayList<>();
+				for (int writer = 0; writer < 2; writer++) {
+					writers.add(executor.submit(() -> {
+						start.await();
+						transactionTemplate.executeWithoutResult(status -> taskCounterService.adjust(projectId, Status.TO_DO, 1));
+						return null;
+					}));
+				}
+				for (Future<?> writer : writers) {
+					writer.get(10, TimeUnit.SECONDS);
+				}
+				assertEquals(Map.of(projectId, Map.of(Status.TO_DO, 2L)), taskCounterService.getStatusCounts(List.of(projectId)));
+			}
+		} finally {
+			executor.shutdownNow();
+			transactionTemplate.executeWithoutResult(status -> {
+				projectTaskCountRepository.deleteAll(projectTaskCountRepository.findAll().stream()
+						.filter(counter -> projectIds.contains(counter.getProjectId()))
+						.toList());
+				projectRepository.deleteAllById(projectIds);
+			});
+		}
+	}
+
+	private ProjectEntity saveProject(String name) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName(name);
+		return projectRepository.save(projectEntity);
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, Status status) {
+		TaskEntity taskEntity = new TaskEntity();
+		taskEntity.setTitle(title);
+		taskEntity.setStatus(status);
+		taskEntity.setDueDate(LocalDate.now());
+		taskEntity.setProjectEntity(projectEntity);
+		return taskRepository.save(taskEntity);
+	}
+}
@@ -0,0 +1,159 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.models.responses.TaskChangeEvent;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.impl.DefaultTaskEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventServiceTests {
+
+	private DefaultTaskEventService taskEventService;
+
+	@BeforeEach
+	void setUp() {
+		taskEventService = new DefaultTaskEventService(new SimpleMeterRegistry(), 4, 10, Duration.ofMinutes(1), 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskEventService.stop();
+	}
+
+	@Test
+	void subscribersOnlyHearTheirOwnProject() throws InterruptedException {
+		RecordingListener board = new RecordingListener();
+		RecordingListener other = new RecordingListener();
+		taskEventService.subscribe(1L, null, board);
+		taskEventService.subscribe(2L, null, other);
+
+		taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(task(10L, 1L), task(11L, 2L)));
+		taskEventService.tasksChanged(TaskChangeType.DELETED, List.of(task(10L, 1L)));
+
+		TaskChangeEvent created = board.next();
+		TaskChangeEvent deleted = board.next();
+		assertEquals(TaskChangeType.CREATED, created.type());
+		assertEquals(10L, created.task().id());
+		assertEquals(TaskChangeType.DELETED, deleted.type());
+		assertTrue(deleted.id() > created.id());
+		assertEquals(11L, other.next().task().id());
+		assertNull(other.events.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void resumeReplaysWhatTheProjectMissed() throws InterruptedException {
+		RecordingListener first = new RecordingListener();
+		TaskEventService.Subscription subscription = taskEventService.subscribe(1L, null, first);
+		taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(task(10L, 1L)));
+		long lastSeen = first.next().id();
+		subscription.cancel();
+
+		taskEventService.tasksChanged(TaskChangeType.UPDATED, List.of(task(10L, 1L), task(20L, 2L), task(11L, 1L)));
+
+		RecordingListener resumed = new RecordingListener();
+		taskEventService.subscribe(1L, lastSeen, resumed);
+		taskEventService.tasksChanged(TaskChangeType.DELETED, List.of(task(11L, 1L)));
+		assertEquals(List.of(10L, 11L, 11L), List.of(resumed.next().task().id(), resumed.next().task().id(), resumed.next().task().id()));
+	}
+
+	@Test
+	void resumeFromBeyondTheHistoryIsAReset() throws InterruptedException {
+		taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(task(10L, 1L)));
+		RecordingListener recent = new RecordingListener();
+		taskEventService.subscribe(1L, 0L, recent);
+
+		TaskChangeEvent reset = recent.next();
+		assertEquals(TaskChangeType.RESET, reset.type());
+		assertNull(reset.task());
+
+		//Resuming from the reset's id replays nothing, as the client has just reloaded
+		RecordingListener reloaded = new RecordingListener();
+		taskEventService.subscribe(1L, reset.id(), reloaded);
+		assertNull(reloaded.events.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void slowSubscriberIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+		CountDownLatch unblock = new CountDownLatch(1);
+		RecordingListener slow = new RecordingListener() {
+			@Override
+			public void send(TaskChangeEvent event) {
+				try {
+					unblock.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		RecordingListener fast = new RecordingListener();
+		taskEventService.subscribe(1L, null, slow);
+		taskEventService.subscribe(1L, null, fast);
+
+		for (long taskId = 1; taskId <= 8; taskId++) {
+			taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(task(taskId, 1L)));
+			assertEquals(taskId, fast.next().task().id());
+		}
+		unblock.countDown();
+		assertTrue(slow.closed.get(5, TimeUnit.SECONDS));
+		assertFalse(fast.closed.isDone());
+	}
+
+	@Test
+	void changesArePublishedOnlyOnceCommitted() throws InterruptedException {
+		RecordingListener listener = new RecordingListener();
+		taskEventService.subscribe(1L, null, listener);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			taskEventService.tasksChanged(TaskChangeType.CREATED, List.of(task(10L, 1L)));
+			assertNull(listener.events.poll(100, TimeUnit.MILLISECONDS));
+			TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertEquals(10L, listener.next().task().id());
+	}
+
+	private static TaskView task(long taskId, long projectId) {
+		return new TaskView(taskId, "Task " + taskId, null, Status.TO_DO, LocalDate.now(), projectId, 0L);
+	}
+
+	private static class RecordingListener implements TaskEventService.Listener {
+		final BlockingQueue<TaskChangeEvent> events = new LinkedBlockingQueue<>();
+		final CompletableFuture<Boolean> closed = new CompletableFuture<>();
+
+		TaskChangeEvent next() throws InterruptedException {
+			TaskChangeEvent event = events.poll(5, TimeUnit.SECONDS);
+			assertNotNull(event, "no event arrived");
+			return event;
+		}
+
+		@Override
+		public void send(TaskChangeEvent event) {
+			events.add(event);
+		}
+
+		@Override
+		public void heartbeat() {
+		}
+
+		@Override
+		public void closed(boolean fellBehind) {
+			closed.complete(fellBehind);
+		}
+	}
+}
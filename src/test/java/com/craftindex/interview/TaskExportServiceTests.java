@@ -0,0 +1,83 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.services.TaskExportService;
+import com.craftindex.interview.services.impl.DefaultTaskExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DefaultTaskExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskExportServiceTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskExportService taskExportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void exportWritesOneJsonObjectPerLine() throws Exception {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName("Exported");
+		projectRepository.save(projectEntity);
+		for (int i = 0; i < 250; i++) {
+			TaskEntity taskEntity = new TaskEntity();
+			taskEntity.setTitle("Task " + i);
+			taskEntity.setStatus(Status.TO_DO);
+			taskEntity.setDueDate(LocalDate.now());
+			taskEntity.setProjectEntity(projectEntity);
+			taskRepository.save(taskEntity);
+		}
+
+		ResponseEntity<StreamingResponseBody> response = taskExportService.exportProjectTasks(projectEntity.getId());
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(DefaultTaskExportService.APPLICATION_NDJSON, response.getHeaders().getContentType());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		response.getBody().writeTo(outputStream);
+
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(250, lines.length);
+		Set<String> titles = new HashSet<>();
+		for (String line : lines) {
+			JsonNode task = objectMapper.readTree(line);
+			assertEquals(projectEntity.getId(), task.get("projectId").asLong());
+			assertEquals("TO_DO", task.get("status").asText());
+			titles.add(task.get("title").asText());
+		}
+		assertEquals(250, titles.size());
+	}
+
+	@Test
+	void exportUnknownProjectReturnsNotFound() {
+		assertEquals(HttpStatus.NOT_FOUND, taskExportService.exportProjectTasks(Long.MAX_VALUE).getStatusCode());
+	}
+}
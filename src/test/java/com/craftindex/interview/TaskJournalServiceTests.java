@@ -0,0 +1,181 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.journal.SegmentedJournal;
+import com.craftindex.interview.repos.projections.ProjectView;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.impl.DefaultTaskJournalService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJournalServiceTests {
+
+	@TempDir
+	Path journalDir;
+
+	@Test
+	void recordsRollAcrossSegmentsAndReplayInOrder() throws IOException {
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 128, false)) {
+			for (int i = 1; i <= 20; i++) {
+				assertEquals(i, journal.append(record("record " + i)));
+			}
+		}
+		assertTrue(segments().size() > 1);
+
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 128, false)) {
+			assertEquals(20, journal.lastSequence());
+			List<String> replayed = new ArrayList<>();
+			assertEquals(5, journal.replay(15, (sequence, payload) -> replayed.add(sequence + ":" + text(payload))));
+			assertEquals(List.of("16:record 16", "17:record 17", "18:record 18", "19:record 19", "20:record 20"), replayed);
+			assertEquals(21, journal.append(record("record 21")));
+		}
+	}
+
+	@Test
+	void aTornTailIsDroppedAndOverwritten() throws IOException {
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 4096, false)) {
+			journal.append(record("kept"));
+			journal.append(record("torn"));
+		}
+		//Flip a byte of the second payload, as if the process died halfway through writing it
+		try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[]{'X'}), 16 + 16 + 4 + 16);
+		}
+
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 4096, false)) {
+			assertEquals(1, journal.lastSequence());
+			assertEquals(2, journal.append(record("again")));
+			List<String> replayed = new ArrayList<>();
+			journal.replay(0, (sequence, payload) -> replayed.add(text(payload)));
+			assertEquals(List.of("kept", "again"), replayed);
+		}
+	}
+
+	@Test
+	void concurrentWritersShareFlushes() throws Exception {
+		int writers = 8;
+		int recordsPerWriter = 50;
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 1 << 16, true)) {
+			ExecutorService executor = Executors.newFixedThreadPool(writers);
+			try {
+				List<Future<?>> futures = new ArrayList<>();
+				for (int writer = 0; writer < writers; writer++) {
+					int id = writer;
+					futures.add(executor.submit(() -> {
+						for (int i = 0; i < recordsPerWriter; i++) {
+							journal.awaitDurable(journal.append(record(id + "-" + i)));
+						}
+						return null;
+					}));
+				}
+				for (Future<?> future : futures) {
+					future.get(30, TimeUnit.SECONDS);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			assertEquals((long) writers * recordsPerWriter, journal.lastSequence());
+			assertEquals(writers * recordsPerWriter, journal.replay(0, (sequence, payload) -> {
+			}));
+		}
+	}
+
+	@Test
+	void segmentsAreKeptUntilDeletedThroughAReplayedSequence() throws IOException {
+		try (SegmentedJournal journal = new SegmentedJournal(journalDir, 128, false)) {
+			for (int i = 1; i <= 30; i++) {
+				journal.append(record("record " + i));
+			}
+			int written = segments().size();
+			assertTrue(written > 2);
+			List<Long> replayed = new ArrayList<>();
+			assertEquals(30, journal.replay(0, (sequence, payload) -> replayed.add(sequence)));
+			assertEquals(1L, replayed.get(0));
+
+			journal.deleteThrough(20);
+			assertTrue(segments().size() < written);
+			List<Long> kept = new ArrayList<>();
+			journal.replay(20, (sequence, payload) -> kept.add(sequence));
+			assertEquals(List.of(21L, 22L, 23L, 24L, 25L, 26L, 27L, 28L, 29L, 30L), kept);
+			//Records the consumer never saw are gone, so asking for them fails rather than starting wherever the segments do
+			IllegalStateException e = assertThrows(IllegalStateException.class, () -> journal.replay(0, (sequence, payload) -> fail("Should not replay")));
+			assertTrue(e.getMessage().contains("have been deleted"), e.getMessage());
+		}
+	}
+
+	@Test
+	void committedMutationsReplayAsEntries() throws IOException {
+		DefaultTaskJournalService journalService = open();
+		journalService.projectCreated(new ProjectView(1L, "Board", null));
+		TaskView task = new TaskView(10L, "Card", "Details", Status.IN_PROGRESS, LocalDate.of(2030, 1, 2), 1L, 3L);
+		journalService.tasksChanged(TaskChangeType.CREATED, List.of(task));
+
+		//Inside a transaction nothing is journaled until it commits
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			journalService.tasksChanged(TaskChangeType.DELETED, List.of(task));
+			assertEquals(2, journalService.replay(0, entry -> {
+			}));
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+			//Appended at commit, while the project lock is still held; the wait for the disk comes at completion
+			assertEquals(3, journalService.replay(0, entry -> {
+			}));
+			TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		journalService.destroy();
+
+		journalService = open();
+		List<TaskJournalService.Entry> entries = new ArrayList<>();
+		journalService.replay(0, entries::add);
+		journalService.destroy();
+		assertEquals(List.of(
+				new TaskJournalService.Entry(1, TaskJournalService.Kind.PROJECT_CREATED, new ProjectView(1L, "Board", null), null),
+				new TaskJournalService.Entry(2, TaskJournalService.Kind.TASK_CREATED, null, task),
+				new TaskJournalService.Entry(3, TaskJournalService.Kind.TASK_DELETED, null, task)), entries);
+	}
+
+	private DefaultTaskJournalService open() throws IOException {
+		return new DefaultTaskJournalService(new SimpleMeterRegistry(), true, journalDir, DataSize.ofKilobytes(64), false);
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(journalDir)) {
+			return files.filter(file -> file.toString().endsWith(".seg")).sorted().toList();
+		}
+	}
+
+	private static byte[] record(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String text(ByteBuffer payload) {
+		byte[] bytes = new byte[payload.remaining()];
+		payload.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
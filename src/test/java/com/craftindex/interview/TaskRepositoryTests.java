@@ -0,0 +1,213 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskStatusCount;
+import com.craftindex.interview.repos.projections.TaskView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskRepositoryTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void countGroupedByProjectAndStatus() {
+		ProjectEntity first = saveProject("First");
+		ProjectEntity second = saveProject("Second");
+		saveTask(first, "A", Status.TO_DO);
+		saveTask(first, "B", Status.TO_DO);
+		saveTask(first, "C", Status.DONE);
+		saveTask(second, "D", Status.BLOCKED);
+
+		List<TaskStatusCount> rows = taskRepository.countGroupedByProjectAndStatus();
+
+		Map<String, Long> counts = rows.stream()
+				.collect(Collectors.toMap(row -> row.getProjectId() + ":" + row.getStatus(), TaskStatusCount::getCount));
+		assertEquals(Map.of(
+				first.getId() + ":TO_DO", 2L,
+				first.getId() + ":DONE", 1L,
+				second.getId() + ":BLOCKED", 1L), counts);
+	}
+
+	@Test
+	void findByProjectEntityAndIdLessThanSeeksPastCursor() {
+		ProjectEntity projectEntity = saveProject("Paged");
+		TaskEntity oldest = saveTask(projectEntity, "A", Status.TO_DO);
+		TaskEntity middle = saveTask(projectEntity, "B", Status.TO_DO);
+		TaskEntity newest = saveTask(projectEntity, "C", Status.TO_DO);
+		PageRequest page = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("id")));
+
+		Slice<TaskView> first = taskRepository.findByProjectEntityAndIdLessThan(projectEntity, Long.MAX_VALUE, page, TaskView.class);
+		Slice<TaskView> second = taskRepository.findByProjectEntityAndIdLessThan(projectEntity, newest.getId(), page, TaskView.class);
+		Slice<TaskView> last = taskRepository.findByProjectEntityAndIdLessThan(projectEntity, middle.getId(), page, TaskView.class);
+
+		assertEquals(List.of(newest.getId()), first.map(TaskView::id).getContent());
+		assertEquals(List.of(middle.getId()), second.map(TaskView::id).getContent());
+		assertEquals(List.of(oldest.getId()), last.map(TaskView::id).getContent());
+		assertTrue(second.hasNext());
+		assertFalse(last.hasNext());
+	}
+
+	@Test
+	void findByProjectEntityAndDueDateBetweenAfterSeeksPastDueDateAndId() {
+		ProjectEntity projectEntity = saveProject("Ranged");
+		TaskEntity early = saveTask(projectEntity, "Early", Status.TO_DO, LocalDate.of(2026, 3, 1));
+		TaskEntity lateFirst = saveTask(projectEntity, "Late 1", Status.TO_DO, LocalDate.of(2026, 3, 5));
+		TaskEntity lateSecond = saveTask(projectEntity, "Late 2", Status.DONE, LocalDate.of(2026, 3, 5));
+		saveTask(projectEntity, "Outside", Status.TO_DO, LocalDate.of(2026, 4, 1));
+		PageRequest page = PageRequest.of(0, 2,
+				Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("dueDate"), Sort.Order.desc("id")));
+		LocalDate from = LocalDate.of(2026, 3, 1);
+		LocalDate to = LocalDate.of(2026, 3, 31);
+
+		Slice<TaskView> first = taskRepository.findByProjectEntityAndDueDateBetweenAfter(projectEntity, null, from, to, Long.MAX_VALUE, page);
+		Slice<TaskView> second = taskRepository.findByProjectEntityAndDueDateBetweenAfter(projectEntity, null, from, lateFirst.getDueDate(), lateFirst.getId(), page);
+		Slice<TaskView> done = taskRepository.findByProjectEntityAndDueDateBetweenAfter(projectEntity, Status.DONE, from, to, Long.MAX_VALUE, page);
+
+		assertEquals(List.of(lateSecond.getId(), lateFirst.getId()), first.map(TaskView::id).getContent());
+		assertTrue(first.hasNext());
+		assertEquals(List.of(early.getId()), second.map(TaskView::id).getContent());
+		assertFalse(second.hasNext());
+		assertEquals(List.of(lateSecond.getId()), done.map(TaskView::id).getContent());
+	}
+
+	@Test
+	void findByProjectEntityAndStatusSelectsTaskViews() {
+		ProjectEntity projectEntity = saveProject("Projected");
+		TaskEntity done = saveTask(projectEntity, "Done", Status.DONE);
+		saveTask(projectEntity, "Open", Status.TO_DO);
+		entityManager.flush();
+		entityManager.clear();
+		PageRequest page = PageRequest.of(0, 5,
+				Sort.by(Sort.Order.desc("projectEntity"), Sort.Order.desc("status"), Sort.Order.desc("id")));
+
+		Page<TaskView> tasks = taskRepository.findByProjectEntityAndStatus(projectEntity, Status.DONE, page, TaskView.class);
+
+		assertEquals(1, tasks.getTotalElements());
+		assertEquals(new TaskView(done.getId(), "Done", null, Status.DONE, done.getDueDate(), projectEntity.getId(), 0L), tasks.getContent().get(0));
+	}
+
+	@Test
+	void incrementTasksVersionLeavesProjectVersionAlone() {
+		ProjectEntity projectEntity = saveProject("Versioned");
+		entityManager.flush();
+
+		projectRepository.incrementTasksVersion(projectEntity.getId());
+		projectRepository.incrementTasksVersion(projectEntity.getId());
+
+		assertEquals(Optional.of(2L), projectRepository.findTasksVersionById(projectEntity.getId()));
+		assertEquals(Optional.of(0L), projectRepository.findVersionById(projectEntity.getId()));
+		assertTrue(projectRepository.findTasksVersionById(-1L).isEmpty());
+	}
+
+	@Test
+	void findByTitleIgnoreCaseAndProjectEntityUsesNormalizedTitle() {
+		ProjectEntity projectEntity = saveProject("Titled");
+		ProjectEntity otherProject = saveProject("Other");
+		TaskEntity taskEntity = saveTask(projectEntity, "Write Report", Status.TO_DO);
+
+		assertEquals("write report", taskEntity.getTitleKey());
+		assertEquals(taskEntity.getId(),
+				taskRepository.findByTitleIgnoreCaseAndProjectEntity("WRITE report", projectEntity).orElseThrow().getId());
+		assertTrue(taskRepository.findByTitleIgnoreCaseAndProjectEntity("Write Report", otherProject).isEmpty());
+	}
+
+	@Test
+	void titlesAreUniqueWithinAProjectIgnoringCase() {
+		ProjectEntity first = saveProject("Unique");
+		ProjectEntity second = saveProject("Other");
+		saveTask(first, "Report", Status.TO_DO);
+		saveTask(second, "Report", Status.TO_DO);
+		entityManager.flush();
+
+		assertTrue(taskRepository.existsByProjectIdAndTitleKey(first.getId(), TaskEntity.titleKey(" REPORT ")));
+		saveTask(first, " report", Status.TO_DO);
+		assertThrows(DataIntegrityViolationException.class, () -> taskRepository.flush());
+	}
+
+	@Test
+	void versionIsBumpedOnEveryUpdate() {
+		TaskEntity taskEntity = saveTask(saveProject("Versioned"), "Card", Status.TO_DO);
+		entityManager.flush();
+		assertEquals(0L, taskEntity.getVersion());
+
+		taskEntity.setStatus(Status.DONE);
+		taskRepository.saveAndFlush(taskEntity);
+		assertEquals(1L, taskEntity.getVersion());
+		entityManager.clear();
+		assertEquals(1L, taskRepository.findProjectedById(taskEntity.getId(), TaskView.class).orElseThrow().version());
+	}
+
+	@Test
+	void findFirstPagesByProjectIdsCutsEveryProjectAtTheLimit() {
+		ProjectEntity first = saveProject("First");
+		ProjectEntity second = saveProject("Second");
+		ProjectEntity untouched = saveProject("Untouched");
+		TaskEntity a = saveTask(first, "A", Status.TO_DO, LocalDate.of(2030, 1, 3));
+		TaskEntity b = saveTask(first, "B", Status.DONE, LocalDate.of(2030, 1, 1));
+		TaskEntity c = saveTask(first, "C", Status.TO_DO, LocalDate.of(2030, 1, 2));
+		TaskEntity d = saveTask(second, "D", Status.TO_DO, LocalDate.of(2030, 1, 2));
+		saveTask(untouched, "E", Status.TO_DO);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<Long> ids = taskRepository.findFirstPagesByProjectIds(List.of(first.getId(), second.getId()), null, 2)
+				.stream().map(TaskView::id).toList();
+		assertEquals(List.of(c.getId(), b.getId(), d.getId()), ids);
+
+		ids = taskRepository.findFirstPagesByProjectIds(List.of(first.getId(), second.getId()), Status.TO_DO, 1)
+				.stream().map(TaskView::id).toList();
+		assertEquals(List.of(c.getId(), d.getId()), ids);
+
+		//Due date order, like the single project listing, and only inside the range
+		ids = taskRepository.findFirstPagesByProjectIdsAndDueDateBetween(List.of(first.getId(), second.getId()), null,
+				LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 3), 5).stream().map(TaskView::id).toList();
+		assertEquals(List.of(a.getId(), c.getId(), d.getId()), ids);
+	}
+
+	private ProjectEntity saveProject(String name) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName(name);
+		return projectRepository.save(projectEntity);
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, Status status) {
+		return saveTask(projectEntity, title, status, LocalDate.now());
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, Status status, LocalDate dueDate) {
+		TaskEntity taskEntity = new TaskEntity();
+		taskEntity.setTitle(title);
+		taskEntity.setStatus(status);
+		taskEntity.setDueDate(dueDate);
+		taskEntity.setProjectEntity(projectEntity);
+		return taskRepository.save(taskEntity);
+	}
+}
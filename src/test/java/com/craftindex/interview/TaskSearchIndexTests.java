@@ -0,0 +1,95 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.search.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTests {
+
+	private final TaskSearchIndex index = new TaskSearchIndex();
+
+	@Test
+	void tokenizeLowerCasesRunsOfLettersAndDigits() {
+		assertEquals(List.of("fix", "login", "bug", "v2", "café"), TaskSearchIndex.tokenize("Fix LOGIN-bug (v2) café!"));
+		assertTrue(TaskSearchIndex.tokenize(" -- ").isEmpty());
+		assertTrue(TaskSearchIndex.tokenize(null).isEmpty());
+	}
+
+	@Test
+	void titleMatchesOutrankDescriptionMatches() {
+		index.put(1, 1, "Write release notes", "Summarise the sprint");
+		index.put(2, 1, "Plan sprint", "Include the release checklist");
+		index.put(3, 1, "Unrelated", "Nothing to see");
+
+		TaskSearchIndex.Result result = index.search("release", null, 10);
+
+		assertEquals(2, result.totalHits());
+		assertEquals(List.of(1L, 2L), taskIds(result));
+	}
+
+	@Test
+	void tasksMatchingMoreTermsRankHigher() {
+		index.put(1, 1, "Database backup", null);
+		index.put(2, 1, "Database backup restore", null);
+		index.put(3, 1, "Restore", null);
+
+		assertEquals(2L, index.search("database restore", null, 10).hits().get(0).taskId());
+	}
+
+	@Test
+	void searchCanBeScopedToAProject() {
+		index.put(1, 1, "Deploy", null);
+		index.put(2, 2, "Deploy", null);
+
+		TaskSearchIndex.Result result = index.search("deploy", 2L, 10);
+
+		assertEquals(1, result.totalHits());
+		assertEquals(List.of(2L), taskIds(result));
+	}
+
+	@Test
+	void limitKeepsTheBestHitsAndCountsTheRest() {
+		for (long taskId = 1; taskId <= 50; taskId++) {
+			index.put(taskId, 1, "Report", null);
+		}
+
+		TaskSearchIndex.Result result = index.search("report", null, 3);
+
+		assertEquals(50, result.totalHits());
+		assertEquals(List.of(50L, 49L, 48L), taskIds(result));
+	}
+
+	@Test
+	void reindexingAndRemovingReplaceEarlierVersions() {
+		index.put(1, 1, "Old title", null);
+		index.put(2, 1, "Old title", null);
+		index.put(1, 1, "New title", null);
+		index.remove(2);
+
+		assertEquals(0, index.search("old", null, 10).totalHits());
+		assertEquals(List.of(1L), taskIds(index.search("new", null, 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void compactionKeepsLiveTasksSearchable() {
+		for (long taskId = 1; taskId <= 25_000; taskId++) {
+			index.put(taskId, taskId % 3, "Task " + taskId, taskId % 2 == 0 ? "even" : "odd");
+		}
+		for (long taskId = 1; taskId <= 20_000; taskId++) {
+			index.remove(taskId);
+		}
+
+		assertEquals(5_000, index.size());
+		assertEquals(2_500, index.search("even", null, 10).totalHits());
+		assertEquals(List.of(24_999L), taskIds(index.search("24999", null, 10)));
+		assertEquals(0, index.search("19999", null, 10).totalHits());
+	}
+
+	private static List<Long> taskIds(TaskSearchIndex.Result result) {
+		return result.hits().stream().map(TaskSearchIndex.Hit::taskId).toList();
+	}
+}
@@ -0,0 +1,107 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.models.responses.SearchTasksResponse;
+import com.craftindex.interview.models.responses.TaskSearchHit;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.impl.DefaultTaskSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DefaultTaskSearchService.class)
+class TaskSearchServiceTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskSearchService taskSearchService;
+
+	@Test
+	void rebuildIndexesExistingTasks() {
+		ProjectEntity first = saveProject("First");
+		ProjectEntity second = saveProject("Second");
+		TaskEntity invoice = saveTask(first, "Send invoice", "Customer asked for a PDF invoice");
+		saveTask(first, "Call customer", "About the invoice");
+		saveTask(second, "Archive invoice", null);
+
+		assertEquals(HttpStatus.OK, taskSearchService.rebuild().getStatusCode());
+		ResponseEntity<SearchTasksResponse> response = taskSearchService.searchTasks("Invoice", first.getId(), PageRequest.of(0, 1));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(2, response.getBody().getTotalHits());
+		List<TaskSearchHit> hits = response.getBody().getHits();
+		assertEquals(1, hits.size());
+		assertEquals(invoice.getId(), hits.get(0).getTask().id());
+		assertEquals(first.getId(), hits.get(0).getTask().projectId());
+		assertEquals(3, taskSearchService.searchTasks("invoice", null, PageRequest.of(0, 20)).getBody().getTotalHits());
+	}
+
+	@Test
+	void searchesWaitForTheFirstBuild() {
+		//A fresh service, as at startup; the shared one may already have been built by another test
+		TaskSearchService starting = new DefaultTaskSearchService(projectRepository, taskRepository);
+		saveTask(saveProject("Early"), "Send invoice", null);
+
+		ResponseEntity<SearchTasksResponse> early = starting.searchTasks("invoice", null, PageRequest.of(0, 20));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, early.getStatusCode());
+		assertNotNull(early.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+		starting.rebuild();
+		assertEquals(1, starting.searchTasks("invoice", null, PageRequest.of(0, 20)).getBody().getTotalHits());
+	}
+
+	@Test
+	void uncommittedChangesAreNotIndexed() {
+		taskSearchService.rebuild();
+		ProjectEntity projectEntity = saveProject("Pending");
+		TaskEntity taskEntity = saveTask(projectEntity, "Draft roadmap", null);
+
+		//The test transaction is rolled back, so the after-commit hook never runs
+		taskSearchService.tasksSaved(List.of(taskEntity));
+
+		assertEquals(0, taskSearchService.searchTasks("roadmap", null, PageRequest.of(0, 20)).getBody().getTotalHits());
+	}
+
+	@Test
+	void rejectsBlankQueriesDeepPagesAndUnknownProjects() {
+		assertEquals(HttpStatus.BAD_REQUEST, taskSearchService.searchTasks(" ?! ", null, PageRequest.of(0, 20)).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, taskSearchService.searchTasks("task", null, PageRequest.of(50, 20)).getStatusCode());
+		assertEquals(HttpStatus.NOT_FOUND, taskSearchService.searchTasks("task", 999L, PageRequest.of(0, 20)).getStatusCode());
+	}
+
+	private ProjectEntity saveProject(String name) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName(name);
+		return projectRepository.save(projectEntity);
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, String description) {
+		TaskEntity taskEntity = new TaskEntity();
+		taskEntity.setTitle(title);
+		taskEntity.setDescription(description);
+		taskEntity.setStatus(Status.TO_DO);
+		taskEntity.setDueDate(LocalDate.now());
+		taskEntity.setProjectEntity(projectEntity);
+		return taskRepository.save(taskEntity);
+	}
+}
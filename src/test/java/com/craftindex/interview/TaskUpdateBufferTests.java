@@ -0,0 +1,187 @@
+package com.craftindex.interview;
+
+import com.craftindex.interview.entities.ProjectEntity;
+import com.craftindex.interview.entities.TaskEntity;
+import com.craftindex.interview.enums.Status;
+import com.craftindex.interview.enums.TaskChangeType;
+import com.craftindex.interview.repos.ProjectRepository;
+import com.craftindex.interview.repos.TaskRepository;
+import com.craftindex.interview.repos.projections.TaskView;
+import com.craftindex.interview.services.TaskCounterService;
+import com.craftindex.interview.services.TaskEventService;
+import com.craftindex.interview.services.TaskJournalService;
+import com.craftindex.interview.services.TaskSearchService;
+import com.craftindex.interview.services.impl.DefaultTaskCounterService;
+import com.craftindex.interview.services.impl.DefaultTaskUpdateBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(DefaultTaskCounterService.class)
+class TaskUpdateBufferTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskCounterService taskCounterService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final TaskSearchService taskSearchService = mock(TaskSearchService.class);
+	private final TaskEventService taskEventService = mock(TaskEventService.class);
+	private final TaskJournalService taskJournalService = mock(TaskJournalService.class);
+	private DefaultTaskUpdateBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		buffer = new DefaultTaskUpdateBuffer(jdbcTemplate, transactionManager, projectRepository, taskCounterService,
+				taskSearchService, taskEventService, taskJournalService, new SimpleMeterRegistry(), true, Duration.ofMinutes(1), 500);
+	}
+
+	@Test
+	void coalescedUpdatesAreWrittenOnceWithOneCounterMove() {
+		ProjectEntity projectEntity = saveProject("Board");
+		TaskView stored = view(saveTask(projectEntity, "Card", Status.TO_DO));
+		TaskView inProgress = withStatus(stored, Status.IN_PROGRESS);
+		TaskView done = withStatus(stored, Status.DONE);
+
+		buffer.enqueue(stored, inProgress);
+		buffer.enqueue(inProgress, done);
+
+		assertEquals(Optional.of(done), buffer.pending(stored.id()));
+		assertTrue(buffer.hasPending(projectEntity.getId()));
+		assertEquals(1, buffer.flush());
+		assertEquals(Status.DONE.ordinal(), jdbcTemplate.queryForObject("SELECT status FROM task WHERE id = ?", Integer.class, stored.id()));
+		assertEquals(Map.of(projectEntity.getId(), Map.of(Status.DONE, 1L)), taskCounterService.getStatusCounts(List.of(projectEntity.getId())));
+		assertEquals(Optional.of(1L), projectRepository.findTasksVersionById(projectEntity.getId()));
+		assertFalse(buffer.hasPending(projectEntity.getId()));
+		verify(taskSearchService, times(1)).tasksSaved(argThat(tasks -> tasks.size() == 1 && tasks.get(0).getStatus() == Status.DONE));
+		verify(taskEventService, times(1)).tasksChanged(eq(TaskChangeType.UPDATED), argThat(tasks -> tasks.equals(List.of(done))));
+	}
+
+	@Test
+	void overlayShowsPendingStateAndDropsTasksThatLeftTheFilter() {
+		ProjectEntity projectEntity = saveProject("Overlay");
+		TaskView moved = view(saveTask(projectEntity, "Moved", Status.TO_DO));
+		TaskView untouched = view(saveTask(projectEntity, "Untouched", Status.TO_DO));
+		buffer.enqueue(moved, withStatus(moved, Status.DONE));
+
+		assertEquals(List.of(withStatus(moved, Status.DONE), untouched), buffer.overlay(List.of(moved, untouched), task -> true));
+		assertEquals(List.of(untouched), buffer.overlay(List.of(moved, untouched), task -> task.status() == Status.TO_DO));
+	}
+
+	@Test
+	void updatesToDeletedTasksLeaveCountersAlone() {
+		ProjectEntity projectEntity = saveProject("Deleted");
+		TaskView stored = view(saveTask(projectEntity, "Gone", Status.TO_DO));
+		buffer.enqueue(stored, withStatus(stored, Status.DONE));
+		jdbcTemplate.update("DELETE FROM task WHERE id = ?", stored.id());
+
+		assertEquals(0, buffer.flush());
+		assertEquals(Map.of(projectEntity.getId(), Map.of(Status.TO_DO, 1L)), taskCounterService.getStatusCounts(List.of(projectEntity.getId())));
+		assertEquals(Optional.of(0L), projectRepository.findTasksVersionById(projectEntity.getId()));
+		verifyNoInteractions(taskEventService);
+	}
+
+	@Test
+	void enqueueRefusesAnUpdateBasedOnAStaleRead() {
+		ProjectEntity projectEntity = saveProject("Stale");
+		TaskView stored = view(saveTask(projectEntity, "Card", Status.TO_DO));
+		TaskView first = withStatus(stored, Status.IN_PROGRESS);
+
+		assertTrue(buffer.enqueue(stored, first));
+		//A second writer that read the row before the first update was buffered has to read again
+		assertFalse(buffer.enqueue(stored, withStatus(stored, Status.DONE)));
+		assertEquals(Optional.of(first), buffer.pending(stored.id()));
+	}
+
+	@Test
+	void flushSkipsRowsChangedBehindTheBuffer() {
+		ProjectEntity projectEntity = saveProject("Changed");
+		TaskView stored = view(saveTask(projectEntity, "Card", Status.TO_DO));
+		buffer.enqueue(stored, withStatus(stored, Status.DONE));
+		jdbcTemplate.update("UPDATE task SET status = ?, version = version + 1 WHERE id = ?", Status.BLOCKED.ordinal(), stored.id());
+
+		assertEquals(0, buffer.flush());
+		assertEquals(Status.BLOCKED.ordinal(), jdbcTemplate.queryForObject("SELECT status FROM task WHERE id = ?", Integer.class, stored.id()));
+	}
+
+	@Test
+	void pendingTitleKeysCoverBufferedRenamesOfTheProject() {
+		ProjectEntity projectEntity = saveProject("Titles");
+		ProjectEntity other = saveProject("Other titles");
+		TaskView stored = view(saveTask(projectEntity, "Card", Status.TO_DO));
+		TaskView otherStored = view(saveTask(other, "Elsewhere", Status.TO_DO));
+		buffer.enqueue(stored, renamed(stored, "Renamed Card"));
+		buffer.enqueue(otherStored, renamed(otherStored, "Moved"));
+
+		assertEquals(Set.of("renamed card"), buffer.pendingTitleKeys(projectEntity.getId()));
+		assertEquals(Set.of("moved"), buffer.pendingTitleKeys(other.getId()));
+		buffer.flush();
+		assertEquals(Set.of(), buffer.pendingTitleKeys(projectEntity.getId()));
+	}
+
+	private ProjectEntity saveProject(String name) {
+		ProjectEntity projectEntity = new ProjectEntity();
+		projectEntity.setName(name);
+		projectRepository.save(projectEntity);
+		taskCounterService.initializeProject(projectEntity.getId());
+		return projectEntity;
+	}
+
+	private TaskEntity saveTask(ProjectEntity projectEntity, String title, Status status) {
+		TaskEntity taskEntity = new TaskEntity();
+		taskEntity.setTitle(title);
+		taskEntity.setStatus(status);
+		taskEntity.setDueDate(LocalDate.now());
+		taskEntity.setProjectEntity(projectEntity);
+		taskRepository.save(taskEntity);
+		taskCounterService.taskCreated(taskEntity);
+		//The buffer writes with plain JDBC, so the rows have to reach the database first
+		entityManager.flush();
+		return taskEntity;
+	}
+
+	private static TaskView view(TaskEntity taskEntity) {
+		return new TaskView(taskEntity.getId(), taskEntity.getTitle(), taskEntity.getDescription(), taskEntity.getStatus(),
+				taskEntity.getDueDate(), taskEntity.getProjectEntity().getId(), taskEntity.getVersion());
+	}
+
+	private static TaskView renamed(TaskView task, String title) {
+		return new TaskView(task.id(), title, task.description(), task.status(), task.dueDate(), task.projectId(), task.version() + 1);
+	}
+
+	private static TaskView withStatus(TaskView task, Status status) {
+		return new TaskView(task.id(), task.title(), task.description(), status, task.dueDate(), task.projectId(), task.version() + 1);
+	}
+}